@@ -0,0 +1,133 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.commons.ModelInfo;
+import org.telosys.tools.dsl.converter.ModelConverter;
+import org.telosys.tools.dsl.parser.Element;
+import org.telosys.tools.dsl.parser.EntityElementsLexer;
+import org.telosys.tools.dsl.parser.EntityElementsProcessor;
+import org.telosys.tools.dsl.parser.model.DomainEntity;
+import org.telosys.tools.dsl.parser.model.DomainModel;
+import org.telosys.tools.generic.model.Model;
+
+/**
+ * Annotation-dense model (20 annotations per field) : <br>
+ *  - processing : annotations parsing and creation ( DomainAnnotation ) <br>
+ *  - conversion : annotations applied to the attributes <br>
+ *   mvn -P benchmarks test-compile exec:exec -Djmh.args="AnnotationsBenchmark -prof gc"
+ * 
+ * @author Laurent GUERIN
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AnnotationsBenchmark {
+
+	// 20 annotations applicable to a 'string' attribute
+	private static final String FIELD_ANNOTATIONS = "@NotNull @NotEmpty @NotBlank @SizeMin(1) @SizeMax(40) "
+			+ "@MinLen(1) @MaxLen(40) @Pattern(\"[A-Z]+\") @Label(\"Field\") @InputType(text) "
+			+ "@DbName(COL) @DbType(VARCHAR) @DbComment(\"Comment\") @DbDefaultValue(\"A\") @DefaultValue(\"A\") "
+			+ "@InitialValue(\"A\") @Unique @LongText @DbSize(40) @ObjectType" ;
+
+	@Param({ "100" })
+	private int entities;
+
+	@Param({ "20" })
+	private int fields;
+
+	private String[] names;
+
+	private Set<String> namesSet;
+
+	private List<List<Element>> elements;
+
+	private DomainModel domainModel;
+
+	@Setup(Level.Trial)
+	public void setup() throws DslModelError {
+		SyntheticModelGenerator generator = new SyntheticModelGenerator(entities);
+		names = new String[entities];
+		elements = new ArrayList<>(entities);
+		for ( int i = 0 ; i < entities ; i++ ) {
+			names[i] = generator.entityName(i);
+		}
+		namesSet = new HashSet<>();
+		for ( String name : names ) {
+			namesSet.add(name);
+		}
+		for ( int i = 0 ; i < entities ; i++ ) {
+			StringBuilder sb = new StringBuilder();
+			sb.append(names[i]).append(" {\n  id : int { @Id } ;\n");
+			for ( int f = 1 ; f <= fields ; f++ ) {
+				sb.append("  field").append(f).append(" : string { ").append(FIELD_ANNOTATIONS).append(" } ;\n");
+			}
+			sb.append("}\n");
+			elements.add(new EntityElementsLexer().parseEntityContent(names[i], sb.toString().getBytes(StandardCharsets.UTF_8)));
+		}
+		domainModel = new DomainModel("annotations", new ModelInfo());
+		for ( DomainEntity entity : processEntities() ) {
+			domainModel.setEntity(entity);
+		}
+	}
+
+	@Benchmark
+	public List<DomainEntity> processEntities() {
+		DslModelErrors errors = new DslModelErrors();
+		List<DomainEntity> list = new ArrayList<>(entities);
+		for ( int i = 0 ; i < entities ; i++ ) {
+			list.add(new EntityElementsProcessor(names[i], namesSet).processEntityElements(elements.get(i), errors));
+		}
+		if ( ! errors.isEmpty() ) {
+			throw new IllegalStateException("Processing errors : " + errors);
+		}
+		return list;
+	}
+
+	@Benchmark
+	public Model convertModel() {
+		DslModelErrors errors = new DslModelErrors();
+		Model model = new ModelConverter(errors).convertModel(domainModel);
+		if ( ! errors.isEmpty() ) {
+			throw new IllegalStateException("Conversion errors : " + errors);
+		}
+		return model;
+	}
+}
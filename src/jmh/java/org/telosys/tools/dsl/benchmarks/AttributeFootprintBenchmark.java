@@ -0,0 +1,100 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.converter.AttributesConverter;
+import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.dsl.parser.ParserV2;
+import org.telosys.tools.dsl.parser.ParsingResult;
+import org.telosys.tools.dsl.parser.model.DomainEntity;
+import org.telosys.tools.dsl.parser.model.DomainModel;
+
+/**
+ * Memory footprint of the model attributes (DslModelAttribute) <br>
+ * Attributes conversion for all the entities of a synthetic model <br>
+ * To be launched with the GC profiler : 'gc.alloc.rate.norm' divided by the number of 
+ * attributes gives the bytes allocated per attribute (including the converter temporary objects) <br>
+ * 
+ * Run with : mvn -P benchmarks test-compile exec:exec -Djmh.args="AttributeFootprintBenchmark -prof gc"
+ * 
+ * @author Laurent GUERIN
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AttributeFootprintBenchmark {
+
+	@Param({ "0", "2", "6" })
+	private int annotationsPerField;
+
+	private DomainModel domainModel;
+
+	private DslModel dslModel;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		File modelFolder = new SyntheticModelGenerator(1000, 10, annotationsPerField, 1).generateModelFolder();
+		try {
+			ParsingResult result = new ParserV2().parseModel(modelFolder);
+			if ( result.hasErrors() ) {
+				throw new IllegalStateException("Synthetic model parsing errors : " + result.getErrors().getNumberOfErrors());
+			}
+			domainModel = result.getModel();
+		} finally {
+			SyntheticModelGenerator.deleteModelFolder(modelFolder);
+		}
+		dslModel = new DslModel("footprint");
+	}
+
+	@Benchmark
+	public List<DslModelEntity> convertAttributes() {
+		DslModelErrors errors = new DslModelErrors();
+		AttributesConverter attributesConverter = new AttributesConverter(dslModel, errors);
+		List<DslModelEntity> entities = new ArrayList<>(domainModel.getNumberOfEntities());
+		for ( DomainEntity domainEntity : domainModel.getEntities() ) {
+			DslModelEntity dslEntity = new DslModelEntity(domainEntity.getName());
+			attributesConverter.convertAttributes(domainEntity, dslEntity);
+			entities.add(dslEntity);
+		}
+		if ( ! errors.isEmpty() ) {
+			throw new IllegalStateException("Synthetic model conversion errors : " + errors.getNumberOfErrors());
+		}
+		return entities;
+	}
+}
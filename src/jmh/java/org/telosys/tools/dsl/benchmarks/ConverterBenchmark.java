@@ -0,0 +1,104 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.converter.ModelConverter;
+import org.telosys.tools.dsl.parser.ParserV2;
+import org.telosys.tools.dsl.parser.ParsingResult;
+import org.telosys.tools.dsl.parser.model.DomainModel;
+import org.telosys.tools.generic.model.Model;
+
+/**
+ * Model conversion (DomainModel to DslModel) <br>
+ * The time per operation is expected to grow linearly with the number of entities <br>
+ * Sequential conversion vs parallel conversion (one thread per available processor)
+ * 
+ * @author Laurent GUERIN
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConverterBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	private int entities;
+
+	private DomainModel domainModel;
+
+	private ExecutorService executor;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		File modelFolder = new SyntheticModelGenerator(entities).generateModelFolder();
+		try {
+			ParsingResult result = new ParserV2().parseModel(modelFolder);
+			if ( result.hasErrors() ) {
+				throw new IllegalStateException("Synthetic model parsing errors : " + result.getErrors().getNumberOfErrors());
+			}
+			domainModel = result.getModel();
+		} finally {
+			SyntheticModelGenerator.deleteModelFolder(modelFolder);
+		}
+		executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		executor.shutdown();
+	}
+
+	private Model convertModel(ExecutorService conversionExecutor) {
+		DslModelErrors errors = new DslModelErrors();
+		Model model = new ModelConverter(errors, null, conversionExecutor).convertModel(domainModel);
+		if ( ! errors.isEmpty() ) {
+			throw new IllegalStateException("Synthetic model conversion errors : " + errors.getNumberOfErrors());
+		}
+		return model;
+	}
+
+	@Benchmark
+	public Model convertModel() {
+		return convertModel(null);
+	}
+
+	@Benchmark
+	public Model convertModelParallel() {
+		return convertModel(executor);
+	}
+}
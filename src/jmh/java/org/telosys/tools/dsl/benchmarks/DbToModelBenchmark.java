@@ -0,0 +1,116 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.benchmarks;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.telosys.tools.commons.TelosysToolsException;
+import org.telosys.tools.commons.dbcfg.yaml.DatabaseConnectionProvider;
+import org.telosys.tools.commons.dbcfg.yaml.DatabaseDefinition;
+import org.telosys.tools.commons.dbcfg.yaml.DatabaseDefinitionsLoader;
+import org.telosys.tools.commons.exception.TelosysYamlException;
+import org.telosys.tools.commons.logger.ConsoleLogger;
+import org.telosys.tools.commons.logger.GlobalLoggingConfig;
+import org.telosys.tools.db.model.DatabaseModelManager;
+import org.telosys.tools.db.model.DatabaseTables;
+import org.telosys.tools.dsl.commons.ModelInfo;
+import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.dsl.model.dbmodel.DbToModelConverter;
+
+/**
+ * Database to model conversion ( DbToModelConverter.createModel ) <br>
+ * The synthetic tables are created in the H2 in-memory database used by the tests ('db1') 
+ * and the database metadata are loaded once (only the conversion is measured) <br>
+ *   mvn -P benchmarks test-compile exec:exec -Djmh.args="DbToModelBenchmark -p tables=1000"
+ * 
+ * @author Laurent GUERIN
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DbToModelBenchmark {
+
+	private static final String DATABASES_FILE = "src/test/resources/myproject/TelosysTools/databases.yaml" ;
+	private static final String DATABASE_ID = "db1" ;
+
+	@Param({ "100", "500" })
+	private int tables;
+
+	@Param({ "10" })
+	private int columns;
+
+	@Param({ "2" })
+	private int references;
+
+	private Connection connection;
+
+	private DatabaseDefinition databaseDefinition;
+
+	private DatabaseTables databaseTables;
+
+	@Setup(Level.Trial)
+	public void setup() throws TelosysYamlException, TelosysToolsException, SQLException {
+		GlobalLoggingConfig.disableLog();
+		databaseDefinition = new DatabaseDefinitionsLoader().load(new File(DATABASES_FILE)).getDatabaseDefinition(DATABASE_ID);
+		// the in-memory database is kept while the connection is open
+		connection = new DatabaseConnectionProvider().getConnection(databaseDefinition);
+		SyntheticModelGenerator generator = new SyntheticModelGenerator(tables, columns, 0, references);
+		try ( Statement statement = connection.createStatement() ) {
+			statement.execute("CREATE SCHEMA IF NOT EXISTS " + databaseDefinition.getSchema());
+			for ( String sql : generator.createTablesStatements(databaseDefinition.getSchema()) ) {
+				statement.execute(sql);
+			}
+		}
+		databaseTables = new DatabaseModelManager().getDatabaseTables(connection, 
+				databaseDefinition.getCatalog(), 
+				databaseDefinition.getSchema(), 
+				"%", 
+				databaseDefinition.getTableTypesArray(),
+				databaseDefinition.getTableNameInclude(), 
+				databaseDefinition.getTableNameExclude());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		connection.close();
+	}
+
+	@Benchmark
+	public DslModel createModel() {
+		DbToModelConverter converter = new DbToModelConverter(new ConsoleLogger());
+		return converter.createModel("bench", new ModelInfo(), databaseTables, databaseDefinition);
+	}
+}
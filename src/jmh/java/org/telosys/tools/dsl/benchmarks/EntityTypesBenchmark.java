@@ -0,0 +1,118 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.parser.Element;
+import org.telosys.tools.dsl.parser.EntityElementsLexer;
+import org.telosys.tools.dsl.parser.EntityElementsProcessor;
+import org.telosys.tools.dsl.parser.model.DomainEntity;
+
+/**
+ * Entity types resolution when processing an entity referencing many other entities <br>
+ * (all the entities names of the model are given to the processor) : <br>
+ *  - names in a shared Set (as done by ParserV2) : constant time lookup <br>
+ *  - names in a List : copied in a Set for each entity <br>
+ *  - old behavior : 'List.contains' for each entity type <br>
+ *   mvn -P benchmarks test-compile exec:exec -Djmh.args="EntityTypesBenchmark"
+ * 
+ * @author Laurent GUERIN
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EntityTypesBenchmark {
+
+	private static final int REFERENCES = 50 ;
+
+	@Param({ "1000", "5000" })
+	private int entities;
+
+	private List<String> namesList;
+
+	private Set<String> namesSet;
+
+	private List<Element> elements;
+
+	private String[] referencedTypes;
+
+	@Setup(Level.Trial)
+	public void setup() throws DslModelError {
+		SyntheticModelGenerator generator = new SyntheticModelGenerator(entities);
+		namesList = new LinkedList<>();
+		for ( int i = 0 ; i < entities ; i++ ) {
+			namesList.add(generator.entityName(i));
+		}
+		namesSet = Collections.unmodifiableSet(new HashSet<>(namesList));
+		// entity referencing entities spread over the whole model
+		StringBuilder sb = new StringBuilder();
+		sb.append("Hub {\n  id : int { @Id } ;\n");
+		referencedTypes = new String[REFERENCES];
+		for ( int r = 0 ; r < REFERENCES ; r++ ) {
+			referencedTypes[r] = generator.entityName( (int) ((long) (r + 1) * (entities - 1) / REFERENCES) );
+			sb.append("  ref" + r + " : " + referencedTypes[r] + ( r % 2 == 0 ? "[]" : "" ) + " ;\n");
+		}
+		sb.append("}\n");
+		elements = new EntityElementsLexer().parseEntityContent("Hub", sb.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Benchmark
+	public DomainEntity processWithSharedSet() {
+		return new EntityElementsProcessor("Hub", namesSet).processEntityElements(new ArrayList<>(elements), new DslModelErrors());
+	}
+
+	@Benchmark
+	public DomainEntity processWithList() {
+		return new EntityElementsProcessor("Hub", namesList).processEntityElements(new ArrayList<>(elements), new DslModelErrors());
+	}
+
+	@Benchmark
+	public int listLookups() {
+		// lookups done before v 4.1.1 ( 'List.contains' for each entity type )
+		int found = 0 ;
+		for ( String type : referencedTypes ) {
+			if ( namesList.contains(type) ) {
+				found++;
+			}
+		}
+		return found;
+	}
+}
@@ -0,0 +1,113 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelUtil;
+import org.telosys.tools.dsl.parser.EntityElementsLexer;
+import org.telosys.tools.dsl.parser.EntityElementsParser;
+import org.telosys.tools.dsl.parser.EntityFileReader;
+
+/**
+ * Entity files ingestion (read + decode + lexing) from a model folder : <br>
+ *  - line by line reading ( 'EntityElementsParser' ) <br>
+ *  - bulk reading with a new reader for each file <br>
+ *  - bulk reading with a shared reader (reusable buffers) <br>
+ *  - memory mapping with a shared reader <br>
+ * To be launched with '-prof gc' to compare allocations : <br>
+ *   mvn -P benchmarks test-compile exec:exec -Djmh.args="IngestionBenchmark -prof gc"
+ * 
+ * @author Laurent GUERIN
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IngestionBenchmark {
+
+	@Param({ "1000" })
+	private int entities;
+
+	private File modelFolder;
+
+	private File[] files;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		modelFolder = new SyntheticModelGenerator(entities).generateModelFolder();
+		List<String> fileNames = DslModelUtil.getEntityFullFileNames(modelFolder);
+		files = new File[fileNames.size()];
+		for ( int i = 0 ; i < files.length ; i++ ) {
+			files[i] = new File(fileNames.get(i));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		SyntheticModelGenerator.deleteModelFolder(modelFolder);
+	}
+
+	@Benchmark
+	public void lineByLine(Blackhole blackhole) throws DslModelError {
+		for ( File file : files ) {
+			blackhole.consume(new EntityElementsParser().parseEntityFile(file));
+		}
+	}
+
+	@Benchmark
+	public void bulkReadNewReader(Blackhole blackhole) throws DslModelError {
+		for ( File file : files ) {
+			blackhole.consume(new EntityElementsLexer().parseEntityFile(file));
+		}
+	}
+
+	@Benchmark
+	public void bulkReadSharedReader(Blackhole blackhole) throws DslModelError {
+		EntityElementsLexer lexer = new EntityElementsLexer(new EntityFileReader());
+		for ( File file : files ) {
+			blackhole.consume(lexer.parseEntityFile(file));
+		}
+	}
+
+	@Benchmark
+	public void memoryMappedSharedReader(Blackhole blackhole) throws DslModelError {
+		EntityElementsLexer lexer = new EntityElementsLexer(new EntityFileReader(0));
+		for ( File file : files ) {
+			blackhole.consume(lexer.parseEntityFile(file));
+		}
+	}
+}
@@ -0,0 +1,81 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.telosys.tools.dsl.model.DslModelAttribute;
+import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.generic.model.Attribute;
+
+/**
+ * Key attributes access on an entity ( getKeyAttributes, getIdCount, hasId ) <br>
+ * To be launched with '-prof gc' to see the allocations per call
+ * 
+ * @author Laurent GUERIN
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class KeyAttributesBenchmark {
+
+	@Param({ "10", "300" })
+	private int attributes;
+
+	private DslModelEntity entity;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		entity = new DslModelEntity("Foo");
+		for ( int i = 0 ; i < attributes ; i++ ) {
+			DslModelAttribute attribute = new DslModelAttribute("attrib" + i, "string");
+			// 2 key attributes (composite key)
+			attribute.setKeyElement(i < 2);
+			entity.addAttribute(attribute);
+		}
+	}
+
+	@Benchmark
+	public List<Attribute> getKeyAttributes() {
+		return entity.getKeyAttributes();
+	}
+
+	@Benchmark
+	public int getIdCount() {
+		return entity.getIdCount();
+	}
+
+	@Benchmark
+	public boolean hasId() {
+		return entity.hasId();
+	}
+}
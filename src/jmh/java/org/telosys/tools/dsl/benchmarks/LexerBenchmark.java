@@ -0,0 +1,100 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.parser.Element;
+import org.telosys.tools.dsl.parser.EntityElementsLexer;
+import org.telosys.tools.dsl.parser.EntityElementsParser;
+
+/**
+ * Entity file lexing : line based 'EntityElementsParser' vs single pass 'EntityElementsLexer' <br>
+ * The file contents are loaded in memory (no I/O during the benchmark) <br>
+ * To be launched with '-prof gc' to compare allocations : <br>
+ *   mvn -P benchmarks test-compile exec:exec -Djmh.args="LexerBenchmark -prof gc"
+ * 
+ * @author Laurent GUERIN
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LexerBenchmark {
+
+	@Param({ "100", "1000" })
+	private int entities;
+
+	private String[] names;
+	
+	private byte[][] contents;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		SyntheticModelGenerator generator = new SyntheticModelGenerator(entities);
+		names = new String[entities];
+		contents = new byte[entities][];
+		for ( int i = 0 ; i < entities ; i++ ) {
+			names[i] = generator.entityName(i);
+			contents[i] = generator.entityContent(i).getBytes(StandardCharsets.UTF_8);
+		}
+	}
+
+	@Benchmark
+	public void lineParser(Blackhole blackhole) throws DslModelError {
+		for ( int i = 0 ; i < entities ; i++ ) {
+			List<Element> elements = new EntityElementsParser().parseEntityContent(names[i], contents[i]);
+			blackhole.consume(elements);
+		}
+	}
+
+	@Benchmark
+	public void singlePassLexer(Blackhole blackhole) throws DslModelError {
+		for ( int i = 0 ; i < entities ; i++ ) {
+			List<Element> elements = new EntityElementsLexer().parseEntityContent(names[i], contents[i]);
+			blackhole.consume(elements);
+		}
+	}
+
+	@Benchmark
+	public void singlePassLexerWithContent(Blackhole blackhole) throws DslModelError {
+		// all the elements content are requested (as done by the processors) 
+		for ( int i = 0 ; i < entities ; i++ ) {
+			List<Element> elements = new EntityElementsLexer().parseEntityContent(names[i], contents[i]);
+			for ( Element element : elements ) {
+				blackhole.consume(element.getContent());
+			}
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.telosys.tools.dsl.DslModelManager;
+import org.telosys.tools.generic.model.Model;
+
+/**
+ * Full model loading (parsing + conversion) with 'DslModelManager' : <br>
+ *  - sequential loading <br>
+ *  - parallel parsing, then parallel conversion <br>
+ *  - pipelined loading (conversion overlapped with parsing, see 'ModelConversionScheduler') <br>
+ * The executor has one thread per available processor, example : <br>
+ *   mvn -P benchmarks test-compile exec:exec -Djmh.args="LoadingBenchmark -p entities=5000"
+ * 
+ * @author Laurent GUERIN
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LoadingBenchmark {
+
+	@Param({ "100", "1000" })
+	private int entities;
+
+	private File modelFolder;
+
+	private ExecutorService executor;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		modelFolder = new SyntheticModelGenerator(entities).generateModelFolder();
+		executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		executor.shutdown();
+		SyntheticModelGenerator.deleteModelFolder(modelFolder);
+	}
+
+	private Model loadModel(DslModelManager manager) {
+		Model model = manager.loadModel(modelFolder);
+		if ( model == null ) {
+			throw new IllegalStateException("Synthetic model loading errors : " + manager.getErrors().getNumberOfErrors());
+		}
+		return model;
+	}
+
+	@Benchmark
+	public Model loadModelSequential() {
+		return loadModel(new DslModelManager());
+	}
+
+	@Benchmark
+	public Model loadModelParallel() {
+		return loadModel(new DslModelManager(executor));
+	}
+
+	@Benchmark
+	public Model loadModelPipelined() {
+		DslModelManager manager = new DslModelManager(executor);
+		manager.setPipelinedLoading(true);
+		return loadModel(manager);
+	}
+}
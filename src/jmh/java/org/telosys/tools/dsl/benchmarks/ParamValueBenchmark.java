@@ -0,0 +1,169 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.telosys.tools.dsl.parser.annotation.AnnotationParamType;
+import org.telosys.tools.dsl.parser.commons.ParamDecodingStatus;
+import org.telosys.tools.dsl.parser.commons.ParamError;
+import org.telosys.tools.dsl.parser.commons.ParamValue;
+import org.telosys.tools.dsl.parser.commons.ParamValueDecoder;
+
+/**
+ * Annotation parameters decoding (INTEGER, DECIMAL, BOOLEAN, SIZE, LIST and STRING) : <br>
+ *  - 'ParamValue' conversion methods (ParamError exception for each invalid value) <br>
+ *  - 'ParamValueDecoder' checks and conversions (result code for each invalid value) <br>
+ * The 'invalid' parameter gives the percentage of invalid values <br>
+ *   mvn -P benchmarks test-compile exec:exec -Djmh.args="ParamValueBenchmark"
+ *
+ * @author Laurent GUERIN
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParamValueBenchmark {
+
+	private static final int VALUES = 1000 ;
+
+	private static final String[] VALID_INTEGERS = { "0", "1", "12", "255", "-40", "65535" };
+	private static final String[] VALID_DECIMALS = { "0", "1.5", "-12.25", "1000000.99", "3" };
+	private static final String[] VALID_BOOLEANS = { "true", "false", "TRUE", "False" };
+	private static final String[] VALID_SIZES    = { "10", "40", "8,2", "255", "12,4" };
+	private static final String[] VALID_LISTS    = { "PERSIST,MERGE", "a, b, c", "IDENTITY" };
+	private static final String[] VALID_STRINGS  = { "abc", "\"Hello world\"", " My label ", "\"say \\\"hi\\\"\"" };
+	private static final String[] INVALID_VALUES = { "abc", "12.x", "", "1,2,3", "-5", "yes" };
+
+	private static final AnnotationParamType[] TYPES = {
+			AnnotationParamType.INTEGER, AnnotationParamType.DECIMAL, AnnotationParamType.BOOLEAN,
+			AnnotationParamType.SIZE, AnnotationParamType.LIST, AnnotationParamType.STRING };
+
+	@Param({ "0", "10" })
+	private int invalid;
+
+	private AnnotationParamType[] types;
+
+	private String[] values;
+
+	@Setup
+	public void setup() {
+		types = new AnnotationParamType[VALUES];
+		values = new String[VALUES];
+		for ( int i = 0 ; i < VALUES ; i++ ) {
+			AnnotationParamType type = TYPES[i % TYPES.length];
+			types[i] = type ;
+			if ( invalid > 0 && i % 100 < invalid && type != AnnotationParamType.LIST && type != AnnotationParamType.STRING ) {
+				values[i] = INVALID_VALUES[i % INVALID_VALUES.length];
+			}
+			else {
+				values[i] = pick(validValues(type), i);
+			}
+		}
+	}
+
+	private String[] validValues(AnnotationParamType type) {
+		switch (type) {
+		case INTEGER : return VALID_INTEGERS;
+		case DECIMAL : return VALID_DECIMALS;
+		case BOOLEAN : return VALID_BOOLEANS;
+		case SIZE :    return VALID_SIZES;
+		case LIST :    return VALID_LISTS;
+		default :      return VALID_STRINGS;
+		}
+	}
+
+	private String pick(String[] array, int i) {
+		return array[ (i / TYPES.length) % array.length ];
+	}
+
+	@Benchmark
+	public int paramValue(Blackhole bh) {
+		int errors = 0 ;
+		for ( int i = 0 ; i < VALUES ; i++ ) {
+			ParamValue paramValue = new ParamValue("Foo", values[i]);
+			try {
+				switch (types[i]) {
+				case INTEGER : bh.consume(paramValue.getAsInteger()); break;
+				case DECIMAL : bh.consume(paramValue.getAsBigDecimal()); break;
+				case BOOLEAN : bh.consume(paramValue.getAsBoolean()); break;
+				case SIZE :    bh.consume(paramValue.getAsSize()); break;
+				case LIST :    bh.consume(paramValue.getAsList()); break;
+				default :      bh.consume(paramValue.getAsString()); break;
+				}
+			} catch (ParamError e) {
+				bh.consume(e.getMessage());
+				errors++;
+			}
+		}
+		return errors;
+	}
+
+	@Benchmark
+	public int decoder(Blackhole bh) {
+		int errors = 0 ;
+		for ( int i = 0 ; i < VALUES ; i++ ) {
+			String v = values[i];
+			int n = v.length();
+			ParamDecodingStatus status ;
+			switch (types[i]) {
+			case INTEGER :
+				status = ParamValueDecoder.checkInteger(v, 0, n);
+				if ( status.isOk() ) bh.consume(ParamValueDecoder.toInt(v, 0, n));
+				break;
+			case DECIMAL :
+				status = ParamValueDecoder.checkDecimal(v, 0, n);
+				if ( status.isOk() ) bh.consume(ParamValueDecoder.toBigDecimal(v, 0, n));
+				break;
+			case BOOLEAN :
+				status = ParamValueDecoder.checkBoolean(v, 0, n);
+				if ( status.isOk() ) bh.consume(ParamValueDecoder.toBoolean(v, 0, n));
+				break;
+			case SIZE :
+				status = ParamValueDecoder.checkSize(v, 0, n);
+				if ( status.isOk() ) bh.consume(v);
+				break;
+			case LIST :
+				status = ParamValueDecoder.checkList(v, 0, n);
+				if ( status.isOk() ) bh.consume(ParamValueDecoder.toList(v, 0, n));
+				break;
+			default :
+				status = ParamValueDecoder.checkString(v, 0, n);
+				if ( status.isOk() ) bh.consume(ParamValueDecoder.toStringValue(v, 0, n));
+				break;
+			}
+			if ( ! status.isOk() ) {
+				bh.consume(status.getMessage(v));
+				errors++;
+			}
+		}
+		return errors;
+	}
+}
@@ -0,0 +1,166 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.DslModelUtil;
+import org.telosys.tools.dsl.converter.ModelConverter;
+import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.dsl.model.writer.EntityFileWriter;
+import org.telosys.tools.dsl.parser.Element;
+import org.telosys.tools.dsl.parser.EntityElementsParser;
+import org.telosys.tools.dsl.parser.EntityElementsProcessor;
+import org.telosys.tools.dsl.parser.ParserV2;
+import org.telosys.tools.dsl.parser.ParsingResult;
+import org.telosys.tools.dsl.parser.model.DomainModel;
+import org.telosys.tools.generic.model.Entity;
+
+/**
+ * Parse to convert pipeline : one benchmark for each step, on the same synthetic model <br>
+ *  - parseEntityFile : entity files to elements <br>
+ *  - processEntityElements : elements to DomainEntity <br>
+ *  - convertModel : DomainModel to DslModel <br>
+ *  - writeEntity : DslModel entities to ".entity" files <br>
+ * The model shape is defined by the parameters, example : <br>
+ *   mvn -P benchmarks test-compile exec:exec -Djmh.args="PipelineBenchmark -p entities=5000 -p fields=30 -p annotations=4 -p references=3"
+ * 
+ * @author Laurent GUERIN
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PipelineBenchmark {
+
+	@Param({ "100", "1000" })
+	private int entities;
+
+	@Param({ "10" })
+	private int fields;
+
+	@Param({ "2" })
+	private int annotations;
+
+	@Param({ "2" })
+	private int references;
+
+	private File modelFolder;
+
+	private File outputFolder;
+
+	private File[] entityFiles;
+
+	private String[] entityNames;
+
+	private Set<String> entityNamesSet;
+
+	private List<List<Element>> entityElements;
+
+	private DomainModel domainModel;
+
+	private DslModel dslModel;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException, DslModelError {
+		modelFolder = new SyntheticModelGenerator(entities, fields, annotations, references).generateModelFolder();
+		outputFolder = Files.createTempDirectory("synthetic-output-").toFile();
+		List<String> fileNames = DslModelUtil.getEntityFullFileNames(modelFolder);
+		entityNamesSet = DslModelUtil.getEntitiesNames(fileNames);
+		entityFiles = new File[fileNames.size()];
+		entityNames = new String[fileNames.size()];
+		entityElements = new ArrayList<>(fileNames.size());
+		for ( int i = 0 ; i < entityFiles.length ; i++ ) {
+			entityFiles[i] = new File(fileNames.get(i));
+			entityNames[i] = DslModelUtil.getEntityName(entityFiles[i]);
+			entityElements.add(new EntityElementsParser().parseEntityFile(entityFiles[i]));
+		}
+		ParsingResult result = new ParserV2().parseModel(modelFolder);
+		if ( result.hasErrors() ) {
+			throw new IllegalStateException("Synthetic model parsing errors : " + result.getErrors().getNumberOfErrors());
+		}
+		domainModel = result.getModel();
+		dslModel = convertModel();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		SyntheticModelGenerator.deleteModelFolder(modelFolder);
+		SyntheticModelGenerator.deleteModelFolder(outputFolder);
+	}
+
+	@Benchmark
+	public void parseEntityFile(Blackhole blackhole) throws DslModelError {
+		for ( File file : entityFiles ) {
+			blackhole.consume(new EntityElementsParser().parseEntityFile(file));
+		}
+	}
+
+	@Benchmark
+	public void processEntityElements(Blackhole blackhole) {
+		DslModelErrors errors = new DslModelErrors();
+		for ( int i = 0 ; i < entityNames.length ; i++ ) {
+			EntityElementsProcessor processor = new EntityElementsProcessor(entityNames[i], entityNamesSet);
+			blackhole.consume(processor.processEntityElements(entityElements.get(i), errors));
+		}
+		if ( ! errors.isEmpty() ) {
+			throw new IllegalStateException("Synthetic entities processing errors : " + errors.getNumberOfErrors());
+		}
+	}
+
+	@Benchmark
+	public DslModel convertModel() {
+		DslModelErrors errors = new DslModelErrors();
+		DslModel model = (DslModel) new ModelConverter(errors).convertModel(domainModel);
+		if ( ! errors.isEmpty() ) {
+			throw new IllegalStateException("Synthetic model conversion errors : " + errors.getNumberOfErrors());
+		}
+		return model;
+	}
+
+	@Benchmark
+	public void writeEntity() {
+		EntityFileWriter writer = new EntityFileWriter(outputFolder.getAbsolutePath());
+		for ( Entity entity : dslModel.getEntities() ) {
+			writer.writeEntity((DslModelEntity) entity);
+		}
+	}
+}
@@ -0,0 +1,114 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.telosys.tools.dsl.DslModelManager;
+import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.dsl.model.snapshot.DslModelSnapshotCache;
+import org.telosys.tools.dsl.model.snapshot.ModelFingerprint;
+import org.telosys.tools.generic.model.Model;
+
+/**
+ * Model loading : full parsing and conversion vs loading from a snapshot <br>
+ *  - parseModel : model loaded by the manager without snapshot <br>
+ *  - loadSnapshot : model read from an up to date snapshot (fingerprint already known) <br>
+ *  - computeFingerprint : fingerprint of the model files (done at each loading with a snapshot cache) <br>
+ *  - loadModelWithSnapshot : model loaded by the manager with a snapshot cache (fingerprint + snapshot) <br>
+ *   mvn -P benchmarks test-compile exec:exec -Djmh.args="SnapshotBenchmark"
+ * 
+ * @author Laurent GUERIN
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SnapshotBenchmark {
+
+	@Param({ "100", "1000" })
+	private int entities;
+
+	private File modelFolder;
+
+	private File cacheDirectory;
+
+	private DslModelSnapshotCache snapshotCache;
+
+	private String fingerprint;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		modelFolder = new SyntheticModelGenerator(entities).generateModelFolder();
+		cacheDirectory = Files.createTempDirectory("synthetic-snapshots-").toFile();
+		snapshotCache = new DslModelSnapshotCache(cacheDirectory);
+		fingerprint = ModelFingerprint.compute(modelFolder);
+		Model model = parseModel();
+		if ( model == null || ! snapshotCache.save(modelFolder, fingerprint, (DslModel) model) ) {
+			throw new IllegalStateException("Cannot create the synthetic model snapshot");
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		SyntheticModelGenerator.deleteModelFolder(modelFolder);
+		SyntheticModelGenerator.deleteModelFolder(cacheDirectory);
+	}
+
+	@Benchmark
+	public Model parseModel() {
+		return new DslModelManager().loadModel(modelFolder);
+	}
+
+	@Benchmark
+	public DslModel loadSnapshot() {
+		return snapshotCache.load(modelFolder, fingerprint);
+	}
+
+	@Benchmark
+	public String computeFingerprint() throws IOException {
+		return ModelFingerprint.compute(modelFolder);
+	}
+
+	@Benchmark
+	public Model loadModelWithSnapshot() {
+		DslModelManager dslModelManager = new DslModelManager();
+		dslModelManager.setSnapshotCache(snapshotCache);
+		Model model = dslModelManager.loadModel(modelFolder);
+		if ( ! dslModelManager.isLoadedFromSnapshot() ) {
+			throw new IllegalStateException("Model not loaded from snapshot");
+		}
+		return model;
+	}
+}
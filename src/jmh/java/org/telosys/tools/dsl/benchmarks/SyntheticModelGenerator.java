@@ -0,0 +1,208 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic model generator for benchmarks <br>
+ * Generates a model folder containing N valid entity files, 
+ * each entity (except the first one) referencing the previous one with a FK and a link <br>
+ * The model size can be scaled with : <br>
+ *  - the number of additional fields per entity <br>
+ *  - the number of annotations per additional field <br>
+ *  - the number of references (FK + link) to the previous entities <br>
+ * The same model can also be generated as SQL tables (for the database to model conversion)
+ * 
+ * @author Laurent GUERIN
+ */
+public class SyntheticModelGenerator {
+
+	private static final String[] FIELD_TYPES = { "string", "int", "long", "decimal", "date", "boolean", "timestamp" };
+
+	private static final String[] SQL_TYPES = { "VARCHAR(40)", "INT", "BIGINT", "DECIMAL(10,2)", "DATE", "BOOLEAN", "TIMESTAMP" };
+
+	// annotations usable with any field type ( "%d" = field number )
+	private static final String[] FIELD_ANNOTATIONS = { "@NotNull", "@DbName(F_%d)", "@Label(\"Field %d\")", 
+			"@DbComment(\"Comment %d\")", "@InputType(text)", "@Unique" };
+
+	/**
+	 * Max number of annotations per additional field
+	 */
+	public static final int MAX_ANNOTATIONS_PER_FIELD = FIELD_ANNOTATIONS.length ;
+
+	private final int numberOfEntities;
+
+	private final int fieldsPerEntity;
+
+	private final int annotationsPerField;
+
+	private final int referencesPerEntity;
+
+	/**
+	 * Constructor (no additional field, 1 reference per entity)
+	 * @param numberOfEntities
+	 */
+	public SyntheticModelGenerator(int numberOfEntities) {
+		this(numberOfEntities, 0, 0, 1);
+	}
+
+	/**
+	 * Constructor
+	 * @param numberOfEntities
+	 * @param fieldsPerEntity number of additional fields in each entity
+	 * @param annotationsPerField number of annotations for each additional field (0 to MAX_ANNOTATIONS_PER_FIELD)
+	 * @param referencesPerEntity number of references (FK + link) to the previous entities
+	 */
+	public SyntheticModelGenerator(int numberOfEntities, int fieldsPerEntity, int annotationsPerField, int referencesPerEntity) {
+		super();
+		if ( annotationsPerField < 0 || annotationsPerField > MAX_ANNOTATIONS_PER_FIELD ) {
+			throw new IllegalArgumentException("Invalid number of annotations per field : " + annotationsPerField);
+		}
+		this.numberOfEntities = numberOfEntities;
+		this.fieldsPerEntity = fieldsPerEntity;
+		this.annotationsPerField = annotationsPerField;
+		this.referencesPerEntity = referencesPerEntity;
+	}
+
+	/**
+	 * Returns the number of entities
+	 * @return
+	 */
+	public int getNumberOfEntities() {
+		return numberOfEntities;
+	}
+
+	/**
+	 * Returns the name of the entity at the given index 
+	 * @param index
+	 * @return
+	 */
+	public String entityName(int index) {
+		return String.format("Entity%06d", index);
+	}
+
+	/**
+	 * Returns the content of the entity file at the given index
+	 * @param index
+	 * @return
+	 */
+	public String entityContent(int index) {
+		String name = entityName(index);
+		StringBuilder sb = new StringBuilder();
+		sb.append("// Synthetic entity ").append(name).append("\n");
+		sb.append("@DbTable(T_").append(name.toUpperCase()).append(")\n");
+		sb.append(name).append(" {\n");
+		sb.append("  id : int { @Id @AutoIncremented } ;\n");
+		sb.append("  code : string { @NotNull @SizeMax(20) @DbName(CODE) } ;\n");
+		sb.append("  label : string { @Label(\"Label of ").append(name).append("\") #Searchable } ;\n");
+		sb.append("  amount : decimal { @Min(0) @Max(99999) } ; // amount\n");
+		sb.append("  active : boolean { @DefaultValue(true) } ;\n");
+		sb.append("  created : timestamp ;\n");
+		for ( int f = 1 ; f <= fieldsPerEntity ; f++ ) {
+			sb.append("  field").append(f).append(" : ").append(FIELD_TYPES[f % FIELD_TYPES.length]);
+			if ( annotationsPerField > 0 ) {
+				sb.append(" {");
+				for ( int a = 0 ; a < annotationsPerField ; a++ ) {
+					sb.append(" ").append(String.format(FIELD_ANNOTATIONS[a], f));
+				}
+				sb.append(" }");
+			}
+			sb.append(" ;\n");
+		}
+		for ( int r = 0 ; r < referencesPerEntity && r < index ; r++ ) {
+			String referencedName = entityName(index - 1 - r);
+			String suffix = r > 0 ? String.valueOf(r + 1) : "" ;
+			sb.append("  refId").append(suffix).append(" : int { @FK(").append(referencedName).append(") } ;\n");
+			sb.append("  ref").append(suffix).append(" : ").append(referencedName).append(" ;\n");
+		}
+		sb.append("}\n");
+		return sb.toString();
+	}
+
+	/**
+	 * Returns the name of the SQL table at the given index 
+	 * @param index
+	 * @return
+	 */
+	public String tableName(int index) {
+		return "T_" + entityName(index).toUpperCase();
+	}
+
+	/**
+	 * Returns the SQL statements creating all the tables (same structure as the entities) 
+	 * @param schema
+	 * @return
+	 */
+	public List<String> createTablesStatements(String schema) {
+		List<String> statements = new ArrayList<>(numberOfEntities);
+		for ( int i = 0 ; i < numberOfEntities ; i++ ) {
+			StringBuilder sb = new StringBuilder();
+			sb.append("CREATE TABLE ").append(schema).append(".").append(tableName(i)).append(" (");
+			sb.append(" ID INT NOT NULL PRIMARY KEY,");
+			sb.append(" CODE VARCHAR(20) NOT NULL,");
+			sb.append(" LABEL VARCHAR(100),");
+			sb.append(" AMOUNT DECIMAL(10,2) DEFAULT 0,");
+			sb.append(" CREATED TIMESTAMP");
+			for ( int f = 1 ; f <= fieldsPerEntity ; f++ ) {
+				sb.append(", F_").append(f).append(" ").append(SQL_TYPES[f % SQL_TYPES.length]);
+			}
+			for ( int r = 0 ; r < referencesPerEntity && r < i ; r++ ) {
+				sb.append(", REF").append(r + 1).append("_ID INT");
+				sb.append(" CONSTRAINT FK_").append(i).append("_").append(r + 1);
+				sb.append(" REFERENCES ").append(schema).append(".").append(tableName(i - 1 - r)).append("(ID)");
+			}
+			sb.append(" )");
+			statements.add(sb.toString());
+		}
+		return statements;
+	}
+
+	/**
+	 * Creates a new model folder (in a temporary directory) with all the entity files
+	 * @return the model folder
+	 * @throws IOException
+	 */
+	public File generateModelFolder() throws IOException {
+		File modelFolder = Files.createTempDirectory("synthetic-model-" + numberOfEntities + "-").toFile();
+		for ( int i = 0 ; i < numberOfEntities ; i++ ) {
+			File entityFile = new File(modelFolder, entityName(i) + ".entity");
+			Files.write(entityFile.toPath(), entityContent(i).getBytes(StandardCharsets.UTF_8));
+		}
+		return modelFolder;
+	}
+
+	/**
+	 * Deletes the given model folder and all its files
+	 * @param modelFolder
+	 */
+	public static void deleteModelFolder(File modelFolder) {
+		if ( modelFolder != null && modelFolder.isDirectory() ) {
+			File[] files = modelFolder.listFiles();
+			if ( files != null ) {
+				for ( File file : files ) {
+					file.delete();
+				}
+			}
+			modelFolder.delete();
+		}
+	}
+}
@@ -69,6 +69,14 @@ public class DslModelErrors {
     	errors.add(error);
     }
     
+    /**
+     * Add all the errors of the given collector (keeping their order)
+     * @param otherErrors
+     */
+    public void addErrors(DslModelErrors otherErrors) {
+    	errors.addAll(otherErrors.getErrors());
+    }
+    
     @Override
     public String toString() {
     	StringBuilder sb = new StringBuilder();
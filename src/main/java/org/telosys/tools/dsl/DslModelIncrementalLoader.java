@@ -0,0 +1,424 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.telosys.tools.dsl.commons.ModelInfo;
+import org.telosys.tools.dsl.commons.ModelInfoLoader;
+import org.telosys.tools.dsl.converter.ModelConverter;
+import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.dsl.parser.Element;
+import org.telosys.tools.dsl.parser.EntityElementsLexer;
+import org.telosys.tools.dsl.parser.EntityElementsProcessor;
+import org.telosys.tools.dsl.parser.commons.FkElement;
+import org.telosys.tools.dsl.parser.model.DomainEntity;
+import org.telosys.tools.dsl.parser.model.DomainField;
+import org.telosys.tools.dsl.parser.model.DomainModel;
+import org.telosys.tools.generic.model.Entity;
+import org.telosys.tools.generic.model.Model;
+
+/**
+ * Incremental DSL model loader for a given model folder <br>
+ * Keeps the state of each entity file between 2 loadings (size, last modified, content hash,
+ * elements and parsed entity) in order to : <br>
+ *  - re-parse only the entity files that have changed <br>
+ *  - re-convert only the changed entities and the entities referencing them <br>
+ * The other entities of the previous model are reused as is in the new model : 
+ * the same 'DslModelEntity' instances are shared by the previous model and the new model, 
+ * so a model returned by this loader must not be modified and a previous model must be 
+ * considered as replaced by the new one <br>
+ * A full conversion is done if the previous loading has errors,
+ * if the 'model.yaml' file has changed or if an entity file has been added or removed. <br>
+ *
+ * NB : this class is not thread-safe
+ *
+ * @author Laurent Guerin
+ * @since 4.1.1
+ */
+public class DslModelIncrementalLoader {
+
+	private final File modelFolder;
+
+	private String errorMessage = "";
+
+	private DslModelErrors errors = new DslModelErrors();
+
+	/**
+	 * State of each entity file (key is the file full name), in the files order
+	 */
+	private Map<String, EntityFileState> entityFilesStates = new LinkedHashMap<>();
+
+	private FileSignature modelInfoFileSignature = null;
+
+	private ModelInfo modelInfo = null;
+
+	/**
+	 * Last model successfully loaded (without error) or null
+	 */
+	private DslModel previousModel = null;
+
+	private int numberOfParsedFiles = 0;
+
+	private int numberOfConvertedEntities = 0;
+
+	/**
+	 * Last modification time resolution supported (the coarsest is FAT with 2 seconds) : 
+	 * a file modified in the same time unit as the previous scan can keep the same signature 
+	 * (size and last modified) after a change
+	 */
+	private static final long LAST_MODIFIED_RESOLUTION = 2000L ;
+
+	/**
+	 * Constructor
+	 * @param modelFolder the model folder containing the entity files
+	 */
+	public DslModelIncrementalLoader(File modelFolder) {
+		super();
+		if ( modelFolder == null ) {
+			throw new IllegalArgumentException("Model folder is null");
+		}
+		this.modelFolder = modelFolder;
+	}
+
+	/**
+	 * Returns the model folder
+	 * @return
+	 */
+	public File getModelFolder() {
+		return modelFolder;
+	}
+
+	/**
+	 * Returns main error message (or void if no error)
+	 * @return
+	 */
+	public String getErrorMessage() {
+		return errorMessage;
+	}
+
+	/**
+	 * Returns object containing all errors of the last loading
+	 * @return
+	 */
+	public DslModelErrors getErrors() {
+		return errors;
+	}
+
+	/**
+	 * Returns the number of entity files parsed by the last loading
+	 * @return
+	 */
+	public int getNumberOfParsedFiles() {
+		return numberOfParsedFiles;
+	}
+
+	/**
+	 * Returns the number of entities converted by the last loading
+	 * (entities not converted are reused from the previous model)
+	 * @return
+	 */
+	public int getNumberOfConvertedEntities() {
+		return numberOfConvertedEntities;
+	}
+
+	/**
+	 * Clears all the states kept from the previous loadings (the next loading will be a full loading)
+	 */
+	public void reset() {
+		entityFilesStates = new LinkedHashMap<>();
+		modelInfoFileSignature = null;
+		modelInfo = null;
+		previousModel = null;
+	}
+
+	/**
+	 * Loads (parse and convert) the model <br>
+	 * Only the changes since the previous loading are parsed and converted <br>
+	 * The unchanged entities are shared with the model returned by the previous loading <br>
+	 * If errors occured this method returns null and the errors can be retrieved from this instance
+	 *
+	 * @return the generic model or null if errors detected
+	 */
+	public Model loadModel() {
+		errorMessage = "";
+		errors = new DslModelErrors();
+		numberOfParsedFiles = 0;
+		numberOfConvertedEntities = 0;
+
+		//--- check model folder validity
+		if ( ! modelFolder.isDirectory() ) {
+			reset();
+			return parsingError(new DslModelError("Model folder '" + modelFolder.toString() + "' not found or not a directory"));
+		}
+
+		//--- model info file (reloaded only if changed)
+		boolean fullConversion = ( previousModel == null );
+		File modelInfoFile = DslModelUtil.getModelFileFromModelFolder(modelFolder);
+		FileSignature signature = new FileSignature(modelInfoFile);
+		if ( modelInfo == null || ! signature.equals(modelInfoFileSignature) ) {
+			try {
+				modelInfo = ModelInfoLoader.loadModelInformation(modelInfoFile);
+			} catch (DslModelError e) {
+				reset();
+				return parsingError(e);
+			}
+			modelInfoFileSignature = signature;
+			fullConversion = true;
+		}
+
+		//--- entity files (re-parsed only if changed)
+		List<String> entitiesFileNames = DslModelUtil.getEntityFullFileNames(modelFolder);
+		if ( ! entitiesFileNames.equals(new ArrayList<>(entityFilesStates.keySet())) ) {
+			// entity file(s) added or removed => all the entities must be processed again
+			fullConversion = true;
+		}
+		Set<String> entitiesNames = DslModelUtil.getEntitiesNames(entitiesFileNames);
+		Set<String> changedEntities = new HashSet<>();
+		Map<String, EntityFileState> newStates = new LinkedHashMap<>();
+		DomainModel domainModel = new DomainModel(modelFolder.getName(), modelInfo);
+		for (String entityFileName : entitiesFileNames) {
+			EntityFileState state = entityFilesStates.get(entityFileName);
+			if ( state == null ) {
+				state = new EntityFileState(new File(entityFileName));
+			}
+			boolean reparsed = state.refresh();
+			if ( reparsed ) {
+				numberOfParsedFiles++;
+			}
+			if ( reparsed || fullConversion || state.domainEntity == null ) {
+				state.process(entitiesNames);
+				changedEntities.add(state.entityName);
+			}
+			errors.addErrors(state.errors);
+			if ( state.domainEntity != null ) {
+				domainModel.setEntity(state.domainEntity);
+			}
+			newStates.put(entityFileName, state);
+		}
+		entityFilesStates = newStates;
+		if ( ! errors.isEmpty() ) {
+			previousModel = null;
+			errorMessage = errors.getNumberOfErrors() + " parsing error(s)";
+			return null;
+		}
+
+		//--- conversion (only for the changed entities and the entities referencing them)
+		List<DslModelEntity> reusedEntities = new ArrayList<>();
+		if ( ! fullConversion ) {
+			Set<String> entitiesToConvert = getEntitiesToConvert(changedEntities);
+			for ( Entity entity : previousModel.getEntities() ) {
+				if ( ! entitiesToConvert.contains(entity.getClassName()) ) {
+					reusedEntities.add((DslModelEntity) entity);
+				}
+			}
+		}
+		return convertModel(domainModel, reusedEntities);
+	}
+
+	private Model parsingError(DslModelError error) {
+		errors.addError(error);
+		errorMessage = errors.getNumberOfErrors() + " parsing error(s)";
+		return null;
+	}
+
+	/**
+	 * Returns the given changed entities and all the entities referencing them (directly or not)
+	 * @param changedEntities
+	 * @return
+	 */
+	private Set<String> getEntitiesToConvert(Set<String> changedEntities) {
+		//--- reverse dependencies : referenced entity name --> entities referencing it
+		Map<String, List<String>> referencingEntities = new HashMap<>();
+		for ( EntityFileState state : entityFilesStates.values() ) {
+			for ( String referencedEntity : state.referencedEntities ) {
+				referencingEntities.computeIfAbsent(referencedEntity, k -> new LinkedList<>()).add(state.entityName);
+			}
+		}
+		//--- transitive closure
+		Set<String> entitiesToConvert = new HashSet<>(changedEntities);
+		LinkedList<String> entitiesToCheck = new LinkedList<>(changedEntities);
+		while ( ! entitiesToCheck.isEmpty() ) {
+			List<String> list = referencingEntities.get(entitiesToCheck.removeFirst());
+			if ( list != null ) {
+				for ( String entityName : list ) {
+					if ( entitiesToConvert.add(entityName) ) {
+						entitiesToCheck.add(entityName);
+					}
+				}
+			}
+		}
+		return entitiesToConvert;
+	}
+
+	private Model convertModel(DomainModel domainModel, List<DslModelEntity> reusedEntities) {
+		ModelConverter converter = new ModelConverter(errors);
+		try {
+			DslModel model = (DslModel) converter.convertModel(domainModel, reusedEntities);
+			numberOfConvertedEntities = domainModel.getNumberOfEntities() - reusedEntities.size();
+			if ( errors.isEmpty() ) {
+				previousModel = model;
+				return model ; // Model is OK
+			}
+			else {
+				previousModel = null;
+				return null ; // Invalid model
+			}
+		} catch (Exception e) {
+			// Unexpected exception
+			String msg = e.getMessage();
+			if ( msg == null ) { // eg NullPointerException
+				msg = e.toString();
+			}
+			previousModel = null;
+			errorMessage = "Converter error : " + msg ;
+			return null ;
+		}
+	}
+
+	/**
+	 * File signature used to detect changes without reading the file <br>
+	 * (not reliable for a file modified in the same time unit as the previous scan)
+	 */
+	private static class FileSignature {
+		private final boolean exists;
+		private final long size;
+		private final long lastModified;
+
+		public FileSignature(File file) {
+			this.exists = file.exists();
+			this.size = file.length();
+			this.lastModified = file.lastModified();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if ( obj instanceof FileSignature ) {
+				FileSignature other = (FileSignature) obj;
+				return exists == other.exists && size == other.size && lastModified == other.lastModified;
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(size) ^ Long.hashCode(lastModified);
+		}
+	}
+
+	/**
+	 * State of an entity file after its last parsing
+	 */
+	private static class EntityFileState {
+		private final File file;
+		private final String entityName;
+		private FileSignature signature = null;
+		private long scanTime = 0L;
+		private byte[] contentHash = null;
+		private List<Element> elements = null;
+		private DslModelError parsingError = null;
+		private DomainEntity domainEntity = null;
+		private DslModelErrors errors = new DslModelErrors();
+		private Set<String> referencedEntities = new HashSet<>();
+
+		public EntityFileState(File file) {
+			this.file = file;
+			this.entityName = DslModelUtil.getEntityName(file);
+		}
+
+		/**
+		 * Parses the file elements again if the file content has changed <br>
+		 * The content hash is always checked if the file has been modified 
+		 * in the last modification time resolution of the previous scan
+		 * @return true if the file has been parsed
+		 */
+		public boolean refresh() {
+			FileSignature newSignature = new FileSignature(file);
+			if ( newSignature.equals(signature) && newSignature.lastModified < scanTime - LAST_MODIFIED_RESOLUTION ) {
+				return false; // unchanged (modified before the previous scan)
+			}
+			signature = newSignature;
+			scanTime = System.currentTimeMillis();
+			byte[] content;
+			try {
+				content = Files.readAllBytes(file.toPath());
+			} catch (IOException e) {
+				contentHash = null;
+				elements = null;
+				parsingError = new DslModelError(entityName, "IOException : " + e.getMessage() );
+				return true;
+			}
+			byte[] newContentHash = hash(content);
+			if ( contentHash != null && MessageDigest.isEqual(contentHash, newContentHash) ) {
+				return false; // same content (only touched)
+			}
+			contentHash = newContentHash;
+			try {
+				elements = new EntityElementsLexer().parseEntityContent(entityName, content);
+				parsingError = null;
+			} catch (DslModelError e) {
+				elements = null;
+				parsingError = e;
+			}
+			return true;
+		}
+
+		/**
+		 * Processes the current elements to build the entity
+		 * @param entitiesNames all the entities names in the model
+		 */
+		public void process(Set<String> entitiesNames) {
+			errors = new DslModelErrors();
+			referencedEntities = new HashSet<>();
+			if ( parsingError != null ) {
+				errors.addError(parsingError);
+				domainEntity = null;
+				return;
+			}
+			EntityElementsProcessor elementsProcessor = new EntityElementsProcessor(entityName, entitiesNames);
+			domainEntity = elementsProcessor.processEntityElements(elements, errors);
+			for ( DomainField field : domainEntity.getFields() ) {
+				if ( field.getType().isEntity() ) {
+					referencedEntities.add(field.getType().getName());
+				}
+				for ( FkElement fkElement : field.getFkElements() ) {
+					referencedEntities.add(fkElement.getReferencedEntityName());
+				}
+			}
+		}
+
+		private static byte[] hash(byte[] content) {
+			try {
+				return MessageDigest.getInstance("SHA-256").digest(content);
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException("SHA-256 not available", e);
+			}
+		}
+	}
+}
@@ -16,10 +16,17 @@
 package org.telosys.tools.dsl;
 
 import java.io.File;
+import java.util.concurrent.ExecutorService;
 
 import org.telosys.tools.dsl.commons.ModelInfo;
 import org.telosys.tools.dsl.commons.ModelInfoLoader;
+import org.telosys.tools.dsl.converter.ModelConversionScheduler;
 import org.telosys.tools.dsl.converter.ModelConverter;
+import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.dsl.model.snapshot.DslModelSnapshotCache;
+import org.telosys.tools.dsl.monitoring.CompositeLoadListener;
+import org.telosys.tools.dsl.monitoring.DslModelLoadListener;
+import org.telosys.tools.dsl.monitoring.LoadStatistics;
 import org.telosys.tools.dsl.parser.ParserV2;
 import org.telosys.tools.dsl.parser.ParsingResult;
 import org.telosys.tools.dsl.parser.model.DomainModel;
@@ -40,6 +47,46 @@ public class DslModelManager {
 	 */
 	private DslModelErrors errors ;
 
+	/**
+	 * Executor used to parse and convert the entities in parallel (or null)
+	 */
+	private final ExecutorService parsingExecutor ;
+
+	/**
+	 * Listener notified during model loading (or null)
+	 */
+	private final DslModelLoadListener loadListener ;
+
+	/**
+	 * Statistics of the last model loading (phases timings, sizes, counts and errors)
+	 */
+	private LoadStatistics loadStatistics ;
+
+	/**
+	 * Snapshots cache used to avoid parsing unchanged models (or null)
+	 */
+	private DslModelSnapshotCache snapshotCache = null ;
+
+	/**
+	 * True if the last model has been loaded from its snapshot
+	 */
+	private boolean loadedFromSnapshot = false ;
+
+	/**
+	 * True to overlap the parsing and the conversion of the entities (with the executor)
+	 */
+	private boolean pipelinedLoading = false ;
+
+	/**
+	 * Incremental loader keeping the state of the last loaded model folder (or null if not enabled)
+	 */
+	private DslModelIncrementalLoader incrementalLoader = null ;
+
+	/**
+	 * True to parse and convert only the changes since the previous loading of the same model folder
+	 */
+	private boolean incrementalLoading = false ;
+
 	/**
 	 * Constructor
 	 */
@@ -47,6 +94,33 @@ public class DslModelManager {
 		super();
 		parsingErrorMessage = "";
 		errors = new DslModelErrors();
+		parsingExecutor = null;
+		loadListener = null;
+		loadStatistics = new LoadStatistics();
+	}
+
+	/**
+	 * Constructor with an executor used to parse the entity files and to convert the entities in parallel
+	 * @param parsingExecutor the executor (or null for sequential loading), not shut down by the manager
+	 * @since 4.1.1
+	 */
+	public DslModelManager(ExecutorService parsingExecutor) {
+		this(parsingExecutor, null);
+	}
+
+	/**
+	 * Constructor with a listener notified during model loading 
+	 * @param parsingExecutor the executor for parallel parsing and conversion (or null for sequential loading)
+	 * @param loadListener the listener (in addition to the 'LoadStatistics' always collected)
+	 * @since 4.1.1
+	 */
+	public DslModelManager(ExecutorService parsingExecutor, DslModelLoadListener loadListener) {
+		super();
+		parsingErrorMessage = "";
+		errors = new DslModelErrors();
+		this.parsingExecutor = parsingExecutor;
+		this.loadListener = loadListener;
+		loadStatistics = new LoadStatistics();
 	}
 
 	/**
@@ -65,6 +139,83 @@ public class DslModelManager {
 		return errors;
 	}
 
+	/**
+	 * Returns the statistics of the last model loading 
+	 * (timings, files sizes, elements/fields/annotations/FK counts and errors by phase and by entity)
+	 * @return
+	 * @since 4.1.1
+	 */
+	public LoadStatistics getLoadStatistics() {
+		return loadStatistics;
+	}
+
+	/**
+	 * Defines the snapshots cache to use : the model is loaded from its snapshot if the model files
+	 * have not changed, else the model is parsed and a new snapshot is written 
+	 * @param snapshotCache the cache (or null for no cache)
+	 * @since 4.1.1
+	 */
+	public void setSnapshotCache(DslModelSnapshotCache snapshotCache) {
+		this.snapshotCache = snapshotCache;
+	}
+
+	/**
+	 * Enables or disables the pipelined loading : the entities are converted as soon as 
+	 * they are parsed (see 'ModelConversionScheduler') <br>
+	 * Requires the executor given to the constructor 
+	 * @param pipelinedLoading
+	 * @since 4.1.1
+	 */
+	public void setPipelinedLoading(boolean pipelinedLoading) {
+		if ( pipelinedLoading && parsingExecutor == null ) {
+			throw new IllegalStateException("Pipelined loading requires an executor");
+		}
+		this.pipelinedLoading = pipelinedLoading;
+	}
+
+	/**
+	 * Returns true if the pipelined loading is enabled
+	 * @return
+	 * @since 4.1.1
+	 */
+	public boolean isPipelinedLoading() {
+		return pipelinedLoading;
+	}
+
+	/**
+	 * Enables or disables the incremental loading : only the entity files changed since the previous 
+	 * loading of the same model folder are parsed, and only the changed entities and the entities 
+	 * referencing them are converted (see 'DslModelIncrementalLoader') <br>
+	 * The unchanged entities are shared with the previously loaded model (which must not be used after a new loading) <br>
+	 * The incremental loading takes precedence over the pipelined loading 
+	 * @param incrementalLoading
+	 * @since 4.1.1
+	 */
+	public void setIncrementalLoading(boolean incrementalLoading) {
+		this.incrementalLoading = incrementalLoading;
+		if ( ! incrementalLoading ) {
+			incrementalLoader = null;
+		}
+	}
+
+	/**
+	 * Returns true if the incremental loading is enabled
+	 * @return
+	 * @since 4.1.1
+	 */
+	public boolean isIncrementalLoading() {
+		return incrementalLoading;
+	}
+
+	/**
+	 * Returns true if the last model has been loaded from its snapshot (without parsing)
+	 * @return
+	 * @since 4.1.1
+	 */
+	public boolean isLoadedFromSnapshot() {
+		return loadedFromSnapshot;
+	}
+
 	/**
 	 * Loads (parse) the given model folder
 	 * 
@@ -85,35 +236,120 @@ public class DslModelManager {
      * @return the generic model or null if errors detected during parsing 
      */
     public Model loadModel(File modelFolder) {
-		ParsingResult parsingResult = step1ParseModel(modelFolder);
+		// no error kept from a previous loading (even if loaded from a snapshot)
+		parsingErrorMessage = "";
+		errors = new DslModelErrors();
+		loadStatistics = new LoadStatistics(); // v 4.1.1
+		DslModelLoadListener listener = getListener();
+		loadedFromSnapshot = false;
+		String fingerprint = null ;
+		if ( snapshotCache != null ) {
+			// v 4.1.1 : unchanged model files => model loaded from the snapshot
+			fingerprint = snapshotCache.getFingerprint(modelFolder);
+			DslModel snapshotModel = snapshotCache.load(modelFolder, fingerprint);
+			if ( snapshotModel != null ) {
+				loadedFromSnapshot = true;
+				listener.cacheHit();
+				listener.loadingEnded(true, 0);
+				return snapshotModel ;
+			}
+		}
+		Model model ;
+		if ( incrementalLoading ) {
+			// v 4.1.1 : only the changes since the previous loading
+			model = loadModelIncrementally(modelFolder);
+		}
+		else if ( pipelinedLoading ) {
+			// v 4.1.1 : parsing and conversion overlapped
+			model = loadModelWithPipeline(modelFolder, listener);
+		}
+		else {
+			model = parseAndConvertModel(modelFolder, listener);
+		}
+		if ( model != null && snapshotCache != null ) {
+			snapshotCache.save(modelFolder, fingerprint, (DslModel) model);
+		}
+		listener.loadingEnded(model != null, errors.getNumberOfErrors());
+		return model ;
+    }
+
+    /**
+     * Parse all the model entity files, then convert the 'raw model' if no parsing error
+     * @param modelFolder
+     * @param listener
+     * @return
+     */
+    private Model parseAndConvertModel(File modelFolder, DslModelLoadListener listener) {
+		Model model ;
+		ParsingResult parsingResult = step1ParseModel(modelFolder, listener);
 		if ( parsingResult.hasErrors() ) {
 			this.errors = parsingResult.getErrors();
 			this.parsingErrorMessage = parsingResult.getErrors().getNumberOfErrors() + " parsing error(s)";
-			return null ;
+			model = null ;
 		}
 		else {
 			// Parsing is OK => convert model
-			return step2ConvertModel(parsingResult.getModel());
+			model = step2ConvertModel(parsingResult.getModel(), listener);
 		}
+		return model ;
+    }
+
+    /**
+     * Parse and convert the model with the tasks scheduled by entity dependencies
+     * @param modelFolder
+     * @param listener
+     * @return
+     */
+    private Model loadModelWithPipeline(File modelFolder, DslModelLoadListener listener) {
+    	ModelConversionScheduler scheduler = new ModelConversionScheduler(parsingExecutor, listener);
+    	Model model = scheduler.loadModel(modelFolder);
+    	errors = scheduler.getErrors();
+    	parsingErrorMessage = scheduler.getErrorMessage();
+    	return model;
+    }
+    
+    /**
+     * Parse and convert only the changes since the previous loading of the same model folder 
+     * @param modelFolder
+     * @return
+     */
+    private Model loadModelIncrementally(File modelFolder) {
+    	if ( incrementalLoader == null || ! incrementalLoader.getModelFolder().equals(modelFolder) ) {
+    		incrementalLoader = new DslModelIncrementalLoader(modelFolder);
+    	}
+    	Model model = incrementalLoader.loadModel();
+    	errors = incrementalLoader.getErrors();
+    	parsingErrorMessage = incrementalLoader.getErrorMessage();
+    	return model;
     }
     
     /**
      * Parse all the model entity files to create the 'raw model'
      * @param modelFolder the model folder ( folder like "/aa/bb/cc/modelname" )
+     * @param listener
      * @return
      */
-    private ParsingResult step1ParseModel(File modelFolder) {
-    	ParserV2 dslParser = new ParserV2();
+    private ParsingResult step1ParseModel(File modelFolder, DslModelLoadListener listener) {
+    	ParserV2 dslParser = new ParserV2(parsingExecutor, listener);
 		return dslParser.parseModel(modelFolder);
     }
     
+    /**
+     * Returns the listener for the current loading : statistics and optional specific listener
+     * @return
+     */
+    private DslModelLoadListener getListener() {
+    	return loadListener != null ? new CompositeLoadListener(loadStatistics, loadListener) : loadStatistics ;
+    }
+    
     /**
      * Convert the 'raw model' to 'DSL/generic model'
      * @param domainModel
+     * @param listener
      * @return
      */
-    private Model step2ConvertModel(DomainModel domainModel) {
-        ModelConverter converter = new ModelConverter(errors);
+    private Model step2ConvertModel(DomainModel domainModel, DslModelLoadListener listener) {
+        ModelConverter converter = new ModelConverter(errors, listener, parsingExecutor);
 		try {
 			Model model = converter.convertModel(domainModel);
 			if ( errors.isEmpty() ) {
@@ -19,8 +19,11 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -114,6 +117,21 @@ public class DslModelUtil {
     	return getEntitiesFromModelFolder(modelFolder, ENTITY_NAME);
     }
     
+    /**
+     * Returns an immutable set of entity names ( eg "Student" ) for the given entity file names <br>
+     * (hash-based set for a constant time lookup when the entity types are resolved)
+     * @param entitiesFileNames
+     * @return
+     * @since 4.1.1
+     */
+    public static Set<String> getEntitiesNames(List<String> entitiesFileNames) {
+    	Set<String> names = new HashSet<>(entitiesFileNames.size() * 2);
+    	for (String entityFileName : entitiesFileNames) {
+    		names.add(getEntityName(new File(entityFileName)));
+    	}
+    	return Collections.unmodifiableSet(names);
+    }
+    
 //    private static List<String> getEntitiesFromModelFolder(File modelFolder, int expectedName) {  // v 3.4.0
 //    	if ( ! modelFolder.exists() ) {
 //            String textError = "Model folder '"+ modelFolder.getAbsolutePath() + "' not found";
@@ -38,49 +38,74 @@ public class AttributeFKUtil {
 	public static void applyFKToAttributes(ForeignKey fk, DslModel model) {
 		String originEntityName = fk.getOriginEntityName();
 		DslModelEntity originEntity = (DslModelEntity) model.getEntityByClassName(originEntityName);
-		checkNotFound(originEntity, "origin entity", originEntityName);
-		
 		String referencedEntityName = fk.getReferencedEntityName();
 		DslModelEntity referencedEntity = (DslModelEntity) model.getEntityByClassName(referencedEntityName);
-		checkNotFound(referencedEntity, "referenced entity", referencedEntityName);
-		
+		applyFKToAttributes(fk, originEntity, referencedEntity);
+	}
+
+	/**
+	 * Apply the given Foreign Key to all attributes involved in it (origin and referenced entities already resolved)
+	 * @param fk
+	 * @param originEntity the origin entity (or null if not found)
+	 * @param referencedEntity the referenced entity (or null if not found)
+	 * @since 4.1.1
+	 */
+	public static void applyFKToAttributes(ForeignKey fk, DslModelEntity originEntity, DslModelEntity referencedEntity) {
+		checkNotFound(originEntity, "origin entity", fk.getOriginEntityName());
+		checkNotFound(referencedEntity, "referenced entity", fk.getReferencedEntityName());
 		for ( ForeignKeyAttribute fkAttrib : fk.getAttributes() ) {
 			// get referenced attribute
 			String referencedAttributeName = fkAttrib.getReferencedAttributeName();
 			DslModelAttribute referencedAttribute = (DslModelAttribute) referencedEntity.getAttributeByName(referencedAttributeName);
 			checkNotFound(referencedAttribute, "referenced attribute", referencedAttributeName);
 
-			// Build FK part
-			ForeignKeyPart fkPart = new DslModelForeignKeyPart(
-					fk.getName(),
-					referencedEntity.getClassName(), 
-					referencedAttribute.getName());
-
 			// get attribute
 			String originAttributeName = fkAttrib.getOriginAttributeName();
 			DslModelAttribute attribute = (DslModelAttribute) originEntity.getAttributeByName(originAttributeName);
 			checkNotFound(attribute, "origin attribute", originAttributeName);
 			
-			// Add FK part
-			attribute.addFKPart(fkPart);
-			
-			// Set : isFKSimple, isFKComposite, referencedEntityClassName 
-			if ( fk.getAttributes().size() > 1 ) {
-				// this attribute is a part of a composite FK
-				attribute.setFKComposite(true);
-				// if attribute is involved in multiple FK : 
-				// set it only if not already set (to preserve potential Simple FK priority)
-				if ( StrUtil.nullOrVoid( attribute.getReferencedEntityClassName() ) ) {
-					attribute.setReferencedEntityClassName(referencedEntityName);
-				}				
-			}
-			else {
-				// this attribute is the single attribute of a simple FK
-				attribute.setFKSimple(true);
-				// if attribute is involved in multiple FK : 
-				// simple FK is priority => always set it
+			applyFKToAttribute(fk, attribute, referencedEntity, referencedAttribute);
+		}
+	}
+
+	/**
+	 * Apply the given Foreign Key to one of its origin attributes (all the objects already resolved) <br>
+	 * Set FKPart, isFKSimple, isFKComposite, referencedEntityClassName 
+	 * @param fk
+	 * @param attribute the origin attribute 
+	 * @param referencedEntity
+	 * @param referencedAttribute the attribute referenced by the origin attribute 
+	 * @since 4.1.1
+	 */
+	public static void applyFKToAttribute(ForeignKey fk, DslModelAttribute attribute, 
+			DslModelEntity referencedEntity, DslModelAttribute referencedAttribute) {
+		String referencedEntityName = fk.getReferencedEntityName();
+
+		// Build FK part
+		ForeignKeyPart fkPart = new DslModelForeignKeyPart(
+				fk.getName(),
+				referencedEntity.getClassName(), 
+				referencedAttribute.getName());
+
+		// Add FK part
+		attribute.addFKPart(fkPart);
+		
+		// Set : isFKSimple, isFKComposite, referencedEntityClassName 
+		if ( fk.getAttributes().size() > 1 ) {
+			// this attribute is a part of a composite FK
+			attribute.setFKComposite(true);
+			// if attribute is involved in multiple FK : 
+			// set it only if not already set (to preserve potential Simple FK priority)
+			if ( StrUtil.nullOrVoid( attribute.getReferencedEntityClassName() ) ) {
 				attribute.setReferencedEntityClassName(referencedEntityName);
-			}
+			}				
+		}
+		else {
+			// this attribute is the single attribute of a simple FK
+			attribute.setFKSimple(true);
+			// if attribute is involved in multiple FK : 
+			// simple FK is priority => always set it
+			attribute.setReferencedEntityClassName(referencedEntityName);
 		}
 	}
 	
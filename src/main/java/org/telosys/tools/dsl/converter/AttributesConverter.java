@@ -15,7 +15,7 @@
  */
 package org.telosys.tools.dsl.converter;
 
-import java.util.Collection;
+import java.util.List;
 
 import org.telosys.tools.dsl.DslModelError;
 import org.telosys.tools.dsl.DslModelErrors;
@@ -120,9 +120,10 @@ public class AttributesConverter extends AbstractConverter {
 	 * @param domainField
 	 */
 	private void step2ApplyAnnotations(DslModelEntity dslEntity, DslModelAttribute dslAttribute, DomainField domainField) {
-		if (domainField.getAnnotations() != null) {
+		// v 4.1.1 : compact list ordered by definition ordinal (stable order, no map iteration)
+		List<DomainAnnotation> annotations = domainField.getAnnotationsByOrdinal();
+		if ( ! annotations.isEmpty() ) {
 			log("Converter : annotations found");
-			Collection<DomainAnnotation> annotations = domainField.getAnnotations().values();
 			for (DomainAnnotation annotation : annotations) {
 				try {
 					annotation.applyToAttribute(dslModel, dslEntity, dslAttribute);
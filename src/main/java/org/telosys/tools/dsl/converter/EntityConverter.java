@@ -15,12 +15,15 @@
  */
 package org.telosys.tools.dsl.converter;
 
-import java.util.Collection;
+import java.util.List;
 
 import org.telosys.tools.dsl.DslModelError;
 import org.telosys.tools.dsl.DslModelErrors;
 import org.telosys.tools.dsl.model.DslModel;
 import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.dsl.monitoring.DslEvent;
+import org.telosys.tools.dsl.monitoring.DslEventType;
+import org.telosys.tools.dsl.monitoring.DslEvents;
 import org.telosys.tools.dsl.parser.model.DomainAnnotation;
 import org.telosys.tools.dsl.parser.model.DomainEntity;
 
@@ -50,10 +53,21 @@ public class EntityConverter extends AbstractConverter {
 	}
 	
 	protected DslModelEntity convertEntity(DomainEntity domainEntity) {
-		String entityName = notNull(domainEntity.getName());
-		
 		// New entity 
-		DslModelEntity dslEntity = new DslModelEntity(entityName);
+		DslModelEntity dslEntity = new DslModelEntity(notNull(domainEntity.getName()));
+		convertEntity(domainEntity, dslEntity);
+		return dslEntity;
+	}
+
+	/**
+	 * Converts the given entity in a void entity created before (with the same name) 
+	 * @param domainEntity
+	 * @param dslEntity
+	 * @since 4.1.1
+	 */
+	protected void convertEntity(DomainEntity domainEntity, DslModelEntity dslEntity) {
+		DslEvent event = DslEvents.begin(DslEventType.CONVERT_ENTITY); // v 4.1.1
+		String entityName = notNull(domainEntity.getName());
 		
 		// Init entity state
 		step1InitEntity(dslEntity, domainEntity);
@@ -67,7 +81,7 @@ public class EntityConverter extends AbstractConverter {
 		// Finalize attribute state (if necessary)
 		// create "step4FinalizeEntity(dslEntity)" method 
 		
-		return dslEntity;
+		event.commit(entityName, domainEntity.getNumberOfFields());
 	}
 	
 	/**
@@ -85,9 +99,10 @@ public class EntityConverter extends AbstractConverter {
 	 * @param domainField
 	 */
 	private void step2ApplyAnnotations(DslModelEntity dslEntity, DomainEntity domainEntity) {
-		if (domainEntity.getAnnotations() != null) {
+		// v 4.1.1 : compact list ordered by definition ordinal (stable order, no map iteration)
+		List<DomainAnnotation> annotations = domainEntity.getAnnotationsByOrdinal();
+		if ( ! annotations.isEmpty() ) {
 			log("Converter : annotations found");
-			Collection<DomainAnnotation> annotations = domainEntity.getAnnotations().values();
 			for (DomainAnnotation annotation : annotations) {
 				try {
 					annotation.applyToEntity(dslModel, dslEntity);
@@ -15,11 +15,11 @@
  */
 package org.telosys.tools.dsl.converter;
 
-import java.util.Collection;
 import java.util.List;
 
 import org.telosys.tools.dsl.DslModelError;
 import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.converter.ModelSymbolTable.EntityReferences;
 import org.telosys.tools.dsl.converter.link.JoinAttributesUtil;
 import org.telosys.tools.dsl.model.DslModel;
 import org.telosys.tools.dsl.model.DslModelEntity;
@@ -61,6 +61,17 @@ public class LinksConverter extends AbstractConverter {
 	 * @param dslEntity
 	 */
 	public void convertLinks(DomainEntity domainEntity, DslModelEntity dslEntity) {
+		convertLinks(domainEntity, dslEntity, null);
+	}
+
+	/**
+	 * Converts all the 'links' for the given entity with the link targets already resolved
+	 * @param domainEntity
+	 * @param dslEntity
+	 * @param references the entity references (or null to search the targets in the model)
+	 * @since 4.1.1
+	 */
+	public void convertLinks(DomainEntity domainEntity, DslModelEntity dslEntity, EntityReferences references) {
 		log("convertLinks()...");
 		if (domainEntity.getFields() == null) {
 			return;
@@ -70,7 +81,7 @@ public class LinksConverter extends AbstractConverter {
 			if (domainField.getType().isEntity()) { 
 				log("convert field : " + domainField.getName() + " (entity type => link)");
 				// create a new link
-				DslModelLink dslLink = createLink(domainField);
+				DslModelLink dslLink = createLink(domainField, references);
 				
 				// 1) init link default values
 				step1InitLink(dslLink, domainField);
@@ -89,8 +100,10 @@ public class LinksConverter extends AbstractConverter {
 		}
 	}
 	
-	private DslModelLink createLink(DomainField domainField) {
-		Entity referencedEntity = dslModel.getEntityByClassName(domainField.getType().getName());
+	private DslModelLink createLink(DomainField domainField, EntityReferences references) {
+		Entity referencedEntity = references != null 
+				? references.getLinkTarget(domainField.getName()) // v 4.1.1 : target resolved once
+				: dslModel.getEntityByClassName(domainField.getType().getName());
 		
 		check((referencedEntity != null),
 				"No target entity for field '" + domainField.getName() + "' "
@@ -141,10 +154,11 @@ public class LinksConverter extends AbstractConverter {
 	private void step2ApplyAnnotationsToLink(DslModelEntity dslEntity, DslModelLink dslLink, DomainField domainField) {
 		log(dslLink.getFieldName() + " : apply annotations" );
 		// Apply annotations usable for link ( @Embedded @Optional @FetchTypeLazy @FetchTypeEager etc ) 
-		if (domainField.getAnnotations() != null) {
-			log(domainField.getAnnotations().size() + " annotation(s) found");
+		// v 4.1.1 : compact list ordered by definition ordinal (stable order, no map iteration)
+		List<DomainAnnotation> annotations = domainField.getAnnotationsByOrdinal();
+		if ( ! annotations.isEmpty() ) {
+			log(annotations.size() + " annotation(s) found");
 
-			Collection<DomainAnnotation> annotations = domainField.getAnnotations().values();
 			for (DomainAnnotation annotation : annotations) {
 				try {
 					annotation.applyToLink(dslModel, dslEntity, dslLink);
@@ -0,0 +1,610 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.converter;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.DslModelUtil;
+import org.telosys.tools.dsl.commons.ModelInfo;
+import org.telosys.tools.dsl.commons.ModelInfoLoader;
+import org.telosys.tools.dsl.converter.ModelSymbolTable.EntityReferences;
+import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.dsl.monitoring.DslModelLoadListener;
+import org.telosys.tools.dsl.monitoring.LoadPhase;
+import org.telosys.tools.dsl.monitoring.LoadPhaseTracker;
+import org.telosys.tools.dsl.parser.EntityElementsLexer;
+import org.telosys.tools.dsl.parser.EntityElementsLexerPool;
+import org.telosys.tools.dsl.parser.ParserV2;
+import org.telosys.tools.dsl.parser.commons.FkElement;
+import org.telosys.tools.dsl.parser.model.DomainEntity;
+import org.telosys.tools.dsl.parser.model.DomainField;
+import org.telosys.tools.dsl.parser.model.DomainModel;
+import org.telosys.tools.generic.model.Model;
+
+/**
+ * Model loading with the parsing and the conversion of the entities overlapped <br>
+ * The tasks are scheduled with an entity dependency graph derived from the link fields 
+ * and the '@FK' references : <br>
+ *  - each entity file is parsed by a task submitted to the executor <br>
+ *  - the entity and its attributes are created as soon as the entity is parsed (steps 1 and 2) <br>
+ *  - its explicit Foreign Keys are built as soon as the entities referenced by '@FK' are created (step 3) <br>
+ *  - its links are created as soon as its Foreign Keys are built and the referenced entities are created (step 4) <br>
+ * Then the implicit Foreign Keys and the model checking are done by the loading thread (steps 5 and 6) <br>
+ * <br>
+ * The result is the same as 'ParserV2' followed by 'ModelConverter' : 
+ * same entities order, same errors in the same order and same exception if any 
+ * (each task has its own errors collector, merged at the end in the sequential order) <br>
+ * The conversion result is discarded if a parsing error is detected <br>
+ * <br>
+ * Phases reported to the listener : 'PARSING' (until the last entity file is parsed, including
+ * the conversion work done in the meantime), 'CONVERSION' (remaining work), 
+ * 'IMPLICIT_FOREIGN_KEYS' and 'MODEL_CHECKING' <br>
+ * NB : the tasks never wait for each other (any executor can be used, even with a single thread),
+ * the executor is not shut down by the scheduler. This class is not thread-safe.
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public class ModelConversionScheduler {
+
+	private static final int STEPS = 4 ; // steps 1 to 4 scheduled by entity
+
+	private static final int TASKS_BY_ENTITY = 4 ; // parsing, creation, foreign keys, links
+
+	private final ExecutorService executor ;
+
+	private final DslModelLoadListener listener ;
+
+	private String errorMessage = "";
+
+	private DslModelErrors errors = new DslModelErrors();
+
+	/**
+	 * Constructor
+	 * @param executor the executor running the tasks
+	 */
+	public ModelConversionScheduler(ExecutorService executor) {
+		this(executor, null);
+	}
+
+	/**
+	 * Constructor with a listener notified of the phases and of each entity parsed
+	 * @param executor the executor running the tasks
+	 * @param listener the listener to notify (or null for no listener)
+	 */
+	public ModelConversionScheduler(ExecutorService executor, DslModelLoadListener listener) {
+		super();
+		if ( executor == null ) {
+			throw new IllegalArgumentException("ExecutorService is null");
+		}
+		this.executor = executor;
+		this.listener = listener != null ? listener : DslModelLoadListener.NO_LISTENER;
+	}
+
+	/**
+	 * Returns main error message (or void if no error)
+	 * @return
+	 */
+	public String getErrorMessage() {
+		return errorMessage;
+	}
+
+	/**
+	 * Returns object containing all errors of the last loading
+	 * @return
+	 */
+	public DslModelErrors getErrors() {
+		return errors;
+	}
+
+	/**
+	 * Loads (parse and convert) the model located in the given folder <br>
+	 * If errors occured this method returns null and the errors can be retrieved from this instance
+	 * @param modelFolder the model folder containing the entity files
+	 * @return the generic model or null if errors detected
+	 */
+	public Model loadModel(File modelFolder) {
+		errorMessage = "";
+		errors = new DslModelErrors();
+		LoadPhaseTracker tracker = new LoadPhaseTracker(listener, errors);
+		tracker.start(LoadPhase.PARSING);
+		Loading loading ;
+		try {
+			loading = startLoading(modelFolder, tracker);
+			if ( loading == null ) {
+				errorMessage = errors.getNumberOfErrors() + " parsing error(s)";
+				return null;
+			}
+			loading.await(loading.parsingTasks);
+		} finally {
+			tracker.end(LoadPhase.PARSING);
+		}
+		//--- parsing result (files order)
+		DomainModel domainModel = loading.getDomainModel();
+		if ( domainModel == null ) {
+			errorMessage = errors.getNumberOfErrors() + " parsing error(s)";
+			return null;
+		}
+		//--- conversion result (same order as a sequential conversion)
+		tracker.start(LoadPhase.CONVERSION);
+		try {
+			DslModel dslModel = loading.getDslModel(domainModel);
+			ModelConverter converter = new ModelConverter(errors);
+			tracker.start(LoadPhase.IMPLICIT_FOREIGN_KEYS);
+			converter.step5CreateAllImplicitForeignKeys(dslModel);
+			tracker.end(LoadPhase.IMPLICIT_FOREIGN_KEYS);
+			dslModel.sortEntitiesByClassName();
+			tracker.start(LoadPhase.MODEL_CHECKING);
+			converter.step6CheckModel(dslModel);
+			tracker.end(LoadPhase.MODEL_CHECKING);
+			return errors.isEmpty() ? dslModel : null ;
+		} catch (Exception e) {
+			// Unexpected exception
+			String msg = e.getMessage();
+			if ( msg == null ) { // eg NullPointerException
+				msg = e.toString();
+			}
+			errorMessage = "Converter error : " + msg ;
+			return null ;
+		} finally {
+			tracker.end(LoadPhase.CONVERSION);
+		}
+	}
+
+	/**
+	 * Checks the model folder, loads the model information, lists the entity files 
+	 * and submits the parsing tasks
+	 * @param modelFolder
+	 * @param tracker
+	 * @return the loading started (or null if error)
+	 */
+	private Loading startLoading(File modelFolder, LoadPhaseTracker tracker) {
+		//--- check model folder validity (same errors as 'ParserV2')
+		if ( ! modelFolder.exists() ) {
+			errors.addError(new DslModelError("Model folder '" + modelFolder.toString() + "' not found"));
+			return null;
+		}
+		if ( ! modelFolder.isDirectory() ) {
+			errors.addError(new DslModelError("'" + modelFolder.toString() + "' is not a directory"));
+			return null;
+		}
+		//--- load model info file if any
+		ModelInfo modelInfo;
+		tracker.start(LoadPhase.MODEL_INFO);
+		try {
+			modelInfo = ModelInfoLoader.loadModelInformation(DslModelUtil.getModelFileFromModelFolder(modelFolder));
+		} catch (DslModelError e) {
+			errors.addError(e);
+			return null;
+		} finally {
+			tracker.end(LoadPhase.MODEL_INFO);
+		}
+		//--- entity files 
+		tracker.start(LoadPhase.FOLDER_WALK);
+		List<String> entitiesFileNames = DslModelUtil.getEntityFullFileNames(modelFolder);
+		Set<String> entitiesNames = DslModelUtil.getEntitiesNames(entitiesFileNames);
+		tracker.end(LoadPhase.FOLDER_WALK);
+
+		Loading loading = new Loading(modelFolder.getName(), modelInfo, entitiesFileNames, entitiesNames);
+		loading.start();
+		return loading;
+	}
+
+	/**
+	 * State of a model loading : all the entities with their tasks 
+	 */
+	private class Loading {
+
+		private final String modelName ;
+		private final ModelInfo modelInfo ;
+		private final Set<String> entitiesNames ;
+
+		/**
+		 * Model containing all the entities (void entities created before parsing) 
+		 * in read-only phase while the tasks are running
+		 */
+		private final DslModel stagingModel ;
+
+		/**
+		 * Symbol table of the staging model (entities bound once for all the tasks)
+		 */
+		private final ModelSymbolTable symbolTable ;
+
+		private final List<EntityTasks> entities = new ArrayList<>(); // files order
+		private final Map<String, EntityTasks> entitiesByName = new HashMap<>();
+
+		private final ParserV2 parser = new ParserV2(null, listener);
+		private final EntityElementsLexerPool lexers = new EntityElementsLexerPool();
+
+		private final CountDownLatch parsingTasks ;
+		private final CountDownLatch allTasks ;
+
+		/**
+		 * Set if a parsing error is detected (the conversion tasks are skipped)
+		 */
+		private volatile boolean aborted = false ;
+
+		private volatile RejectedExecutionException rejectedExecution = null ;
+
+		private volatile Error unexpectedError = null ;
+
+		public Loading(String modelName, ModelInfo modelInfo, List<String> entitiesFileNames, Set<String> entitiesNames) {
+			super();
+			this.modelName = modelName;
+			this.modelInfo = modelInfo;
+			this.entitiesNames = entitiesNames;
+			this.stagingModel = new DslModel(modelName, modelInfo);
+			for ( String entityFileName : entitiesFileNames ) {
+				EntityTasks entityTasks = new EntityTasks(new File(entityFileName));
+				entities.add(entityTasks);
+				if ( entitiesByName.putIfAbsent(entityTasks.entityName, entityTasks) == null ) {
+					stagingModel.addEntity(entityTasks.dslEntity);
+				}
+			}
+			this.symbolTable = new ModelSymbolTable(stagingModel);
+			this.parsingTasks = new CountDownLatch(entities.size());
+			this.allTasks = new CountDownLatch(entities.size() * TASKS_BY_ENTITY);
+		}
+
+		public void start() {
+			stagingModel.beginReadOnlyPhase();
+			for ( EntityTasks entityTasks : entities ) {
+				entityTasks.parsingTask.dependenciesRegistered();
+			}
+		}
+
+		public void await(CountDownLatch latch) {
+			try {
+				latch.await();
+			} catch (InterruptedException e) {
+				aborted = true;
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Model loading interrupted", e);
+			}
+			if ( rejectedExecution != null ) {
+				throw rejectedExecution;
+			}
+			if ( unexpectedError != null ) {
+				throw unexpectedError;
+			}
+		}
+
+		/**
+		 * Waits for the end of all the tasks and returns the parsing result 
+		 * @return the parsed model or null if parsing errors (the errors are merged in the files order)
+		 */
+		public DomainModel getDomainModel() {
+			if ( aborted ) {
+				await(allTasks);
+			}
+			DomainModel domainModel = new DomainModel(modelName, modelInfo);
+			for ( EntityTasks entityTasks : entities ) {
+				if ( entityTasks.parsingException != null ) {
+					// Unexpected exception => same behavior as 'ParserV2'
+					throw entityTasks.parsingException;
+				}
+				errors.addErrors(entityTasks.parsingErrors);
+				if ( entityTasks.domainEntity != null ) {
+					domainModel.setEntity(entityTasks.domainEntity);
+				}
+			}
+			return errors.isEmpty() ? domainModel : null ;
+		}
+
+		/**
+		 * Waits for the end of all the tasks and returns the model with all its entities 
+		 * (converted by steps 1 to 4) in the order of the given parsed model <br>
+		 * The errors are merged step by step in the entities order (as in a sequential conversion),
+		 * the first exception is thrown 
+		 * @param domainModel
+		 * @return
+		 */
+		public DslModel getDslModel(DomainModel domainModel) {
+			await(allTasks);
+			stagingModel.endReadOnlyPhase();
+			DslModel dslModel = new DslModel(modelName, modelInfo);
+			List<EntityTasks> conversionOrder = new ArrayList<>(entities.size());
+			for ( DomainEntity domainEntity : domainModel.getEntities() ) {
+				EntityTasks entityTasks = entitiesByName.get(domainEntity.getName());
+				conversionOrder.add(entityTasks);
+				dslModel.addEntity(entityTasks.dslEntity);
+			}
+			for ( int step = 0 ; step < STEPS ; step++ ) {
+				for ( EntityTasks entityTasks : conversionOrder ) {
+					errors.addErrors(entityTasks.stepErrors[step]);
+					if ( entityTasks.stepExceptions[step] != null ) {
+						throw entityTasks.stepExceptions[step];
+					}
+				}
+			}
+			return dslModel;
+		}
+
+		/**
+		 * The tasks for a single entity : parsing, creation (entity and attributes), 
+		 * explicit Foreign Keys and links
+		 */
+		private class EntityTasks {
+			private final File entityFile ;
+			private final String entityName ;
+			private final DslModelEntity dslEntity ;
+
+			// set by the parsing task
+			private DomainEntity domainEntity = null ;
+			private final DslModelErrors parsingErrors = new DslModelErrors();
+			private RuntimeException parsingException = null ;
+
+			// set by the foreign keys task (used by the links task)
+			private EntityReferences references = null ;
+
+			// errors and exception for each conversion step (steps 1 to 4)
+			private final DslModelErrors[] stepErrors = new DslModelErrors[STEPS];
+			private final RuntimeException[] stepExceptions = new RuntimeException[STEPS];
+
+			private final Task parsingTask ;
+			private final Task creationTask ;
+			private final Task foreignKeysTask ;
+			private final Task linksTask ;
+
+			public EntityTasks(File entityFile) {
+				super();
+				this.entityFile = entityFile;
+				this.entityName = DslModelUtil.getEntityName(entityFile);
+				this.dslEntity = new DslModelEntity(entityName);
+				for ( int step = 0 ; step < STEPS ; step++ ) {
+					stepErrors[step] = new DslModelErrors();
+				}
+				parsingTask = new Task() {
+					@Override
+					protected boolean execute() {
+						return parseEntity();
+					}
+					@Override
+					protected void completed() {
+						parsingTasks.countDown();
+					}
+				};
+				creationTask = new Task() {
+					@Override
+					protected boolean execute() {
+						return createEntity();
+					}
+				};
+				foreignKeysTask = new Task() {
+					@Override
+					protected boolean execute() {
+						return buildForeignKeys();
+					}
+				};
+				linksTask = new Task() {
+					@Override
+					protected boolean execute() {
+						return createLinks();
+					}
+				};
+				// static dependencies (the dependencies on other entities are known after parsing)
+				creationTask.dependsOn(parsingTask);
+				creationTask.dependenciesRegistered();
+				foreignKeysTask.dependsOn(creationTask);
+				linksTask.dependsOn(foreignKeysTask);
+			}
+
+			private boolean parseEntity() {
+				try {
+					EntityElementsLexer lexer = lexers.lendLexer();
+					try {
+						domainEntity = parser.parseEntity(entityFile, entitiesNames, parsingErrors, lexer);
+					} finally {
+						lexers.giveBackLexer(lexer);
+					}
+					if ( ! parsingErrors.isEmpty() || domainEntity == null ) {
+						aborted = true; // the model will not be converted
+						return false;
+					}
+					// dependencies on the entities referenced by this entity
+					for ( DomainField field : domainEntity.getFields() ) {
+						if ( field.getType().isEntity() ) {
+							dependsOnEntity(linksTask, field.getType().getName());
+						}
+						for ( FkElement fkElement : field.getFkElements() ) {
+							dependsOnEntity(foreignKeysTask, fkElement.getReferencedEntityName());
+						}
+					}
+					return true;
+				} catch (RuntimeException e) {
+					parsingException = e;
+					aborted = true;
+					return false;
+				} finally {
+					foreignKeysTask.dependenciesRegistered();
+					linksTask.dependenciesRegistered();
+				}
+			}
+
+			private void dependsOnEntity(Task task, String referencedEntityName) {
+				EntityTasks referencedEntity = referencedEntityName != null ? entitiesByName.get(referencedEntityName) : null ;
+				if ( referencedEntity != null && referencedEntity != this ) {
+					task.dependsOn(referencedEntity.creationTask);
+				}
+				// unknown entity => no dependency (error reported by the conversion)
+			}
+
+			private boolean createEntity() {
+				if ( aborted ) {
+					return false;
+				}
+				// step 1 (exception not wrapped as in 'ModelConverter')
+				try {
+					new EntityConverter(stagingModel, stepErrors[0]).convertEntity(domainEntity, dslEntity);
+				} catch (RuntimeException e) {
+					stepExceptions[0] = e;
+					return false;
+				}
+				// step 2
+				try {
+					new AttributesConverter(stagingModel, stepErrors[1]).convertAttributes(domainEntity, dslEntity);
+				} catch (Exception e) {
+					stepExceptions[1] = ModelConverter.conversionException(e, "Entity " + entityName + " : ");
+					return false;
+				}
+				return true;
+			}
+
+			private boolean buildForeignKeys() {
+				if ( aborted ) {
+					return false;
+				}
+				// step 3 
+				try {
+					// references resolved when the referenced entities are created (reused for the links)
+					references = symbolTable.resolveReferences(domainEntity);
+					new ForeignKeysBuilderV2(stagingModel, symbolTable).buildForeignKeys(references);
+				} catch (Exception e) {
+					stepExceptions[2] = ModelConverter.conversionException(e, "Entity " + entityName + " : ");
+					return false;
+				}
+				return true;
+			}
+
+			private boolean createLinks() {
+				if ( aborted ) {
+					return false;
+				}
+				// step 4
+				try {
+					new LinksConverter(stagingModel, stepErrors[3]).convertLinks(domainEntity, dslEntity, references);
+				} catch (Exception e) {
+					stepExceptions[3] = ModelConverter.conversionException(e, "Entity " + entityName + " : ");
+					return false;
+				}
+				return true;
+			}
+		}
+
+		/**
+		 * Node of the dependency graph : submitted to the executor when all its dependencies are completed <br>
+		 * A task is skipped if one of its dependencies has failed 
+		 */
+		private abstract class Task implements Runnable {
+
+			// number of dependencies not completed + 1 until all the dependencies are registered
+			private final AtomicInteger pendingDependencies = new AtomicInteger(1);
+
+			private final List<Task> successors = new LinkedList<>(); // guarded by 'this'
+			private boolean done = false ; // guarded by 'this'
+
+			private volatile boolean failed = false ;
+
+			/**
+			 * Registers a dependency (before 'dependenciesRegistered')
+			 * @param dependency
+			 */
+			public void dependsOn(Task dependency) {
+				pendingDependencies.incrementAndGet();
+				if ( ! dependency.addSuccessor(this) ) {
+					// already completed
+					dependencyCompleted(dependency);
+				}
+			}
+
+			/**
+			 * Called when all the dependencies are registered : the task can be submitted 
+			 */
+			public void dependenciesRegistered() {
+				release();
+			}
+
+			private synchronized boolean addSuccessor(Task task) {
+				if ( done ) {
+					return false;
+				}
+				successors.add(task);
+				return true;
+			}
+
+			private void dependencyCompleted(Task dependency) {
+				if ( dependency.failed ) {
+					failed = true;
+				}
+				release();
+			}
+
+			private void release() {
+				if ( pendingDependencies.decrementAndGet() == 0 ) {
+					try {
+						executor.execute(this);
+					} catch (RejectedExecutionException e) {
+						// executor shut down => loading aborted (the task is completed without execution)
+						rejectedExecution = e;
+						aborted = true;
+						failed = true;
+						run();
+					}
+				}
+			}
+
+			@Override
+			public final void run() {
+				boolean success = false ;
+				try {
+					success = ! failed && execute();
+				} catch (Error e) {
+					unexpectedError = e;
+					aborted = true;
+					throw e;
+				} finally {
+					failed = ! success;
+					List<Task> list ;
+					synchronized (this) {
+						done = true;
+						list = new ArrayList<>(successors);
+					}
+					for ( Task successor : list ) {
+						successor.dependencyCompleted(this);
+					}
+					completed();
+					allTasks.countDown();
+				}
+			}
+
+			/**
+			 * Executes the task 
+			 * @return false if the task has failed (the successors are skipped)
+			 */
+			protected abstract boolean execute() ;
+
+			/**
+			 * Called at the end of the task (executed or skipped)
+			 */
+			protected void completed() {
+				// nothing by default
+			}
+		}
+	}
+}
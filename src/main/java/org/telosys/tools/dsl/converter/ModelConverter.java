@@ -15,9 +15,23 @@
  */
 package org.telosys.tools.dsl.converter;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
 import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.converter.ModelSymbolTable.EntityReferences;
 import org.telosys.tools.dsl.model.DslModel;
 import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.dsl.monitoring.DslModelLoadListener;
+import org.telosys.tools.dsl.monitoring.LoadPhase;
+import org.telosys.tools.dsl.monitoring.LoadPhaseTracker;
 import org.telosys.tools.dsl.parser.model.DomainEntity;
 import org.telosys.tools.dsl.parser.model.DomainModel;
 import org.telosys.tools.generic.model.Entity;
@@ -33,12 +47,50 @@ public class ModelConverter extends AbstractConverter {
 
 	private final DslModelErrors  errors;
 
+	private final DslModelLoadListener listener; // v 4.1.1
+
+	private final ExecutorService executor; // v 4.1.1 (null for sequential conversion)
+
+	/**
+	 * Number of consecutive entities converted by a single task in parallel conversion
+	 */
+	private static final int ENTITIES_PER_TASK = 16 ;
+
 	/**
 	 * Constructor
 	 */
 	public ModelConverter(DslModelErrors errors) {
+		this(errors, null, null);
+	}
+
+	/**
+	 * Constructor with a listener notified of the conversion phases
+	 * @param errors
+	 * @param listener the listener to notify (or null for no listener)
+	 * @since 4.1.1
+	 */
+	public ModelConverter(DslModelErrors errors, DslModelLoadListener listener) {
+		this(errors, listener, null);
+	}
+
+	/**
+	 * Constructor for a parallel conversion <br>
+	 * The entities are created, then their attributes and links are converted by tasks 
+	 * submitted to the given executor (eg a fixed thread pool or a 'ForkJoinPool') <br>
+	 * Each task has its own errors collector, all the errors are merged in the entities order 
+	 * and the entities are added in the model in the original order 
+	 * (same result as a sequential conversion) <br>
+	 * The model is in 'read-only phase' while the tasks are running (see 'DslModel')
+	 * @param errors
+	 * @param listener the listener to notify (or null for no listener)
+	 * @param executor the executor (or null for a sequential conversion), not shut down by the converter
+	 * @since 4.1.1
+	 */
+	public ModelConverter(DslModelErrors errors, DslModelLoadListener listener, ExecutorService executor) {
 		super();
 		this.errors = errors;
+		this.listener = listener;
+		this.executor = executor;
 	}
 
 	public DslModelErrors getErrors() {
@@ -51,12 +103,23 @@ public class ModelConverter extends AbstractConverter {
 	 * @param messagePrefix
 	 */
 	private void rethrowException(Exception e, String messagePrefix) {
+		throw conversionException(e, messagePrefix);
+	}
+
+	/**
+	 * Returns a new exception for the given exception with a prefix added to the message 
+	 * @param e
+	 * @param messagePrefix
+	 * @return
+	 * @since 4.1.1
+	 */
+	static RuntimeException conversionException(Exception e, String messagePrefix) {
 		String msg = e.getMessage();
 		if ( msg == null ) { // eg NullPointerException
 			msg = e.toString();
 		}
 		String newMessage = messagePrefix + msg ;
-		throw new RuntimeException(newMessage, e);
+		return new RuntimeException(newMessage, e);
 	}
 
 	/**
@@ -73,29 +136,102 @@ public class ModelConverter extends AbstractConverter {
 		// Create a new void DSL model 
 		DslModel dslModel = new DslModel(domainModel.getModelName(), domainModel.getModelInfo()); // v 3.4.0
 
+		// Convert all the entities 
+		return convertEntities(domainModel.getEntities(), dslModel);
+	}
+
+	/**
+	 * Converts PARSER MODEL to DSL/Generic model by reusing entities already converted <br>
+	 * Only the entities not present in the given 'reused entities' are converted <br>
+	 * (the reused entities must have been converted from the same entity definitions 
+	 * and must not reference an entity to be converted) <br>
+	 * The reused entities are not copied : the same instances are added in the new model, 
+	 * so any change on a reused entity is visible in all the models containing it 
+	 * (the previous model must be replaced by the new one and not modified)
+	 * 
+	 * @param domainModel
+	 *            paser domain model
+	 * @param reusedEntities
+	 *            entities already converted (shared with the new model, not copied)
+	 * @return DSL/Generic model
+	 * @since 4.1.1
+	 */
+	public Model convertModel(DomainModel domainModel, Collection<DslModelEntity> reusedEntities) {
+
+		// Create a new DSL model with the reused entities
+		DslModel dslModel = new DslModel(domainModel.getModelName(), domainModel.getModelInfo());
+		Set<String> reusedNames = new HashSet<>();
+		for ( DslModelEntity dslModelEntity : reusedEntities ) {
+			dslModel.addEntity(dslModelEntity);
+			reusedNames.add(dslModelEntity.getClassName());
+		}
+
+		// Entities to be converted
+		List<DomainEntity> domainEntities = new ArrayList<>();
+		for (DomainEntity domainEntity : domainModel.getEntities()) {
+			if ( ! reusedNames.contains(domainEntity.getName()) ) {
+				domainEntities.add(domainEntity);
+			}
+		}
+
+		// Convert only the entities not reused 
+		return convertEntities(domainEntities, dslModel);
+	}
+
+	/**
+	 * Converts the given entities and adds them in the given DSL model (all the conversion steps) 
+	 * @param domainEntities the entities to be converted
+	 * @param dslModel the model (void or containing the reused entities)
+	 * @return the DSL model 
+	 * @since 4.1.1
+	 */
+	private DslModel convertEntities(Collection<DomainEntity> domainEntities, DslModel dslModel) {
+
+		LoadPhaseTracker tracker = new LoadPhaseTracker(listener, errors); // v 4.1.1
+		tracker.start(LoadPhase.CONVERSION);
+
 		// Create void entities (without attribute)
-		step1CreateAllVoidEntities(domainModel, dslModel);
+		tracker.start(LoadPhase.ENTITIES_CREATION);
+		step1CreateVoidEntities(domainEntities, dslModel);
+		tracker.end(LoadPhase.ENTITIES_CREATION);
 
 		// Create attributes : fields with basic neutral type (apply annotations and tags) 
-		step2CreateAllAttributes(domainModel, dslModel);
+		tracker.start(LoadPhase.ATTRIBUTES_CREATION);
+		step2CreateAttributes(domainEntities, dslModel);
+		tracker.end(LoadPhase.ATTRIBUTES_CREATION);
+		
+		// Resolve all references ( @FK and links targets ) once (v 4.1.1)
+		// Keep it AFTER ATTRIBUTES creation (to be able to bind attributes)
+		tracker.start(LoadPhase.REFERENCES_RESOLUTION);
+		ModelSymbolTable symbolTable = resolveAllReferences(domainEntities, dslModel);
+		tracker.end(LoadPhase.REFERENCES_RESOLUTION);
 		
 		// Create explicit Foreign Keys defined in attributes ( with @FK(xx) annotation )
-		step3CreateAllExplicitForeignKeys(domainModel, dslModel);
+		tracker.start(LoadPhase.EXPLICIT_FOREIGN_KEYS);
+		step3CreateExplicitForeignKeys(domainEntities, dslModel, symbolTable);
+		tracker.end(LoadPhase.EXPLICIT_FOREIGN_KEYS);
 		
 		// Create links : fields referencing entities (apply annotations and tags) 
 		// Keep it AFTER FK creation (to be able to found Foreign Keys)
-		step4CreateAllLinks(domainModel, dslModel); 
+		tracker.start(LoadPhase.LINKS_CREATION);
+		step4CreateLinks(domainEntities, dslModel, symbolTable); 
+		tracker.end(LoadPhase.LINKS_CREATION);
 		
 		// Create implicit Foreign Keys defined in links ( with @LinkByAttr(xx) annotation )
 		// Keep it AFTER LINKS creation (to be able to found Link attributes)
-		step5CreateAllImplicitForeignKeys(dslModel); 
+		tracker.start(LoadPhase.IMPLICIT_FOREIGN_KEYS);
+		step5CreateImplicitForeignKeys(domainEntities, dslModel, symbolTable); 
+		tracker.end(LoadPhase.IMPLICIT_FOREIGN_KEYS);
 
 		// Sort all entities by class name
 		dslModel.sortEntitiesByClassName();
 
 		// Finally check model
+		tracker.start(LoadPhase.MODEL_CHECKING);
 		step6CheckModel(dslModel);
+		tracker.end(LoadPhase.MODEL_CHECKING);
 		
+		tracker.end(LoadPhase.CONVERSION);
 		return dslModel;
 	}
 
@@ -105,9 +241,30 @@ public class ModelConverter extends AbstractConverter {
 	 * @param dslModel
 	 */
 	protected void step1CreateAllVoidEntities(DomainModel domainModel, DslModel dslModel) {
+		step1CreateVoidEntities(domainModel.getEntities(), dslModel);
+	}
+
+	private void step1CreateVoidEntities(Collection<DomainEntity> domainEntities, final DslModel dslModel) {
+		if ( executor != null ) {
+			// v 4.1.1 : entities converted in parallel, then added in the original order
+			List<ConversionTask> tasks = new ArrayList<>();
+			for ( List<DomainEntity> batch : splitInBatches(domainEntities) ) {
+				tasks.add(new ConversionTask(batch) {
+					private final EntityConverter entityConverter = new EntityConverter(dslModel, taskErrors);
+					@Override
+					protected DslModelEntity convert(DomainEntity domainEntity) {
+						return entityConverter.convertEntity(domainEntity);
+					}
+				});
+			}
+			for ( DslModelEntity dslEntity : runTasks(tasks, dslModel) ) {
+				dslModel.addEntity(dslEntity); 
+			}
+			return;
+		}
 		// v 3.4.0
 		EntityConverter entityConverter = new EntityConverter(dslModel, errors);
-		for (DomainEntity domainEntity : domainModel.getEntities()) {
+		for (DomainEntity domainEntity : domainEntities) {
 			DslModelEntity dslEntity = entityConverter.convertEntity(domainEntity);
 			dslModel.addEntity(dslEntity); 
 		}
@@ -118,21 +275,46 @@ public class ModelConverter extends AbstractConverter {
 	 * @param dslModel
 	 */
 	protected void step2CreateAllAttributes(DomainModel domainModel, DslModel dslModel) {
+		step2CreateAttributes(domainModel.getEntities(), dslModel);
+	}
+
+	private void step2CreateAttributes(Collection<DomainEntity> domainEntities, final DslModel dslModel) {
+		if ( executor != null ) {
+			// v 4.1.1 : attributes converted in parallel (each entity is completed by a single task)
+			List<ConversionTask> tasks = new ArrayList<>();
+			for ( List<DomainEntity> batch : splitInBatches(domainEntities) ) {
+				tasks.add(new ConversionTask(batch) {
+					private final AttributesConverter attribConverter = new AttributesConverter(dslModel, taskErrors);
+					@Override
+					protected DslModelEntity convert(DomainEntity domainEntity) {
+						return convertAttributes(attribConverter, domainEntity, dslModel);
+					}
+				});
+			}
+			runTasks(tasks, dslModel);
+			return;
+		}
 		AttributesConverter attribConverter = new AttributesConverter(dslModel, errors);
 		// for each "DomainEntity" convert attributes 
-		for (DomainEntity domainEntity : domainModel.getEntities()) {
-			String entityName = domainEntity.getName();
-			try {
-				// Get the GenericEntity built previously
-				DslModelEntity genericEntity = (DslModelEntity) dslModel.getEntityByClassName(domainEntity.getName());
-				// Convert all attributes to "basic type" 
-				// or "void pseudo FK attribute" (to keep the initial attributes order)
-				attribConverter.convertAttributes(domainEntity, genericEntity);
-			}
-			catch(Exception e) {
-				rethrowException(e, "Entity " + entityName + " : ");
-			}			
+		for (DomainEntity domainEntity : domainEntities) {
+			convertAttributes(attribConverter, domainEntity, dslModel);
+		}
+	}
+
+	private DslModelEntity convertAttributes(AttributesConverter attribConverter, DomainEntity domainEntity, DslModel dslModel) {
+		String entityName = domainEntity.getName();
+		DslModelEntity genericEntity = null ;
+		try {
+			// Get the GenericEntity built previously
+			genericEntity = (DslModelEntity) dslModel.getEntityByClassName(domainEntity.getName());
+			// Convert all attributes to "basic type" 
+			// or "void pseudo FK attribute" (to keep the initial attributes order)
+			attribConverter.convertAttributes(domainEntity, genericEntity);
 		}
+		catch(Exception e) {
+			rethrowException(e, "Entity " + entityName + " : ");
+		}			
+		return genericEntity;
 	}
 
 	/**
@@ -140,23 +322,61 @@ public class ModelConverter extends AbstractConverter {
 	 * @param dslModel
 	 */
 	protected void step4CreateAllLinks(DomainModel domainModel, DslModel dslModel) {
+		step4CreateAllLinks(domainModel, dslModel, new ModelSymbolTable(dslModel));
+	}
+
+	/**
+	 * @param domainModel
+	 * @param dslModel
+	 * @param symbolTable the symbol table containing the resolved link targets
+	 * @since 4.1.1
+	 */
+	protected void step4CreateAllLinks(DomainModel domainModel, DslModel dslModel, ModelSymbolTable symbolTable) {
+		step4CreateLinks(domainModel.getEntities(), dslModel, symbolTable);
+	}
+
+	private void step4CreateLinks(Collection<DomainEntity> domainEntities, final DslModel dslModel, 
+			final ModelSymbolTable symbolTable) {
+		if ( executor != null ) {
+			// v 4.1.1 : links converted in parallel (each entity is completed by a single task,
+			// the referenced entities are only read : attributes and FK are not modified in this step)
+			List<ConversionTask> tasks = new ArrayList<>();
+			for ( List<DomainEntity> batch : splitInBatches(domainEntities) ) {
+				tasks.add(new ConversionTask(batch) {
+					private final LinksConverter linksConverter = new LinksConverter(dslModel, taskErrors);
+					@Override
+					protected DslModelEntity convert(DomainEntity domainEntity) {
+						return convertLinks(linksConverter, domainEntity, symbolTable);
+					}
+				});
+			}
+			runTasks(tasks, dslModel);
+			return;
+		}
 
 		LinksConverter linksConverter = new LinksConverter(dslModel, errors);
 		
 		// Create the links 
-		for (DomainEntity domainEntity : domainModel.getEntities()) {
-			String entityName = domainEntity.getName();
-			try {
-				// Get the GenericEntity built previously
-				DslModelEntity genericEntity = (DslModelEntity) dslModel.getEntityByClassName(entityName);
-				// Creates a link for each field referencing an entity
-				linksConverter.convertLinks(domainEntity, genericEntity);
-			}
-			catch(Exception e) {
-				rethrowException(e,"Entity " + entityName + " : ");
-			}
+		for (DomainEntity domainEntity : domainEntities) {
+			convertLinks(linksConverter, domainEntity, symbolTable);
 		}
 	}
+
+	private DslModelEntity convertLinks(LinksConverter linksConverter, DomainEntity domainEntity, ModelSymbolTable symbolTable) {
+		String entityName = domainEntity.getName();
+		DslModelEntity genericEntity = null ;
+		try {
+			// Get the GenericEntity built previously and the resolved link targets 
+			EntityReferences references = symbolTable.getReferences(domainEntity);
+			genericEntity = references.getEntity();
+			// Creates a link for each field referencing an entity
+			linksConverter.convertLinks(domainEntity, genericEntity, references);
+		}
+		catch(Exception e) {
+			rethrowException(e,"Entity " + entityName + " : ");
+		}
+		return genericEntity;
+	}
 	
 	/**
 	 * Create all Foreign Keys declared with '@FK' annotations at field level
@@ -164,12 +384,28 @@ public class ModelConverter extends AbstractConverter {
 	 * @param dslModel
 	 */
 	protected void step3CreateAllExplicitForeignKeys(DomainModel domainModel, DslModel dslModel) {
-		ForeignKeysBuilderV2 fkBuilder = new ForeignKeysBuilderV2(dslModel);
+		step3CreateAllExplicitForeignKeys(domainModel, dslModel, new ModelSymbolTable(dslModel));
+	}
+
+	/**
+	 * Create all Foreign Keys declared with '@FK' annotations at field level
+	 * @param domainModel
+	 * @param dslModel
+	 * @param symbolTable the symbol table containing the resolved '@FK' references
+	 * @since 4.1.1
+	 */
+	protected void step3CreateAllExplicitForeignKeys(DomainModel domainModel, DslModel dslModel, ModelSymbolTable symbolTable) {
+		step3CreateExplicitForeignKeys(domainModel.getEntities(), dslModel, symbolTable);
+	}
+
+	private void step3CreateExplicitForeignKeys(Collection<DomainEntity> domainEntities, DslModel dslModel, 
+			ModelSymbolTable symbolTable) {
+		ForeignKeysBuilderV2 fkBuilder = new ForeignKeysBuilderV2(dslModel, symbolTable);
 		// for each entity in the model
-		for (DomainEntity entity : domainModel.getEntities()) {
+		for (DomainEntity entity : domainEntities) {
 			String entityName = entity.getName();
 			try {
-				fkBuilder.buildForeignKeys(entity);
+				fkBuilder.buildForeignKeys(symbolTable.getReferences(entity));
 			}
 			catch(Exception e) {
 				rethrowException(e,"Entity " + entityName + " : ");
@@ -182,7 +418,17 @@ public class ModelConverter extends AbstractConverter {
 	 * @param dslModel
 	 */
 	protected void step5CreateAllImplicitForeignKeys(DslModel dslModel) {
-		ForeignKeysBuilderV2 fkBuilder = new ForeignKeysBuilderV2(dslModel);
+		step5CreateAllImplicitForeignKeys(dslModel, new ModelSymbolTable(dslModel));
+	}
+
+	/**
+	 * Creates all implicit Foreign Keys (if any) for the given model 
+	 * @param dslModel
+	 * @param symbolTable the symbol table used to bind the referenced entities
+	 * @since 4.1.1
+	 */
+	protected void step5CreateAllImplicitForeignKeys(DslModel dslModel, ModelSymbolTable symbolTable) {
+		ForeignKeysBuilderV2 fkBuilder = new ForeignKeysBuilderV2(dslModel, symbolTable);
 		// for each entity in the model
 		for ( Entity entity : dslModel.getEntities() ) {
 			DslModelEntity dslModelEntity = (DslModelEntity)entity;
@@ -190,6 +436,29 @@ public class ModelConverter extends AbstractConverter {
 		}
 	}
 
+	private void step5CreateImplicitForeignKeys(Collection<DomainEntity> domainEntities, DslModel dslModel, 
+			ModelSymbolTable symbolTable) {
+		ForeignKeysBuilderV2 fkBuilder = new ForeignKeysBuilderV2(dslModel, symbolTable);
+		// for each converted entity (in the original order)
+		for (DomainEntity domainEntity : domainEntities) {
+			fkBuilder.buildImplicitForeignKeys(symbolTable.getEntity(domainEntity.getName()));
+		}
+	}
+
+	/**
+	 * Resolves the references declared in the given entities ( '@FK' and links targets ) <br>
+	 * The references are bound to the model entities and attributes once for the next steps
+	 * @param domainEntities
+	 * @param dslModel
+	 * @return the symbol table containing the resolved references
+	 * @since 4.1.1
+	 */
+	protected ModelSymbolTable resolveAllReferences(Collection<DomainEntity> domainEntities, DslModel dslModel) {
+		ModelSymbolTable symbolTable = new ModelSymbolTable(dslModel);
+		symbolTable.resolveAllReferences(domainEntities);
+		return symbolTable;
+	}
+
 	/**
 	 * Check model consistency
 	 * @param dslModel
@@ -197,4 +466,97 @@ public class ModelConverter extends AbstractConverter {
 	protected void step6CheckModel(DslModel dslModel) {
 		// Add consistency checking here
 	}
+
+	//----------------------------------------------------------------------------------------
+	// Parallel conversion (v 4.1.1)
+	//----------------------------------------------------------------------------------------
+
+	/**
+	 * Splits the given entities in batches of consecutive entities (one batch per task)
+	 * @param domainEntities
+	 * @return
+	 */
+	private List<List<DomainEntity>> splitInBatches(Collection<DomainEntity> domainEntities) {
+		List<List<DomainEntity>> batches = new ArrayList<>();
+		List<DomainEntity> batch = null ;
+		for ( DomainEntity domainEntity : domainEntities ) {
+			if ( batch == null || batch.size() == ENTITIES_PER_TASK ) {
+				batch = new ArrayList<>(ENTITIES_PER_TASK);
+				batches.add(batch);
+			}
+			batch.add(domainEntity);
+		}
+		return batches;
+	}
+
+	/**
+	 * Runs the given tasks with the executor while the model is in read-only phase <br>
+	 * The results and the errors are merged in the tasks order (same order as a sequential conversion) 
+	 * @param tasks
+	 * @param dslModel
+	 * @return the entities returned by all the tasks (in the tasks order)
+	 */
+	private List<DslModelEntity> runTasks(List<ConversionTask> tasks, DslModel dslModel) {
+		List<DslModelEntity> result = new ArrayList<>();
+		dslModel.beginReadOnlyPhase();
+		try {
+			List<Future<List<DslModelEntity>>> futures = new ArrayList<>(tasks.size());
+			for ( ConversionTask task : tasks ) {
+				futures.add(executor.submit(task));
+			}
+			for ( int i = 0 ; i < tasks.size() ; i++ ) {
+				try {
+					result.addAll(waitForTask(futures.get(i)));
+				}
+				finally {
+					// errors detected before an exception are kept (as in sequential conversion)
+					errors.addErrors(tasks.get(i).taskErrors);
+				}
+			}
+		}
+		finally {
+			dslModel.endReadOnlyPhase();
+		}
+		return result;
+	}
+
+	private List<DslModelEntity> waitForTask(Future<List<DslModelEntity>> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Model conversion interrupted", e);
+		} catch (ExecutionException e) {
+			// Unexpected exception in the conversion task => same behavior as sequential conversion
+			Throwable cause = e.getCause();
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException("Model conversion error : " + cause, cause);
+		}
+	}
+
+	/**
+	 * Task converting a batch of consecutive entities with its own errors collector
+	 */
+	private abstract static class ConversionTask implements Callable<List<DslModelEntity>> {
+		private final List<DomainEntity> domainEntities;
+		protected final DslModelErrors taskErrors = new DslModelErrors();
+
+		public ConversionTask(List<DomainEntity> domainEntities) {
+			super();
+			this.domainEntities = domainEntities;
+		}
+
+		@Override
+		public List<DslModelEntity> call() {
+			List<DslModelEntity> result = new ArrayList<>(domainEntities.size());
+			for ( DomainEntity domainEntity : domainEntities ) {
+				result.add(convert(domainEntity));
+			}
+			return result;
+		}
+
+		protected abstract DslModelEntity convert(DomainEntity domainEntity) ;
+	}
 }
@@ -0,0 +1,297 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.converter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.telosys.tools.commons.StrUtil;
+import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.dsl.model.DslModelAttribute;
+import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.dsl.parser.commons.FkElement;
+import org.telosys.tools.dsl.parser.model.DomainEntity;
+import org.telosys.tools.dsl.parser.model.DomainField;
+import org.telosys.tools.generic.model.Attribute;
+import org.telosys.tools.generic.model.Entity;
+
+/**
+ * Symbol table of a model being converted <br>
+ * The entities are bound by name once, then the references declared in each entity 
+ * ( '@FK' elements and link targets ) are resolved to the model objects  <br>
+ * The Foreign Keys and the links are built from the resolved references (no more lookups by name) <br>
+ * A reference that cannot be resolved keeps its error, the error is thrown when the reference 
+ * is used (same error at the same step as without resolution) <br>
+ * <br>
+ * NB : to be created when all the entities and their attributes exist (after conversion step 2) <br>
+ * The symbol table is not modified after the resolution phase (can be shared by several threads)
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public class ModelSymbolTable {
+
+	private final Map<String, DslModelEntity> entities ;
+
+	private final Map<String, EntityReferences> resolvedReferences = new HashMap<>();
+
+	/**
+	 * Constructor : binds all the entities of the given model
+	 * @param model
+	 */
+	public ModelSymbolTable(DslModel model) {
+		super();
+		List<Entity> modelEntities = model.getEntities();
+		this.entities = new HashMap<>(modelEntities.size() * 2);
+		for ( Entity entity : modelEntities ) {
+			// same entity as 'getEntityByClassName' (in case of duplicated names)
+			String name = entity.getClassName();
+			if ( ! entities.containsKey(name) ) {
+				entities.put(name, (DslModelEntity) model.getEntityByClassName(name));
+			}
+		}
+	}
+
+	/**
+	 * Returns the entity for the given name (or null if not found)
+	 * @param entityName
+	 * @return
+	 */
+	public DslModelEntity getEntity(String entityName) {
+		return entityName != null ? entities.get(entityName) : null ;
+	}
+
+	/**
+	 * Resolves the references of all the given entities (resolution phase) <br>
+	 * The resolved references are kept in the symbol table
+	 * @param domainEntities
+	 */
+	public void resolveAllReferences(Collection<DomainEntity> domainEntities) {
+		for ( DomainEntity domainEntity : domainEntities ) {
+			resolvedReferences.put(domainEntity.getName(), resolveReferences(domainEntity));
+		}
+	}
+
+	/**
+	 * Returns the references of the given entity <br>
+	 * (resolved during the resolution phase or resolved now if not yet resolved)
+	 * @param domainEntity
+	 * @return
+	 */
+	public EntityReferences getReferences(DomainEntity domainEntity) {
+		EntityReferences references = resolvedReferences.get(domainEntity.getName());
+		return references != null ? references : resolveReferences(domainEntity);
+	}
+
+	/**
+	 * Resolves the references declared in the given entity (never throws an exception)
+	 * @param domainEntity
+	 * @return
+	 */
+	public EntityReferences resolveReferences(DomainEntity domainEntity) {
+		DslModelEntity entity = entities.get(domainEntity.getName());
+		EntityReferences references = new EntityReferences(domainEntity.getName(), entity);
+		if ( entity == null || domainEntity.getFields() == null ) {
+			return references;
+		}
+		for ( DomainField field : domainEntity.getFields() ) {
+			if ( field.isAttribute() ) {
+				// Explicit FK are defined in attributes
+				DslModelAttribute attribute = (DslModelAttribute) entity.getAttributeByName(field.getName());
+				if ( attribute == null ) {
+					references.foreignKeyReferences.add(new ForeignKeyReference(new IllegalStateException( 
+							"Cannot found attribute '" + field.getName() + "' in entity '" + domainEntity.getName() + "'" )));
+				}
+				else if ( field.getFkElements() != null ) {
+					for ( FkElement fkElement : field.getFkElements() ) {
+						references.foreignKeyReferences.add(resolveForeignKey(attribute, fkElement));
+					}
+				}
+			}
+			else if ( field.getType().isEntity() ) {
+				// Link target (null if unknown)
+				references.linkTargets.put(field.getName(), entities.get(field.getType().getName()));
+			}
+		}
+		return references;
+	}
+
+	/**
+	 * Resolves the given '@FK' element to the referenced entity and attribute <br>
+	 * Examples for "Score" entity referenced entity "Student" with single PK "id" <br>
+	 *   FK(Student) or FK(Student.id) --> "Student", "id" <br>
+	 * Examples for "Student" entity referenced entity "Course" with composite PK  "topic" + "no" <br>
+	 *   FK(Course)         --> INVALID <br>
+	 *   FK(Course.topic)   --> "Course", "topic" <br>
+	 * @param attribute the origin attribute
+	 * @param fkElement
+	 * @return
+	 */
+	private ForeignKeyReference resolveForeignKey(DslModelAttribute attribute, FkElement fkElement) {
+		String fieldName = attribute.getName();
+		String referencedEntityName = fkElement.getReferencedEntityName() ;
+		//--- Referenced entity ( it must exist and have an ID )
+		if ( StrUtil.nullOrVoid(referencedEntityName) ) {
+			return new ForeignKeyReference(new IllegalStateException( fieldName
+					+ " : FK error : no referenced entity " ));
+		}
+		DslModelEntity referencedEntity = entities.get(referencedEntityName);
+		if ( referencedEntity == null ) {
+			return new ForeignKeyReference(new IllegalStateException( fieldName
+					+ " : FK error : unknown entity '" + referencedEntityName + "'" ));
+		}
+		if ( ! referencedEntity.hasId() ) {
+			return new ForeignKeyReference(new IllegalStateException( fieldName
+					+ " : FK error : entity '" + referencedEntityName + "' has no PK" ));
+		}
+		//--- Referenced attribute ( must exist if specified, single ID if not specified ) 
+		Attribute referencedAttribute ;
+		String referencedFieldName = fkElement.getReferencedFieldName() ;
+		if ( StrUtil.nullOrVoid(referencedFieldName) ) {
+			List<Attribute> pkAttributes = referencedEntity.getKeyAttributes();
+			if ( pkAttributes.isEmpty() ) {
+				return new ForeignKeyReference(new IllegalStateException( fieldName
+						+ " : FK error : no PK field in referenced entity '" + referencedEntity.getClassName() + "'" ));
+			}
+			if ( pkAttributes.size() > 1 ) {
+				return new ForeignKeyReference(new IllegalStateException( fieldName
+						+ " : FK error : unique PK field expected in referenced entity '" + referencedEntity.getClassName() + "'" ));
+			}
+			referencedAttribute = pkAttributes.get(0);
+		}
+		else {
+			referencedAttribute = referencedEntity.getAttributeByName(referencedFieldName);
+			if ( referencedAttribute == null ) {
+				return new ForeignKeyReference(new IllegalStateException( fieldName
+						+ " : FK error : '" + referencedFieldName + "' not found in entity '" + referencedEntity.getClassName() + "'"));
+			}
+		}
+		//--- FK name 
+		if ( StrUtil.nullOrVoid(fkElement.getFkName()) ) {
+			return new ForeignKeyReference(new IllegalStateException( fieldName
+					+ " : FK error : FK name is null or void" ));
+		}
+		return new ForeignKeyReference(fkElement.getFkName(), attribute, referencedEntity, 
+				(DslModelAttribute) referencedAttribute);
+	}
+
+	//----------------------------------------------------------------------------------------
+
+	/**
+	 * References declared in an entity, resolved to the model objects
+	 */
+	public static class EntityReferences {
+
+		private final String entityName ;
+		private final DslModelEntity entity ;
+		private final List<ForeignKeyReference> foreignKeyReferences = new ArrayList<>();
+		private final Map<String, DslModelEntity> linkTargets = new HashMap<>();
+
+		private EntityReferences(String entityName, DslModelEntity entity) {
+			super();
+			this.entityName = entityName;
+			this.entity = entity;
+		}
+
+		public String getEntityName() {
+			return entityName;
+		}
+
+		/**
+		 * Returns the entity (or null if not found in the model)
+		 * @return
+		 */
+		public DslModelEntity getEntity() {
+			return entity;
+		}
+
+		/**
+		 * Returns the '@FK' references in the fields order 
+		 * @return
+		 */
+		public List<ForeignKeyReference> getForeignKeyReferences() {
+			return foreignKeyReferences;
+		}
+
+		/**
+		 * Returns the entity referenced by the given link field (or null if unknown)
+		 * @param fieldName
+		 * @return
+		 */
+		public DslModelEntity getLinkTarget(String fieldName) {
+			return linkTargets.get(fieldName);
+		}
+	}
+
+	/**
+	 * A '@FK' element resolved to the origin attribute, the referenced entity and the referenced attribute
+	 */
+	public static class ForeignKeyReference {
+
+		private final String fkName ;
+		private final DslModelAttribute originAttribute ;
+		private final DslModelEntity referencedEntity ;
+		private final DslModelAttribute referencedAttribute ;
+		private final RuntimeException error ;
+
+		private ForeignKeyReference(String fkName, DslModelAttribute originAttribute, 
+				DslModelEntity referencedEntity, DslModelAttribute referencedAttribute) {
+			super();
+			this.fkName = fkName;
+			this.originAttribute = originAttribute;
+			this.referencedEntity = referencedEntity;
+			this.referencedAttribute = referencedAttribute;
+			this.error = null;
+		}
+
+		private ForeignKeyReference(RuntimeException error) {
+			super();
+			this.fkName = null;
+			this.originAttribute = null;
+			this.referencedEntity = null;
+			this.referencedAttribute = null;
+			this.error = error;
+		}
+
+		/**
+		 * Throws the resolution error if the reference is not resolved
+		 */
+		public void checkResolved() {
+			if ( error != null ) {
+				throw error;
+			}
+		}
+
+		public String getFkName() {
+			return fkName;
+		}
+
+		public DslModelAttribute getOriginAttribute() {
+			return originAttribute;
+		}
+
+		public DslModelEntity getReferencedEntity() {
+			return referencedEntity;
+		}
+
+		public DslModelAttribute getReferencedAttribute() {
+			return referencedAttribute;
+		}
+	}
+}
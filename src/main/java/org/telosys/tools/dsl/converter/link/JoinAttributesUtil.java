@@ -47,16 +47,10 @@ public class JoinAttributesUtil {
 	}
 	
 	private static DslModelForeignKey findUniqueFKForReferencedEntityName(DslModelEntity entity, String referencedEntityName) {
-		ForeignKey fkFound = null ;
-		int count = 0 ;
-		for (ForeignKey fk : entity.getForeignKeys() ) {
-			if (referencedEntityName.equals(fk.getReferencedEntityName())) {
-				fkFound = fk;
-				count++;
-			}
-		}
-		if ( fkFound != null && count == 1 ) {
-			return (DslModelForeignKey) fkFound ;
+		// v 4.1.1 : FK indexed by referenced entity (no scan of all the entity FK)
+		List<ForeignKey> foreignKeys = entity.getForeignKeysByReferencedEntity(referencedEntityName);
+		if ( foreignKeys.size() == 1 ) {
+			return (DslModelForeignKey) foreignKeys.get(0) ;
 		}
 		return null;
 	}
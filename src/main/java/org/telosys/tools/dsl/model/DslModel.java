@@ -17,7 +17,9 @@ package org.telosys.tools.dsl.model;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.telosys.tools.commons.StrUtil;
 import org.telosys.tools.dsl.commons.ModelInfo;
@@ -41,6 +43,15 @@ public class DslModel implements Model {
 	
 	private List<Entity> entities = new ArrayList<>();
 
+	// Indexes for entities lookup (v 4.1.1), kept in sync by 'addEntity' and 'sortEntitiesByClassName'
+	// (rebuilt if the entities list has been modified directly)
+	private volatile Map<String, Entity> entitiesByClassName = new HashMap<>();
+	private volatile Map<String, Entity> entitiesByTableName = new HashMap<>();
+	private volatile int indexedEntitiesCount = 0 ;
+
+	// Read-only phase (v 4.1.1) : the entities list cannot be modified (see 'beginReadOnlyPhase')
+	private volatile boolean readOnlyPhase = false ;
+
 	/**
 	 * Constructor
 	 * @param modelName  model name 
@@ -134,7 +145,42 @@ public class DslModel implements Model {
 	}
 
 	public void addEntity(Entity entity) { // v 3.4.0
+		checkNotReadOnly();
 		entities.add(entity);
+		if ( indexedEntitiesCount == entities.size() - 1 ) {
+			indexEntity(entity);
+			indexedEntitiesCount++;
+		}
+	}
+
+	private void indexEntity(Entity entity) {
+		indexEntity(entity, entitiesByClassName, entitiesByTableName);
+	}
+
+	private void indexEntity(Entity entity, Map<String, Entity> byClassName, Map<String, Entity> byTableName) {
+		// keep the first entity found (same result as a search in the list)
+		byClassName.putIfAbsent(entity.getClassName(), entity);
+		if ( entity.getDatabaseTable() != null ) {
+			byTableName.putIfAbsent(entity.getDatabaseTable(), entity);
+		}
+	}
+
+	private void rebuildIndexes() {
+		// new maps fully built before publication (safe for concurrent readers)
+		Map<String, Entity> byClassName = new HashMap<>();
+		Map<String, Entity> byTableName = new HashMap<>();
+		for ( Entity entity : entities ) {
+			indexEntity(entity, byClassName, byTableName);
+		}
+		entitiesByClassName = byClassName;
+		entitiesByTableName = byTableName;
+		indexedEntitiesCount = entities.size();
+	}
+
+	private void checkIndexes() {
+		if ( indexedEntitiesCount != entities.size() ) {
+			rebuildIndexes();
+		}
 	}
 
 	@Override
@@ -142,12 +188,8 @@ public class DslModel implements Model {
 		if ( entityClassName == null ) {
 			throw new IllegalArgumentException("getEntityByClassName() : entityClassName is null");
 		}
-		for(Entity entity : getEntities()) {
-			if ( entityClassName.equals(entity.getClassName()) ) {
-				return entity;
-			}
-		}
-		return null;
+		checkIndexes();
+		return entitiesByClassName.get(entityClassName);
 	}
 
 	@Override
@@ -155,16 +197,72 @@ public class DslModel implements Model {
 		if ( entityTableName == null ) {
 			throw new IllegalArgumentException("getEntityByTableName() : entityTableName is null");
 		}
-		for(Entity entity : getEntities()) {
-			if ( entityTableName.equals(entity.getDatabaseTable() ) ) {
+		checkIndexes();
+		Entity entity = entitiesByTableName.get(entityTableName);
+		if ( entity != null ) {
+			if ( entityTableName.equals(entity.getDatabaseTable()) ) {
 				return entity;
 			}
+			// table name changed after indexing => rebuild the index and retry
+			rebuildIndexes();
+			return entitiesByTableName.get(entityTableName);
+		}
+		// not found in the index => plain search (no rebuild for an unknown table)
+		for ( Entity e : entities ) {
+			if ( entityTableName.equals(e.getDatabaseTable()) ) {
+				// table name set after indexing => rebuild the index for the next lookups
+				rebuildIndexes();
+				return e;
+			}
 		}
 		return null;
 	}
 
 	public void sortEntitiesByClassName() {
+		checkNotReadOnly();
 		Collections.sort(entities, new EntityClassNameComparator() ) ;
+		rebuildIndexes(); // the first entity for a given name can change
 	}
 	
+	//----------------------------------------------------------------------------------------
+	// Read-only phase (v 4.1.1)
+	//----------------------------------------------------------------------------------------
+
+	/**
+	 * Starts a read-only phase : the entities list is frozen until 'endReadOnlyPhase()' <br>
+	 * During this phase the model can be read by several threads (entities lookup) 
+	 * and each entity can be completed by a single thread (the thread in charge of this entity) <br>
+	 * An entity being completed must not be read by the other threads (its attributes, links and 
+	 * foreign keys indexes are not safe for a reader concurrent with a modification) <br>
+	 * The indexes are up to date at the beginning of the phase (no rebuild by the readers) <br>
+	 * 'addEntity' and 'sortEntitiesByClassName' throw an IllegalStateException during this phase
+	 * @since 4.1.1
+	 */
+	public void beginReadOnlyPhase() {
+		checkIndexes();
+		readOnlyPhase = true;
+	}
+
+	/**
+	 * Ends the current read-only phase (the entities list can be modified again)
+	 * @since 4.1.1
+	 */
+	public void endReadOnlyPhase() {
+		readOnlyPhase = false;
+	}
+
+	/**
+	 * Returns true if the model is in a read-only phase
+	 * @return
+	 * @since 4.1.1
+	 */
+	public boolean isInReadOnlyPhase() {
+		return readOnlyPhase;
+	}
+
+	private void checkNotReadOnly() {
+		if ( readOnlyPhase ) {
+			throw new IllegalStateException("Model '" + modelName + "' in read-only phase : entities cannot be changed");
+		}
+	}
 }
@@ -16,8 +16,9 @@
 package org.telosys.tools.dsl.model;
 
 import java.math.BigDecimal;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import org.telosys.tools.dsl.tags.Tags;
 import org.telosys.tools.generic.model.Attribute;
@@ -28,75 +29,108 @@ import org.telosys.tools.generic.model.enums.BooleanValue;
 import org.telosys.tools.generic.model.enums.DateType;
 import org.telosys.tools.generic.model.enums.GeneratedValueStrategy;
 
+/**
+ * Attribute of the DSL model <br>
+ * v 4.1.1 : compact memory layout (large models are kept in memory by the generators) <br>
+ *  . booleans and enums packed in a single 'int' <br>
+ *  . properties rarely set kept in a sparse storage (only the values different from the default value) <br>
+ *  . FK parts list and tags container allocated when first used 
+ */
 public class DslModelAttribute implements Attribute {
 	
+	//--- Bit-packed booleans (v 4.1.1)
+	private static final int DATE_FUTURE             = 1 ;       // @Future
+	private static final int DATE_PAST               = 1 << 1 ;  // @Past
+	private static final int KEY_ELEMENT             = 1 << 2 ;
+	private static final int LONG_TEXT               = 1 << 3 ;
+	private static final int NOT_BLANK               = 1 << 4 ;
+	private static final int NOT_EMPTY               = 1 << 5 ;
+	private static final int NOT_NULL                = 1 << 6 ;
+	private static final int TRANSIENT               = 1 << 7 ;  // v 3.3.0
+	// An attribute can be involved in many FK, it can be both in a SIMPLE FK and in a COMPOSITE FK 
+	private static final int FK_SIMPLE               = 1 << 8 ;
+	private static final int FK_COMPOSITE            = 1 << 9 ;
+	// Annotations added for types
+	private static final int PRIMITIVE_TYPE_EXPECTED = 1 << 10 ;
+	private static final int UNSIGNED_TYPE_EXPECTED  = 1 << 11 ;
+	private static final int OBJECT_TYPE_EXPECTED    = 1 << 12 ;
+	private static final int UNIQUE                  = 1 << 13 ; // v 3.4.0
+
+	//--- Bit-packed enums (v 4.1.1) : 4 bits for each enum ( 0 = null, n = ordinal + 1 )
+	private static final int ENUM_BITS = 4 ;
+	private static final int ENUM_MASK = ( 1 << ENUM_BITS ) - 1 ;
+	private static final int DATE_TYPE_SHIFT   = 16 ;
+	private static final int GENERATED_VALUE_STRATEGY_SHIFT = DATE_TYPE_SHIFT + ENUM_BITS ; // v 3.4.0
+	private static final int INSERTABLE_SHIFT  = GENERATED_VALUE_STRATEGY_SHIFT + ENUM_BITS ; // v 3.3.0
+	private static final int UPDATABLE_SHIFT   = INSERTABLE_SHIFT + ENUM_BITS ; // v 3.3.0
+
+	private static final DateType[] DATE_TYPES = checkEnumSize(DateType.values());
+	private static final GeneratedValueStrategy[] GENERATED_VALUE_STRATEGIES = checkEnumSize(GeneratedValueStrategy.values());
+	private static final BooleanValue[] BOOLEAN_VALUES = checkEnumSize(BooleanValue.values());
+
+	private static final int DEFAULT_FLAGS = 
+			enumBits(DateType.UNDEFINED, DATE_TYPE_SHIFT)
+			| enumBits(GeneratedValueStrategy.UNDEFINED, GENERATED_VALUE_STRATEGY_SHIFT)
+			| enumBits(BooleanValue.UNDEFINED, INSERTABLE_SHIFT)
+			| enumBits(BooleanValue.UNDEFINED, UPDATABLE_SHIFT) ;
+
+	//--- Sparse properties (v 4.1.1) : key = index in SPARSE_DEFAULTS 
+	private static final int BOOLEAN_FALSE_VALUE     = 0 ;
+	private static final int BOOLEAN_TRUE_VALUE      = 1 ;
+	private static final int DATABASE_COMMENT        = 2 ;
+	private static final int DATABASE_DEFAULT_VALUE  = 3 ;
+	private static final int DATABASE_SIZE           = 4 ; // String for size with comma ( eg "8,2" )
+	private static final int DATE_AFTER_VALUE        = 5 ;
+	private static final int DATE_BEFORE_VALUE       = 6 ;
+	private static final int DEFAULT_VALUE           = 7 ;
+	private static final int INITIAL_VALUE           = 8 ;
+	private static final int INPUT_TYPE              = 9 ;
+	private static final int PATTERN                 = 10 ; // ver 3.2.0
+	private static final int MAX_LENGTH              = 11 ;
+	private static final int MIN_LENGTH              = 12 ;
+	private static final int MAX_VALUE               = 13 ;
+	private static final int MIN_VALUE               = 14 ;
+	private static final int GENERATED_VALUE_ALLOCATION_SIZE = 15 ;
+	private static final int GENERATED_VALUE_INITIAL_VALUE   = 16 ; // v 4.1.0
+	private static final int GENERATED_VALUE_SEQUENCE_NAME   = 17 ;
+	private static final int GENERATED_VALUE_TABLE_PK_COLUMN_NAME  = 18 ;
+	private static final int GENERATED_VALUE_TABLE_PK_COLUMN_VALUE = 19 ;
+	private static final int GENERATED_VALUE_TABLE_NAME            = 20 ;
+	private static final int GENERATED_VALUE_TABLE_VALUE_COLUMN_NAME = 21 ;
+	private static final int REFERENCED_ENTITY_CLASS_NAME = 22 ; // no reference by default
+	private static final int SIZE                    = 23 ; // String for size with comma ( eg "8,2" ) // v 3.4.0
+	private static final int SCALE                   = 24 ;
+	private static final int PRECISION               = 25 ;
+	private static final int ENTITY                  = 26 ;
+
+	private static final Object[] SPARSE_DEFAULTS = {
+			"", "", "", "", "", "", "", "", "", "", "", // Strings initialized to ""
+			null, null, null, null,                     // min/max length and value
+			null, null, null, null, null, null, null,   // generated value
+			null, null, null, null, null } ;
+
+	private static final Object[] NO_SPARSE_VALUES = new Object[0] ;
+
 	private final String name ;
 	private final String neutralType ;
 	
-	private String booleanFalseValue = "";
-	private String booleanTrueValue  = "";
-	private String databaseComment = "";
-	private String databaseDefaultValue = "";
+	// Properties frequently set
 	private String databaseName = "";
-	private String databaseSize = ""; // String for size with comma ( eg "8,2" )
 	private String databaseType = "";
-	
-	private boolean isDateFuture = false; // @Future
-	private boolean isDatePast = false; // @Past
-	private String dateAfterValue = "";
-	private String dateBeforeValue = "";
-	
-	private DateType dateType = DateType.UNDEFINED;
-	private String defaultValue = "" ; 
-	private Entity entity;
-	// private String generatedValueGeneratorName; // removed in v 4.1.0
-	private GeneratedValueStrategy generatedValueStrategy = GeneratedValueStrategy.UNDEFINED; // v 3.4.0
-	private String initialValue = "" ; 
-	private String inputType = "" ; 
 	private String label = "" ; 
-	private Integer maxLength;
-	private Integer minLength;
-	private BigDecimal maxValue;
-	private BigDecimal minValue;
-	private String pattern = "" ; // ver 3.2.0
-	private Integer generatedValueAllocationSize;
-	private Integer generatedValueInitialValue; // v 4.1.0
-	private String generatedValueSequenceName;
-	private String generatedValueTablePkColumnName;
-	private String generatedValueTablePkColumnValue;
-	private String generatedValueTableName;
-	private String generatedValueTableValueColumnName;
-	// private boolean autoIncremented = false ; // removed in v 4.1
-	// private boolean databaseNotNull = false ; // removed in v 4.1
-	private boolean keyElement = false;
-	private boolean longText = false;
-	private boolean notBlank = false;
-	private boolean notEmpty = false;
-	private boolean notNull = false;
-    private boolean isTransient = false ; // v 3.3.0
-	
-	// An attribute can be involved in many FK, it can be both in a SIMPLE FK and in a COMPOSITE FK 
-	private boolean isForeignKeySimple     = false ; // ( false by default )
-	private boolean isForeignKeyComposite  = false ; // ( false by default )
-	private String  referencedEntityClassName = null ; // no reference by default
-	private List<ForeignKeyPart> fkParts = new LinkedList<>(); // Added in ver 3.3.0
-	
-	// Annotations added for types
-	private boolean isPrimitiveTypeExpected = false ;
-	private boolean isUnsignedTypeExpected = false ;
-	private boolean isObjectTypeExpected = false ;
-	
-    private TagContainer tagContainer = new Tags() ;  // Init with void Tags (never null) // v 3.4.0
-	
-    private BooleanValue insertable = BooleanValue.UNDEFINED; // Added in v 3.3.0
-    private BooleanValue updatable  = BooleanValue.UNDEFINED; // Added in v 3.3.0
 
-    private String  size; // String for size with comma ( eg "8,2" ) // Added in v 3.4.0
-	private boolean isUnique = false ; // Added in v 3.4.0
+	// Booleans and enums (v 4.1.1)
+	private int flags = DEFAULT_FLAGS ;
 
-	// numeric type support
-	private Integer scale;
-	private Integer precision;
+	// Properties rarely set (v 4.1.1) : pairs of key (Integer) and value 
+	private Object[] sparseValues = NO_SPARSE_VALUES ;
+
+	private List<ForeignKeyPart> fkParts = null ; // Added in ver 3.3.0 (v 4.1.1 : created when first used)
+	
+    private TagContainer tagContainer = null ;  // v 3.4.0 (v 4.1.1 : void Tags created when first used)
+	
+	// Entity holding this attribute (notified when 'keyElement' changes) v 4.1.1
+	private DslModelEntity owner = null ;
 
 	/**
 	 * Constructor 
@@ -114,6 +148,10 @@ public class DslModelAttribute implements Attribute {
 		return name;
 	}
 
+	protected void setOwner(DslModelEntity owner) { // v 4.1.1
+		this.owner = owner;
+	}
+
 	@Override
 	public String getNeutralType() {
 		return neutralType;
@@ -121,34 +159,34 @@ public class DslModelAttribute implements Attribute {
 
 	@Override
 	public String getBooleanFalseValue() {
-		return booleanFalseValue;
+		return (String) getSparseValue(BOOLEAN_FALSE_VALUE);
 	}
 	public void setBooleanFalseValue(String booleanFalseValue) {
-		this.booleanFalseValue = booleanFalseValue;
+		setSparseValue(BOOLEAN_FALSE_VALUE, booleanFalseValue);
 	}
 
 	@Override
 	public String getBooleanTrueValue() {
-		return booleanTrueValue;
+		return (String) getSparseValue(BOOLEAN_TRUE_VALUE);
 	}
 	public void setBooleanTrueValue(String booleanTrueValue) {
-		this.booleanTrueValue = booleanTrueValue;
+		setSparseValue(BOOLEAN_TRUE_VALUE, booleanTrueValue);
 	}
 
 	@Override
 	public String getDatabaseComment() {
-		return databaseComment;
+		return (String) getSparseValue(DATABASE_COMMENT);
 	}
 	public void setDatabaseComment(String databaseComment) {
-		this.databaseComment = databaseComment;
+		setSparseValue(DATABASE_COMMENT, databaseComment);
 	}
 
 	@Override
 	public String getDatabaseDefaultValue() {
-		return databaseDefaultValue;
+		return (String) getSparseValue(DATABASE_DEFAULT_VALUE);
 	}
 	public void setDatabaseDefaultValue(String databaseDefaultValue) {
-		this.databaseDefaultValue = databaseDefaultValue;
+		setSparseValue(DATABASE_DEFAULT_VALUE, databaseDefaultValue);
 	}
 	
 	@Override
@@ -161,10 +199,10 @@ public class DslModelAttribute implements Attribute {
 
 	@Override
 	public String getDatabaseSize() {
-		return databaseSize;
+		return (String) getSparseValue(DATABASE_SIZE);
 	}
 	public void setDatabaseSize(String databaseSize) {
-		this.databaseSize = databaseSize;
+		setSparseValue(DATABASE_SIZE, databaseSize);
 	}
 
 	@Override
@@ -177,41 +215,41 @@ public class DslModelAttribute implements Attribute {
 
 	@Override
 	public String getDateAfterValue() {
-		return dateAfterValue;
+		return (String) getSparseValue(DATE_AFTER_VALUE);
 	}
 	public void setDateAfterValue(String dateAfterValue) {
-		this.dateAfterValue = dateAfterValue;
+		setSparseValue(DATE_AFTER_VALUE, dateAfterValue);
 	}
 
 	@Override
 	public String getDateBeforeValue() {
-		return dateBeforeValue;
+		return (String) getSparseValue(DATE_BEFORE_VALUE);
 	}
 	public void setDateBeforeValue(String dateBeforeValue) {
-		this.dateBeforeValue = dateBeforeValue;
+		setSparseValue(DATE_BEFORE_VALUE, dateBeforeValue);
 	}
 
 	@Override
 	public DateType getDateType() {
-		return dateType;
+		return getEnum(DATE_TYPES, DATE_TYPE_SHIFT);
 	}
 	public void setDateType(DateType dateType) {
-		this.dateType = dateType;
+		setEnum(dateType, DATE_TYPE_SHIFT);
 	}
 
 	@Override
 	public String getDefaultValue() {
-		return defaultValue;
+		return (String) getSparseValue(DEFAULT_VALUE);
 	}
 	public void setDefaultValue(String defaultValue) {
-		this.defaultValue = defaultValue;
+		setSparseValue(DEFAULT_VALUE, defaultValue);
 	}
 
 	public Entity getEntity() {
-		return entity;
+		return (Entity) getSparseValue(ENTITY);
 	}
 	public void setEntity(Entity entity) {
-		this.entity = entity;
+		setSparseValue(ENTITY, entity);
 	}
 	
 	//----------------------------------------------------------------------------------------
@@ -220,10 +258,10 @@ public class DslModelAttribute implements Attribute {
 
 	@Override
 	public GeneratedValueStrategy getGeneratedValueStrategy() {
-		return generatedValueStrategy;
+		return getEnum(GENERATED_VALUE_STRATEGIES, GENERATED_VALUE_STRATEGY_SHIFT);
 	}
 	public void setGeneratedValueStrategy(GeneratedValueStrategy strategy) {
-		this.generatedValueStrategy = strategy;
+		setEnum(strategy, GENERATED_VALUE_STRATEGY_SHIFT);
 	}
 
 // removed in v 4.1.0
@@ -237,78 +275,78 @@ public class DslModelAttribute implements Attribute {
 	
 	@Override
 	public String getGeneratedValueSequenceName() {
-		return generatedValueSequenceName;
+		return (String) getSparseValue(GENERATED_VALUE_SEQUENCE_NAME);
 	}
 	public void setGeneratedValueSequenceName(String sequenceName) {
-		this.generatedValueSequenceName = sequenceName;
+		setSparseValue(GENERATED_VALUE_SEQUENCE_NAME, sequenceName);
 	}
 
 	@Override  // Allocation size (used by 'sequence' and 'table' )
 	public Integer getGeneratedValueAllocationSize() {
-		return generatedValueAllocationSize;
+		return (Integer) getSparseValue(GENERATED_VALUE_ALLOCATION_SIZE);
 	}
 	public void setGeneratedValueAllocationSize(int v) {
-		this.generatedValueAllocationSize = v;
+		setSparseValue(GENERATED_VALUE_ALLOCATION_SIZE, v);
 	}
 
 	@Override  // InitialValue (used by 'sequence' and 'table' )
 	public Integer getGeneratedValueInitialValue() { // v 4.1.0
-		return generatedValueInitialValue;
+		return (Integer) getSparseValue(GENERATED_VALUE_INITIAL_VALUE);
 	}
 	public void setGeneratedValueInitialValue(int v) { // v 4.1.0
-		this.generatedValueInitialValue = v;
+		setSparseValue(GENERATED_VALUE_INITIAL_VALUE, v);
 	}
 	
 	//----------------------------------------------------------------------------------------
 	
 	@Override
 	public String getGeneratedValueTableName() {
-		return generatedValueTableName;
+		return (String) getSparseValue(GENERATED_VALUE_TABLE_NAME);
 	}
 	public void setGeneratedValueTableName(String tableName) {
-		this.generatedValueTableName = tableName;
+		setSparseValue(GENERATED_VALUE_TABLE_NAME, tableName);
 	}
 
 	//@Override // TODO : remove or rename 
 	public String getGeneratedValueTablePkColumnName() {
-		return generatedValueTablePkColumnName;
+		return (String) getSparseValue(GENERATED_VALUE_TABLE_PK_COLUMN_NAME);
 	}
 	public void setGeneratedValueTablePkColumnName(String pkColumnName) {
-		this.generatedValueTablePkColumnName = pkColumnName;
+		setSparseValue(GENERATED_VALUE_TABLE_PK_COLUMN_NAME, pkColumnName);
 	}
 
 	@Override
 	public String getGeneratedValueTablePkColumnValue() {
-		return generatedValueTablePkColumnValue;
+		return (String) getSparseValue(GENERATED_VALUE_TABLE_PK_COLUMN_VALUE);
 	}
 	public void setGeneratedValueTablePkColumnValue(String pkColumnValue) {
-		this.generatedValueTablePkColumnValue = pkColumnValue;
+		setSparseValue(GENERATED_VALUE_TABLE_PK_COLUMN_VALUE, pkColumnValue);
 	}
 
 	// @Override // TODO : remove or rename 
 	public String getGeneratedValueTableValueColumnName() {
-		return generatedValueTableValueColumnName;
+		return (String) getSparseValue(GENERATED_VALUE_TABLE_VALUE_COLUMN_NAME);
 	}
 	public void setGeneratedValueTableValueColumnName(String valueColumnName) {
-		this.generatedValueTableValueColumnName = valueColumnName;
+		setSparseValue(GENERATED_VALUE_TABLE_VALUE_COLUMN_NAME, valueColumnName);
 	}
 	
 	//----------------------------------------------------------------------------------------
 
 	@Override
 	public String getInitialValue() {
-		return initialValue;
+		return (String) getSparseValue(INITIAL_VALUE);
 	}
 	public void setInitialValue(String initialValue) {
-		this.initialValue = initialValue;
+		setSparseValue(INITIAL_VALUE, initialValue);
 	}
 
 	@Override
 	public String getInputType() {
-		return inputType;
+		return (String) getSparseValue(INPUT_TYPE);
 	}
 	public void setInputType(String inputType) {
-		this.inputType = inputType;
+		setSparseValue(INPUT_TYPE, inputType);
 	}
 
 	@Override
@@ -322,41 +360,41 @@ public class DslModelAttribute implements Attribute {
 	//--- Min / Max Length ( int )
 	@Override
 	public Integer getMaxLength() {
-		return maxLength;
+		return (Integer) getSparseValue(MAX_LENGTH);
 	}
 	public void setMaxLength(Integer maxLength) {
-		this.maxLength = maxLength;
+		setSparseValue(MAX_LENGTH, maxLength);
 	}
 	@Override
 	public Integer getMinLength() {
-		return minLength;
+		return (Integer) getSparseValue(MIN_LENGTH);
 	}
 	public void setMinLength(Integer minLength) {
-		this.minLength = minLength;
+		setSparseValue(MIN_LENGTH, minLength);
 	}
 	
 	//--- Min / Max value ( BigDecimal )
 	@Override
 	public BigDecimal getMaxValue() {
-		return maxValue;
+		return (BigDecimal) getSparseValue(MAX_VALUE);
 	}
 	public void setMaxValue(BigDecimal maxValue) {
-		this.maxValue = maxValue;
+		setSparseValue(MAX_VALUE, maxValue);
 	}
 	@Override
 	public BigDecimal getMinValue() {
-		return minValue;
+		return (BigDecimal) getSparseValue(MIN_VALUE);
 	}
 	public void setMinValue(BigDecimal minValue) {
-		this.minValue = minValue;
+		setSparseValue(MIN_VALUE, minValue);
 	}
 	
 	@Override
 	public String getPattern() {
-		return pattern;
+		return (String) getSparseValue(PATTERN);
 	}
 	public void setPattern(String pattern) {
-		this.pattern = pattern;
+		setSparseValue(PATTERN, pattern);
 	}
 
 // removed in v 4.1
@@ -379,22 +417,23 @@ public class DslModelAttribute implements Attribute {
 
 	@Override
 	public boolean isDateFuture() { // @Future
-		return isDateFuture;
+		return getFlag(DATE_FUTURE);
 	}
 	public void setDateFuture(boolean isDateFuture) { // @Future
-		this.isDateFuture = isDateFuture;
+		setFlag(DATE_FUTURE, isDateFuture);
 	}
 
 	@Override
 	public boolean isDatePast() { // @Past
-		return isDatePast;
+		return getFlag(DATE_PAST);
 	}
 	public void setDatePast(boolean isDatePast) { // @Past
-		this.isDatePast = isDatePast;
+		setFlag(DATE_PAST, isDatePast);
 	}
 
 	@Override
 	public boolean isGeneratedValue() {
+		GeneratedValueStrategy generatedValueStrategy = getGeneratedValueStrategy();
 		return generatedValueStrategy != null 
 				&& generatedValueStrategy != GeneratedValueStrategy.UNDEFINED ; // v 3.4.0
 		
@@ -402,42 +441,47 @@ public class DslModelAttribute implements Attribute {
 	
 	@Override
 	public boolean isKeyElement() {
-		return keyElement;
+		return getFlag(KEY_ELEMENT);
 	}
 	public void setKeyElement(boolean keyElement) {
-		this.keyElement = keyElement;
+		if ( getFlag(KEY_ELEMENT) != keyElement ) {
+			setFlag(KEY_ELEMENT, keyElement);
+			if ( owner != null ) {
+				owner.keyAttributesChanged(); // v 4.1.1
+			}
+		}
 	}
 
 	@Override
 	public boolean isLongText() {
-		return longText;
+		return getFlag(LONG_TEXT);
 	}
 	public void setLongText(boolean longText) {
-		this.longText = longText;
+		setFlag(LONG_TEXT, longText);
 	}
 	
 	@Override
 	public boolean isNotBlank() {
-		return notBlank;
+		return getFlag(NOT_BLANK);
 	}
 	public void setNotBlank(boolean v) {
-		this.notBlank = v;
+		setFlag(NOT_BLANK, v);
 	}
 	
 	@Override
 	public boolean isNotEmpty() {
-		return notEmpty;
+		return getFlag(NOT_EMPTY);
 	}
 	public void setNotEmpty(boolean v) {
-		this.notEmpty = v;
+		setFlag(NOT_EMPTY, v);
 	}
 	
 	@Override
 	public boolean isNotNull() {
-		return notNull;
+		return getFlag(NOT_NULL);
 	}
 	public void setNotNull(boolean v) {
-		this.notNull = v;
+		setFlag(NOT_NULL, v);
 	}
 
 	//----------------------------------------------------------------------------------
@@ -445,32 +489,32 @@ public class DslModelAttribute implements Attribute {
 	//----------------------------------------------------------------------------------
 	@Override
 	public boolean isFK() {
-		return isForeignKeySimple || isForeignKeyComposite ;
+		return ( flags & ( FK_SIMPLE | FK_COMPOSITE ) ) != 0 ;
 	}
 
 	public void setFKSimple(boolean flag) {
-		isForeignKeySimple = flag ;
+		setFlag(FK_SIMPLE, flag);
 	}
 	@Override
 	public boolean isFKSimple() {
-		return isForeignKeySimple;
+		return getFlag(FK_SIMPLE);
 	}
 
 	public void setFKComposite(boolean flag) {
-		isForeignKeyComposite = flag ;
+		setFlag(FK_COMPOSITE, flag);
 	}
 	@Override
 	public boolean isFKComposite() {
-		return isForeignKeyComposite;
+		return getFlag(FK_COMPOSITE);
 	}
 
 	public void setReferencedEntityClassName(String entityClassName) {
-		referencedEntityClassName = entityClassName ;
+		setSparseValue(REFERENCED_ENTITY_CLASS_NAME, entityClassName);
 	}
 	@Override
 	public String getReferencedEntityClassName() {
 		if ( isFK() ) {
-			return referencedEntityClassName ;
+			return (String) getSparseValue(REFERENCED_ENTITY_CLASS_NAME) ;
 		}
 		else {
 			return null ;
@@ -480,26 +524,26 @@ public class DslModelAttribute implements Attribute {
 	//----------------------------------------------------------------------------------
 	@Override
 	public boolean isObjectTypeExpected() {
-		return isObjectTypeExpected ;
+		return getFlag(OBJECT_TYPE_EXPECTED);
 	}
 	public void setObjectTypeExpected(boolean v) {
-		this.isObjectTypeExpected = v ;
+		setFlag(OBJECT_TYPE_EXPECTED, v);
 	}
 	
 	@Override
 	public boolean isPrimitiveTypeExpected() {
-		return isPrimitiveTypeExpected ;
+		return getFlag(PRIMITIVE_TYPE_EXPECTED);
 	}
 	public void setPrimitiveTypeExpected(boolean v) {
-		this.isPrimitiveTypeExpected = v ;
+		setFlag(PRIMITIVE_TYPE_EXPECTED, v);
 	}
 	
 	@Override
 	public boolean isUnsignedTypeExpected() {
-		return isUnsignedTypeExpected;
+		return getFlag(UNSIGNED_TYPE_EXPECTED);
 	}
 	public void setUnsignedTypeExpected(boolean v) {
-		this.isUnsignedTypeExpected = v ;
+		setFlag(UNSIGNED_TYPE_EXPECTED, v);
 	}
 	
 	@Override
@@ -524,6 +568,9 @@ public class DslModelAttribute implements Attribute {
 	
 	@Override
 	public TagContainer getTagContainer() {
+		if ( this.tagContainer == null ) {
+			this.tagContainer = new Tags(); // v 4.1.1 : void Tags (never null)
+		}
 		return this.tagContainer;
 	}
 
@@ -531,76 +578,147 @@ public class DslModelAttribute implements Attribute {
 	// FOREIGN KEYS in which the attribute is involved ( ver 3.3.0 )
 	//-----------------------------------------------------------------------------------------	
 	public void addFKPart(ForeignKeyPart fkPart) {
-		fkParts.add(fkPart);
+		getFKParts().add(fkPart);
 	}
 
 	@Override
 	public List<ForeignKeyPart> getFKParts() {
+		if ( fkParts == null ) {
+			fkParts = new ArrayList<>(2); // v 4.1.1 : list created when first used
+		}
 		return fkParts;
 	}
 
 	@Override
 	public boolean hasFKParts() {
-		return  ! fkParts.isEmpty() ;
+		return  fkParts != null && ! fkParts.isEmpty() ;
 	}
 	
     @Override
     public BooleanValue getInsertable() {  // v 3.3.0
-        return this.insertable;
+        return getEnum(BOOLEAN_VALUES, INSERTABLE_SHIFT);
     }
     public void setInsertable(BooleanValue b) {  // v 3.3.0
-        this.insertable = b;
+        setEnum(b, INSERTABLE_SHIFT);
     }
 
     @Override
     public BooleanValue getUpdatable() {  // v 3.3.0
-        return this.updatable;
+        return getEnum(BOOLEAN_VALUES, UPDATABLE_SHIFT);
     }
     public void setUpdatable(BooleanValue b) {  // v 3.3.0
-        this.updatable = b;
+        setEnum(b, UPDATABLE_SHIFT);
     }
     
     @Override
     public boolean isTransient() { // v 3.3.0
-        return this.isTransient;
+        return getFlag(TRANSIENT);
     }
     public void setTransient(boolean b) { // v 3.3.0
-        this.isTransient = b;
+        setFlag(TRANSIENT, b);
     }
 
 	@Override 
 	public String getSize() { // v 3.4.0
-		return size;
+		return (String) getSparseValue(SIZE);
 	}
 	public void setSize(String v) { // v 3.4.0
-		this.size = v;
+		setSparseValue(SIZE, v);
 	}
 
     @Override
     public boolean isUnique() { // v 3.4.0
-        return this.isUnique;
+        return getFlag(UNIQUE);
     }
 
 	@Override
 	public Integer getScale() {
-		return this.scale;
+		return (Integer) getSparseValue(SCALE);
 	}
 
 	@Override
 	public Integer getPrecision() {
-		return this.precision;
+		return (Integer) getSparseValue(PRECISION);
 	}
 
 	public void setScale(Integer scale) {
-		this.scale = scale;
+		setSparseValue(SCALE, scale);
 	}
 
 	public void setPrecision(Integer precision) {
-		this.precision = precision;
+		setSparseValue(PRECISION, precision);
 	}
 
 	public void setUnique(boolean b) { // v 3.4.0
-        this.isUnique = b;
+        setFlag(UNIQUE, b);
     }
 
+	//-----------------------------------------------------------------------------------------
+	// Compact storage (v 4.1.1)
+	//-----------------------------------------------------------------------------------------
+	private boolean getFlag(int flag) {
+		return ( flags & flag ) != 0 ;
+	}
+	private void setFlag(int flag, boolean value) {
+		if ( value ) {
+			flags |= flag ;
+		}
+		else {
+			flags &= ~flag ;
+		}
+	}
+
+	private static <E extends Enum<E>> E[] checkEnumSize(E[] values) {
+		// 'ordinal + 1' must fit in ENUM_BITS ( 0 = null )
+		if ( values.length > ENUM_MASK ) {
+			throw new IllegalStateException(values.getClass().getComponentType().getSimpleName() 
+					+ " : too many values for " + ENUM_BITS + " bits");
+		}
+		return values;
+	}
+	private static int enumBits(Enum<?> value, int shift) {
+		return value != null ? ( value.ordinal() + 1 ) << shift : 0 ;
+	}
+	private <E extends Enum<E>> E getEnum(E[] values, int shift) {
+		int n = ( flags >>> shift ) & ENUM_MASK ;
+		return n != 0 ? values[n - 1] : null ;
+	}
+	private void setEnum(Enum<?> value, int shift) {
+		flags = ( flags & ~( ENUM_MASK << shift ) ) | enumBits(value, shift) ;
+	}
+
+	private Object getSparseValue(int key) {
+		Object[] values = sparseValues;
+		for ( int i = 0 ; i < values.length ; i += 2 ) {
+			if ( (Integer) values[i] == key ) {
+				return values[i + 1];
+			}
+		}
+		return SPARSE_DEFAULTS[key];
+	}
+	private void setSparseValue(int key, Object value) {
+		Object[] values = sparseValues;
+		for ( int i = 0 ; i < values.length ; i += 2 ) {
+			if ( (Integer) values[i] == key ) {
+				if ( Objects.equals(value, SPARSE_DEFAULTS[key]) ) {
+					// back to the default value => removed
+					Object[] newValues = new Object[values.length - 2];
+					System.arraycopy(values, 0, newValues, 0, i);
+					System.arraycopy(values, i + 2, newValues, i, values.length - i - 2);
+					sparseValues = newValues.length > 0 ? newValues : NO_SPARSE_VALUES ;
+				}
+				else {
+					values[i + 1] = value;
+				}
+				return;
+			}
+		}
+		if ( ! Objects.equals(value, SPARSE_DEFAULTS[key]) ) {
+			Object[] newValues = new Object[values.length + 2];
+			System.arraycopy(values, 0, newValues, 0, values.length);
+			newValues[values.length] = key; // small Integer (cached instance)
+			newValues[values.length + 1] = value;
+			sparseValues = newValues;
+		}
+	}
 }
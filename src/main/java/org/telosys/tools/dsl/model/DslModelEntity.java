@@ -16,6 +16,7 @@
 package org.telosys.tools.dsl.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -42,6 +43,19 @@ public class DslModelEntity implements Entity {
 
 	private List<Link> links = new ArrayList<>();
 
+	// Name indexes (v 4.1.1) 
+	private final NamedElementsIndex<Attribute>  attributesIndex  = new NamedElementsIndex<>(Attribute::getName);
+	private final NamedElementsIndex<Link>       linksIndex       = new NamedElementsIndex<>(Link::getFieldName);
+	private final NamedElementsIndex<ForeignKey> foreignKeysIndex = new NamedElementsIndex<>(ForeignKey::getName);
+
+	// Foreign keys by referenced entity name (v 4.1.1) 
+	private final GroupedElementsIndex<ForeignKey> foreignKeysByReferencedEntity = 
+			new GroupedElementsIndex<>(ForeignKey::getReferencedEntityName);
+
+	// Key attributes cache (v 4.1.1) : immutable list, rebuilt after any change in attributes
+	private volatile List<Attribute> keyAttributes = null ;
+	private volatile int keyAttributesCheckedCount = 0 ; // number of attributes when the cache was built
+
 	// Database 
 	private String databaseTable   = ""; // set to 'entity name' by Converter 
 	private String databaseCatalog = "";
@@ -82,24 +96,53 @@ public class DslModelEntity implements Entity {
 	}
 	public void setAttributes(List<Attribute> attributes) {
 		this.attributes = attributes;
+		this.attributesIndex.reset();
+		for ( Attribute attribute : attributes ) {
+			attachAttribute(attribute);
+		}
+		keyAttributesChanged();
 	}
 	public void addAttribute(Attribute attribute) { // v 3.4.0
 		this.attributes.add(attribute);
+		this.attributesIndex.elementAdded(this.attributes);
+		attachAttribute(attribute);
+		keyAttributesChanged();
+	}
+	
+	private void attachAttribute(Attribute attribute) {
+		if ( attribute instanceof DslModelAttribute ) {
+			// to be notified if the attribute becomes a key element (or not)
+			((DslModelAttribute) attribute).setOwner(this);
+		}
 	}
 	
 	/**
-	 * Returns all attributes being part of the PK 
+	 * Invalidates the key attributes cache 
+	 */
+	protected void keyAttributesChanged() {
+		this.keyAttributes = null;
+	}
+	
+	/**
+	 * Returns all attributes being part of the PK (unmodifiable list) 
 	 * @return
 	 * @since  3.3.x
 	 */
 	public List<Attribute> getKeyAttributes() {
-		LinkedList<Attribute> attributesList = new LinkedList<>();
-		for ( Attribute a : this.attributes ) {
-			if ( a.isKeyElement() ) {
-            	attributesList.add(a);
+		List<Attribute> list = this.keyAttributes;
+		if ( list == null || keyAttributesCheckedCount != this.attributes.size() ) {
+			// cache not yet built or invalidated or attributes list modified directly
+			List<Attribute> newList = new ArrayList<>();
+			for ( Attribute a : this.attributes ) {
+				if ( a.isKeyElement() ) {
+					newList.add(a);
+				}
 			}
+			list = Collections.unmodifiableList(newList);
+			keyAttributesCheckedCount = this.attributes.size();
+			this.keyAttributes = list;
 		}
-		return attributesList ;
+		return list ;
 	}
 
 	//--------------------------------------------------------------------------
@@ -205,14 +248,21 @@ public class DslModelEntity implements Entity {
 	}
 	public void addForeignKey(ForeignKey fk) { // v 3.4.0
 		this.foreignKeys.add(fk);
+		this.foreignKeysIndex.elementAdded(this.foreignKeys);
+		this.foreignKeysByReferencedEntity.elementAdded(this.foreignKeys); // v 4.1.1
 	}
 	public ForeignKey getForeignKeyByName(String fkName) {
-		for (ForeignKey fk : this.foreignKeys) {
-			if (fkName.equals(fk.getName())) {
-				return fk;
-			}
-		}
-		return null;
+		int i = foreignKeysIndex.find(this.foreignKeys, fkName); // v 4.1.1
+		return i >= 0 ? this.foreignKeys.get(i) : null ;
+	}
+	/**
+	 * Returns the Foreign Keys referencing the given entity (in the FK order) 
+	 * @param referencedEntityName
+	 * @return unmodifiable list (void if none)
+	 * @since 4.1.1
+	 */
+	public List<ForeignKey> getForeignKeysByReferencedEntity(String referencedEntityName) {
+		return foreignKeysByReferencedEntity.find(this.foreignKeys, referencedEntityName);
 	}
 	
 	//--------------------------------------------------------------------------
@@ -289,14 +339,11 @@ public class DslModelEntity implements Entity {
 	}
 	public void addLink(Link link) { // v 3.4.0
 		this.links.add(link);
+		this.linksIndex.elementAdded(this.links);
 	}
 	public Link getLinkByFieldName(String fieldName) {
-		for(Link link : links) {
-			if(fieldName.equals(link.getFieldName())) {
-				return link;
-			}
-		}
-		return null;
+		int i = linksIndex.find(this.links, fieldName); // v 4.1.1
+		return i >= 0 ? this.links.get(i) : null ;
 	}
 	
 	//--------------------------------------------------------------------------
@@ -314,12 +361,7 @@ public class DslModelEntity implements Entity {
 	 * @return
 	 */
 	public boolean hasId() {
-		for ( Attribute attribute : this.attributes ) {
-			if ( attribute.isKeyElement() ) {
-				return true ;
-			}
-		}
-		return false ; // No attribute with "@Id"
+		return ! getKeyAttributes().isEmpty() ;
 	}
 	
 	/**
@@ -327,13 +369,7 @@ public class DslModelEntity implements Entity {
 	 * @return
 	 */
 	public int getIdCount() {
-		int count = 0 ;
-		for ( Attribute attribute : this.attributes ) {
-			if ( attribute.isKeyElement() ) {
-				count++ ;
-			}
-		}
-		return count ;
+		return getKeyAttributes().size() ;
 	}
 	
 	/**
@@ -348,12 +384,8 @@ public class DslModelEntity implements Entity {
 	//--------------------------------------------------------------------------
 	@Override
 	public Attribute getAttributeByName(String name) {
-		for(Attribute attribute : getAttributes()) {
-			if(name.equals(attribute.getName())) {
-				return attribute;
-			}
-		}
-		return null;
+		int i = attributesIndex.find(this.attributes, name); // v 4.1.1
+		return i >= 0 ? this.attributes.get(i) : null ;
 	}
 
 	/**
@@ -363,13 +395,15 @@ public class DslModelEntity implements Entity {
 	 * @return
 	 */
 	public Attribute replaceAttribute(String name, Attribute newAttribute) {
-		List<Attribute> list = this.attributes  ;
-		for ( int index = 0 ; index < list.size() ; index++ ) {
-			Attribute attribute = list.get(index);
-			if ( name.equals(attribute.getName()) ) { // Found
-				list.set(index, newAttribute); // Replace
-				return attribute ;
+		int index = attributesIndex.find(this.attributes, name); // v 4.1.1
+		if ( index >= 0 ) { // Found
+			Attribute attribute = this.attributes.set(index, newAttribute); // Replace
+			if ( ! name.equals(newAttribute.getName()) ) {
+				attributesIndex.reset();
 			}
+			attachAttribute(newAttribute);
+			keyAttributesChanged();
+			return attribute ;
 		}
 		return null;
 	}
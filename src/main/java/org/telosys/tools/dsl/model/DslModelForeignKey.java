@@ -35,7 +35,15 @@ public class DslModelForeignKey implements ForeignKey {
     
     private final List<ForeignKeyAttribute> attributes = new LinkedList<>();
     
-    private DslModelForeignKey(boolean explicit, String fkName, String originEntityName, String referencedEntityName) {
+    /**
+     * Constructor with all the FK properties (used to rebuild an existing FK with its original name)
+     * @param explicit
+     * @param fkName
+     * @param originEntityName
+     * @param referencedEntityName
+     * @since 4.1.1
+     */
+    public DslModelForeignKey(boolean explicit, String fkName, String originEntityName, String referencedEntityName) {
 		super();
 		this.explicitFK = explicit;
 		
@@ -0,0 +1,106 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Key to elements index for a list of elements (eg foreign keys by referenced entity) <br>
+ * Several elements can have the same key (kept in the list order). <br>
+ * The index is built lazily and updated by the list owner when an element is added. <br>
+ * It is rebuilt if the list size has changed (list modified directly). <br>
+ * A rebuilt index is a new map (several threads can search concurrently), 
+ * but the index is updated in place when an element is added : the list owner must be 
+ * modified by a single thread, without concurrent search during the modification 
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ *
+ * @param <T>
+ */
+class GroupedElementsIndex<T> {
+
+	private final Function<T, String> keyGetter ;
+	
+	private volatile Map<String, List<T>> groups = null ;
+	
+	private volatile int indexedCount = 0 ;
+
+	/**
+	 * Constructor
+	 * @param keyGetter function returning the key of an element 
+	 */
+	protected GroupedElementsIndex(Function<T, String> keyGetter) {
+		super();
+		this.keyGetter = keyGetter;
+	}
+
+	private Map<String, List<T>> rebuild(List<T> list) {
+		Map<String, List<T>> map = new HashMap<>();
+		int size = list.size();
+		for ( int i = 0 ; i < size ; i++ ) {
+			T element = list.get(i);
+			map.computeIfAbsent(keyGetter.apply(element), k -> new ArrayList<>(2)).add(element);
+		}
+		groups = map;
+		indexedCount = size;
+		return map;
+	}
+
+	/**
+	 * Returns all the elements having the given key in the list order (unmodifiable list, void if none)
+	 * @param list
+	 * @param key
+	 * @return
+	 */
+	protected List<T> find(List<T> list, String key) {
+		Map<String, List<T>> map = groups;
+		if ( map == null || indexedCount != list.size() ) {
+			map = rebuild(list);
+		}
+		List<T> group = map.get(key);
+		return group != null ? Collections.unmodifiableList(group) : Collections.emptyList();
+	}
+
+	/**
+	 * Updates the index after adding an element at the end of the list <br>
+	 * NB : the current map is updated (not copied) : not safe with concurrent searches
+	 * @param list
+	 */
+	protected void elementAdded(List<T> list) {
+		Map<String, List<T>> map = groups;
+		int last = list.size() - 1;
+		if ( map != null && indexedCount == last ) {
+			T element = list.get(last);
+			map.computeIfAbsent(keyGetter.apply(element), k -> new ArrayList<>(2)).add(element);
+			indexedCount = list.size();
+		}
+		// else : rebuilt at next search
+	}
+
+	/**
+	 * Resets the index (rebuilt at next search)
+	 */
+	protected void reset() {
+		groups = null;
+		indexedCount = 0;
+	}
+}
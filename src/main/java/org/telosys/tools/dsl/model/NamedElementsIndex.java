@@ -0,0 +1,111 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Name to position index for a list of named elements (attributes, links, foreign keys) <br>
+ * The index is built lazily and updated by the list owner when an element is added. <br>
+ * It is rebuilt if the list size has changed (list modified directly) 
+ * or if the element found at the indexed position has another name. <br>
+ * A rebuilt index is a new map (several threads can search concurrently), 
+ * but the index is updated in place when an element is added : the list owner must be 
+ * modified by a single thread, without concurrent search during the modification 
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ *
+ * @param <T>
+ */
+class NamedElementsIndex<T> {
+
+	private final Function<T, String> nameGetter ;
+	
+	private volatile Map<String, Integer> positions = null ;
+	
+	private volatile int indexedCount = 0 ;
+
+	/**
+	 * Constructor
+	 * @param nameGetter function returning the name of an element 
+	 */
+	protected NamedElementsIndex(Function<T, String> nameGetter) {
+		super();
+		this.nameGetter = nameGetter;
+	}
+
+	private Map<String, Integer> rebuild(List<T> list) {
+		Map<String, Integer> map = new HashMap<>();
+		int size = list.size();
+		for ( int i = 0 ; i < size ; i++ ) {
+			// keep the first element found (same result as a search in the list)
+			map.putIfAbsent(nameGetter.apply(list.get(i)), i);
+		}
+		positions = map;
+		indexedCount = size;
+		return map;
+	}
+
+	/**
+	 * Returns the position of the first element having the given name in the list (or -1 if none)
+	 * @param list
+	 * @param name
+	 * @return
+	 */
+	protected int find(List<T> list, String name) {
+		Map<String, Integer> map = positions;
+		if ( map == null || indexedCount != list.size() ) {
+			map = rebuild(list);
+		}
+		Integer position = map.get(name);
+		if ( position == null ) {
+			return -1;
+		}
+		if ( position < list.size() && name.equals(nameGetter.apply(list.get(position))) ) {
+			return position;
+		}
+		// list modified directly => rebuild and retry
+		position = rebuild(list).get(name);
+		return position != null ? position : -1;
+	}
+
+	/**
+	 * Updates the index after adding an element at the end of the list <br>
+	 * NB : the current map is updated (not copied) : not safe with concurrent searches
+	 * @param list
+	 */
+	protected void elementAdded(List<T> list) {
+		Map<String, Integer> map = positions;
+		int last = list.size() - 1;
+		if ( map != null && indexedCount == last ) {
+			map.putIfAbsent(nameGetter.apply(list.get(last)), last);
+			indexedCount = list.size();
+		}
+		// else : rebuilt at next search
+	}
+
+	/**
+	 * Resets the index (rebuilt at next search)
+	 */
+	protected void reset() {
+		positions = null;
+		indexedCount = 0;
+	}
+}
@@ -23,6 +23,9 @@ import org.telosys.tools.dsl.commons.AttributeFKUtil;
 import org.telosys.tools.dsl.commons.ModelInfo;
 import org.telosys.tools.dsl.model.DslModel;
 import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.dsl.monitoring.DslEvent;
+import org.telosys.tools.dsl.monitoring.DslEventType;
+import org.telosys.tools.dsl.monitoring.DslEvents;
 import org.telosys.tools.generic.model.Entity;
 import org.telosys.tools.generic.model.ForeignKey;
 
@@ -63,6 +66,7 @@ public class DbToModelConverter {
 		//--- For each table add an Entity in the repository
 		int tablesCount = 0;
 		for ( DatabaseTable dbTable : dbTables ) {
+			DslEvent event = DslEvents.begin(DslEventType.CONVERT_TABLE); // v 4.1.1
 			tablesCount++;
 			logger.log(SEPARATOR);
 			logger.log("   Table '" + dbTable.getTableName() 
@@ -73,6 +77,7 @@ public class DbToModelConverter {
 			//--- Add the entity in the model
 			model.addEntity(entity);
 			logger.log("   --> Entity '" + entity.getClassName() + "'" );
+			event.commit(dbTable.getTableName(), entity.getAttributes().size());
 		}
 		logger.log(SEPARATOR);
 		logger.log("   " + tablesCount + " table(s) converted.");
@@ -0,0 +1,165 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.model.snapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.telosys.tools.dsl.model.DslModel;
+
+/**
+ * Snapshots cache for the models loaded by 'DslModelManager' <br>
+ * The snapshot of a model is a binary file named "modelname.snapshot", located
+ * in the cache directory if any or next to the model folder (in the parent folder) <br>
+ * A snapshot is used only if its fingerprint matches the current model files (see 'ModelFingerprint') <br>
+ * A snapshot is written in a temporary file and then moved (a reader never sees a partial snapshot) <br>
+ * 
+ * This class is thread-safe (no state except the cache directory)
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public class DslModelSnapshotCache {
+
+	public static final String SNAPSHOT_FILE_EXTENSION = ".snapshot" ;
+
+	private final File cacheDirectory ;
+
+	/**
+	 * Constructor : snapshots written next to the model folders
+	 */
+	public DslModelSnapshotCache() {
+		this(null);
+	}
+
+	/**
+	 * Constructor : snapshots written in the given directory 
+	 * @param cacheDirectory the cache directory (created if necessary), or null to write next to the model folders
+	 */
+	public DslModelSnapshotCache(File cacheDirectory) {
+		super();
+		this.cacheDirectory = cacheDirectory;
+	}
+
+	/**
+	 * Returns the snapshot file for the given model folder 
+	 * @param modelFolder
+	 * @return
+	 */
+	public File getSnapshotFile(File modelFolder) {
+		File absoluteFolder = modelFolder.getAbsoluteFile();
+		String fileName = absoluteFolder.getName() + SNAPSHOT_FILE_EXTENSION ;
+		if ( cacheDirectory != null ) {
+			return new File(cacheDirectory, fileName);
+		}
+		else {
+			return new File(absoluteFolder.getParentFile(), fileName);
+		}
+	}
+
+	/**
+	 * Computes the current fingerprint of the given model folder
+	 * @param modelFolder
+	 * @return the fingerprint or null if the model files cannot be read
+	 */
+	public String getFingerprint(File modelFolder) {
+		try {
+			return ModelFingerprint.compute(modelFolder);
+		} catch (IOException e) {
+			return null ;
+		}
+	}
+
+	/**
+	 * Loads the model from its snapshot if the snapshot exists and has the given fingerprint
+	 * @param modelFolder
+	 * @param fingerprint the current fingerprint of the model files
+	 * @return the model or null if no valid snapshot (the model must be parsed)
+	 */
+	public DslModel load(File modelFolder, String fingerprint) {
+		File snapshotFile = getSnapshotFile(modelFolder);
+		if ( fingerprint == null || ! snapshotFile.isFile() ) {
+			return null ;
+		}
+		try ( InputStream in = Files.newInputStream(snapshotFile.toPath()) ) {
+			return new DslModelSnapshotReader().read(in, fingerprint);
+		} catch (IOException e) {
+			// corrupted or incompatible snapshot => ignored (replaced after the next parsing)
+			return null ;
+		}
+	}
+
+	/**
+	 * Saves the snapshot of the given model 
+	 * @param modelFolder
+	 * @param fingerprint the fingerprint of the model files used to build the model
+	 * @param model
+	 * @return true if the snapshot has been written
+	 */
+	public boolean save(File modelFolder, String fingerprint, DslModel model) {
+		if ( fingerprint == null ) {
+			return false ;
+		}
+		Path snapshotPath = getSnapshotFile(modelFolder).toPath();
+		Path tmpPath = null ;
+		try {
+			Files.createDirectories(snapshotPath.getParent());
+			tmpPath = Files.createTempFile(snapshotPath.getParent(), snapshotPath.getFileName().toString(), ".tmp");
+			try ( OutputStream out = Files.newOutputStream(tmpPath) ) {
+				new DslModelSnapshotWriter().write(model, fingerprint, out);
+			}
+			move(tmpPath, snapshotPath);
+			return true ;
+		} catch (IOException e) {
+			// no snapshot (the model will be parsed at the next loading)
+			deleteQuietly(tmpPath);
+			return false ;
+		}
+	}
+
+	/**
+	 * Deletes the snapshot of the given model folder (if any)
+	 * @param modelFolder
+	 * @return true if a snapshot has been deleted
+	 */
+	public boolean delete(File modelFolder) {
+		return getSnapshotFile(modelFolder).delete();
+	}
+
+	private void move(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private void deleteQuietly(Path path) {
+		if ( path != null ) {
+			try {
+				Files.deleteIfExists(path);
+			} catch (IOException e) {
+				// ignored
+			}
+		}
+	}
+}
@@ -0,0 +1,390 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.model.snapshot;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.telosys.tools.dsl.commons.ModelInfo;
+import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.dsl.model.DslModelAttribute;
+import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.dsl.model.DslModelForeignKey;
+import org.telosys.tools.dsl.model.DslModelForeignKeyAttribute;
+import org.telosys.tools.dsl.model.DslModelForeignKeyPart;
+import org.telosys.tools.dsl.model.DslModelLink;
+import org.telosys.tools.dsl.model.DslModelLinkAttribute;
+import org.telosys.tools.dsl.tags.Tag;
+import org.telosys.tools.dsl.tags.TagError;
+import org.telosys.tools.dsl.tags.Tags;
+import org.telosys.tools.generic.model.CascadeOptions;
+import org.telosys.tools.generic.model.LinkAttribute;
+import org.telosys.tools.generic.model.enums.BooleanValue;
+import org.telosys.tools.generic.model.enums.Cardinality;
+import org.telosys.tools.generic.model.enums.CascadeOption;
+import org.telosys.tools.generic.model.enums.DateType;
+import org.telosys.tools.generic.model.enums.FetchType;
+import org.telosys.tools.generic.model.enums.GeneratedValueStrategy;
+import org.telosys.tools.generic.model.enums.Optional;
+
+/**
+ * Reads a 'DslModel' from a binary snapshot created by 'DslModelSnapshotWriter' <br>
+ * Any inconsistency in the snapshot (unknown format, truncated data, invalid value)
+ * is reported as an 'IOException' <br>
+ * 
+ * NB : this class is not thread-safe (one reader for each snapshot)
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public class DslModelSnapshotReader {
+
+	private String[] strings ;
+	private DataInputStream body ;
+
+	/**
+	 * Reads the snapshot fingerprint (header only)
+	 * @param inputStream
+	 * @return
+	 * @throws IOException
+	 */
+	public String readFingerprint(InputStream inputStream) throws IOException {
+		return readHeader(new DataInputStream(inputStream));
+	}
+
+	/**
+	 * Reads the model from the given stream (the stream is not closed)
+	 * @param inputStream
+	 * @param expectedFingerprint the expected fingerprint (or null to accept any snapshot)
+	 * @return the model or null if the snapshot fingerprint is not the expected one
+	 * @throws IOException if the snapshot cannot be read or is invalid
+	 */
+	public DslModel read(InputStream inputStream, String expectedFingerprint) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+		String fingerprint = readHeader(in);
+		if ( expectedFingerprint != null && ! expectedFingerprint.equals(fingerprint) ) {
+			return null ; // outdated snapshot
+		}
+		//--- strings table
+		strings = new String[readVarInt(in)];
+		for ( int i = 0 ; i < strings.length ; i++ ) {
+			byte[] bytes = new byte[readVarInt(in)];
+			in.readFully(bytes);
+			strings[i] = new String(bytes, StandardCharsets.UTF_8);
+		}
+		//--- model body
+		byte[] bodyBytes = new byte[readVarInt(in)];
+		in.readFully(bodyBytes);
+		body = new DataInputStream(new ByteArrayInputStream(bodyBytes));
+		try {
+			return readModel();
+		} catch (IllegalArgumentException e) {
+			// invalid value rejected by a model constructor
+			throw new IOException("Invalid snapshot : " + e.getMessage(), e);
+		} finally {
+			strings = null ;
+			body = null ;
+		}
+	}
+
+	private String readHeader(DataInputStream in) throws IOException {
+		if ( in.readInt() != DslModelSnapshotWriter.MAGIC_NUMBER ) {
+			throw new IOException("Invalid snapshot : unknown file format");
+		}
+		short version = in.readShort();
+		if ( version != DslModelSnapshotWriter.FORMAT_VERSION ) {
+			throw new IOException("Invalid snapshot : unsupported format version " + version);
+		}
+		return in.readUTF();
+	}
+
+	//-----------------------------------------------------------------------------
+	// Model elements (same order as in the writer)
+	//-----------------------------------------------------------------------------
+	private DslModel readModel() throws IOException {
+		String modelName = readString();
+		ModelInfo modelInfo = new ModelInfo();
+		modelInfo.setTitle(readString());
+		modelInfo.setVersion(readString());
+		modelInfo.setDescription(readString());
+		DslModel model = new DslModel(modelName, modelInfo);
+		model.setDatabaseId(readString());
+		model.setDatabaseName(readString());
+		model.setDatabaseType(readString());
+		int n = readCount();
+		for ( int i = 0 ; i < n ; i++ ) {
+			model.addEntity(readEntity());
+		}
+		return model;
+	}
+
+	private DslModelEntity readEntity() throws IOException {
+		DslModelEntity entity = new DslModelEntity(readString());
+		entity.setFullName(readString());
+		entity.setPackageName(readString());
+		entity.setSuperClass(readString());
+		entity.setDomain(readString());
+		entity.setContext(readString());
+		entity.setDatabaseTable(readString());
+		entity.setDatabaseCatalog(readString());
+		entity.setDatabaseSchema(readString());
+		entity.setDatabaseComment(readString());
+		entity.setDatabaseTablespace(readString());
+		int flags = readFlags();
+		entity.setAbstract(flag(flags, 0));
+		entity.setInMemoryRepository(flag(flags, 1));
+		entity.setReadOnly(flag(flags, 2));
+		entity.setAggregateRoot(flag(flags, 3));
+		entity.setJoinEntity(flag(flags, 4));
+		entity.setDatabaseView(flag(flags, 5));
+		entity.setTagContainer(readTags());
+		int n = readCount();
+		for ( int i = 0 ; i < n ; i++ ) {
+			entity.addAttribute(readAttribute());
+		}
+		n = readCount();
+		for ( int i = 0 ; i < n ; i++ ) {
+			entity.addForeignKey(readForeignKey());
+		}
+		n = readCount();
+		for ( int i = 0 ; i < n ; i++ ) {
+			entity.addLink(readLink());
+		}
+		return entity;
+	}
+
+	private DslModelAttribute readAttribute() throws IOException {
+		DslModelAttribute attribute = new DslModelAttribute(readString(), readString());
+		attribute.setBooleanFalseValue(readString());
+		attribute.setBooleanTrueValue(readString());
+		attribute.setDatabaseComment(readString());
+		attribute.setDatabaseDefaultValue(readString());
+		attribute.setDatabaseName(readString());
+		attribute.setDatabaseSize(readString());
+		attribute.setDatabaseType(readString());
+		attribute.setDateAfterValue(readString());
+		attribute.setDateBeforeValue(readString());
+		attribute.setDefaultValue(readString());
+		attribute.setInitialValue(readString());
+		attribute.setInputType(readString());
+		attribute.setLabel(readString());
+		attribute.setPattern(readString());
+		attribute.setSize(readString());
+		attribute.setReferencedEntityClassName(readString());
+		attribute.setGeneratedValueSequenceName(readString());
+		attribute.setGeneratedValueTableName(readString());
+		attribute.setGeneratedValueTablePkColumnName(readString());
+		attribute.setGeneratedValueTablePkColumnValue(readString());
+		attribute.setGeneratedValueTableValueColumnName(readString());
+		attribute.setDateType(readEnum(DateType.class));
+		attribute.setGeneratedValueStrategy(readEnum(GeneratedValueStrategy.class));
+		attribute.setInsertable(readEnum(BooleanValue.class));
+		attribute.setUpdatable(readEnum(BooleanValue.class));
+		int flags = readFlags();
+		attribute.setDateFuture(flag(flags, 0));
+		attribute.setDatePast(flag(flags, 1));
+		attribute.setKeyElement(flag(flags, 2));
+		attribute.setLongText(flag(flags, 3));
+		attribute.setNotBlank(flag(flags, 4));
+		attribute.setNotEmpty(flag(flags, 5));
+		attribute.setNotNull(flag(flags, 6));
+		attribute.setFKSimple(flag(flags, 7));
+		attribute.setFKComposite(flag(flags, 8));
+		attribute.setPrimitiveTypeExpected(flag(flags, 9));
+		attribute.setUnsignedTypeExpected(flag(flags, 10));
+		attribute.setObjectTypeExpected(flag(flags, 11));
+		attribute.setTransient(flag(flags, 12));
+		attribute.setUnique(flag(flags, 13));
+		attribute.setMaxLength(readInteger());
+		attribute.setMinLength(readInteger());
+		Integer allocationSize = readInteger();
+		if ( allocationSize != null ) {
+			attribute.setGeneratedValueAllocationSize(allocationSize);
+		}
+		Integer initialValue = readInteger();
+		if ( initialValue != null ) {
+			attribute.setGeneratedValueInitialValue(initialValue);
+		}
+		attribute.setScale(readInteger());
+		attribute.setPrecision(readInteger());
+		attribute.setMinValue(readBigDecimal());
+		attribute.setMaxValue(readBigDecimal());
+		int n = readCount();
+		for ( int i = 0 ; i < n ; i++ ) {
+			attribute.addFKPart(new DslModelForeignKeyPart(readString(), readString(), readString()));
+		}
+		attribute.setTagContainer(readTags());
+		return attribute;
+	}
+
+	private DslModelForeignKey readForeignKey() throws IOException {
+		boolean explicit = flag(readFlags(), 0);
+		DslModelForeignKey foreignKey = new DslModelForeignKey(explicit, readString(), readString(), readString());
+		int n = readCount();
+		for ( int i = 0 ; i < n ; i++ ) {
+			foreignKey.addAttribute(new DslModelForeignKeyAttribute(readVarInt(body), readString(), readString()));
+		}
+		return foreignKey;
+	}
+
+	private DslModelLink readLink() throws IOException {
+		DslModelLink link = new DslModelLink(readString());
+		link.setReferencedEntityName(readString());
+		link.setMappedBy(readString());
+		link.setForeignKeyName(readString());
+		link.setJoinEntityName(readString());
+		link.setOptional(readEnum(Optional.class));
+		link.setCardinality(readEnum(Cardinality.class));
+		link.setFetchType(readEnum(FetchType.class));
+		link.setInsertable(readEnum(BooleanValue.class));
+		link.setUpdatable(readEnum(BooleanValue.class));
+		link.setCascadeOptions(readCascadeOptions());
+		int flags = readFlags();
+		link.setBasedOnForeignKey(flag(flags, 0));
+		link.setBasedOnAttributes(flag(flags, 1));
+		link.setBasedOnJoinEntity(flag(flags, 2));
+		link.setEmbedded(flag(flags, 3));
+		link.setTransient(flag(flags, 4));
+		link.setOrphanRemoval(flag(flags, 5));
+		int n = readVarInt(body); // 0 : null list, else size + 1
+		if ( n > 0 ) {
+			List<LinkAttribute> linkAttributes = new ArrayList<>(n - 1);
+			for ( int i = 1 ; i < n ; i++ ) {
+				DslModelLinkAttribute linkAttribute = new DslModelLinkAttribute(readString(), readString());
+				int attributeFlags = readFlags();
+				linkAttribute.setUnique(flag(attributeFlags, 0));
+				linkAttribute.setNullable(flag(attributeFlags, 1));
+				linkAttribute.setUpdatable(flag(attributeFlags, 2));
+				linkAttribute.setInsertable(flag(attributeFlags, 3));
+				linkAttributes.add(linkAttribute);
+			}
+			link.setAttributes(linkAttributes);
+		}
+		link.setTagContainer(readTags());
+		return link;
+	}
+
+	private CascadeOptions readCascadeOptions() throws IOException {
+		int flags = readFlags();
+		CascadeOptions cascadeOptions = new CascadeOptions();
+		if ( flag(flags, 0) ) cascadeOptions.add(CascadeOption.ALL);
+		if ( flag(flags, 1) ) cascadeOptions.add(CascadeOption.MERGE);
+		if ( flag(flags, 2) ) cascadeOptions.add(CascadeOption.PERSIST);
+		if ( flag(flags, 3) ) cascadeOptions.add(CascadeOption.REFRESH);
+		if ( flag(flags, 4) ) cascadeOptions.add(CascadeOption.REMOVE);
+		return cascadeOptions;
+	}
+
+	private Tags readTags() throws IOException {
+		int n = readCount();
+		Tags tags = new Tags(); // no map allocated if no tag 
+		for ( int i = 0 ; i < n ; i++ ) {
+			String name = readString();
+			String parameter = readString();
+			try {
+				tags.addTag(parameter != null ? new Tag(name, parameter) : new Tag(name));
+			} catch (TagError e) {
+				throw new IOException("Invalid snapshot : duplicate tag '" + name + "'");
+			}
+		}
+		return tags;
+	}
+
+	//-----------------------------------------------------------------------------
+	// Basic values
+	//-----------------------------------------------------------------------------
+	private String readString() throws IOException {
+		int ref = readVarInt(body);
+		if ( ref == 0 ) {
+			return null;
+		}
+		if ( ref > strings.length ) {
+			throw new IOException("Invalid snapshot : invalid string reference " + ref);
+		}
+		return strings[ref - 1];
+	}
+
+	private <T extends Enum<T>> T readEnum(Class<T> enumClass) throws IOException {
+		String name = readString();
+		if ( name == null ) {
+			return null;
+		}
+		try {
+			return Enum.valueOf(enumClass, name);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Invalid snapshot : unknown " + enumClass.getSimpleName() + " '" + name + "'");
+		}
+	}
+
+	private Integer readInteger() throws IOException {
+		if ( body.readBoolean() ) {
+			return body.readInt();
+		}
+		return null;
+	}
+
+	private BigDecimal readBigDecimal() throws IOException {
+		String s = readString();
+		if ( s == null ) {
+			return null;
+		}
+		try {
+			return new BigDecimal(s);
+		} catch (NumberFormatException e) {
+			throw new IOException("Invalid snapshot : invalid decimal value '" + s + "'");
+		}
+	}
+
+	private int readCount() throws IOException {
+		return readVarInt(body);
+	}
+
+	private int readFlags() throws IOException {
+		return readVarInt(body);
+	}
+
+	private static boolean flag(int flags, int bit) {
+		return ( flags & ( 1 << bit ) ) != 0 ;
+	}
+
+	/**
+	 * Reads a positive integer written by 'DslModelSnapshotWriter.writeVarInt'
+	 * @param in
+	 * @return
+	 * @throws IOException
+	 */
+	private static int readVarInt(DataInputStream in) throws IOException {
+		int value = 0 ;
+		for ( int shift = 0 ; shift < 35 ; shift += 7 ) {
+			int b = in.readUnsignedByte();
+			value |= ( b & 0x7F ) << shift ;
+			if ( ( b & 0x80 ) == 0 ) {
+				if ( value < 0 ) {
+					break ;
+				}
+				return value ;
+			}
+		}
+		throw new IOException("Invalid snapshot : invalid integer");
+	}
+}
@@ -0,0 +1,323 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.model.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.dsl.model.DslModelAttribute;
+import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.dsl.model.DslModelLink;
+import org.telosys.tools.dsl.tags.Tag;
+import org.telosys.tools.dsl.tags.Tags;
+import org.telosys.tools.generic.model.Attribute;
+import org.telosys.tools.generic.model.CascadeOptions;
+import org.telosys.tools.generic.model.Entity;
+import org.telosys.tools.generic.model.ForeignKey;
+import org.telosys.tools.generic.model.ForeignKeyAttribute;
+import org.telosys.tools.generic.model.ForeignKeyPart;
+import org.telosys.tools.generic.model.Link;
+import org.telosys.tools.generic.model.LinkAttribute;
+import org.telosys.tools.generic.model.TagContainer;
+
+/**
+ * Writes a 'DslModel' in a compact binary snapshot <br>
+ * Format : header (magic number, format version, fingerprint), strings table, model body <br>
+ * Each distinct string (names, types, enum values, etc) is stored once in the strings table
+ * and referenced by its index in the body (variable length integers) <br>
+ * Boolean properties are stored as bit flags <br>
+ * 
+ * NB : this class is not thread-safe (one writer for each snapshot)
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public class DslModelSnapshotWriter {
+
+	protected static final int   MAGIC_NUMBER   = 0x54444D53 ; // "TDMS"
+	protected static final short FORMAT_VERSION = 1 ;
+
+	private final Map<String, Integer> stringsIndex = new HashMap<>();
+	private final List<String> strings = new ArrayList<>();
+
+	private final ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(64 * 1024);
+	private final DataOutputStream body = new DataOutputStream(bodyBytes);
+
+	/**
+	 * Writes the snapshot of the given model in the given stream (the stream is not closed)
+	 * @param model
+	 * @param fingerprint the fingerprint of the model files (see 'ModelFingerprint')
+	 * @param outputStream
+	 * @throws IOException
+	 */
+	public void write(DslModel model, String fingerprint, OutputStream outputStream) throws IOException {
+		stringsIndex.clear();
+		strings.clear();
+		bodyBytes.reset();
+		writeModel(model);
+		body.flush();
+
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+		out.writeInt(MAGIC_NUMBER);
+		out.writeShort(FORMAT_VERSION);
+		out.writeUTF(fingerprint);
+		writeVarInt(out, strings.size());
+		for ( String s : strings ) {
+			byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+			writeVarInt(out, bytes.length);
+			out.write(bytes);
+		}
+		writeVarInt(out, bodyBytes.size());
+		bodyBytes.writeTo(out);
+		out.flush();
+	}
+
+	//-----------------------------------------------------------------------------
+	// Model elements
+	//-----------------------------------------------------------------------------
+	private void writeModel(DslModel model) throws IOException {
+		writeString(model.getName());
+		writeString(model.getModelInfo().getTitle());
+		writeString(model.getModelInfo().getVersion());
+		writeString(model.getModelInfo().getDescription());
+		writeString(model.getDatabaseId());
+		writeString(model.getDatabaseName());
+		writeString(model.getDatabaseType());
+		writeCount(model.getEntities().size());
+		for ( Entity entity : model.getEntities() ) {
+			writeEntity((DslModelEntity) entity);
+		}
+	}
+
+	private void writeEntity(DslModelEntity entity) throws IOException {
+		writeString(entity.getClassName());
+		writeString(entity.getFullName());
+		writeString(entity.getPackageName());
+		writeString(entity.getSuperClass());
+		writeString(entity.getDomain());
+		writeString(entity.getContext());
+		writeString(entity.getDatabaseTable());
+		writeString(entity.getDatabaseCatalog());
+		writeString(entity.getDatabaseSchema());
+		writeString(entity.getDatabaseComment());
+		writeString(entity.getDatabaseTablespace());
+		writeFlags(entity.isAbstract(), entity.isInMemoryRepository(), entity.isReadOnly(), 
+				entity.isAggregateRoot(), entity.isJoinEntity(), entity.isDatabaseView() );
+		writeTags(entity.getTagContainer());
+		writeCount(entity.getAttributes().size());
+		for ( Attribute attribute : entity.getAttributes() ) {
+			writeAttribute((DslModelAttribute) attribute);
+		}
+		writeCount(entity.getForeignKeys().size());
+		for ( ForeignKey foreignKey : entity.getForeignKeys() ) {
+			writeForeignKey(foreignKey);
+		}
+		writeCount(entity.getLinks().size());
+		for ( Link link : entity.getLinks() ) {
+			writeLink((DslModelLink) link);
+		}
+	}
+
+	private void writeAttribute(DslModelAttribute attribute) throws IOException {
+		writeString(attribute.getName());
+		writeString(attribute.getNeutralType());
+		writeString(attribute.getBooleanFalseValue());
+		writeString(attribute.getBooleanTrueValue());
+		writeString(attribute.getDatabaseComment());
+		writeString(attribute.getDatabaseDefaultValue());
+		writeString(attribute.getDatabaseName());
+		writeString(attribute.getDatabaseSize());
+		writeString(attribute.getDatabaseType());
+		writeString(attribute.getDateAfterValue());
+		writeString(attribute.getDateBeforeValue());
+		writeString(attribute.getDefaultValue());
+		writeString(attribute.getInitialValue());
+		writeString(attribute.getInputType());
+		writeString(attribute.getLabel());
+		writeString(attribute.getPattern());
+		writeString(attribute.getSize());
+		writeString(attribute.getReferencedEntityClassName());
+		writeString(attribute.getGeneratedValueSequenceName());
+		writeString(attribute.getGeneratedValueTableName());
+		writeString(attribute.getGeneratedValueTablePkColumnName());
+		writeString(attribute.getGeneratedValueTablePkColumnValue());
+		writeString(attribute.getGeneratedValueTableValueColumnName());
+		writeEnum(attribute.getDateType());
+		writeEnum(attribute.getGeneratedValueStrategy());
+		writeEnum(attribute.getInsertable());
+		writeEnum(attribute.getUpdatable());
+		writeFlags(attribute.isDateFuture(), attribute.isDatePast(), attribute.isKeyElement(), 
+				attribute.isLongText(), attribute.isNotBlank(), attribute.isNotEmpty(), attribute.isNotNull(),
+				attribute.isFKSimple(), attribute.isFKComposite(), 
+				attribute.isPrimitiveTypeExpected(), attribute.isUnsignedTypeExpected(), attribute.isObjectTypeExpected(),
+				attribute.isTransient(), attribute.isUnique() );
+		writeInteger(attribute.getMaxLength());
+		writeInteger(attribute.getMinLength());
+		writeInteger(attribute.getGeneratedValueAllocationSize());
+		writeInteger(attribute.getGeneratedValueInitialValue());
+		writeInteger(attribute.getScale());
+		writeInteger(attribute.getPrecision());
+		writeBigDecimal(attribute.getMinValue());
+		writeBigDecimal(attribute.getMaxValue());
+		writeCount(attribute.getFKParts().size());
+		for ( ForeignKeyPart fkPart : attribute.getFKParts() ) {
+			writeString(fkPart.getFkName());
+			writeString(fkPart.getReferencedEntityName());
+			writeString(fkPart.getReferencedAttributeName());
+		}
+		writeTags(attribute.getTagContainer());
+	}
+
+	private void writeForeignKey(ForeignKey foreignKey) throws IOException {
+		writeFlags(foreignKey.isExplicit());
+		writeString(foreignKey.getName());
+		writeString(foreignKey.getOriginEntityName());
+		writeString(foreignKey.getReferencedEntityName());
+		writeCount(foreignKey.getAttributes().size());
+		for ( ForeignKeyAttribute fkAttribute : foreignKey.getAttributes() ) {
+			writeVarInt(body, fkAttribute.getOrdinal());
+			writeString(fkAttribute.getOriginAttributeName());
+			writeString(fkAttribute.getReferencedAttributeName());
+		}
+	}
+
+	private void writeLink(DslModelLink link) throws IOException {
+		writeString(link.getFieldName());
+		writeString(link.getReferencedEntityName());
+		writeString(link.getMappedBy());
+		writeString(link.getForeignKeyName());
+		writeString(link.getJoinEntityName());
+		writeEnum(link.getOptional());
+		writeEnum(link.getCardinality());
+		writeEnum(link.getFetchType());
+		writeEnum(link.getInsertable());
+		writeEnum(link.getUpdatable());
+		CascadeOptions cascadeOptions = link.getCascadeOptions();
+		writeFlags(cascadeOptions.isCascadeAll(), cascadeOptions.isCascadeMerge(), cascadeOptions.isCascadePersist(), 
+				cascadeOptions.isCascadeRefresh(), cascadeOptions.isCascadeRemove() );
+		writeFlags(link.isBasedOnForeignKey(), link.isBasedOnAttributes(), link.isBasedOnJoinEntity(), 
+				link.isEmbedded(), link.isTransient(), link.isOrphanRemoval() );
+		List<LinkAttribute> linkAttributes = link.getAttributes();
+		if ( linkAttributes == null ) {
+			writeVarInt(body, 0); // 0 : null list 
+		}
+		else {
+			writeVarInt(body, linkAttributes.size() + 1);
+			for ( LinkAttribute linkAttribute : linkAttributes ) {
+				writeString(linkAttribute.getOriginAttributeName());
+				writeString(linkAttribute.getReferencedAttributeName());
+				writeFlags(linkAttribute.isUnique(), linkAttribute.isNullable(), 
+						linkAttribute.isUpdatable(), linkAttribute.isInsertable() );
+			}
+		}
+		writeTags(link.getTagContainer());
+	}
+
+	private void writeTags(TagContainer tagContainer) throws IOException {
+		if ( tagContainer instanceof Tags ) {
+			List<Tag> tags = ((Tags) tagContainer).getAllTags();
+			writeCount(tags.size());
+			for ( Tag tag : tags ) {
+				writeString(tag.getName());
+				writeString(tag.getParameter());
+			}
+		}
+		else {
+			writeCount(0); // no tag or unknown implementation
+		}
+	}
+
+	//-----------------------------------------------------------------------------
+	// Basic values
+	//-----------------------------------------------------------------------------
+	/**
+	 * Writes a string reference : 0 for null, else index + 1 in the strings table
+	 * @param s
+	 * @throws IOException
+	 */
+	private void writeString(String s) throws IOException {
+		if ( s == null ) {
+			writeVarInt(body, 0);
+		}
+		else {
+			Integer index = stringsIndex.get(s);
+			if ( index == null ) {
+				index = strings.size();
+				strings.add(s);
+				stringsIndex.put(s, index);
+			}
+			writeVarInt(body, index + 1);
+		}
+	}
+
+	private void writeEnum(Enum<?> value) throws IOException {
+		// enum name (not ordinal) : independent of the constants order in the enum
+		writeString(value != null ? value.name() : null);
+	}
+
+	private void writeInteger(Integer value) throws IOException {
+		if ( value == null ) {
+			body.writeBoolean(false);
+		}
+		else {
+			body.writeBoolean(true);
+			body.writeInt(value);
+		}
+	}
+
+	private void writeBigDecimal(BigDecimal value) throws IOException {
+		writeString(value != null ? value.toString() : null);
+	}
+
+	private void writeCount(int count) throws IOException {
+		writeVarInt(body, count);
+	}
+
+	private void writeFlags(boolean... flags) throws IOException {
+		int bits = 0 ;
+		for ( int i = 0 ; i < flags.length ; i++ ) {
+			if ( flags[i] ) {
+				bits |= 1 << i ;
+			}
+		}
+		writeVarInt(body, bits);
+	}
+
+	/**
+	 * Writes a positive integer with 1 to 5 bytes (7 bits per byte)
+	 * @param out
+	 * @param value
+	 * @throws IOException
+	 */
+	protected static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		int v = value ;
+		while ( ( v & ~0x7F ) != 0 ) {
+			out.writeByte( ( v & 0x7F ) | 0x80 );
+			v >>>= 7 ;
+		}
+		out.writeByte(v);
+	}
+}
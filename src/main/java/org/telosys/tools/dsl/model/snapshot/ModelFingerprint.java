@@ -0,0 +1,118 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.model.snapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.telosys.tools.dsl.DslModelUtil;
+import org.telosys.tools.dsl.model.DslModelVersion;
+
+/**
+ * Fingerprint of a model folder : SHA-256 digest of the 'model.yaml' file and of all the '.entity' files 
+ * (relative path, size and content of each file in a stable order) <br>
+ * The library version is also included (a new version can produce a different model from the same files) <br>
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public class ModelFingerprint {
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	/**
+	 * Private constructor
+	 */
+	private ModelFingerprint() {
+	}
+
+	/**
+	 * Computes the fingerprint of the given model folder
+	 * @param modelFolder
+	 * @return the fingerprint (hexadecimal string)
+	 * @throws IOException if a file cannot be read
+	 */
+	public static String compute(File modelFolder) throws IOException {
+		if ( ! modelFolder.isDirectory() ) {
+			throw new IOException("Model folder '" + modelFolder + "' not found or not a directory");
+		}
+		MessageDigest digest = newDigest();
+		update(digest, DslModelVersion.VERSION);
+		//--- model information file (can be absent)
+		File modelInfoFile = DslModelUtil.getModelFileFromModelFolder(modelFolder);
+		if ( modelInfoFile.isFile() ) {
+			update(digest, modelInfoFile.getName());
+			update(digest, modelInfoFile.toPath());
+		}
+		//--- entity files (sorted by relative path, the folder walk order is not stable)
+		Path modelPath = modelFolder.getAbsoluteFile().toPath();
+		List<String> relativePaths = new ArrayList<>();
+		for ( String fileName : DslModelUtil.getEntityFullFileNames(modelFolder) ) {
+			relativePaths.add(modelPath.relativize(new File(fileName).getAbsoluteFile().toPath()).toString().replace('\\', '/'));
+		}
+		Collections.sort(relativePaths);
+		for ( String relativePath : relativePaths ) {
+			update(digest, relativePath);
+			update(digest, modelPath.resolve(relativePath));
+		}
+		return toHex(digest.digest());
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	private static void update(MessageDigest digest, String s) {
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		updateLength(digest, bytes.length);
+		digest.update(bytes);
+	}
+
+	private static void update(MessageDigest digest, Path file) throws IOException {
+		byte[] content = Files.readAllBytes(file);
+		updateLength(digest, content.length);
+		digest.update(content);
+	}
+
+	private static void updateLength(MessageDigest digest, int length) {
+		// length prefix : no ambiguity between 2 different sequences of files
+		digest.update((byte) (length >>> 24));
+		digest.update((byte) (length >>> 16));
+		digest.update((byte) (length >>> 8));
+		digest.update((byte) length);
+	}
+
+	private static String toHex(byte[] bytes) {
+		char[] chars = new char[bytes.length * 2];
+		for ( int i = 0 ; i < bytes.length ; i++ ) {
+			chars[i * 2]     = HEX_DIGITS[(bytes[i] >> 4) & 0x0F];
+			chars[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0x0F];
+		}
+		return new String(chars);
+	}
+}
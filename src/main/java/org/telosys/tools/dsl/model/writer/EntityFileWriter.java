@@ -23,6 +23,9 @@ import org.telosys.tools.commons.StrUtil;
 import org.telosys.tools.dsl.model.DslModelAttribute;
 import org.telosys.tools.dsl.model.DslModelEntity;
 import org.telosys.tools.dsl.model.DslModelLink;
+import org.telosys.tools.dsl.monitoring.DslEvent;
+import org.telosys.tools.dsl.monitoring.DslEventType;
+import org.telosys.tools.dsl.monitoring.DslEvents;
 import org.telosys.tools.dsl.parser.annotation.AnnotationDefinition;
 import org.telosys.tools.dsl.parser.annotation.AnnotationName;
 import org.telosys.tools.dsl.parser.annotations.AbstractAnnotation;
@@ -111,6 +114,7 @@ public class EntityFileWriter extends AbstractWriter {
 	 * @param entity
 	 */
 	public void writeEntity(DslModelEntity entity) {
+		DslEvent event = DslEvents.begin(DslEventType.WRITE_ENTITY); // v 4.1.1
 		String entityFileName = entity.getClassName() + ".entity";
 		openFile(entityFileName);
 		
@@ -132,6 +136,7 @@ public class EntityFileWriter extends AbstractWriter {
 		printLine("}");
 		
 		closeFile();
+		event.commit(entity.getClassName(), entity.getAttributes().size() + entity.getLinks().size());
 	}
 	
 	/**
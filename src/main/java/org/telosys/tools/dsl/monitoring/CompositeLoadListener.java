@@ -0,0 +1,80 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Load listener forwarding all the events to several listeners (in the given order)
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public class CompositeLoadListener implements DslModelLoadListener {
+
+	private final DslModelLoadListener[] listeners ;
+
+	/**
+	 * Constructor
+	 * @param listeners the listeners (null values are ignored)
+	 */
+	public CompositeLoadListener(DslModelLoadListener... listeners) {
+		super();
+		List<DslModelLoadListener> list = new ArrayList<>(listeners.length);
+		for ( DslModelLoadListener listener : listeners ) {
+			if ( listener != null ) {
+				list.add(listener);
+			}
+		}
+		this.listeners = list.toArray(new DslModelLoadListener[list.size()]);
+	}
+
+	@Override
+	public void phaseStarted(LoadPhase phase) {
+		for ( DslModelLoadListener listener : listeners ) {
+			listener.phaseStarted(phase);
+		}
+	}
+
+	@Override
+	public void phaseEnded(LoadPhase phase, long elapsedNanos, int numberOfErrors) {
+		for ( DslModelLoadListener listener : listeners ) {
+			listener.phaseEnded(phase, elapsedNanos, numberOfErrors);
+		}
+	}
+
+	@Override
+	public void entityParsed(EntityLoadStatistics entityStatistics) {
+		for ( DslModelLoadListener listener : listeners ) {
+			listener.entityParsed(entityStatistics);
+		}
+	}
+
+	@Override
+	public void loadingEnded(boolean success, int numberOfErrors) {
+		for ( DslModelLoadListener listener : listeners ) {
+			listener.loadingEnded(success, numberOfErrors);
+		}
+	}
+
+	@Override
+	public void cacheHit() {
+		for ( DslModelLoadListener listener : listeners ) {
+			listener.cacheHit();
+		}
+	}
+}
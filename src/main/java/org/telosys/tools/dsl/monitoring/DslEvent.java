@@ -0,0 +1,57 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.monitoring;
+
+/**
+ * Event recorded around a hot path of the parser, converter or writer (e.g. JFR event) <br>
+ * The event is started by 'DslEvents.begin' and ended by 'commit' : <br>
+ *   DslEvent event = DslEvents.begin(DslEventType.XXX); <br>
+ *   ... <br>
+ *   event.commit(name, count); <br>
+ * The meaning of 'name', 'count' and 'size' depends on the event type (see 'DslEventType')
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public interface DslEvent {
+
+	/**
+	 * Event doing nothing (used when the event is disabled or not supported by the JVM)
+	 */
+	public static final DslEvent NONE = new DslEvent() {
+		@Override
+		public void commit(String name, int count, long size) {
+			// nothing to do
+		}
+	};
+
+	/**
+	 * Ends the event and commits it
+	 * @param name
+	 * @param count
+	 */
+	default void commit(String name, int count) {
+		commit(name, count, 0L);
+	}
+
+	/**
+	 * Ends the event and commits it
+	 * @param name
+	 * @param count
+	 * @param size
+	 */
+	void commit(String name, int count, long size);
+}
@@ -0,0 +1,55 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.monitoring;
+
+/**
+ * Types of events recorded around the hot paths (with the meaning of 'name', 'count' and 'size')
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public enum DslEventType {
+
+	/**
+	 * Model level loading phase ('ParserV2' and 'ModelConverter' steps) : phase label, errors
+	 */
+	LOAD_PHASE,
+
+	/**
+	 * 'ParserV2.parseEntity' : entity name, elements, file size
+	 */
+	PARSE_ENTITY,
+
+	/**
+	 * 'EntityConverter.convertEntity' : entity name, fields
+	 */
+	CONVERT_ENTITY,
+
+	/**
+	 * 'ForeignKeysBuilderV2.buildForeignKeys' : entity name, foreign keys
+	 */
+	BUILD_FOREIGN_KEYS,
+
+	/**
+	 * 'DbToModelConverter' for each table : table name, attributes
+	 */
+	CONVERT_TABLE,
+
+	/**
+	 * 'EntityFileWriter.writeEntity' : entity name, attributes and links
+	 */
+	WRITE_ENTITY
+}
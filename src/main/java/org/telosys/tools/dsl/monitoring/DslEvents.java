@@ -0,0 +1,63 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.monitoring;
+
+import org.telosys.tools.dsl.monitoring.jfr.JfrEventFactory;
+
+/**
+ * Events recorded around the hot paths of the parser, converter and writer <br>
+ * The events are Java Flight Recorder (JFR) custom events, enabled and disabled 
+ * with the standard JFR settings (event names "org.telosys.dsl.*", category "Telosys / DSL model") <br>
+ * Example to disable an event in a '.jfc' file : <br>
+ *   &lt;event name="org.telosys.dsl.ConvertEntity"&gt; &lt;setting name="enabled"&gt;false&lt;/setting&gt; &lt;/event&gt; <br>
+ * If JFR is not supported by the JVM or if the event is disabled, the event is 'DslEvent.NONE' (no allocation)
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public final class DslEvents {
+
+	private static final boolean JFR_AVAILABLE = checkJfrClasses();
+
+	private DslEvents() {
+	}
+
+	private static boolean checkJfrClasses() {
+		try {
+			Class.forName("jdk.jfr.Event");
+			return true;
+		} catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Returns true if the JVM supports JFR events
+	 * @return
+	 */
+	public static boolean isJfrAvailable() {
+		return JFR_AVAILABLE;
+	}
+
+	/**
+	 * Begins a new event of the given type 
+	 * @param type
+	 * @return the started event or 'DslEvent.NONE' if the event is not enabled
+	 */
+	public static DslEvent begin(DslEventType type) {
+		return JFR_AVAILABLE ? JfrEventFactory.begin(type) : DslEvent.NONE ;
+	}
+}
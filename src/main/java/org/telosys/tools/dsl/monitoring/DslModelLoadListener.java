@@ -0,0 +1,79 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.monitoring;
+
+/**
+ * Listener receiving the events of a model loading (instrumentation SPI) <br>
+ * Can be given to 'DslModelManager', 'ParserV2' and 'ModelConverter' <br>
+ * All the methods do nothing by default (override only the useful ones) <br>
+ * <br>
+ * Model level phases are notified by the loading thread ('phaseStarted' then 'phaseEnded') <br>
+ * Entity level events ('entityParsed') can be notified by several threads in case of parallel parsing
+ * (the implementation must be thread-safe in this case) <br>
+ * The listener is called synchronously : it must be fast and must not throw exceptions
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public interface DslModelLoadListener {
+
+	/**
+	 * Listener doing nothing (used when no listener is given)
+	 */
+	public static final DslModelLoadListener NO_LISTENER = new DslModelLoadListener() { };
+
+	/**
+	 * Called at the beginning of a model level phase
+	 * @param phase
+	 */
+	default void phaseStarted(LoadPhase phase) {
+		// nothing by default
+	}
+
+	/**
+	 * Called at the end of a model level phase
+	 * @param phase
+	 * @param elapsedNanos the phase duration in nanoseconds
+	 * @param numberOfErrors the number of errors detected during the phase
+	 */
+	default void phaseEnded(LoadPhase phase, long elapsedNanos, int numberOfErrors) {
+		// nothing by default
+	}
+
+	/**
+	 * Called after the parsing of each entity file (even if errors have been detected)
+	 * @param entityStatistics sizes, counts and timings for the entity
+	 */
+	default void entityParsed(EntityLoadStatistics entityStatistics) {
+		// nothing by default
+	}
+
+	/**
+	 * Called by 'DslModelManager' at the end of each model loading
+	 * @param success true if the model has been loaded (no error)
+	 * @param numberOfErrors the number of errors (parsing or conversion)
+	 */
+	default void loadingEnded(boolean success, int numberOfErrors) {
+		// nothing by default
+	}
+
+	/**
+	 * Called when a model is returned from a cache (without parsing and conversion)
+	 */
+	default void cacheHit() {
+		// nothing by default
+	}
+}
@@ -0,0 +1,117 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.monitoring;
+
+/**
+ * Parsing statistics for a single entity file (immutable) <br>
+ * The counts are 0 if the file cannot be read or lexed
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public final class EntityLoadStatistics {
+
+	private final String entityName ;
+	private final long   fileSize ;
+	private final int    numberOfElements ;
+	private final int    numberOfFields ;
+	private final int    numberOfAnnotations ;
+	private final int    numberOfForeignKeys ;
+	private final int    lexingErrors ;
+	private final int    processingErrors ;
+	private final long   lexingNanos ;
+	private final long   processingNanos ;
+
+	/**
+	 * Constructor
+	 * @param entityName entity name (from the file name)
+	 * @param fileSize file size in bytes
+	 * @param numberOfElements number of elements produced by the lexer
+	 * @param numberOfFields
+	 * @param numberOfAnnotations entity and fields annotations
+	 * @param numberOfForeignKeys foreign keys declared with '@FK'
+	 * @param lexingErrors errors detected by the file reading and lexing
+	 * @param processingErrors errors detected by the elements processing
+	 * @param lexingNanos file reading and lexing duration
+	 * @param processingNanos elements processing duration
+	 */
+	public EntityLoadStatistics(String entityName, long fileSize, int numberOfElements, int numberOfFields,
+			int numberOfAnnotations, int numberOfForeignKeys, int lexingErrors, int processingErrors, long lexingNanos, long processingNanos) {
+		super();
+		this.entityName = entityName;
+		this.fileSize = fileSize;
+		this.numberOfElements = numberOfElements;
+		this.numberOfFields = numberOfFields;
+		this.numberOfAnnotations = numberOfAnnotations;
+		this.numberOfForeignKeys = numberOfForeignKeys;
+		this.lexingErrors = lexingErrors;
+		this.processingErrors = processingErrors;
+		this.lexingNanos = lexingNanos;
+		this.processingNanos = processingNanos;
+	}
+
+	public String getEntityName() {
+		return entityName;
+	}
+
+	public long getFileSize() {
+		return fileSize;
+	}
+
+	public int getNumberOfElements() {
+		return numberOfElements;
+	}
+
+	public int getNumberOfFields() {
+		return numberOfFields;
+	}
+
+	public int getNumberOfAnnotations() {
+		return numberOfAnnotations;
+	}
+
+	public int getNumberOfForeignKeys() {
+		return numberOfForeignKeys;
+	}
+
+	public int getLexingErrors() {
+		return lexingErrors;
+	}
+
+	public int getProcessingErrors() {
+		return processingErrors;
+	}
+
+	public int getNumberOfErrors() {
+		return lexingErrors + processingErrors;
+	}
+
+	public long getLexingNanos() {
+		return lexingNanos;
+	}
+
+	public long getProcessingNanos() {
+		return processingNanos;
+	}
+
+	@Override
+	public String toString() {
+		return entityName + " : " + fileSize + " bytes, "
+				+ numberOfElements + " elements, " + numberOfFields + " fields, "
+				+ numberOfAnnotations + " annotations, " + numberOfForeignKeys + " FK, "
+				+ getNumberOfErrors() + " errors, lexing " + lexingNanos + " ns, processing " + processingNanos + " ns" ;
+	}
+}
@@ -0,0 +1,62 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.monitoring;
+
+/**
+ * Phases of a model loading (parsing and conversion) <br>
+ * 'LEXING' and 'ELEMENTS_PROCESSING' are entity level phases (reported for each entity file),
+ * the other phases are model level phases (reported once for each loading)
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public enum LoadPhase {
+
+	// Parsing (ParserV2)
+	PARSING("parsing"),
+	MODEL_INFO("model.yaml loading"),
+	FOLDER_WALK("entity files listing"),
+	LEXING("file reading and lexing"),
+	ELEMENTS_PROCESSING("elements processing"),
+
+	// Conversion (ModelConverter)
+	CONVERSION("conversion"),
+	ENTITIES_CREATION("step 1 : void entities"),
+	ATTRIBUTES_CREATION("step 2 : attributes"),
+	REFERENCES_RESOLUTION("references resolution"), // v 4.1.1
+	EXPLICIT_FOREIGN_KEYS("step 3 : explicit foreign keys"),
+	LINKS_CREATION("step 4 : links"),
+	IMPLICIT_FOREIGN_KEYS("step 5 : implicit foreign keys"),
+	MODEL_CHECKING("step 6 : model checking");
+
+	private final String label ;
+
+	private LoadPhase(String label) {
+		this.label = label;
+	}
+
+	public String getLabel() {
+		return label;
+	}
+
+	/**
+	 * Returns true if the phase is reported for each entity file
+	 * @return
+	 */
+	public boolean isEntityPhase() {
+		return this == LEXING || this == ELEMENTS_PROCESSING ;
+	}
+}
@@ -0,0 +1,64 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.monitoring;
+
+import org.telosys.tools.dsl.DslModelErrors;
+
+/**
+ * Tracks the model level phases for a listener : start time and number of errors
+ * at the beginning of each phase, then duration and new errors at the end <br>
+ * A 'LOAD_PHASE' event is also recorded for each phase (see 'DslEvents') <br>
+ * Phases can be nested (each phase has its own state) <br>
+ *
+ * NB : this class is not thread-safe (to be used by the loading thread)
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public class LoadPhaseTracker {
+
+	private final DslModelLoadListener listener ;
+	private final DslModelErrors errors ;
+
+	private final long[] startNanos = new long[LoadPhase.values().length];
+	private final int[]  startErrors = new int[LoadPhase.values().length];
+	private final DslEvent[] events = new DslEvent[LoadPhase.values().length];
+
+	/**
+	 * Constructor
+	 * @param listener the listener to notify (or null for no listener)
+	 * @param errors the errors collector used during the phases
+	 */
+	public LoadPhaseTracker(DslModelLoadListener listener, DslModelErrors errors) {
+		super();
+		this.listener = listener != null ? listener : DslModelLoadListener.NO_LISTENER ;
+		this.errors = errors;
+	}
+
+	public void start(LoadPhase phase) {
+		listener.phaseStarted(phase);
+		events[phase.ordinal()] = DslEvents.begin(DslEventType.LOAD_PHASE);
+		startErrors[phase.ordinal()] = errors.getNumberOfErrors();
+		startNanos[phase.ordinal()] = System.nanoTime();
+	}
+
+	public void end(LoadPhase phase) {
+		long elapsed = System.nanoTime() - startNanos[phase.ordinal()];
+		int numberOfErrors = errors.getNumberOfErrors() - startErrors[phase.ordinal()];
+		events[phase.ordinal()].commit(phase.getLabel(), numberOfErrors);
+		listener.phaseEnded(phase, elapsed, numberOfErrors);
+	}
+}
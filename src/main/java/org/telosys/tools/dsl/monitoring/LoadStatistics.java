@@ -0,0 +1,177 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Default load listener aggregating all the events of a model loading <br>
+ * For each phase : number of executions, total duration and number of errors
+ * ( the entity level phases are the sum of all the entity files ) <br>
+ * For each entity file : the 'EntityLoadStatistics' in the order of notification <br>
+ * Model totals : files sizes, elements, fields, annotations, foreign keys and errors <br>
+ *
+ * This class is thread-safe (entity events can be notified by parallel parsing tasks)
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public class LoadStatistics implements DslModelLoadListener {
+
+	private static final LoadPhase[] PHASES = LoadPhase.values();
+
+	private final int[]  phaseCounts = new int[PHASES.length];
+	private final long[] phaseNanos  = new long[PHASES.length];
+	private final int[]  phaseErrors = new int[PHASES.length];
+
+	private final List<EntityLoadStatistics> entities = new ArrayList<>();
+
+	private long totalFileSize = 0 ;
+	private int  totalElements = 0 ;
+	private int  totalFields = 0 ;
+	private int  totalAnnotations = 0 ;
+	private int  totalForeignKeys = 0 ;
+
+	@Override
+	public synchronized void phaseEnded(LoadPhase phase, long elapsedNanos, int numberOfErrors) {
+		addToPhase(phase, elapsedNanos, numberOfErrors);
+	}
+
+	@Override
+	public synchronized void entityParsed(EntityLoadStatistics entityStatistics) {
+		entities.add(entityStatistics);
+		addToPhase(LoadPhase.LEXING, entityStatistics.getLexingNanos(), entityStatistics.getLexingErrors());
+		if ( entityStatistics.getLexingErrors() == 0 ) {
+			addToPhase(LoadPhase.ELEMENTS_PROCESSING, entityStatistics.getProcessingNanos(), entityStatistics.getProcessingErrors());
+		}
+		totalFileSize += entityStatistics.getFileSize();
+		totalElements += entityStatistics.getNumberOfElements();
+		totalFields += entityStatistics.getNumberOfFields();
+		totalAnnotations += entityStatistics.getNumberOfAnnotations();
+		totalForeignKeys += entityStatistics.getNumberOfForeignKeys();
+	}
+
+	private void addToPhase(LoadPhase phase, long elapsedNanos, int numberOfErrors) {
+		int i = phase.ordinal();
+		phaseCounts[i]++;
+		phaseNanos[i] += elapsedNanos;
+		phaseErrors[i] += numberOfErrors;
+	}
+
+	/**
+	 * Returns the number of times the given phase has been executed <br>
+	 * (number of entity files for an entity level phase)
+	 * @param phase
+	 * @return
+	 */
+	public synchronized int getPhaseCount(LoadPhase phase) {
+		return phaseCounts[phase.ordinal()];
+	}
+
+	/**
+	 * Returns the total duration of the given phase in nanoseconds
+	 * @param phase
+	 * @return
+	 */
+	public synchronized long getPhaseNanos(LoadPhase phase) {
+		return phaseNanos[phase.ordinal()];
+	}
+
+	/**
+	 * Returns the number of errors detected during the given phase
+	 * @param phase
+	 * @return
+	 */
+	public synchronized int getPhaseErrors(LoadPhase phase) {
+		return phaseErrors[phase.ordinal()];
+	}
+
+	/**
+	 * Returns a copy of the statistics of all the entity files parsed
+	 * @return
+	 */
+	public synchronized List<EntityLoadStatistics> getEntities() {
+		return new ArrayList<>(entities);
+	}
+
+	/**
+	 * Returns the statistics of the given entity (or null if not found)
+	 * @param entityName
+	 * @return
+	 */
+	public synchronized EntityLoadStatistics getEntity(String entityName) {
+		for ( EntityLoadStatistics e : entities ) {
+			if ( e.getEntityName().equals(entityName) ) {
+				return e ;
+			}
+		}
+		return null ;
+	}
+
+	public synchronized int getNumberOfFiles() {
+		return entities.size();
+	}
+
+	public synchronized long getTotalFileSize() {
+		return totalFileSize;
+	}
+
+	public synchronized int getTotalElements() {
+		return totalElements;
+	}
+
+	public synchronized int getTotalFields() {
+		return totalFields;
+	}
+
+	public synchronized int getTotalAnnotations() {
+		return totalAnnotations;
+	}
+
+	public synchronized int getTotalForeignKeys() {
+		return totalForeignKeys;
+	}
+
+	/**
+	 * Returns the total number of errors (parsing and conversion)
+	 * @return
+	 */
+	public synchronized int getTotalErrors() {
+		return phaseErrors[LoadPhase.PARSING.ordinal()] + phaseErrors[LoadPhase.CONVERSION.ordinal()];
+	}
+
+	@Override
+	public synchronized String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(entities.size()).append(" file(s), ").append(totalFileSize).append(" bytes, ")
+			.append(totalElements).append(" elements, ").append(totalFields).append(" fields, ")
+			.append(totalAnnotations).append(" annotations, ").append(totalForeignKeys).append(" FK, ")
+			.append(getTotalErrors()).append(" error(s) \n");
+		for ( LoadPhase phase : PHASES ) {
+			int i = phase.ordinal();
+			if ( phaseCounts[i] > 0 ) {
+				sb.append(" . ").append(phase.getLabel()).append(" : ")
+					.append(phaseNanos[i] / 1000).append(" us");
+				if ( phase.isEntityPhase() ) {
+					sb.append(" (").append(phaseCounts[i]).append(" files)");
+				}
+				sb.append(", ").append(phaseErrors[i]).append(" error(s) \n");
+			}
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,87 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.monitoring;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Optional registration of the model loading statistics in the platform MBean server <br>
+ * Object name : "org.telosys.tools.dsl:type=ModelLoading,name=xxx"
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public final class ModelLoadingMBeans {
+
+	public static final String DOMAIN = "org.telosys.tools.dsl" ;
+
+	private ModelLoadingMBeans() {
+	}
+
+	/**
+	 * Returns the object name for the given name
+	 * @param name
+	 * @return
+	 */
+	public static ObjectName getObjectName(String name) {
+		try {
+			return new ObjectName(DOMAIN + ":type=ModelLoading,name=" + ObjectName.quote(name));
+		} catch (JMException e) {
+			throw new IllegalArgumentException("Invalid MBean name '" + name + "'", e);
+		}
+	}
+
+	/**
+	 * Registers the given statistics in the platform MBean server <br>
+	 * (replaces the MBean already registered with the same name if any)
+	 * @param statistics
+	 * @param name
+	 * @return the object name
+	 */
+	public static ObjectName register(ModelLoadingStatistics statistics, String name) {
+		ObjectName objectName = getObjectName(name);
+		MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+		try {
+			if ( mbeanServer.isRegistered(objectName) ) {
+				mbeanServer.unregisterMBean(objectName);
+			}
+			mbeanServer.registerMBean(statistics, objectName);
+		} catch (JMException e) {
+			throw new IllegalStateException("Cannot register MBean '" + objectName + "'", e);
+		}
+		return objectName;
+	}
+
+	/**
+	 * Unregisters the MBean with the given name (if registered)
+	 * @param name
+	 */
+	public static void unregister(String name) {
+		ObjectName objectName = getObjectName(name);
+		MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+		try {
+			if ( mbeanServer.isRegistered(objectName) ) {
+				mbeanServer.unregisterMBean(objectName);
+			}
+		} catch (JMException e) {
+			throw new IllegalStateException("Cannot unregister MBean '" + objectName + "'", e);
+		}
+	}
+}
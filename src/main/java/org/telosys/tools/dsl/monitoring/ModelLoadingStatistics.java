@@ -0,0 +1,178 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.monitoring;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cumulative statistics for all the model loadings of a long-running application <br>
+ * This listener can be shared by several 'DslModelManager' (and by concurrent loadings) : 
+ * the counters are 'LongAdder' and 'LongAccumulator' (no contention between threads) <br>
+ * It can be exposed as a platform MBean with 'ModelLoadingMBeans' <br>
+ * Usage : <br>
+ *   ModelLoadingStatistics statistics = new ModelLoadingStatistics(); <br>
+ *   ModelLoadingMBeans.register(statistics, "myModels"); // optional <br>
+ *   new DslModelManager(executor, statistics).loadModel(folder); <br>
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public class ModelLoadingStatistics implements DslModelLoadListener, ModelLoadingStatisticsMBean {
+
+	private final LongAdder totalLoads = new LongAdder();
+	private final LongAdder failedLoads = new LongAdder();
+	private final LongAdder parsingNanos = new LongAdder();
+	private final LongAccumulator maxParsingNanos = new LongAccumulator(Math::max, 0L);
+	private final LongAdder conversionNanos = new LongAdder();
+	private final LongAccumulator maxConversionNanos = new LongAccumulator(Math::max, 0L);
+	private final LongAdder entities = new LongAdder();
+	private final LongAdder fields = new LongAdder();
+	private final LongAdder cacheHits = new LongAdder();
+	private volatile int lastErrorCount = 0 ;
+
+	//-----------------------------------------------------------------------------
+	// Listener
+	//-----------------------------------------------------------------------------
+	@Override
+	public void phaseEnded(LoadPhase phase, long elapsedNanos, int numberOfErrors) {
+		if ( phase == LoadPhase.PARSING ) {
+			parsingNanos.add(elapsedNanos);
+			maxParsingNanos.accumulate(elapsedNanos);
+		}
+		else if ( phase == LoadPhase.CONVERSION ) {
+			conversionNanos.add(elapsedNanos);
+			maxConversionNanos.accumulate(elapsedNanos);
+		}
+	}
+
+	@Override
+	public void entityParsed(EntityLoadStatistics entityStatistics) {
+		entities.increment();
+		fields.add(entityStatistics.getNumberOfFields());
+	}
+
+	@Override
+	public void loadingEnded(boolean success, int numberOfErrors) {
+		totalLoads.increment();
+		if ( ! success ) {
+			failedLoads.increment();
+		}
+		lastErrorCount = numberOfErrors ;
+	}
+
+	@Override
+	public void cacheHit() {
+		cacheHits.increment();
+	}
+
+	//-----------------------------------------------------------------------------
+	// MBean
+	//-----------------------------------------------------------------------------
+	private static long toMillis(long nanos) {
+		return TimeUnit.NANOSECONDS.toMillis(nanos);
+	}
+
+	@Override
+	public long getTotalLoads() {
+		return totalLoads.sum();
+	}
+
+	@Override
+	public long getFailedLoads() {
+		return failedLoads.sum();
+	}
+
+	@Override
+	public long getCumulativeParsingTimeMillis() {
+		return toMillis(parsingNanos.sum());
+	}
+
+	@Override
+	public long getMaxParsingTimeMillis() {
+		return toMillis(maxParsingNanos.get());
+	}
+
+	@Override
+	public long getCumulativeConversionTimeMillis() {
+		return toMillis(conversionNanos.sum());
+	}
+
+	@Override
+	public long getMaxConversionTimeMillis() {
+		return toMillis(maxConversionNanos.get());
+	}
+
+	@Override
+	public long getEntitiesProcessed() {
+		return entities.sum();
+	}
+
+	@Override
+	public long getFieldsProcessed() {
+		return fields.sum();
+	}
+
+	@Override
+	public long getCacheHits() {
+		return cacheHits.sum();
+	}
+
+	@Override
+	public int getLastErrorCount() {
+		return lastErrorCount;
+	}
+
+	/**
+	 * Returns the cumulative parsing time in nanoseconds
+	 * @return
+	 */
+	public long getCumulativeParsingNanos() {
+		return parsingNanos.sum();
+	}
+
+	/**
+	 * Returns the cumulative conversion time in nanoseconds
+	 * @return
+	 */
+	public long getCumulativeConversionNanos() {
+		return conversionNanos.sum();
+	}
+
+	@Override
+	public void reset() {
+		totalLoads.reset();
+		failedLoads.reset();
+		parsingNanos.reset();
+		maxParsingNanos.reset();
+		conversionNanos.reset();
+		maxConversionNanos.reset();
+		entities.reset();
+		fields.reset();
+		cacheHits.reset();
+		lastErrorCount = 0 ;
+	}
+
+	@Override
+	public String toString() {
+		return getTotalLoads() + " load(s), " + getFailedLoads() + " failed, parsing "
+				+ getCumulativeParsingTimeMillis() + " ms (max " + getMaxParsingTimeMillis() + " ms), conversion "
+				+ getCumulativeConversionTimeMillis() + " ms (max " + getMaxConversionTimeMillis() + " ms), "
+				+ getEntitiesProcessed() + " entities, " + getFieldsProcessed() + " fields, "
+				+ getCacheHits() + " cache hit(s), last error count " + getLastErrorCount() ;
+	}
+}
@@ -0,0 +1,74 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.monitoring;
+
+/**
+ * Standard MBean interface for the cumulative model loading statistics
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public interface ModelLoadingStatisticsMBean {
+
+	/**
+	 * Returns the number of model loadings (successful or failed)
+	 * @return
+	 */
+	long getTotalLoads();
+
+	/**
+	 * Returns the number of model loadings with errors
+	 * @return
+	 */
+	long getFailedLoads();
+
+	long getCumulativeParsingTimeMillis();
+
+	long getMaxParsingTimeMillis();
+
+	long getCumulativeConversionTimeMillis();
+
+	long getMaxConversionTimeMillis();
+
+	/**
+	 * Returns the number of entities parsed
+	 * @return
+	 */
+	long getEntitiesProcessed();
+
+	/**
+	 * Returns the number of fields parsed
+	 * @return
+	 */
+	long getFieldsProcessed();
+
+	/**
+	 * Returns the number of models returned from a cache
+	 * @return
+	 */
+	long getCacheHits();
+
+	/**
+	 * Returns the number of errors of the last model loading
+	 * @return
+	 */
+	int getLastErrorCount();
+
+	/**
+	 * Resets all the counters
+	 */
+	void reset();
+}
@@ -0,0 +1,55 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import org.telosys.tools.dsl.monitoring.DslEvent;
+
+/**
+ * JFR event : Conversion of a parsed entity to a model entity (without attributes and links)
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+@Name("org.telosys.dsl.ConvertEntity")
+@Label("Entity Conversion")
+@Category({ "Telosys", "DSL model" })
+@Description("Conversion of a parsed entity to a model entity (without attributes and links)")
+@StackTrace(false)
+final class ConvertEntityEvent extends Event implements DslEvent {
+
+	@Label("Entity")
+	private String entityName ;
+
+	@Label("Fields")
+	private int fields ;
+
+	@Override
+	public void commit(String name, int count, long size) {
+		end();
+		if ( shouldCommit() ) {
+			this.entityName = name ;
+			this.fields = count ;
+			commit();
+		}
+	}
+}
@@ -0,0 +1,78 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.monitoring.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+
+import org.telosys.tools.dsl.monitoring.DslEvent;
+import org.telosys.tools.dsl.monitoring.DslEventType;
+
+/**
+ * Factory for the JFR events (this class is loaded only if the JVM supports JFR) <br>
+ * The event types are registered once, so checking if an event is enabled doesn't create an event
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public final class JfrEventFactory {
+
+	private static final EventType[] EVENT_TYPES = new EventType[DslEventType.values().length];
+	static {
+		for ( DslEventType type : DslEventType.values() ) {
+			EVENT_TYPES[type.ordinal()] = EventType.getEventType(eventClass(type));
+		}
+	}
+
+	private JfrEventFactory() {
+	}
+
+	private static Class<? extends Event> eventClass(DslEventType type) {
+		switch (type) {
+		case LOAD_PHASE :         return LoadPhaseEvent.class;
+		case PARSE_ENTITY :       return ParseEntityEvent.class;
+		case CONVERT_ENTITY :     return ConvertEntityEvent.class;
+		case BUILD_FOREIGN_KEYS : return BuildForeignKeysEvent.class;
+		case CONVERT_TABLE :      return ConvertTableEvent.class;
+		default :                 return WriteEntityEvent.class;
+		}
+	}
+
+	private static Event newEvent(DslEventType type) {
+		switch (type) {
+		case LOAD_PHASE :         return new LoadPhaseEvent();
+		case PARSE_ENTITY :       return new ParseEntityEvent();
+		case CONVERT_ENTITY :     return new ConvertEntityEvent();
+		case BUILD_FOREIGN_KEYS : return new BuildForeignKeysEvent();
+		case CONVERT_TABLE :      return new ConvertTableEvent();
+		default :                 return new WriteEntityEvent();
+		}
+	}
+
+	/**
+	 * Begins a new JFR event of the given type
+	 * @param type
+	 * @return the started event or 'DslEvent.NONE' if the event type is disabled
+	 */
+	public static DslEvent begin(DslEventType type) {
+		if ( ! EVENT_TYPES[type.ordinal()].isEnabled() ) {
+			return DslEvent.NONE ;
+		}
+		Event event = newEvent(type);
+		event.begin();
+		return (DslEvent) event ;
+	}
+}
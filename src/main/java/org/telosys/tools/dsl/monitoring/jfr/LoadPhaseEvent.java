@@ -0,0 +1,55 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import org.telosys.tools.dsl.monitoring.DslEvent;
+
+/**
+ * JFR event : Model level phase of the model loading (parsing or conversion step)
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+@Name("org.telosys.dsl.LoadPhase")
+@Label("Model Loading Phase")
+@Category({ "Telosys", "DSL model" })
+@Description("Model level phase of the model loading (parsing or conversion step)")
+@StackTrace(false)
+final class LoadPhaseEvent extends Event implements DslEvent {
+
+	@Label("Phase")
+	private String phase ;
+
+	@Label("Errors")
+	private int errors ;
+
+	@Override
+	public void commit(String name, int count, long size) {
+		end();
+		if ( shouldCommit() ) {
+			this.phase = name ;
+			this.errors = count ;
+			commit();
+		}
+	}
+}
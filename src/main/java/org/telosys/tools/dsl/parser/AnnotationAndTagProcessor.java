@@ -24,9 +24,6 @@ import org.telosys.tools.dsl.DslModelError;
  */
 public abstract class AnnotationAndTagProcessor {
 
-	private static final char OPENING_PARENTHESIS = '(';
-	private static final char CLOSING_PARENTHESIS = ')';
-
 	private final String entityName;
 	private final String fieldName;
 	
@@ -76,6 +73,20 @@ public abstract class AnnotationAndTagProcessor {
 		}
 	}
 
+	/**
+	 * Scans the annotation or tag name and parameter in a single pass (v 4.1.1)
+	 * @param element
+	 * @return
+	 * @throws DslModelError if invalid name or unbalanced parenthesis
+	 */
+	protected AnnotationOrTagHeader scanHeader(Element element) throws DslModelError {
+		AnnotationOrTagHeader header = AnnotationOrTagHeader.scan(element.getContent());
+		if ( ! header.isOk() ) {
+			throw newError(element.getLineNumber(), header.getContent() + " : " + header.getStatus().getMessage());
+		}
+		return header;
+	}
+
 	/**
 	 * Returns the annotation or tag name 
 	 * @param element
@@ -83,28 +94,7 @@ public abstract class AnnotationAndTagProcessor {
 	 * @throws DslModelError
 	 */
 	public String getName(Element element) throws DslModelError {
-		String annotationOrTag = element.getContent();
-		boolean blankCharFound = false;
-		StringBuilder sb = new StringBuilder();
-		// skip the first char (supposed to be '@' or '#' )
-		for (int i = 1; i < annotationOrTag.length(); i++) {
-			char c = annotationOrTag.charAt(i);
-			if (Character.isLetter(c)) {
-				if (blankCharFound) {
-					// Case letter after a blank char : "Id xxx" or "aaa bbb"
-					throw newError(element.getLineNumber(), annotationOrTag + " : invalid name");
-				}
-				sb.append(c);
-			} else if (Character.isWhitespace(c)) {
-				blankCharFound = true;
-			} else if (c == '(') {
-				break;
-			} else {
-				// Unexpected ending character
-				throw newError(element.getLineNumber(),  annotationOrTag + " : invalid name");
-			}
-		}
-		return sb.toString();
+		return scanHeader(element).getName();
 	}
 
 	/**
@@ -117,35 +107,7 @@ public abstract class AnnotationAndTagProcessor {
 	 * @throws DslModelError
 	 */
 	public String getParameterValue(Element element) throws DslModelError {
-		String annotationOrTag = element.getContent();
-		int openIndex = annotationOrTag.indexOf(OPENING_PARENTHESIS); //  first occurrence of '('
-		int closeIndex = annotationOrTag.lastIndexOf(CLOSING_PARENTHESIS); // last occurrence of ')'
-		if (openIndex < 0 && closeIndex < 0) {
-			// no open nor close char
-			return null;
-		} else {
-			// 1 or 2 chars found
-			if (openIndex >= 0 && closeIndex >= 0) {
-				// open and close char found
-				if (openIndex < closeIndex) {
-					// valid order eg "(aa)"
-					// get string between ( and )
-					String paramValue = annotationOrTag.substring(openIndex + 1, closeIndex);
-					// trim
-					return paramValue.trim();
-				} else {
-					// unbalanced ( and ) eg ")aa("
-					throw newError(element.getLineNumber(), annotationOrTag + " : unbalanced ( and )");
-				}
-			} else {
-				// unbalanced ( and ) eg "(aa" or "aa)"
-				if (openIndex < 0) {
-					throw newError(element.getLineNumber(), annotationOrTag + " : '(' missing");
-				} else {
-					throw newError(element.getLineNumber(), annotationOrTag + " : ')' missing");
-				}
-			}
-		}
+		return scanHeader(element).getParameter();
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,188 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.parser;
+
+/**
+ * Annotation or tag header : name and parameter located in a single pass <br>
+ * Examples : "@Id", "@Max(12)", "#Foo( \"a(b)\" )" <br>
+ *  - name : the letters after the first char ('@' or '#'), blanks allowed before '(' <br>
+ *  - parameter : the trimmed range between the first '(' and the closing ')' <br>
+ *    the closing ')' is the last one outside double quotes (or the last one if all are in quotes) <br>
+ * No substring is created by the scan : the parameter is given as a range in the content
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public final class AnnotationOrTagHeader {
+
+	/**
+	 * Scan status (the message is added after the element content in the error)
+	 */
+	public enum Status {
+		OK(null),
+		INVALID_NAME("invalid name"),
+		CLOSING_PARENTHESIS_MISSING("')' missing");
+
+		private final String message ;
+
+		private Status(String message) {
+			this.message = message;
+		}
+
+		public String getMessage() {
+			return message;
+		}
+	}
+
+	private static final int NONE = -1 ;
+
+	private final String content ;
+	private final Status status ;
+	private final int    nameEnd ; // name from 1 to nameEnd (excluded)
+	private final int    parameterStart ; // NONE if no parameter
+	private final int    parameterEnd ;
+
+	private AnnotationOrTagHeader(String content, Status status, int nameEnd, int parameterStart, int parameterEnd) {
+		super();
+		this.content = content;
+		this.status = status;
+		this.nameEnd = nameEnd;
+		this.parameterStart = parameterStart;
+		this.parameterEnd = parameterEnd;
+	}
+
+	private static AnnotationOrTagHeader error(String content, Status status) {
+		return new AnnotationOrTagHeader(content, status, 1, NONE, NONE);
+	}
+
+	/**
+	 * Scans the given annotation or tag (the first char is supposed to be '@' or '#')
+	 * @param content
+	 * @return the header (never null, check the status)
+	 */
+	public static AnnotationOrTagHeader scan(String content) {
+		int length = content.length();
+		// Name
+		int nameEnd = Math.min(1, length);
+		boolean blankCharFound = false ;
+		int i = 1 ;
+		for ( ; i < length ; i++ ) {
+			char c = content.charAt(i);
+			if ( Character.isLetter(c) ) {
+				if ( blankCharFound ) {
+					// Case letter after a blank char : "Id xxx" or "aaa bbb"
+					return error(content, Status.INVALID_NAME);
+				}
+				nameEnd = i + 1 ;
+			}
+			else if ( Character.isWhitespace(c) ) {
+				blankCharFound = true ;
+			}
+			else if ( c == '(' ) {
+				break;
+			}
+			else {
+				// Unexpected ending character
+				return error(content, Status.INVALID_NAME);
+			}
+		}
+		if ( i == length ) {
+			// no parameter
+			return new AnnotationOrTagHeader(content, Status.OK, nameEnd, NONE, NONE);
+		}
+		// Parameter
+		int open = i ;
+		int lastClose = NONE ;
+		int lastCloseOutsideQuotes = NONE ;
+		boolean inQuote = false ;
+		char previousChar = 0 ;
+		for ( i = open + 1 ; i < length ; i++ ) {
+			char c = content.charAt(i);
+			if ( c == '\"' && ( ! inQuote || previousChar != '\\' ) ) {
+				inQuote = ! inQuote ;
+			}
+			else if ( c == ')' ) {
+				lastClose = i ;
+				if ( ! inQuote ) {
+					lastCloseOutsideQuotes = i ;
+				}
+			}
+			previousChar = c ;
+		}
+		int close = lastCloseOutsideQuotes != NONE ? lastCloseOutsideQuotes : lastClose ;
+		if ( close == NONE ) {
+			return error(content, Status.CLOSING_PARENTHESIS_MISSING);
+		}
+		// trimmed parameter (same chars as 'String.trim')
+		int start = open + 1 ;
+		int end = close ;
+		while ( start < end && content.charAt(start) <= ' ' ) {
+			start++;
+		}
+		while ( end > start && content.charAt(end - 1) <= ' ' ) {
+			end--;
+		}
+		return new AnnotationOrTagHeader(content, Status.OK, nameEnd, start, end);
+	}
+
+	public String getContent() {
+		return content;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public boolean isOk() {
+		return status == Status.OK ;
+	}
+
+	/**
+	 * Returns the annotation or tag name (without '@' or '#')
+	 * @return
+	 */
+	public String getName() {
+		return content.substring(1, nameEnd);
+	}
+
+	public boolean hasParameter() {
+		return parameterStart != NONE ;
+	}
+
+	/**
+	 * Returns the start of the trimmed parameter in the content (or -1 if no parameter)
+	 * @return
+	 */
+	public int getParameterStart() {
+		return parameterStart;
+	}
+
+	/**
+	 * Returns the end (excluded) of the trimmed parameter in the content (or -1 if no parameter)
+	 * @return
+	 */
+	public int getParameterEnd() {
+		return parameterEnd;
+	}
+
+	/**
+	 * Returns the trimmed parameter (or null if no parameter)
+	 * @return
+	 */
+	public String getParameter() {
+		return hasParameter() ? content.substring(parameterStart, parameterEnd) : null ;
+	}
+}
@@ -20,8 +20,11 @@ import org.telosys.tools.dsl.DslModelError;
 import org.telosys.tools.dsl.parser.annotation.AnnotationDefinition;
 import org.telosys.tools.dsl.parser.annotation.AnnotationDefinitions;
 import org.telosys.tools.dsl.parser.annotation.AnnotationParamType;
+import org.telosys.tools.dsl.parser.commons.ParamDecodingStatus;
 import org.telosys.tools.dsl.parser.commons.ParamError;
 import org.telosys.tools.dsl.parser.commons.ParamValue;
+import org.telosys.tools.dsl.parser.commons.ParamValueDecoder;
+import org.telosys.tools.dsl.parser.commons.ParamValuesCache;
 import org.telosys.tools.dsl.parser.model.DomainAnnotation;
 import org.telosys.tools.dsl.parser.model.DomainEntity;
 import org.telosys.tools.dsl.parser.model.DomainField;
@@ -33,6 +36,8 @@ import org.telosys.tools.dsl.parser.model.DomainField;
  */
 public class AnnotationProcessor extends AnnotationAndTagProcessor {
 
+	private static final int NO_PARAMETER = -1 ;
+
 	private final DomainEntity entity; // to work at ENTITY level
 	private final DomainField field; // to work at FIELD level
 	
@@ -73,17 +78,15 @@ public class AnnotationProcessor extends AnnotationAndTagProcessor {
 	}
 	
 	protected DomainAnnotation buildAnnotation(Element element) throws DslModelError {
-		// get the name 
-		String annotationName = getName(element);
-
-		// get the raw parameter value if any
-		String annotationParameter = getParameterValue(element);
+		// get the name and the parameter range if any (single pass - v 4.1.1)
+		AnnotationOrTagHeader header = scanHeader(element);
 
 		// use annotation definition to build a new annotation instance
-		AnnotationDefinition ad = AnnotationDefinitions.get(annotationName);
+		AnnotationDefinition ad = AnnotationDefinitions.get(header.getName());
 		if ( ad != null ) {
 			try {
-				DomainAnnotation annotation = buildAnnotation(annotationName, annotationParameter, ad.getParamType());
+				DomainAnnotation annotation = buildAnnotation(ad, header.getContent(), 
+						header.getParameterStart(), header.getParameterEnd());
 				ad.afterCreation(getEntityName(), getFieldName(), annotation);
 				return annotation;
 			} catch (ParamError e) {
@@ -95,32 +98,84 @@ public class AnnotationProcessor extends AnnotationAndTagProcessor {
 		}
 	}
 	
+	/**
+	 * Build annotation for the given definition <br>
+	 * An annotation without parameter is a shared instance (v 4.1.1)
+	 * @param ad
+	 * @param annotationParameter
+	 * @return
+	 * @throws ParamError
+	 */
+	protected DomainAnnotation buildAnnotation(AnnotationDefinition ad, String annotationParameter) throws ParamError {
+		return buildAnnotation(ad, annotationParameter, 
+				annotationParameter != null ? 0 : NO_PARAMETER, 
+				annotationParameter != null ? annotationParameter.length() : NO_PARAMETER);
+	}
+	
+	/**
+	 * Build annotation for the given definition with the parameter located in the given source <br>
+	 * An annotation without parameter is a shared instance (v 4.1.1)
+	 * @param ad
+	 * @param source 
+	 * @param parameterStart parameter start in the source (or -1 if no parameter)
+	 * @param parameterEnd parameter end (excluded) in the source
+	 * @return
+	 * @throws ParamError
+	 * @since 4.1.1
+	 */
+	protected DomainAnnotation buildAnnotation(AnnotationDefinition ad, CharSequence source, 
+			int parameterStart, int parameterEnd) throws ParamError {
+		if ( ad.getParamType() == AnnotationParamType.NONE ) {
+			if ( parameterStart != NO_PARAMETER ) {
+				throw new ParamError("unexpected parameter '" + source.subSequence(parameterStart, parameterEnd) + "'");
+			} 
+			return ad.getAnnotationWithoutParameter();
+		}
+		// use the definition name (shared string) 
+		return buildAnnotation(ad.getName(), ad.getParamType(), source, parameterStart, parameterEnd);
+	}
+	
 	protected DomainAnnotation buildAnnotation(String annotationName, String annotationParameter, 
 			AnnotationParamType paramType) throws ParamError {
+		return buildAnnotation(annotationName, paramType, annotationParameter, 
+				annotationParameter != null ? 0 : NO_PARAMETER, 
+				annotationParameter != null ? annotationParameter.length() : NO_PARAMETER);
+	}
+	
+	private DomainAnnotation buildAnnotation(String annotationName, AnnotationParamType paramType,
+			CharSequence source, int parameterStart, int parameterEnd) throws ParamError {
 		
-		// Build param value 
-		ParamValue paramValue = new ParamValue(getEntityName(), annotationParameter);
-
-		// Build annotation with the expected parameter if any 
+		// Decode the parameter directly in the source without exception if valid (v 4.1.1)
+		// ( frequent String and Integer values are shared - v 4.1.1 )
+		CharSequence s = parameterStart != NO_PARAMETER ? source : null ;
+		int b = parameterStart ;
+		int e = parameterEnd ;
 		switch(paramType) {
 		case STRING :
-			return new DomainAnnotation(annotationName, paramValue.getAsString() );
+			check(ParamValueDecoder.checkString(s, b, e), s, b, e);
+			return new DomainAnnotation(annotationName, ParamValuesCache.intern(ParamValueDecoder.toStringValue(s, b, e)) );
 		case INTEGER :
-			return new DomainAnnotation(annotationName, paramValue.getAsInteger() );
+			check(ParamValueDecoder.checkInteger(s, b, e), s, b, e);
+			return new DomainAnnotation(annotationName, ParamValuesCache.intern(Integer.valueOf(ParamValueDecoder.toInt(s, b, e))) );
 		case DECIMAL :
-			return new DomainAnnotation(annotationName, paramValue.getAsBigDecimal() );
+			check(ParamValueDecoder.checkDecimal(s, b, e), s, b, e);
+			return new DomainAnnotation(annotationName, ParamValueDecoder.toBigDecimal(s, b, e) );
 		case BOOLEAN :
-			return new DomainAnnotation(annotationName, paramValue.getAsBoolean() );
+			check(ParamValueDecoder.checkBoolean(s, b, e), s, b, e);
+			return new DomainAnnotation(annotationName, Boolean.valueOf(ParamValueDecoder.toBoolean(s, b, e)) );
 		case SIZE :
-			return new DomainAnnotation(annotationName, paramValue.getAsSize() );
+			check(ParamValueDecoder.checkSize(s, b, e), s, b, e);
+			return new DomainAnnotation(annotationName, ParamValuesCache.intern(s.subSequence(b, e).toString()) );
 		case LIST :
-			return new DomainAnnotation(annotationName, paramValue.getAsList() );
+			check(ParamValueDecoder.checkList(s, b, e), s, b, e);
+			return new DomainAnnotation(annotationName, ParamValueDecoder.toList(s, b, e) );
 		case FK_ELEMENT :
-			return new DomainAnnotation(annotationName, paramValue.getAsForeignKeyElement() );
+			String fk = s != null ? s.subSequence(b, e).toString() : null ;
+			return new DomainAnnotation(annotationName, new ParamValue(getEntityName(), fk).getAsForeignKeyElement() );
 		case NONE :
 			// annotation without parameter
-			if (annotationParameter != null) {
-				throw new ParamError("unexpected parameter '" + annotationParameter + "'");
+			if ( s != null ) {
+				throw new ParamError("unexpected parameter '" + s.subSequence(b, e) + "'");
 			} 
 			else {
 				return new DomainAnnotation(annotationName);
@@ -131,6 +186,20 @@ public class AnnotationProcessor extends AnnotationAndTagProcessor {
 		}
 	}
 	
+	/**
+	 * Throws the parameter error if the decoding status is not OK
+	 * @param status
+	 * @param s
+	 * @param start
+	 * @param end
+	 * @throws ParamError
+	 */
+	private void check(ParamDecodingStatus status, CharSequence s, int start, int end) throws ParamError {
+		if ( ! status.isOk() ) {
+			throw new ParamError(status.getMessage(s != null ? s.subSequence(start, end) : null));
+		}
+	}
+	
 	private void checkAnnotationScope(Element element, DomainAnnotation annotation) throws DslModelError {
 		if ( this.field != null ) {
 			checkAnnotationScopeForField(element, field, annotation);
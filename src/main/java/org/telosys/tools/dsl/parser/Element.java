@@ -23,43 +23,110 @@ package org.telosys.tools.dsl.parser;
 public class Element {
 
 	private final int    lineNumber;
-	private final String content ;
+	private final ElementKind kind ;
+	private String       content ; // lazily built if the element is defined by a range in a buffer
+	
+	private final char[] buffer ;
+	private final int    offset ;
+	private final int    length ;
 	
 	public Element(int lineNumber, String content) {
 		super();
 		this.lineNumber = lineNumber ;
-		this.content = content;
+		this.kind = ElementKind.kindOf(content);
+		// separators content : use shared constants
+		this.content = kind.isSeparator() ? kind.getSeparator() : content;
+		this.buffer = null ;
+		this.offset = 0 ;
+		this.length = 0 ;
 	}
 	
 	public Element(int lineNumber, char c) {
+		this(lineNumber, String.valueOf(c));
+	}
+	
+	/**
+	 * Constructor for a separator element (content is a shared constant)
+	 * @param lineNumber
+	 * @param separatorKind
+	 * @since 4.1.1
+	 */
+	Element(int lineNumber, ElementKind separatorKind) {
 		super();
 		this.lineNumber = lineNumber ;
-		this.content = String.valueOf(c);
+		this.kind = separatorKind ;
+		this.content = separatorKind.getSeparator() ;
+		this.buffer = null ;
+		this.offset = 0 ;
+		this.length = 0 ;
+	}
+	
+	/**
+	 * Constructor for an element defined by a range of characters in a buffer <br>
+	 * The content string is created only when requested
+	 * @param lineNumber
+	 * @param buffer the buffer (not copied, must not be modified after)
+	 * @param offset
+	 * @param length (not 0)
+	 * @since 4.1.1
+	 */
+	Element(int lineNumber, char[] buffer, int offset, int length) {
+		super();
+		this.lineNumber = lineNumber ;
+		this.kind = ElementKind.wordKind(buffer[offset]);
+		this.content = null;
+		this.buffer = buffer ;
+		this.offset = offset ;
+		this.length = length ;
 	}
 	
 	public int getLineNumber() {
 		return lineNumber;
 	}
 	
+	/**
+	 * Returns the element kind
+	 * @return
+	 * @since 4.1.1
+	 */
+	public ElementKind getKind() {
+		return kind;
+	}
+	
 	public String getContent() {
+		if ( content == null && buffer != null ) {
+			content = new String(buffer, offset, length);
+		}
 		return content;
 	}
 
 	public boolean startsWithAnnotationPrefix() {
-		return content != null && content.startsWith("@") ; 
+		return kind == ElementKind.ANNOTATION ; 
 	}
 	
 	public boolean startsWithTagPrefix() {
-		return content != null && content.startsWith("#") ; 
+		return kind == ElementKind.TAG ; 
 	}
 	
 	public boolean contentEquals(String s) {
+		if ( buffer != null && content == null ) {
+			// compare without building the content string
+			if ( s == null || s.length() != length ) {
+				return false;
+			}
+			for ( int i = 0 ; i < length ; i++ ) {
+				if ( buffer[offset + i] != s.charAt(i) ) {
+					return false;
+				}
+			}
+			return true;
+		}
 		return content != null && content.equals(s);
 	}
 	
 	@Override
 	public String toString() {
-		return "Element (line " + lineNumber + ") '" + content + "'" ;
+		return "Element (line " + lineNumber + ") '" + getContent() + "'" ;
 	}
 
 }
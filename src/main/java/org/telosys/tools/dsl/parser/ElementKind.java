@@ -0,0 +1,97 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.parser;
+
+/**
+ * Kind of grammar element (determined once when the element is created)
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public enum ElementKind {
+
+	SEPARATOR_OPEN("{"),  // start of fields or field annotations
+	SEPARATOR_CLOSE("}"), // end of fields or field annotations
+	FIELD_END(";"),       // end of field definition
+	TYPE_SEPARATOR(":"),  // between field name and field type
+	ANNOTATION(null),     // @Xxx or @Xxx(...)
+	TAG(null),            // #Xxx or #Xxx(...)
+	WORD(null);           // entity name, field name, field type, etc
+	
+	private final String separator ;
+	
+	private ElementKind(String separator) {
+		this.separator = separator;
+	}
+	
+	/**
+	 * Returns the separator content (shared constant) or null if not a separator
+	 * @return
+	 */
+	public String getSeparator() {
+		return separator;
+	}
+
+	public boolean isSeparator() {
+		return separator != null;
+	}
+	
+	/**
+	 * Returns the separator kind for the given character (or null if not a separator)
+	 * @param c
+	 * @return
+	 */
+	public static ElementKind separatorKind(char c) {
+		switch ( c ) {
+		case '{' : return SEPARATOR_OPEN ;
+		case '}' : return SEPARATOR_CLOSE ;
+		case ';' : return FIELD_END ;
+		case ':' : return TYPE_SEPARATOR ;
+		default  : return null ;
+		}
+	}
+
+	/**
+	 * Returns the kind of a non separator element starting with the given character
+	 * @param firstChar
+	 * @return
+	 */
+	public static ElementKind wordKind(char firstChar) {
+		switch ( firstChar ) {
+		case '@' : return ANNOTATION ;
+		case '#' : return TAG ;
+		default  : return WORD ;
+		}
+	}
+
+	/**
+	 * Returns the kind of the given element content
+	 * @param content
+	 * @return
+	 */
+	public static ElementKind kindOf(String content) {
+		if ( content == null || content.isEmpty() ) {
+			return WORD;
+		}
+		if ( content.length() == 1 ) {
+			ElementKind kind = separatorKind(content.charAt(0));
+			if ( kind != null ) {
+				return kind;
+			}
+		}
+		return wordKind(content.charAt(0));
+	}
+}
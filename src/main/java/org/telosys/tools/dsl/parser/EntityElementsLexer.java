@@ -0,0 +1,333 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelUtil;
+
+/**
+ * Telosys DSL : entity file lexer returning a list of grammar elements <br>
+ * Single pass alternative to 'EntityElementsParser' (same elements) : <br>
+ *  - the whole file is read in one bulk operation and decoded once in a char buffer (see 'EntityFileReader') <br>
+ *  - each token is stored as (offset, length, line, kind) in a primitive array <br>
+ *  - the separators elements use shared content constants <br>
+ *  - the elements content strings are created only when requested <br>
+ *
+ * NB : not thread-safe (use an instance per thread)
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public class EntityElementsLexer {
+
+	private static final ElementKind[] KINDS = ElementKind.values();
+	private static final int NOT_A_SEPARATOR = -1 ;
+
+	// token = offset, length, line, kind (separator kind ordinal or NOT_A_SEPARATOR)
+	private static final int TOKEN_SIZE = 4 ;
+
+	private int[] tokens = new int[256 * TOKEN_SIZE];
+	private int   numberOfTokens = 0 ;
+
+	// Current line state (same as 'State' in 'EntityElementsParser')
+	private int     lineNumber ;
+	private boolean inAnnotationOrTag ;
+	private boolean inAnnotationOrTagParam ;
+	private boolean inQuote ;
+	private char    previousChar ;
+	private int     elementStart ; // -1 if no current element
+	private int     previousElementStart ; // -1 if no previous element in the line
+	private int     previousElementLength ;
+
+	// Reader used for all the files (reusable buffers) or null for a new reader for each file
+	private final EntityFileReader fileReader ;
+
+	// Size (in bytes) of the last file read by 'parseEntityFile'
+	private long fileSize = 0 ;
+
+	/**
+	 * Constructor
+	 */
+	public EntityElementsLexer() {
+		this(null);
+	}
+
+	/**
+	 * Constructor with a reader used for all the entity files <br>
+	 * The reader buffers are reused from one file to another, so the elements returned 
+	 * by 'parseEntityFile' are valid only until the next file is parsed with the same reader
+	 * @param fileReader 
+	 */
+	public EntityElementsLexer(EntityFileReader fileReader) {
+		super();
+		this.fileReader = fileReader;
+	}
+
+	/**
+	 * Parse the given entity file
+	 * @param entityFile
+	 * @return
+	 * @throws DslModelError
+	 */
+	public List<Element> parseEntityFile(File entityFile) throws DslModelError {
+		EntityFileReader reader = readEntityFile(entityFile);
+		return parseEntityContent(DslModelUtil.getEntityName(entityFile), reader.getChars(), reader.getLength());
+	}
+
+	/**
+	 * Parse the given entity file and gives each element to the given handler, without building a list of elements <br>
+	 * The handler can stop the parsing by returning false <br>
+	 * NB : the whole file is tokenized before the first element (a lexical error is reported before any element)
+	 * @param entityFile
+	 * @param handler the elements handler (returns true to continue, false to stop)
+	 * @return true if all the elements have been handled, false if stopped by the handler
+	 * @throws DslModelError
+	 * @since 4.1.1
+	 */
+	public boolean parseEntityFile(File entityFile, Predicate<Element> handler) throws DslModelError {
+		EntityFileReader reader = readEntityFile(entityFile);
+		char[] buffer = reader.getChars();
+		tokenize(DslModelUtil.getEntityName(entityFile), buffer, reader.getLength());
+		for ( int t = 0 ; t < numberOfTokens * TOKEN_SIZE ; t += TOKEN_SIZE ) {
+			if ( ! handler.test(newElement(t, buffer)) ) {
+				return false ;
+			}
+		}
+		return true ;
+	}
+
+	private EntityFileReader readEntityFile(File entityFile) throws DslModelError {
+		EntityFileReader reader = fileReader != null ? fileReader : new EntityFileReader();
+		fileSize = 0 ;
+		try {
+			reader.read(entityFile);
+			fileSize = reader.getSize();
+		} catch (NoSuchFileException e) {
+			throw new DslModelError(entityFile.getName(), "File not found");
+		} catch (IOException e) {
+			throw new DslModelError(DslModelUtil.getEntityName(entityFile), "IOException : " + e.getMessage() );
+		}
+		return reader;
+	}
+
+	/**
+	 * Returns the size (in bytes) of the last file read by 'parseEntityFile' (0 if it cannot be read)
+	 * @return
+	 * @since 4.1.1
+	 */
+	public long getFileSize() {
+		return fileSize;
+	}
+
+	/**
+	 * Parse the given entity file content (UTF-8 bytes)
+	 * @param entityName the entity name (from the file name)
+	 * @param content the file content
+	 * @return
+	 * @throws DslModelError
+	 */
+	public List<Element> parseEntityContent(String entityName, byte[] content) throws DslModelError {
+		// decoder with default 'REPORT' action (same behavior as 'Files.newBufferedReader')
+		EntityFileReader reader = new EntityFileReader();
+		try {
+			reader.decode(ByteBuffer.wrap(content));
+		} catch (IOException e) {
+			throw new DslModelError(entityName, "IOException : " + e.getMessage() );
+		}
+		return parseEntityContent(entityName, reader.getChars(), reader.getLength());
+	}
+
+	/**
+	 * Parse the given entity file content (characters) <br>
+	 * NB : the elements keep a reference to the given buffer (it must not be modified after)
+	 * @param entityName the entity name (from the file name)
+	 * @param buffer
+	 * @param length number of characters to parse in the buffer
+	 * @return
+	 * @throws DslModelError
+	 */
+	public List<Element> parseEntityContent(String entityName, char[] buffer, int length) throws DslModelError {
+		tokenize(entityName, buffer, length);
+		List<Element> elements = new ArrayList<>(numberOfTokens);
+		for ( int t = 0 ; t < numberOfTokens * TOKEN_SIZE ; t += TOKEN_SIZE ) {
+			elements.add(newElement(t, buffer));
+		}
+		return elements;
+	}
+
+	private Element newElement(int t, char[] buffer) {
+		int line = tokens[t + 2];
+		if ( tokens[t + 3] != NOT_A_SEPARATOR ) {
+			return new Element(line, KINDS[tokens[t + 3]]);
+		}
+		else {
+			return new Element(line, buffer, tokens[t], tokens[t + 1]);
+		}
+	}
+
+	private void tokenize(String entityName, char[] buffer, int length) throws DslModelError {
+		numberOfTokens = 0 ;
+		lineNumber = 1 ;
+		startLine();
+		boolean inComment = false ;
+		for ( int i = 0 ; i < length ; i++ ) {
+			char c = buffer[i];
+			if ( c == '\n' || c == '\r' ) {
+				// End Of Line => Keep current element if any (except in comment)
+				if ( ! inComment ) {
+					keepElement(i);
+				}
+				if ( c == '\r' && i + 1 < length && buffer[i + 1] == '\n' ) {
+					i++;
+				}
+				lineNumber++;
+				startLine();
+				inComment = false ;
+			}
+			else if ( ! inComment ) {
+				inComment = processCharacter(entityName, buffer, i, c);
+			}
+		}
+		if ( ! inComment ) {
+			keepElement(length);
+		}
+	}
+
+	private void startLine() {
+		resetState();
+		elementStart = -1 ;
+		previousChar = 0 ;
+		previousElementStart = -1 ;
+		previousElementLength = 0 ;
+	}
+
+	private void resetState() {
+		inAnnotationOrTag = false ;
+		inAnnotationOrTagParam = false ;
+		inQuote = false ;
+	}
+
+	/**
+	 * Process the character located at the given position
+	 * @return true if the character starts a comment ( rest of line to be ignored )
+	 */
+	private boolean processCharacter(String entityName, char[] buffer, int i, char c) throws DslModelError {
+		if ( inAnnotationOrTagParam ) {
+			if ( inQuote ) {
+				if ( c == '\"' && previousChar != '\\' ) { // closing double quote char
+					inQuote = false ;
+				}
+				accumulate(i);
+			}
+			else if ( c == '\"' ) { // double quote char (open/close)
+				inQuote = true ;
+				accumulate(i);
+			}
+			else if ( c == ')' ) { // end of parameter = end of annotation or tag element
+				accumulate(i);
+				keepElement(i + 1);
+			}
+			else {
+				accumulate(i);
+			}
+		}
+		else if ( c == '{' || c == '}' || c == ';' || c == ':' ) {
+			keepElement(i); // SEPARATOR => end of current element
+			addToken(i, 1, ElementKind.separatorKind(c).ordinal()); // Each SEPARATOR is an element => keep it
+			resetState();
+		}
+		else if ( c == '@' || c == '#' ) {
+			inAnnotationOrTag = true ;
+			accumulate(i);
+		}
+		else if ( c == '(' ) {
+			if ( inAnnotationOrTag ) {
+				// Example : @Xxx(  or #Xxx(
+				inAnnotationOrTagParam = true ;
+				accumulate(i);
+			}
+			else {
+				// Not supposed to be here. Example : @Xxx (  or #Xxx (
+				throw newUnexpectedCharacter(c, entityName, buffer);
+			}
+		}
+		else if ( c == '\"' ) {
+			// Invalid char here
+			throw newUnexpectedCharacter(c, entityName, buffer);
+		}
+		else if ( c == ' ' || c == '\t' ) {
+			keepElement(i);
+		}
+		else if ( c == '/' && previousChar == '/' ) {
+			// comment "//" => ignore rest of line (including the beginning of the comment)
+			return true ;
+		}
+		else {
+			accumulate(i);
+		}
+		previousChar = c ;
+		return false ;
+	}
+
+	private void accumulate(int i) {
+		if ( elementStart < 0 ) {
+			elementStart = i ;
+		}
+	}
+
+	private void keepElement(int end) {
+		if ( elementStart >= 0 ) {
+			addToken(elementStart, end - elementStart, NOT_A_SEPARATOR);
+			previousElementStart = elementStart ;
+			previousElementLength = end - elementStart ;
+			elementStart = -1 ;
+		}
+		resetState();
+	}
+
+	private void addToken(int offset, int length, int kind) {
+		int t = numberOfTokens * TOKEN_SIZE ;
+		if ( t + TOKEN_SIZE > tokens.length ) {
+			int[] newTokens = new int[tokens.length * 2];
+			System.arraycopy(tokens, 0, newTokens, 0, tokens.length);
+			tokens = newTokens ;
+		}
+		tokens[t]     = offset ;
+		tokens[t + 1] = length ;
+		tokens[t + 2] = lineNumber ;
+		tokens[t + 3] = kind ;
+		numberOfTokens++ ;
+	}
+
+	private DslModelError newUnexpectedCharacter(char invalidChar, String entityName, char[] buffer) {
+		String message = "Unexpected character [" + invalidChar + "]";
+		if ( previousElementStart >= 0 ) {
+			message = message + " after element [" + new String(buffer, previousElementStart, previousElementLength) + "]";
+		}
+		else if ( previousChar != 0 ) {
+			message = message + " after character [" + previousChar + "]";
+		}
+		return new DslModelError(entityName, lineNumber, message);
+	}
+}
@@ -0,0 +1,51 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.parser;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Pool of lexers lent to the tasks parsing the entity files of a single model loading <br>
+ * A lexer is lent to a task for one file and then given back to the pool (reusable buffers) <br>
+ * The pool never holds more lexers than the number of tasks running at the same time 
+ * and is released with the loading (no lexer kept by the executor threads)  <br>
+ *
+ * NB : thread-safe (to be created for each model loading)
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public class EntityElementsLexerPool {
+
+	private final ConcurrentLinkedQueue<EntityElementsLexer> lexers = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Returns a lexer available in the pool (or a new one if none) 
+	 * @return
+	 */
+	public EntityElementsLexer lendLexer() {
+		EntityElementsLexer lexer = lexers.poll();
+		return lexer != null ? lexer : new EntityElementsLexer(new EntityFileReader());
+	}
+
+	/**
+	 * Gives back a lexer to the pool (the lexer must no longer be used by the caller)
+	 * @param lexer
+	 */
+	public void giveBackLexer(EntityElementsLexer lexer) {
+		lexers.offer(lexer);
+	}
+}
@@ -16,8 +16,11 @@
 package org.telosys.tools.dsl.parser;
 
 import java.io.BufferedReader;
+import java.io.CharArrayReader;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -84,19 +87,41 @@ public class EntityElementsParser {
 		String entityNameFromFileName = DslModelUtil.getEntityName(new File(filePath));
 		Path path = Paths.get(filePath); 
 		try (BufferedReader br = Files.newBufferedReader(path, StandardCharsets.UTF_8)) { 
-			List<Element> elements = new LinkedList<>();
-			String line;
-			int lineNumber = 0 ;
-			while ((line = br.readLine()) != null) {
-				lineNumber++;
-				processLine(entityNameFromFileName, line, lineNumber, elements);
-			}
-			return elements;
+			return parseAllElements(entityNameFromFileName, br);
 		} catch (IOException e) {
 			throw new DslModelError(entityNameFromFileName, "IOException : " + e.getMessage() );
 		}
 	}
 
+	/**
+	 * Parse the given entity file content (UTF-8 bytes already loaded in memory)
+	 * @param entityName the entity name (from the file name)
+	 * @param content the file content
+	 * @return
+	 * @throws DslModelError
+	 * @since 4.1.1
+	 */
+	public List<Element> parseEntityContent(String entityName, byte[] content) throws DslModelError {
+		try {
+			// decoder with default 'REPORT' action (same behavior as 'Files.newBufferedReader')
+			CharBuffer chars = StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(content));
+			return parseAllElements(entityName, new BufferedReader(new CharArrayReader(chars.array(), 0, chars.limit())));
+		} catch (IOException e) {
+			throw new DslModelError(entityName, "IOException : " + e.getMessage() );
+		}
+	}
+
+	private List<Element> parseAllElements(String entityName, BufferedReader br) throws IOException, DslModelError {
+		List<Element> elements = new LinkedList<>();
+		String line;
+		int lineNumber = 0 ;
+		while ((line = br.readLine()) != null) {
+			lineNumber++;
+			processLine(entityName, line, lineNumber, elements);
+		}
+		return elements;
+	}
+
 	protected void processLine(String entityName, String line, int lineNumber, List<Element> elements ) throws DslModelError {
 		StringBuilder sb = new StringBuilder();
 		char[] lineCharacters = line.toCharArray();
@@ -141,7 +166,7 @@ public class EntityElementsParser {
 	}
 
 	private void keepSeparatorElement(List<Element> elements, char c, State state) {
-		elements.add(new Element(state.getLineNumber(), String.valueOf(c)));
+		elements.add(new Element(state.getLineNumber(), ElementKind.separatorKind(c))); // shared content
 		state.reset();
 	}
 	private void keepElement(List<Element> elements, StringBuilder sb, State state) {
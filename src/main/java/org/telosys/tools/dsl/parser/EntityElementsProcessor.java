@@ -15,6 +15,7 @@
  */
 package org.telosys.tools.dsl.parser;
 
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -41,9 +42,9 @@ public class EntityElementsProcessor {
 	/**
 	 * Constructor
 	 * @param entityName
-	 * @param entitiesNames
+	 * @param entitiesNames all the entities names in the model (preferably a Set)
 	 */
-	public EntityElementsProcessor(String entityName, List<String> entitiesNames) {
+	public EntityElementsProcessor(String entityName, Collection<String> entitiesNames) {
 		super();
 		this.entityName = entityName;
 		this.fieldElementsProcessor = new FieldElementsProcessor(entityName, entitiesNames);
@@ -60,7 +61,7 @@ public class EntityElementsProcessor {
 		DomainEntity domainEntity = new DomainEntity(entityName);
 		for ( Element element : elements ) {
 			if ( ! inFields ) {
-				if ( element.contentEquals("{") ) {
+				if ( element.getKind() == ElementKind.SEPARATOR_OPEN ) {
 					// Fields start here
 					inFields = true;
 				}
@@ -70,7 +71,7 @@ public class EntityElementsProcessor {
 				}
 			}
 			else {
-				if ( element.contentEquals("}") && fieldElements == null ) {
+				if ( element.getKind() == ElementKind.SEPARATOR_CLOSE && fieldElements == null ) {
 					// Closing brace and not in a field definition => End of fields
 					inFields = false;
 				}
@@ -79,7 +80,7 @@ public class EntityElementsProcessor {
 					if ( fieldElements == null ) {
 						fieldElements = new LinkedList<>();
 					}
-					if ( element.contentEquals(";") ) {
+					if ( element.getKind() == ElementKind.FIELD_END ) {
 						// End of field definition => process this field
 						declareNewField(domainEntity, fieldElements, errors);
 						// Reset field elements
@@ -108,46 +109,84 @@ public class EntityElementsProcessor {
 	}
 	
 	private void processElementAtEntityLevel(DomainEntity domainEntity, Element element, DslModelErrors errors) {
-		if ( element.startsWithAnnotationPrefix() ) {
-			AnnotationProcessor annotationParser = new AnnotationProcessor(domainEntity);
-			DomainAnnotation annotation;
-			try {
-				annotation = annotationParser.parseAnnotation(element);
-				// no annotation error => continue
-				domainEntity.addAnnotation(annotation);
-			} catch (DslModelError e) {
-				errors.addError(e);
+		try {
+			if ( element.getKind() == ElementKind.ANNOTATION ) {
+				processEntityAnnotation(domainEntity, element);
 			}
-		}
-		else if ( element.startsWithTagPrefix() ) {
-			TagProcessor tagParser = new TagProcessor(entityName);
-			DomainTag tag;
-			try {
-				tag = tagParser.parseTag(element);
-				domainEntity.addTag(tag);
-			} catch (DslModelError e) {
-				errors.addError(e);
+			else if ( element.getKind() == ElementKind.TAG ) {
+				processEntityTag(domainEntity, element);
 			}
+			else {
+				processEntityName(element);
+			}
+		} catch (DslModelError e) {
+			errors.addError(e);
 		}
-		else {
-			// Supposed to be the entity name 
-			if ( ! entityNameChecked ) {
-				if ( element.contentEquals(entityName) ) {
-					entityNameChecked = true ;
-				}
-				else {
-					// ERROR : invalid entity name
-					errors.addError( new DslModelError(entityName, element.getLineNumber(), 
-							"Entity name '" + element.getContent()
-							+ "' different from file name '" + entityName +"' "));
-				}
+	}
+
+	/**
+	 * Returns the processor used for the fields of the entity
+	 * @return
+	 * @since 4.1.1
+	 */
+	protected FieldElementsProcessor getFieldElementsProcessor() {
+		return fieldElementsProcessor;
+	}
+
+	/**
+	 * Parses the given annotation element and adds the annotation in the entity 
+	 * @param domainEntity
+	 * @param element
+	 * @return the annotation 
+	 * @throws DslModelError
+	 * @since 4.1.1
+	 */
+	protected DomainAnnotation processEntityAnnotation(DomainEntity domainEntity, Element element) throws DslModelError {
+		AnnotationProcessor annotationParser = new AnnotationProcessor(domainEntity);
+		DomainAnnotation annotation = annotationParser.parseAnnotation(element);
+		// no annotation error => continue
+		domainEntity.addAnnotation(annotation);
+		return annotation;
+	}
+
+	/**
+	 * Parses the given tag element and adds the tag in the entity 
+	 * @param domainEntity
+	 * @param element
+	 * @return the tag
+	 * @throws DslModelError
+	 * @since 4.1.1
+	 */
+	protected DomainTag processEntityTag(DomainEntity domainEntity, Element element) throws DslModelError {
+		TagProcessor tagParser = new TagProcessor(entityName);
+		DomainTag tag = tagParser.parseTag(element);
+		domainEntity.addTag(tag);
+		return tag;
+	}
+
+	/**
+	 * Checks the given element (supposed to be the entity name) 
+	 * @param element
+	 * @throws DslModelError
+	 * @since 4.1.1
+	 */
+	protected void processEntityName(Element element) throws DslModelError {
+		if ( ! entityNameChecked ) {
+			if ( element.contentEquals(entityName) ) {
+				entityNameChecked = true ;
 			}
 			else {
-				// ERROR : unexpected element 
-				errors.addError( new DslModelError(entityName, element.getLineNumber(),
-						"unexpected element '" + element.getContent()+"' "));
+				// ERROR : invalid entity name
+				throw new DslModelError(entityName, element.getLineNumber(), 
+						"Entity name '" + element.getContent()
+						+ "' different from file name '" + entityName +"' ");
 			}
 		}
+		else {
+			// ERROR : unexpected element 
+			throw new DslModelError(entityName, element.getLineNumber(),
+					"unexpected element '" + element.getContent()+"' ");
+		}
 	}
 	
 }
@@ -0,0 +1,170 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Entity file reader : reads the whole file in one bulk operation and decodes it (UTF-8) in a char buffer <br>
+ *  - small files are read in a reusable byte buffer <br>
+ *  - files above the memory mapping threshold are memory-mapped <br>
+ *  - the decoded characters are stored in a reusable char buffer <br>
+ *
+ * NB : not thread-safe (use an instance per thread) <br>
+ * The char buffer is overwritten by each 'read' call
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public class EntityFileReader {
+
+	/**
+	 * Default size (in bytes) above which the file is memory-mapped
+	 */
+	public static final int DEFAULT_MEMORY_MAPPING_THRESHOLD = 256 * 1024 ;
+
+	private final int memoryMappingThreshold ;
+
+	private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder(); // default action 'REPORT'
+
+	// buffers allocated when needed (exact size for the first file, then grown if necessary)
+	private ByteBuffer bytes = ByteBuffer.allocate(0);
+
+	private char[] chars = new char[0];
+
+	private int length = 0 ;
+
+	private int size = 0 ; // v 4.1.1 (number of bytes of the last decoded content)
+
+	/**
+	 * Constructor (default memory mapping threshold)
+	 */
+	public EntityFileReader() {
+		this(DEFAULT_MEMORY_MAPPING_THRESHOLD);
+	}
+
+	/**
+	 * Constructor
+	 * @param memoryMappingThreshold size (in bytes) above which the file is memory-mapped
+	 */
+	public EntityFileReader(int memoryMappingThreshold) {
+		super();
+		this.memoryMappingThreshold = memoryMappingThreshold;
+	}
+
+	/**
+	 * Reads and decodes the given file
+	 * @param file
+	 * @return the number of characters available in the char buffer
+	 * @throws IOException (NoSuchFileException if the file doesn't exist)
+	 */
+	public int read(File file) throws IOException {
+		Path path ;
+		try {
+			path = file.toPath();
+		} catch (InvalidPathException e) {
+			// file name not supported by the file system encoding => cannot exist (as with 'File.exists()')
+			throw new NoSuchFileException(file.getPath());
+		}
+		try ( FileChannel channel = FileChannel.open(path, StandardOpenOption.READ) ) {
+			long size = channel.size();
+			if ( size > Integer.MAX_VALUE ) {
+				throw new IOException("File too large (" + size + " bytes)");
+			}
+			if ( size >= memoryMappingThreshold ) {
+				return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+			}
+			else {
+				return decode(readAll(channel, (int) size));
+			}
+		}
+	}
+
+	private ByteBuffer readAll(FileChannel channel, int size) throws IOException {
+		if ( bytes.capacity() < size ) {
+			bytes = ByteBuffer.allocate(Math.max(size, bytes.capacity() * 2));
+		}
+		bytes.clear();
+		bytes.limit(size);
+		while ( bytes.hasRemaining() && channel.read(bytes) >= 0 ) {
+			// read until the expected size or the end of file
+		}
+		bytes.flip();
+		return bytes;
+	}
+
+	/**
+	 * Decodes the given UTF-8 bytes
+	 * @param input
+	 * @return the number of characters available in the char buffer
+	 * @throws IOException (CharacterCodingException if the input is not valid UTF-8)
+	 */
+	public int decode(ByteBuffer input) throws IOException {
+		size = input.remaining();
+		// UTF-8 : the number of chars is never greater than the number of bytes
+		if ( chars.length < input.remaining() ) {
+			chars = new char[Math.max(input.remaining(), chars.length * 2)];
+		}
+		CharBuffer output = CharBuffer.wrap(chars);
+		decoder.reset();
+		CoderResult result = decoder.decode(input, output, true);
+		if ( ! result.isUnderflow() ) {
+			result.throwException();
+		}
+		result = decoder.flush(output);
+		if ( ! result.isUnderflow() ) {
+			result.throwException();
+		}
+		length = output.position();
+		return length;
+	}
+
+	/**
+	 * Returns the char buffer containing the last decoded content
+	 * @return
+	 */
+	public char[] getChars() {
+		return chars;
+	}
+
+	/**
+	 * Returns the number of characters of the last decoded content
+	 * @return
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * Returns the number of bytes of the last decoded content (file size)
+	 * @return
+	 * @since 4.1.1
+	 */
+	public int getSize() {
+		return size;
+	}
+}
@@ -0,0 +1,214 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.parser;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelUtil;
+import org.telosys.tools.dsl.parser.model.DomainEntity;
+import org.telosys.tools.dsl.parser.model.DomainField;
+
+/**
+ * Streaming scanner for entity files : each element is given to an 'EntityVisitor' 
+ * as soon as it is parsed (no list of elements, no 'DomainModel', no 'DslModel') <br>
+ * The checks and errors are the same as with 'ParserV2' (same lexer and processors) <br>
+ * Only the current field and the entity level annotations and tags are kept in memory <br>
+ * The visitor can skip an entity or stop the scan at any time <br>
+ * 
+ * NB : not thread-safe (use an instance per thread)
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public class EntityScanner {
+
+	// same lexer and reader for all the files (reusable buffers)
+	private final EntityElementsLexer elementsLexer = new EntityElementsLexer(new EntityFileReader());
+
+	/**
+	 * Scans all the entity files located in the given model folder
+	 * @param modelFolder
+	 * @param visitor
+	 * @return true if all the entities have been scanned, false if stopped by the visitor
+	 */
+	public boolean scanModel(File modelFolder, EntityVisitor visitor) {
+		if ( ! modelFolder.isDirectory() ) {
+			EntityVisitResult result = visitor.onError(
+					new DslModelError("Model folder '" + modelFolder.toString() + "' not found or not a directory"));
+			return result != EntityVisitResult.TERMINATE ;
+		}
+		List<String> entitiesFileNames = DslModelUtil.getEntityFullFileNames(modelFolder);
+		Set<String> entitiesNames = DslModelUtil.getEntitiesNames(entitiesFileNames);
+		for ( String entityFileName : entitiesFileNames ) {
+			if ( scanEntity(new File(entityFileName), entitiesNames, visitor) == EntityVisitResult.TERMINATE ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Scans the given entity file 
+	 * @param entityFile
+	 * @param entitiesNames all the entities names in the model (preferably a Set) 
+	 * @param visitor
+	 * @return TERMINATE if stopped by the visitor, else CONTINUE
+	 */
+	public EntityVisitResult scanEntity(File entityFile, Collection<String> entitiesNames, EntityVisitor visitor) {
+		String entityName = DslModelUtil.getEntityName(entityFile);
+		EntityVisitResult result = visitor.onEntity(entityName, entityFile);
+		if ( result == EntityVisitResult.CONTINUE ) {
+			EntityScan entityScan = new EntityScan(entityName, entitiesNames, visitor);
+			try {
+				elementsLexer.parseEntityFile(entityFile, entityScan);
+				result = entityScan.result ;
+			} catch (DslModelError e) {
+				result = visitor.onError(e);
+			}
+		}
+		if ( result == EntityVisitResult.TERMINATE ) {
+			return EntityVisitResult.TERMINATE ;
+		}
+		result = visitor.onEntityEnd(entityName);
+		return result == EntityVisitResult.TERMINATE ? EntityVisitResult.TERMINATE : EntityVisitResult.CONTINUE ;
+	}
+
+	/**
+	 * Scan of a single entity : same states as 'EntityElementsProcessor' 
+	 * with a notification for each annotation, tag, field and error 
+	 */
+	private static class EntityScan implements Predicate<Element> {
+
+		private final String entityName ;
+		private final EntityVisitor visitor ;
+		private final EntityElementsProcessor entityProcessor ;
+		private final FieldElementsProcessor fieldProcessor ;
+		private final DomainEntity domainEntity ; // only for entity annotations and tags
+		private final Set<String> fieldsNames = new HashSet<>();
+		private List<Element> fieldElements = null ;
+		private boolean inFields = false ;
+		private EntityVisitResult result = EntityVisitResult.CONTINUE ;
+
+		public EntityScan(String entityName, Collection<String> entitiesNames, EntityVisitor visitor) {
+			super();
+			this.entityName = entityName;
+			this.visitor = visitor;
+			this.entityProcessor = new EntityElementsProcessor(entityName, entitiesNames);
+			this.fieldProcessor = entityProcessor.getFieldElementsProcessor();
+			this.domainEntity = new DomainEntity(entityName);
+		}
+
+		@Override
+		public boolean test(Element element) {
+			if ( ! inFields ) {
+				if ( element.getKind() == ElementKind.SEPARATOR_OPEN ) {
+					// Fields start here
+					inFields = true;
+				}
+				else {
+					processElementAtEntityLevel(element);
+				}
+			}
+			else if ( element.getKind() == ElementKind.SEPARATOR_CLOSE && fieldElements == null ) {
+				// Closing brace and not in a field definition => End of fields
+				inFields = false;
+			}
+			else {
+				if ( fieldElements == null ) {
+					fieldElements = new ArrayList<>();
+				}
+				if ( element.getKind() == ElementKind.FIELD_END ) {
+					processField(fieldElements);
+					fieldElements = null ;
+				}
+				else {
+					fieldElements.add(element);
+				}
+			}
+			return result == EntityVisitResult.CONTINUE ;
+		}
+
+		private void processElementAtEntityLevel(Element element) {
+			try {
+				if ( element.getKind() == ElementKind.ANNOTATION ) {
+					result = visitor.onEntityAnnotation(entityName, entityProcessor.processEntityAnnotation(domainEntity, element));
+				}
+				else if ( element.getKind() == ElementKind.TAG ) {
+					result = visitor.onTag(entityName, null, entityProcessor.processEntityTag(domainEntity, element));
+				}
+				else {
+					entityProcessor.processEntityName(element);
+				}
+			} catch (DslModelError e) {
+				result = visitor.onError(e);
+			}
+		}
+
+		private void processField(List<Element> elements) {
+			DomainField field ;
+			try {
+				field = fieldProcessor.buildField(elements);
+			} catch (DslModelError e) {
+				result = visitor.onError(e);
+				return;
+			}
+			result = visitor.onField(entityName, field);
+			if ( result == EntityVisitResult.CONTINUE ) {
+				processAnnotationsAndTags(field, elements);
+			}
+			if ( result == EntityVisitResult.CONTINUE && ! fieldsNames.add(field.getName()) ) {
+				// same error as 'DomainEntity.addField'
+				result = visitor.onError(new DslModelError(entityName, field.getLineNumber(), field.getName(), 
+						"Duplicate field '" + field.getName() + "'"));
+			}
+		}
+
+		private void processAnnotationsAndTags(DomainField field, List<Element> elements) {
+			List<Element> additionalElements;
+			try {
+				additionalElements = fieldProcessor.extractAdditionalElements(field.getName(), elements);
+			} catch (DslModelError e) {
+				result = visitor.onError(e);
+				return;
+			}
+			for ( Element element : additionalElements ) {
+				try {
+					if ( element.getKind() == ElementKind.ANNOTATION ) {
+						result = visitor.onFieldAnnotation(entityName, field, fieldProcessor.processAnnotation(field, element));
+					}
+					else if ( element.getKind() == ElementKind.TAG ) {
+						result = visitor.onTag(entityName, field.getName(), fieldProcessor.processTag(field, element));
+					}
+					else {
+						throw fieldProcessor.newInvalidElementError(field, element);
+					}
+				} catch (DslModelError e) {
+					result = visitor.onError(e);
+				}
+				if ( result != EntityVisitResult.CONTINUE ) {
+					return;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,107 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.parser;
+
+import java.io.File;
+
+import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.parser.model.DomainAnnotation;
+import org.telosys.tools.dsl.parser.model.DomainField;
+import org.telosys.tools.dsl.parser.model.DomainTag;
+
+/**
+ * Visitor notified by 'EntityScanner' for each element found in the entity files 
+ * (SAX-style : no model is built, only the current entity and field are kept) <br>
+ * The elements are notified in the files order : entity, entity annotations and tags, 
+ * then for each field : field, field annotations and tags <br>
+ * Each callback returns a result to continue, skip the rest of the entity or stop the scan <br>
+ * All the methods continue by default (override only the useful ones) <br>
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public interface EntityVisitor {
+
+	/**
+	 * Called at the beginning of each entity file (before reading the file)
+	 * @param entityName the entity name (from the file name)
+	 * @param entityFile
+	 * @return
+	 */
+	default EntityVisitResult onEntity(String entityName, File entityFile) {
+		return EntityVisitResult.CONTINUE;
+	}
+
+	/**
+	 * Called for each valid annotation defined at entity level
+	 * @param entityName
+	 * @param annotation
+	 * @return
+	 */
+	default EntityVisitResult onEntityAnnotation(String entityName, DomainAnnotation annotation) {
+		return EntityVisitResult.CONTINUE;
+	}
+
+	/**
+	 * Called for each field with a valid name and type (before its annotations and tags)
+	 * @param entityName
+	 * @param field the field (name, type and line number)
+	 * @return
+	 */
+	default EntityVisitResult onField(String entityName, DomainField field) {
+		return EntityVisitResult.CONTINUE;
+	}
+
+	/**
+	 * Called for each valid annotation defined in a field (including each '@FK')
+	 * @param entityName
+	 * @param field
+	 * @param annotation
+	 * @return
+	 */
+	default EntityVisitResult onFieldAnnotation(String entityName, DomainField field, DomainAnnotation annotation) {
+		return EntityVisitResult.CONTINUE;
+	}
+
+	/**
+	 * Called for each valid tag (at entity level or in a field)
+	 * @param entityName
+	 * @param fieldName the field name or null for a tag defined at entity level
+	 * @param tag
+	 * @return
+	 */
+	default EntityVisitResult onTag(String entityName, String fieldName, DomainTag tag) {
+		return EntityVisitResult.CONTINUE;
+	}
+
+	/**
+	 * Called for each error (the same errors as the parser)
+	 * @param error
+	 * @return
+	 */
+	default EntityVisitResult onError(DslModelError error) {
+		return EntityVisitResult.CONTINUE;
+	}
+
+	/**
+	 * Called at the end of each entity file (even if skipped, except if the scan is stopped)
+	 * @param entityName
+	 * @return
+	 */
+	default EntityVisitResult onEntityEnd(String entityName) {
+		return EntityVisitResult.CONTINUE;
+	}
+}
@@ -15,8 +15,12 @@
  */
 package org.telosys.tools.dsl.parser;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import org.telosys.tools.dsl.DslModelError;
 import org.telosys.tools.dsl.DslModelErrors;
@@ -38,17 +42,30 @@ import org.telosys.tools.dsl.parser.model.DomainType;
 public class FieldElementsProcessor {
 	
 	private final String entityName;
-	private final List<String> entitiesNamesInModel;
+	private final Set<String> entitiesNamesInModel; // v 4.1.1 (Set instead of List)
 
 	/**
 	 * Constructor
 	 * @param entityName
-	 * @param entitiesNames
+	 * @param entitiesNames all the entities names in the model (a Set is used as is, without copy)
 	 */
-	public FieldElementsProcessor(String entityName, List<String> entitiesNames) {
+	public FieldElementsProcessor(String entityName, Collection<String> entitiesNames) {
 		super();
 		this.entityName = entityName;
-		this.entitiesNamesInModel = entitiesNames;		
+		this.entitiesNamesInModel = toSet(entitiesNames);
+	}
+
+	/**
+	 * Returns the given entities names as a Set (for constant time lookup)
+	 * @param entitiesNames
+	 * @return
+	 * @since 4.1.1
+	 */
+	protected static Set<String> toSet(Collection<String> entitiesNames) {
+		if ( entitiesNames instanceof Set ) {
+			return (Set<String>) entitiesNames ;
+		}
+		return Collections.unmodifiableSet(new HashSet<>(entitiesNames));
 	}
 
 	/**
@@ -88,7 +105,13 @@ public class FieldElementsProcessor {
 		return field;
 	}
 	
-	private DomainField buildField(List<Element> elements) throws DslModelError {
+	/**
+	 * Builds the field with its name and type (without annotations and tags)
+	 * @param elements
+	 * @return
+	 * @throws DslModelError
+	 */
+	protected DomainField buildField(List<Element> elements) throws DslModelError {
 		if ( elements.size() >= 3 ) {
 			Element fieldNameElement = elements.get(0);
 			Element separatorElement = elements.get(1);
@@ -121,9 +144,8 @@ public class FieldElementsProcessor {
 	}
 	
 	private void parseSeparator(String fieldName, Element element) throws DslModelError {
-		String s = element.getContent();
-		if ( ! ":".equals(s) ) {
-			throw new DslModelError(entityName, element.getLineNumber(), fieldName, "invalid separator '" + s + "' (':' expected)");
+		if ( element.getKind() != ElementKind.TYPE_SEPARATOR ) {
+			throw new DslModelError(entityName, element.getLineNumber(), fieldName, "invalid separator '" + element.getContent() + "' (':' expected)");
 		}
 	}
 	
@@ -192,14 +214,14 @@ public class FieldElementsProcessor {
 		for ( Element element : elements ) {
 			position++;
 			if ( position > 3 ) { // Skip "field name", ":" and "field type"
-				if ( element.contentEquals("{") ) {
+				if ( element.getKind() == ElementKind.SEPARATOR_OPEN ) {
 					if ( openingBracePosition != 0 ) {
 						throw new DslModelError(entityName, element.getLineNumber(), fieldName, "multiple '{' ");
 					}
 					inAnnotationsAndTags = true ;
 					openingBracePosition = position ;
 				}
-				else if ( element.contentEquals("}") ) {
+				else if ( element.getKind() == ElementKind.SEPARATOR_CLOSE ) {
 					if ( closingBracePosition != 0 ) {
 						throw new DslModelError(entityName, element.getLineNumber(), fieldName, "multiple '}' ");
 					}
@@ -222,31 +244,65 @@ public class FieldElementsProcessor {
 	}
 	
 	private void processAnnotationOrTag(DomainField field, Element element) throws DslModelError {
-		if ( element.startsWithAnnotationPrefix() ) {
-			// @Xxxx : Annotation			
-			AnnotationProcessor annotationProcessor = new AnnotationProcessor(entityName, field);
-			DomainAnnotation annotation = annotationProcessor.parseAnnotation(element);
-			// no annotation error => continue
-			if ( AnnotationName.FK.equals( annotation.getName() ) ) {
-				// Special storage for "@FK" annotation (can be used 1..N times in a field )
-				field.addFkElement(annotation.getParameterAsFKElement());				
-			}
-			else {
-				// Standard storage for other annotations (usable onmy once)
-				field.addAnnotation(annotation);
-			}
+		if ( element.getKind() == ElementKind.ANNOTATION ) {
+			processAnnotation(field, element);
 		}
-		else if ( element.startsWithTagPrefix() ) {
-			// #Xxxx : Tag
-			TagProcessor tagProcessor = new TagProcessor(entityName, field.getName());
-			DomainTag tag = tagProcessor.parseTag(element);
-			field.addTag(tag);
+		else if ( element.getKind() == ElementKind.TAG ) {
+			processTag(field, element);
 		}
 		else {
-			// ERROR
-			throw new DslModelError(entityName, element.getLineNumber(), field.getName(), 
-					"invalid element '" + element.getContent() + "'" + "(annotation or tag expected)");
+			throw newInvalidElementError(field, element);
+		}
+	}
+
+	/**
+	 * Parses the given annotation element ( @Xxxx ) and adds the annotation in the field
+	 * @param field
+	 * @param element
+	 * @return the annotation
+	 * @throws DslModelError
+	 * @since 4.1.1
+	 */
+	protected DomainAnnotation processAnnotation(DomainField field, Element element) throws DslModelError {
+		AnnotationProcessor annotationProcessor = new AnnotationProcessor(entityName, field);
+		DomainAnnotation annotation = annotationProcessor.parseAnnotation(element);
+		// no annotation error => continue
+		if ( AnnotationName.FK.equals( annotation.getName() ) ) {
+			// Special storage for "@FK" annotation (can be used 1..N times in a field )
+			field.addFkElement(annotation.getParameterAsFKElement());				
 		}
+		else {
+			// Standard storage for other annotations (usable onmy once)
+			field.addAnnotation(annotation);
+		}
+		return annotation;
+	}
+
+	/**
+	 * Parses the given tag element ( #Xxxx ) and adds the tag in the field
+	 * @param field
+	 * @param element
+	 * @return the tag
+	 * @throws DslModelError
+	 * @since 4.1.1
+	 */
+	protected DomainTag processTag(DomainField field, Element element) throws DslModelError {
+		TagProcessor tagProcessor = new TagProcessor(entityName, field.getName());
+		DomainTag tag = tagProcessor.parseTag(element);
+		field.addTag(tag);
+		return tag;
+	}
+
+	/**
+	 * Returns the error for an element which is neither an annotation nor a tag
+	 * @param field
+	 * @param element
+	 * @return
+	 * @since 4.1.1
+	 */
+	protected DslModelError newInvalidElementError(DomainField field, Element element) {
+		return new DslModelError(entityName, element.getLineNumber(), field.getName(), 
+				"invalid element '" + element.getContent() + "'" + "(annotation or tag expected)");
 	}
 	
 }
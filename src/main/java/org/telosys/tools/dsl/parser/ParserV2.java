@@ -16,15 +16,29 @@
 package org.telosys.tools.dsl.parser;
 
 import java.io.File;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.telosys.tools.dsl.DslModelError;
 import org.telosys.tools.dsl.DslModelErrors;
 import org.telosys.tools.dsl.DslModelUtil;
 import org.telosys.tools.dsl.commons.ModelInfo;
 import org.telosys.tools.dsl.commons.ModelInfoLoader;
+import org.telosys.tools.dsl.monitoring.DslEvent;
+import org.telosys.tools.dsl.monitoring.DslEventType;
+import org.telosys.tools.dsl.monitoring.DslEvents;
+import org.telosys.tools.dsl.monitoring.DslModelLoadListener;
+import org.telosys.tools.dsl.monitoring.EntityLoadStatistics;
+import org.telosys.tools.dsl.monitoring.LoadPhase;
+import org.telosys.tools.dsl.monitoring.LoadPhaseTracker;
 import org.telosys.tools.dsl.parser.model.DomainEntity;
+import org.telosys.tools.dsl.parser.model.DomainField;
 import org.telosys.tools.dsl.parser.model.DomainModel;
 
 /**
@@ -36,10 +50,47 @@ import org.telosys.tools.dsl.parser.model.DomainModel;
 public class ParserV2 {
 
 	/**
-	 * Constructor
+	 * Executor used to parse the entity files in parallel (null for sequential parsing)
+	 */
+	private final ExecutorService executor;
+
+	/**
+	 * Listener notified of the parsing phases and of each entity parsed (never null)
+	 */
+	private final DslModelLoadListener listener;
+
+	/**
+	 * Constructor (sequential parsing)
 	 */
 	public ParserV2() {
 		super();
+		this.executor = null;
+		this.listener = DslModelLoadListener.NO_LISTENER;
+	}
+	
+	/**
+	 * Constructor for parallel parsing <br>
+	 * Each entity file is parsed by a task submitted to the given executor <br>
+	 * The parsing result (entities and errors order) is the same as with sequential parsing <br>
+	 * NB : the executor is not shut down by the parser
+	 * @param executor the executor for parallel parsing (or null for sequential parsing)
+	 * @since 4.1.1
+	 */
+	public ParserV2(ExecutorService executor) {
+		this(executor, null);
+	}
+	
+	/**
+	 * Constructor with a listener notified of the parsing phases and of each entity parsed <br>
+	 * NB : in case of parallel parsing the listener is notified by the executor threads
+	 * @param executor the executor for parallel parsing (or null for sequential parsing)
+	 * @param listener the listener to notify (or null for no listener)
+	 * @since 4.1.1
+	 */
+	public ParserV2(ExecutorService executor, DslModelLoadListener listener) {
+		super();
+		this.executor = executor;
+		this.listener = listener != null ? listener : DslModelLoadListener.NO_LISTENER;
 	}
 	
 	/**
@@ -59,7 +110,17 @@ public class ParserV2 {
 	public ParsingResult parseModel(File modelFolder) {
 
 		DslModelErrors errors = new DslModelErrors();
-		
+		LoadPhaseTracker tracker = new LoadPhaseTracker(listener, errors); // v 4.1.1
+		tracker.start(LoadPhase.PARSING);
+		try {
+			return parseModel(modelFolder, errors, tracker);
+		} finally {
+			tracker.end(LoadPhase.PARSING);
+		}
+	}
+
+	private ParsingResult parseModel(File modelFolder, DslModelErrors errors, LoadPhaseTracker tracker) {
+
 		//--- check model folder validity
 		try {
 			checkModelFolder(modelFolder);
@@ -71,29 +132,38 @@ public class ParserV2 {
 		//--- load model info file if any
 		File modelInfoFile = DslModelUtil.getModelFileFromModelFolder(modelFolder);
 		ModelInfo modelInfo;
+		tracker.start(LoadPhase.MODEL_INFO);
 		try {
 			modelInfo = ModelInfoLoader.loadModelInformation(modelInfoFile);
 		} catch (DslModelError e) {
 			errors.addError(e);
 			return new ParsingResult(null, errors);
+		} finally {
+			tracker.end(LoadPhase.MODEL_INFO);
 		}
 		
 		//--- create new model
 		DomainModel model = new DomainModel(modelFolder.getName(), modelInfo);
 
-		//--- build list of entities names in the model
+		//--- build set of entities names in the model (built once, shared by all the entities)
+		tracker.start(LoadPhase.FOLDER_WALK);
 		List<String> entitiesFileNames = DslModelUtil.getEntityFullFileNames(modelFolder);
-		List<String> entitiesNames = new LinkedList<>();
-		for (String entityFileName : entitiesFileNames) {
-			entitiesNames.add(DslModelUtil.getEntityName(new File(entityFileName)));
-		}
+		Set<String> entitiesNames = DslModelUtil.getEntitiesNames(entitiesFileNames); // v 4.1.1 (Set instead of List)
+		tracker.end(LoadPhase.FOLDER_WALK);
 
 		//--- for each entity parse the file and populate it in the model
-		for (String entityFileName : entitiesFileNames) {
-			// --- Parse
-			DomainEntity domainEntity = parseEntity(entityFileName, entitiesNames, errors);
-			if ( domainEntity != null ) {
-				model.setEntity(domainEntity);
+		if ( executor != null ) {
+			parseEntitiesInParallel(entitiesFileNames, entitiesNames, model, errors);
+		}
+		else {
+			// same lexer and reader for all the files (reusable buffers)
+			EntityElementsLexer elementsLexer = new EntityElementsLexer(new EntityFileReader()); // v 4.1.1
+			for (String entityFileName : entitiesFileNames) {
+				// --- Parse
+				DomainEntity domainEntity = parseEntity(new File(entityFileName), entitiesNames, errors, elementsLexer);
+				if ( domainEntity != null ) {
+					model.setEntity(domainEntity);
+				}
 			}
 		}
 		
@@ -105,6 +175,84 @@ public class ParserV2 {
 		return new ParsingResult(model, errors);
 	}
 
+	/**
+	 * Parse all the given entity files in parallel (one task per file) <br>
+	 * Each task collects its own errors, then entities and errors are merged 
+	 * in the model in the original files order (same result as sequential parsing)
+	 * @param entitiesFileNames
+	 * @param entitiesNames
+	 * @param model
+	 * @param errors
+	 */
+	private void parseEntitiesInParallel(List<String> entitiesFileNames, Set<String> entitiesNames, 
+			DomainModel model, DslModelErrors errors) {
+		//--- lexers (with reusable buffers) lent to the tasks for this parsing only
+		EntityElementsLexerPool lexers = new EntityElementsLexerPool();
+		//--- submit a task for each entity file
+		List<EntityParsingTask> tasks = new ArrayList<>(entitiesFileNames.size());
+		List<Future<DomainEntity>> futures = new ArrayList<>(entitiesFileNames.size());
+		for (String entityFileName : entitiesFileNames) {
+			EntityParsingTask task = new EntityParsingTask(entityFileName, entitiesNames, lexers);
+			tasks.add(task);
+			futures.add(executor.submit(task));
+		}
+		//--- merge the results in the original order
+		for ( int i = 0 ; i < futures.size() ; i++ ) {
+			DomainEntity domainEntity = waitForEntity(futures.get(i));
+			errors.addErrors(tasks.get(i).getErrors());
+			if ( domainEntity != null ) {
+				model.setEntity(domainEntity);
+			}
+		}
+	}
+	
+	private DomainEntity waitForEntity(Future<DomainEntity> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Entity parsing interrupted", e);
+		} catch (ExecutionException e) {
+			// Unexpected exception in the parsing task => same behavior as sequential parsing
+			Throwable cause = e.getCause();
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException("Entity parsing error : " + cause, cause);
+		}
+	}
+
+	/**
+	 * Task parsing a single entity file with its own errors collector
+	 */
+	private class EntityParsingTask implements Callable<DomainEntity> {
+		private final String entityFileName;
+		private final Set<String> entitiesNames;
+		private final EntityElementsLexerPool lexers;
+		private final DslModelErrors taskErrors = new DslModelErrors();
+
+		public EntityParsingTask(String entityFileName, Set<String> entitiesNames, EntityElementsLexerPool lexers) {
+			super();
+			this.entityFileName = entityFileName;
+			this.entitiesNames = entitiesNames;
+			this.lexers = lexers;
+		}
+
+		@Override
+		public DomainEntity call() {
+			EntityElementsLexer lexer = lexers.lendLexer();
+			try {
+				return parseEntity(new File(entityFileName), entitiesNames, taskErrors, lexer);
+			} finally {
+				lexers.giveBackLexer(lexer);
+			}
+		}
+
+		public DslModelErrors getErrors() {
+			return taskErrors;
+		}
+	}
+
 	/**
 	 * Check model folder validity
 	 * @param modelFolder
@@ -124,38 +272,87 @@ public class ParserV2 {
 	/**
 	 * Parse the given ENTITY file name
 	 * @param entityFileName
-	 * @param entitiesNames
+	 * @param entitiesNames all the entities names in the model (preferably a Set)
 	 * @param errors
 	 * @return
 	 */
-	public DomainEntity parseEntity(String entityFileName, List<String> entitiesNames, DslModelErrors errors) {
+	public DomainEntity parseEntity(String entityFileName, Collection<String> entitiesNames, DslModelErrors errors) {
 		return parseEntity(new File(entityFileName), entitiesNames, errors);
 	}
 
 	/**
 	 * Parse the given ENTITY file
 	 * @param entityFile
+	 * @param entitiesNames all the entities names in the model (preferably a Set)
+	 * @param errors
+	 * @return
+	 */
+	public DomainEntity parseEntity(File entityFile, Collection<String> entitiesNames, DslModelErrors errors) {
+		return parseEntity(entityFile, entitiesNames, errors, new EntityElementsLexer()); // v 4.1.1 (instead of EntityElementsParser)
+	}
+
+	/**
+	 * Parse the given ENTITY file with the given lexer <br>
+	 * The elements are fully processed before returning (the lexer buffers can be reused for the next file)
+	 * @param entityFile
 	 * @param entitiesNames
 	 * @param errors
+	 * @param elementsLexer the lexer (not thread-safe : used by a single thread at a time)
 	 * @return
+	 * @since 4.1.1
 	 */
-	public DomainEntity parseEntity(File entityFile, List<String> entitiesNames, DslModelErrors errors) {
+	public DomainEntity parseEntity(File entityFile, Collection<String> entitiesNames, DslModelErrors errors,
+			EntityElementsLexer elementsLexer) {
 
 		String entityNameFromFileName = DslModelUtil.getEntityName(entityFile);
+		DslEvent event = DslEvents.begin(DslEventType.PARSE_ENTITY);
+		long startTime = System.nanoTime();
 
 		//--- Parse elements
-		EntityElementsParser elementsParser = new EntityElementsParser();
 		List<Element> elements;
 		try {
-			elements = elementsParser.parseEntityFile(entityFile);
+			elements = elementsLexer.parseEntityFile(entityFile);
 		} catch (DslModelError e) {
 			errors.addError(e);
+			event.commit(entityNameFromFileName, 0, elementsLexer.getFileSize());
+			if ( listener != DslModelLoadListener.NO_LISTENER ) {
+				listener.entityParsed(new EntityLoadStatistics(entityNameFromFileName, elementsLexer.getFileSize(),
+						0, 0, 0, 0, 1, 0, System.nanoTime() - startTime, 0));
+			}
 			return null;
 		}
+		long lexingEndTime = System.nanoTime();
+		int initialErrors = errors.getNumberOfErrors();
 
 		//--- Process elements
 		EntityElementsProcessor elementsProcessor = new EntityElementsProcessor(entityNameFromFileName, entitiesNames);
-		return elementsProcessor.processEntityElements(elements, errors);
+		DomainEntity domainEntity = elementsProcessor.processEntityElements(elements, errors);
+		event.commit(entityNameFromFileName, elements.size(), elementsLexer.getFileSize());
+		if ( listener != DslModelLoadListener.NO_LISTENER ) {
+			long processingEndTime = System.nanoTime();
+			listener.entityParsed(buildEntityStatistics(entityNameFromFileName, elementsLexer.getFileSize(), elements.size(),
+					domainEntity, errors.getNumberOfErrors() - initialErrors,
+					lexingEndTime - startTime, processingEndTime - lexingEndTime));
+		}
+		return domainEntity;
+	}
+
+	private EntityLoadStatistics buildEntityStatistics(String entityName, long fileSize, int numberOfElements,
+			DomainEntity domainEntity, int processingErrors, long lexingNanos, long processingNanos) {
+		int numberOfFields = 0 ;
+		int numberOfAnnotations = 0 ;
+		int numberOfForeignKeys = 0 ;
+		if ( domainEntity != null ) {
+			numberOfFields = domainEntity.getNumberOfFields();
+			numberOfAnnotations = domainEntity.getAnnotations().size();
+			for ( DomainField field : domainEntity.getFields() ) {
+				// '@FK' annotations are stored as FK elements
+				numberOfAnnotations += field.getAnnotations().size() + field.getFkElements().size();
+				numberOfForeignKeys += field.getFkElements().size();
+			}
+		}
+		return new EntityLoadStatistics(entityName, fileSize, numberOfElements, numberOfFields,
+				numberOfAnnotations, numberOfForeignKeys, 0, processingErrors, lexingNanos, processingNanos);
 	}
 	
 }
@@ -16,8 +16,8 @@
 package org.telosys.tools.dsl.parser;
 
 import org.telosys.tools.dsl.DslModelError;
-import org.telosys.tools.dsl.parser.commons.ParamError;
-import org.telosys.tools.dsl.parser.commons.ParamValue;
+import org.telosys.tools.dsl.parser.commons.ParamDecodingStatus;
+import org.telosys.tools.dsl.parser.commons.ParamValueDecoder;
 import org.telosys.tools.dsl.parser.model.DomainTag;
 
 /**
@@ -53,19 +53,21 @@ public class TagProcessor extends AnnotationAndTagProcessor {
 	 * @throws DslModelError
 	 */
 	public DomainTag parseTag(Element element) throws DslModelError  {
-		// get the tag name 
-		String tagName = getName(element);
-
-		// get the raw parameter value if any
-		String rawParameterValue = getParameterValue(element);
+		// get the tag name and the parameter range if any (single pass - v 4.1.1)
+		AnnotationOrTagHeader header = scanHeader(element);
+		String tagName = header.getName();
 		
-		if ( rawParameterValue != null ) {
-//			ParamValue paramValue = buildTagParamValue(tagName, rawParameterValue);
-			ParamValue paramValue = new ParamValue(getEntityName(), rawParameterValue); 
-			try {
-				return new DomainTag(tagName, paramValue.getAsString());
-			} catch (ParamError e) {
-				throw newError(element.getLineNumber(), "'" + element.getContent() + "' : " + e.getMessage() );
+		if ( header.hasParameter() ) {
+			// decoded in the element content without exception if valid (v 4.1.1)
+			String content = header.getContent();
+			int b = header.getParameterStart();
+			int e = header.getParameterEnd();
+			ParamDecodingStatus status = ParamValueDecoder.checkString(content, b, e);
+			if ( status.isOk() ) {
+				return new DomainTag(tagName, ParamValueDecoder.toStringValue(content, b, e));
+			}
+			else {
+				throw newError(element.getLineNumber(), "'" + element.getContent() + "' : " + status.getMessage(content.subSequence(b, e)) );
 			}
 		}
 		else {
@@ -0,0 +1,127 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.parser.annotation;
+
+import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.dsl.model.DslModelAttribute;
+import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.dsl.model.DslModelLink;
+import org.telosys.tools.dsl.parser.commons.ParamError;
+
+/**
+ * Annotation definition bound to a parameter value (one applier for each annotation occurrence) <br>
+ * The scopes and the parameter type are checked once when the applier is created, 
+ * then an application only calls the definition if the annotation is applicable
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public final class AnnotationApplier {
+
+	private final AnnotationDefinition definition ;
+	private final Object paramValue ;
+	private final String paramError ; // parameter type error (or null if the parameter is valid)
+	private final boolean applicableToEntity ;
+	private final boolean applicableToAttribute ;
+	private final boolean applicableToLink ;
+
+	/**
+	 * Constructor (see 'AnnotationDefinition.bind')
+	 * @param definition
+	 * @param paramValue
+	 * @param paramError
+	 */
+	AnnotationApplier(AnnotationDefinition definition, Object paramValue, String paramError) {
+		super();
+		this.definition = definition;
+		this.paramValue = paramValue;
+		this.paramError = paramError;
+		this.applicableToEntity    = paramError == null && definition.hasEntityScope();
+		this.applicableToAttribute = paramError == null && definition.hasAttributeScope();
+		this.applicableToLink      = paramError == null && definition.hasLinkScope();
+	}
+
+	/**
+	 * Returns the definition
+	 * @return
+	 */
+	public AnnotationDefinition getDefinition() {
+		return definition;
+	}
+
+	/**
+	 * Applies the annotation on the given entity
+	 * @param model
+	 * @param entity
+	 * @throws ParamError if the parameter is invalid 
+	 * @throws IllegalStateException if the annotation is not applicable on an entity 
+	 */
+	public void applyToEntity(DslModel model, DslModelEntity entity) throws ParamError {
+		if ( applicableToEntity ) {
+			definition.applyToEntity(model, entity, paramValue);
+		}
+		else if ( definition.hasEntityScope() ) {
+			throw new ParamError(paramError);
+		}
+		else {
+			throw notApplicable("an entity");
+		}
+	}
+
+	/**
+	 * Applies the annotation on the given attribute
+	 * @param model
+	 * @param entity
+	 * @param attribute
+	 * @throws ParamError if the parameter is invalid 
+	 * @throws IllegalStateException if the annotation is not applicable on an attribute 
+	 */
+	public void applyToAttribute(DslModel model, DslModelEntity entity, DslModelAttribute attribute) throws ParamError {
+		if ( applicableToAttribute ) {
+			definition.apply(model, entity, attribute, paramValue);
+		}
+		else if ( definition.hasAttributeScope() ) {
+			throw new ParamError(paramError);
+		}
+		else {
+			throw notApplicable("an attribute");
+		}
+	}
+
+	/**
+	 * Applies the annotation on the given link
+	 * @param model
+	 * @param entity
+	 * @param link
+	 * @throws ParamError if the parameter is invalid 
+	 * @throws IllegalStateException if the annotation is not applicable on a link 
+	 */
+	public void applyToLink(DslModel model, DslModelEntity entity, DslModelLink link) throws ParamError {
+		if ( applicableToLink ) {
+			definition.apply(model, entity, link, paramValue);
+		}
+		else if ( definition.hasLinkScope() ) {
+			throw new ParamError(paramError);
+		}
+		else {
+			throw notApplicable("a link");
+		}
+	}
+
+	private IllegalStateException notApplicable(String target) {
+		return new IllegalStateException("annotation '" + definition.getName() + "' not applicable on " + target );
+	}
+}
@@ -36,6 +36,13 @@ public abstract class AnnotationDefinition {
 	private boolean attributeScope = false ;
 	private boolean linkScope      = false ;
 	private boolean entityScope    = false ;
+	// v 4.1.1 : shared instance (flyweight) for an annotation without parameter (created when first used)
+	private DomainAnnotation annotationWithoutParameter = null ;
+	// v 4.1.1 : stable ordinal = position in the registry (or -1 if not registered)
+	private int ordinal = -1 ;
+	// v 4.1.1 : expected parameter class resolved once (null if no parameter)
+	private final Class<?> paramClass ;
+	private final String   paramClassLabel ;
 
 	/**
 	 * Constructor
@@ -46,6 +53,8 @@ public abstract class AnnotationDefinition {
 	protected AnnotationDefinition(String name, AnnotationParamType paramType, AnnotationScope... scopes) {
 		this.name = name ;
 		this.paramType = paramType ;
+		this.paramClass = paramClass(paramType);
+		this.paramClassLabel = paramClassLabel(paramType);
 		if ( scopes.length < 1 ) {
 			throw new IllegalArgumentException("@"+name+" : no scope");
 		}
@@ -62,10 +71,62 @@ public abstract class AnnotationDefinition {
 		}
 	}
 
+	private static Class<?> paramClass(AnnotationParamType paramType) {
+		switch ( paramType ) {
+		case STRING:
+		case SIZE: // Size is stored as a String
+		case FK_ELEMENT: // FK element is stored as a String
+			return String.class;
+		case INTEGER:
+			return Integer.class;
+		case DECIMAL:
+			return BigDecimal.class;
+		case BOOLEAN:
+			return Boolean.class;
+		case LIST:
+			return List.class;
+		case NONE:
+			return null;
+		default:
+			throw new IllegalArgumentException("Unexpected parameter type '" + paramType + "'" );
+		}
+	}
+	
+	private static String paramClassLabel(AnnotationParamType paramType) {
+		switch ( paramType ) {
+		case STRING:     return "String value";
+		case SIZE:       return "Size value";
+		case FK_ELEMENT: return "FK element";
+		case INTEGER:    return "Integer value";
+		case DECIMAL:    return "BigDecimal value";
+		case BOOLEAN:    return "Boolean value";
+		case LIST:       return "List value";
+		default:         return null;
+		}
+	}
+
 	public String getName() {
 		return name;
 	}
 
+	/**
+	 * Returns the stable ordinal of the definition (position in 'AnnotationDefinitions') <br>
+	 * or -1 if the definition is not registered
+	 * @return
+	 * @since 4.1.1
+	 */
+	public int getOrdinal() {
+		return ordinal;
+	}
+
+	/**
+	 * Set the ordinal (only by the registry)
+	 * @param ordinal
+	 */
+	void setOrdinal(int ordinal) {
+		this.ordinal = ordinal;
+	}
+
 	public AnnotationParamType getParamType() {
 		return paramType;
 	}
@@ -83,6 +144,25 @@ public abstract class AnnotationDefinition {
 		return entityScope;
 	}
 
+	/**
+	 * Returns the shared annotation instance for an annotation without parameter <br>
+	 * (DomainAnnotation is immutable, so the same instance can be used for all the occurrences)
+	 * @return
+	 * @since 4.1.1
+	 */
+	public DomainAnnotation getAnnotationWithoutParameter() {
+		if ( hasParam() ) {
+			throw new IllegalStateException("@" + name + " : annotation with parameter");
+		}
+		DomainAnnotation annotation = annotationWithoutParameter ;
+		if ( annotation == null ) {
+			// no synchronization : immutable object, at worst created more than once
+			annotation = new DomainAnnotation(this);
+			annotationWithoutParameter = annotation ;
+		}
+		return annotation;
+	}
+
 	//-------------------------------------------------------------------------------------------
 	// Annotation error 
 	//-------------------------------------------------------------------------------------------
@@ -117,61 +197,41 @@ public abstract class AnnotationDefinition {
 	}
 
 	//-------------------------------------------------------------------------------------------
-	// Check annotation parameter value before application ( on entity or attribute or link )
+	// Check annotation parameter value once, when the annotation is bound to its definition 
 	// Ultimate check (no errors expected at this level, already checked in parameter constructor)
 	//-------------------------------------------------------------------------------------------
-	protected void checkParamValue(DslModelEntity entity, Object paramValue) throws ParamError {
-		checkParamValue(paramValue);
-	}
-	protected void checkParamValue(DslModelEntity entity, DslModelAttribute attribute, Object paramValue) throws ParamError {
-		checkParamValue(paramValue);
-	}
-	protected void checkParamValue(DslModelEntity entity, DslModelLink link, Object paramValue) throws ParamError {
-		checkParamValue(paramValue);
+	/**
+	 * Returns an applier for the given parameter value <br>
+	 * The parameter value is checked here, once for each annotation occurrence 
+	 * (not at each application)
+	 * @param paramValue
+	 * @return
+	 * @since 4.1.1
+	 */
+	public AnnotationApplier bind(Object paramValue) {
+		return new AnnotationApplier(this, paramValue, getParamValueError(paramValue));
 	}
 
-	private void checkParamType(Object paramValue, Class<?> expectedClass, String expectedMsg ) throws ParamError {
-		if ( paramValue == null ) {
-			throw new ParamError("Parameter is null (parameter expected)");
-		}
-		else {
+	/**
+	 * Returns the error message if the given parameter value is not valid (or null if valid)
+	 * @param paramValue
+	 * @return
+	 */
+	private String getParamValueError(Object paramValue) {
+		// v 4.1.1 : expected class resolved once in the constructor (no switch for each check)
+		if ( paramClass != null ) {
+			if ( paramValue == null ) {
+				return "Parameter is null (parameter expected)";
+			}
 			// check if paramValue is instance of the expected class
-			if ( ! ( expectedClass.isInstance(paramValue) ) ) {
-				throw new ParamError(expectedMsg + " expected, actual type is " + getParamValueActualType(paramValue));
+			if ( ! ( paramClass.isInstance(paramValue) ) ) {
+				return paramClassLabel + " expected, actual type is " + getParamValueActualType(paramValue);
 			}
 		}
-	}
-	private void checkParamValue(Object paramValue) throws ParamError {
-		switch ( this.paramType ) {
-		case STRING:
-			checkParamType(paramValue, String.class, "String value");
-			break;
-		case SIZE: // Size is stored as a String
-			checkParamType(paramValue, String.class, "Size value");
-			break;
-		case FK_ELEMENT: // FK element is stored as a String
-			checkParamType(paramValue, String.class, "FK element");
-			break;
-		case INTEGER:
-			checkParamType(paramValue, Integer.class, "Integer value");
-			break;
-		case DECIMAL:
-			checkParamType(paramValue, BigDecimal.class, "BigDecimal value");
-			break;
-		case BOOLEAN:
-			checkParamType(paramValue, Boolean.class, "Boolean value");
-			break;
-		case LIST:
-			checkParamType(paramValue, List.class, "List value");
-			break;
-		case NONE:
-			if ( paramValue != null ) {
-				throw new ParamError("No value expected, actual value is " + paramValue );
-			}
-			break;
-		default:
-			throw new ParamError("Unexpected parameter type '" + this.paramType + "'" );
+		else if ( paramValue != null ) {
+			return "No value expected, actual value is " + paramValue ;
 		}
+		return null;
 	}
 	
 	private String getParamValueActualType(Object paramValue) {
@@ -208,7 +268,8 @@ public abstract class AnnotationDefinition {
 	
 	/**
 	 * Apply the current annotation to the given entity
-	 * (supposed to be overridden in the annotation)
+	 * (supposed to be overridden in the annotation) <br>
+	 * Called by the 'AnnotationApplier' : the parameter value has already been checked
 	 * @param model
 	 * @param entity
 	 * @param paramValue
@@ -220,7 +281,8 @@ public abstract class AnnotationDefinition {
 	
 	/**
 	 * Apply the current annotation to the given attribute
-	 * (supposed to be overridden in the annotation)
+	 * (supposed to be overridden in the annotation) <br>
+	 * Called by the 'AnnotationApplier' : the parameter value has already been checked
 	 * @param model
 	 * @param entity
 	 * @param attribute
@@ -232,7 +294,8 @@ public abstract class AnnotationDefinition {
 	
 	/**
 	 * Apply the current annotation to the given link
-	 * (supposed to be overridden in the annotation)
+	 * (supposed to be overridden in the annotation) <br>
+	 * Called by the 'AnnotationApplier' : the parameter value has already been checked
 	 * @param model
 	 * @param entity
 	 * @param link
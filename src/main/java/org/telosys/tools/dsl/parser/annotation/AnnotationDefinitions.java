@@ -16,8 +16,10 @@
 package org.telosys.tools.dsl.parser.annotation;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import org.telosys.tools.dsl.parser.annotations.AbstractAnnotation;
 import org.telosys.tools.dsl.parser.annotations.AggregateRootAnnotation;
@@ -85,6 +87,13 @@ import org.telosys.tools.dsl.parser.annotations.UpdatableAnnotation;
 public class AnnotationDefinitions {
 
 	private static List<AnnotationDefinition> annotations = new LinkedList<>();
+	
+	// v 4.1.1 : annotations definitions by name (constant time lookup)
+	private static final Map<String, AnnotationDefinition> annotationsByName = new HashMap<>();
+	
+	// v 4.1.1 : annotations definitions by ordinal 
+	private static final AnnotationDefinition[] annotationsByOrdinal ;
+	
 	static {
 		
 		annotations.add(new IdAnnotation());
@@ -170,7 +179,13 @@ public class AnnotationDefinitions {
 		annotations.add(new ScaleAnnotation());
 		annotations.add(new PrecisionAnnotation());
 
-
+		annotationsByOrdinal = new AnnotationDefinition[annotations.size()];
+		int ordinal = 0 ;
+		for ( AnnotationDefinition ad : annotations ) {
+			ad.setOrdinal(ordinal);
+			annotationsByOrdinal[ordinal++] = ad ;
+			annotationsByName.putIfAbsent(ad.getName(), ad);
+		}
 	}
 	
 	private AnnotationDefinitions() {
@@ -190,12 +205,26 @@ public class AnnotationDefinitions {
 	 * @return
 	 */
 	public static AnnotationDefinition get(String annotationName) {
-		for ( AnnotationDefinition ad : annotations ) {
-			if ( ad.getName().equals(annotationName) ) {
-				return ad;
-			}
-		}
-		return null ;
+		return annotationsByName.get(annotationName); // v 4.1.1 (instead of a loop on the list)
+	}
+	
+	/**
+	 * Return annotation definition for the given ordinal 
+	 * @param ordinal
+	 * @return
+	 * @since 4.1.1
+	 */
+	public static AnnotationDefinition get(int ordinal) {
+		return annotationsByOrdinal[ordinal];
+	}
+	
+	/**
+	 * Returns the number of annotations definitions (ordinals from 0 to count-1)
+	 * @return
+	 * @since 4.1.1
+	 */
+	public static int count() {
+		return annotationsByOrdinal.length;
 	}
 	
 	// Lists of annotations names for Eclipse  ( cf plugin )
@@ -31,7 +31,6 @@ public class AggregateRootAnnotation extends AnnotationDefinition {
 
 	@Override
 	public void applyToEntity(DslModel model, DslModelEntity entity, Object paramValue) throws ParamError {
-		checkParamValue(entity, paramValue);
 		entity.setAggregateRoot(true);
 	}
 }
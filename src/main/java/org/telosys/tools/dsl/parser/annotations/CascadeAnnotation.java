@@ -51,7 +51,6 @@ public class CascadeAnnotation extends AnnotationDefinition {
 	
 	@Override
 	public void apply(DslModel model, DslModelEntity entity, DslModelLink link, Object paramValue) throws ParamError {
-		checkParamValue(entity, link, paramValue);
 		List<String> list = getListOfParameters(paramValue);
 		CascadeOptions cascadeOptions = new CascadeOptions();
 		for (String s : list ) {
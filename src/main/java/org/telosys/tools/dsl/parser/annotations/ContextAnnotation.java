@@ -31,7 +31,6 @@ public class ContextAnnotation extends AnnotationDefinition {
 
 	@Override
 	public void applyToEntity(DslModel model, DslModelEntity entity, Object paramValue) throws ParamError {
-		checkParamValue(entity, paramValue);
 		entity.setContext((String)paramValue);
 	}
 }
@@ -34,14 +34,12 @@ public class DbCommentAnnotation extends AnnotationDefinition {
 	
 	@Override
 	public void applyToEntity(DslModel model, DslModelEntity entity, Object paramValue) throws ParamError {
-		checkParamValue(entity, paramValue);
 		entity.setDatabaseComment((String) paramValue);			
 	}
 
 	@Override
 	public void apply(DslModel model, DslModelEntity entity, DslModelAttribute attribute,
 					  Object paramValue) throws ParamError {
-		checkParamValue(entity, attribute, paramValue);
 		attribute.setDatabaseComment((String)paramValue);
 	}
 }
@@ -33,7 +33,6 @@ public class DbDefaultValueAnnotation extends AnnotationDefinition {
 	@Override
 	public void apply(DslModel model, DslModelEntity entity, DslModelAttribute attribute,
 					  Object paramValue) throws ParamError {
-		checkParamValue(entity, attribute, paramValue);
 		attribute.setDatabaseDefaultValue((String) paramValue);		
 	}
 }
@@ -33,7 +33,6 @@ public class DbSizeAnnotation extends AnnotationDefinition {
 	@Override
 	public void apply(DslModel model, DslModelEntity entity, DslModelAttribute attribute,
 			  Object paramValue) throws ParamError {
-		checkParamValue(entity, attribute, paramValue);
 		attribute.setDatabaseSize((String) paramValue);					
 	}
 }
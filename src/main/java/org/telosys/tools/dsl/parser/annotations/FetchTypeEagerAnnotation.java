@@ -33,7 +33,6 @@ public class FetchTypeEagerAnnotation extends AnnotationDefinition {
 
 	@Override
 	public void apply(DslModel model, DslModelEntity entity, DslModelLink link, Object paramValue) throws ParamError {
-		checkParamValue(entity, link, paramValue);
 		link.setFetchType(FetchType.EAGER);
 	}
 }
@@ -88,7 +88,6 @@ public class GeneratedValueAnnotation extends AnnotationDefinition {
 	@Override
 	public void apply(DslModel model, DslModelEntity entity, DslModelAttribute attribute, 
 			Object paramValue) throws ParamError {
-		checkParamValue(entity, attribute, paramValue);
 		String strategy = getParameter(paramValue, 0); // cannot be empty 
 		switch(strategy) {
 		case AUTO :
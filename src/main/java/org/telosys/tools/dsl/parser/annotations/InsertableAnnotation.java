@@ -32,7 +32,6 @@ public class InsertableAnnotation extends AnnotationDefinition {
 
 	@Override
 	public void apply(DslModel model, DslModelEntity entity, DslModelLink link, Object paramValue) throws ParamError {
-		checkParamValue(entity, link, paramValue);
 		link.setInsertable(getBooleanValue(paramValue));	
 	}
 
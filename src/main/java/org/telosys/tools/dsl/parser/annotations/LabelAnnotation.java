@@ -32,7 +32,6 @@ public class LabelAnnotation extends AnnotationDefinition {
 
 	@Override
 	public void apply(DslModel model, DslModelEntity entity, DslModelAttribute attribute, Object paramValue) throws ParamError {
-		checkParamValue(entity, attribute, paramValue);
 		attribute.setLabel((String) paramValue);					
 	}
 }
@@ -59,7 +59,6 @@ public class LinkByAttrAnnotation extends AnnotationDefinition {
 	
 	@Override
 	public void apply(DslModel model, DslModelEntity entity, DslModelLink link, Object paramValue) throws ParamError {
-		checkParamValue(entity, link, paramValue);
 		List<String> attributeNames = getListOfParameters(paramValue);
 		List<Attribute> originAttributes = getOriginAttributes(entity, attributeNames);
 		DslModelEntity referencedEntity = getReferencedEntity(model, link);
@@ -45,7 +45,6 @@ public class LinkByFKAnnotation extends AnnotationDefinition {
 
 	@Override
 	public void apply(DslModel model, DslModelEntity entity, DslModelLink link, Object paramValue) throws ParamError {
-		checkParamValue(entity, link, paramValue);
 		String fkName = (String)paramValue;
 		
 		// Try to get and check FK
@@ -32,7 +32,6 @@ public class LinkByJoinEntityAnnotation extends AnnotationDefinition {
 
 	@Override
 	public void apply(DslModel model, DslModelEntity entity, DslModelLink link, Object paramValue) throws ParamError {
-		checkParamValue(entity, link, paramValue);
 		String joinEntityName = (String) paramValue ;
 		
 		// Apply join table to link 
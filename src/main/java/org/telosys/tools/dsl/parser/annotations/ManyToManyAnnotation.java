@@ -33,7 +33,6 @@ public class ManyToManyAnnotation extends AnnotationDefinition {
 
 	@Override
 	public void apply(DslModel model, DslModelEntity entity, DslModelLink link, Object paramValue) throws ParamError {
-		checkParamValue(entity, link, paramValue);
 		link.setCardinality(Cardinality.MANY_TO_MANY);	
 	}
 
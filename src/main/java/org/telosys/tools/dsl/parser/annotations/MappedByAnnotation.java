@@ -54,7 +54,6 @@ public class MappedByAnnotation extends AnnotationDefinition {
 
 	@Override
 	public void apply(DslModel model, DslModelEntity entity, DslModelLink link, Object paramValue) throws ParamError {
-		checkParamValue(entity, link, paramValue);
 		link.setMappedBy((String) paramValue);
 		
 		// Moved in  link converter (finalize)
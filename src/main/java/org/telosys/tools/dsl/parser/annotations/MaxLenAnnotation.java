@@ -39,7 +39,6 @@ public class MaxLenAnnotation extends AnnotationDefinition {
 
 	@Override
 	public void apply(DslModel model, DslModelEntity entity, DslModelAttribute attribute, Object paramValue) throws ParamError {
-		checkParamValue(entity, attribute, paramValue);
 		attribute.setMaxLength((Integer)paramValue);
 	}
 }
@@ -32,7 +32,6 @@ public class NotNullAnnotation extends AnnotationDefinition {
 
 	@Override
 	public void apply(DslModel model, DslModelEntity entity, DslModelAttribute attribute, Object paramValue) throws ParamError {
-		checkParamValue(entity, attribute, paramValue);
 		attribute.setNotNull(true);
 
 		// Moved in step4FinalizeAttribute()
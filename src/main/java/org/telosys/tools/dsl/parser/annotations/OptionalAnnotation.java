@@ -33,7 +33,6 @@ public class OptionalAnnotation extends AnnotationDefinition {
 
 	@Override
 	public void apply(DslModel model, DslModelEntity entity, DslModelLink link, Object paramValue) throws ParamError {
-		checkParamValue(entity, link, paramValue);
 		link.setOptional(Optional.TRUE);		
 	}
 }
@@ -38,7 +38,6 @@ public class OrphanRemovalAnnotation extends AnnotationDefinition {
 
 	@Override
 	public void apply(DslModel model, DslModelEntity entity, DslModelLink link, Object paramValue) throws ParamError {
-		checkParamValue(entity, link, paramValue);
 		link.setOrphanRemoval(true);	
 	}
 
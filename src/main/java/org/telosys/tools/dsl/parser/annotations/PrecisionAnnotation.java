@@ -34,7 +34,6 @@ public class PrecisionAnnotation extends AnnotationDefinition {
     @Override
     public void apply(DslModel model, DslModelEntity entity, DslModelAttribute attribute, Object paramValue) throws
         ParamError {
-        checkParamValue(entity, attribute, paramValue);
         attribute.setPrecision((Integer)paramValue);
     }
 }
@@ -0,0 +1,74 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.parser.commons;
+
+/**
+ * Result code returned by the 'ParamValueDecoder' checks <br>
+ * The error message is built only when needed (same messages as 'ParamValue')
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public enum ParamDecodingStatus {
+
+	OK(null, null),
+
+	MISSING(null, null),
+
+	INVALID_INTEGER("integer", null),
+
+	INVALID_DECIMAL("decimal", null),
+
+	INVALID_BOOLEAN("boolean", null),
+
+	INVALID_SIZE_FORMAT("size", "xx,xx expected"),
+
+	INVALID_SIZE_NEGATIVE("size", "negative value"),
+
+	INVALID_SIZE_NOT_A_NUMBER("size", "not a number");
+
+	private final String type ;
+	private final String cause ;
+
+	private ParamDecodingStatus(String type, String cause) {
+		this.type = type ;
+		this.cause = cause ;
+	}
+
+	public boolean isOk() {
+		return this == OK ;
+	}
+
+	/**
+	 * Returns the error message for the given parameter value
+	 * @param parameterValue
+	 * @return the message or null if OK
+	 */
+	public String getMessage(CharSequence parameterValue) {
+		if ( this == OK ) {
+			return null;
+		}
+		else if ( this == MISSING ) {
+			return "parameter required";
+		}
+		else if ( cause != null ) {
+			return "invalid " + type + " parameter '" + parameterValue + "' (" + cause + ")";
+		}
+		else {
+			return "invalid " + type + " parameter '" + parameterValue + "'";
+		}
+	}
+}
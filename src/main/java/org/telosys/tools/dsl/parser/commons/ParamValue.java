@@ -16,14 +16,11 @@
 package org.telosys.tools.dsl.parser.commons;
 
 import java.math.BigDecimal;
-import java.util.LinkedList;
 import java.util.List;
 
-import org.telosys.tools.commons.StrUtil;
-import org.telosys.tools.dsl.commons.StringUtil;
-
 /**
  * Parameter value for Annotation or Tag with conversion methods
+ * (based on 'ParamValueDecoder' since v 4.1.1 : no exception if the value is valid) 
  *  
  * @author Laurent Guerin
  *
@@ -53,13 +50,19 @@ public class ParamValue {
 		return new ParamError(message);
 	}
 	
-	private ParamError newInvalidParmError(String type) {
-		return new ParamError("invalid " + type + " parameter '" + parameterValue + "'");
+	/**
+	 * Throws the error corresponding to the given decoding status if not OK (v 4.1.1)
+	 * @param status
+	 * @throws ParamError
+	 */
+	private void check(ParamDecodingStatus status) throws ParamError {
+		if ( ! status.isOk() ) {
+			throw newError(status.getMessage(parameterValue));
+		}
 	}
-
-	private ParamError newInvalidSizeParmError(String cause) {
-		return new ParamError("invalid size parameter '" + parameterValue + "' (" + cause +")");
-		
+	
+	private int length() {
+		return parameterValue != null ? parameterValue.length() : 0 ;
 	}
 	
 	/**
@@ -78,14 +81,8 @@ public class ParamValue {
 	 * @throws FieldParsingError
 	 */
 	public Integer getAsInteger() throws ParamError { 
-		checkParameterExistence();
-		
-		try {
-			return new Integer(parameterValue);
-		} catch (NumberFormatException e) {
-//			throw newError("invalid integer parameter '" + parameterValue + "'");
-			throw newInvalidParmError("integer");
-		}
+		check(ParamValueDecoder.checkInteger(parameterValue, 0, length()));
+		return ParamValueDecoder.toInt(parameterValue, 0, length());
 	}
 	
 	/**
@@ -94,14 +91,8 @@ public class ParamValue {
 	 * @throws FieldParsingError
 	 */
 	public BigDecimal getAsBigDecimal() throws ParamError {
-		checkParameterExistence();
-		
-		try {
-			return new BigDecimal(parameterValue);
-		} catch (NumberFormatException e) {
-//			throw newError("invalid decimal parameter '" + parameterValue + "'");
-			throw newInvalidParmError("decimal");
-		}
+		check(ParamValueDecoder.checkDecimal(parameterValue, 0, length()));
+		return ParamValueDecoder.toBigDecimal(parameterValue, 0, length());
 	}
 	
 	/**
@@ -110,19 +101,8 @@ public class ParamValue {
 	 * @throws FieldParsingError
 	 */
 	public Boolean getAsBoolean() throws ParamError {
-		checkParameterExistence();
-		
-		if ( ! StrUtil.nullOrVoid(parameterValue) ) {
-			String v = parameterValue.trim().toUpperCase();
-			if ("TRUE".equals(v)) {
-				return Boolean.TRUE ;
-			}
-			else if ("FALSE".equals(v)) {
-				return Boolean.FALSE ;
-			}
-		}
-//		throw newError("invalid boolean parameter '" + parameterValue + "'");
-		throw newInvalidParmError("boolean");
+		check(ParamValueDecoder.checkBoolean(parameterValue, 0, length()));
+		return ParamValueDecoder.toBoolean(parameterValue, 0, length());
 	}
 	
 	/**
@@ -131,16 +111,9 @@ public class ParamValue {
 	 * @throws FieldParsingError
 	 */
 	public String getAsString() throws ParamError {
-		checkParameterExistence();
-		
-		// remove all void chars ( blank, tab, cr, lf, ...)
-		String s = parameterValue.trim(); 
-		// remove quotes if any
-		if (s.startsWith("\"") && s.endsWith("\"")) {
-			return StringUtil.unquote(s);
-		} else {
-			return s;
-		}
+		check(ParamValueDecoder.checkString(parameterValue, 0, length()));
+		// remove all void chars ( blank, tab, cr, lf, ...) and quotes if any
+		return ParamValueDecoder.toStringValue(parameterValue, 0, length());
 	}
 	
 	/**
@@ -150,39 +123,10 @@ public class ParamValue {
 	 * @throws ParamError
 	 */
 	public String getAsSize() throws ParamError {
-		checkParameterExistence();
-		checkSizeParameter(parameterValue);
+		check(ParamValueDecoder.checkSize(parameterValue, 0, length()));
 		return parameterValue;
 	}
 	
-	private void checkSizeParameter(String p) throws ParamError {
-		if ( p.contains(",")) {
-			String[] parts = p.split(",");
-			if (parts.length  != 2) {
-//				throw newError("invalid size parameter '" + p + "' (xx,xx expected)");
-				throw newInvalidSizeParmError("xx,xx expected");
-			}
-			checkSizeInteger(parts[0]);
-			checkSizeInteger(parts[1]);
-		}
-		else {
-			checkSizeInteger(p);
-		}
-	}
-	
-	private void checkSizeInteger(String p) throws ParamError {
-		try {
-			Integer i = new Integer(p);
-			if ( i < 0 ) {
-//				throw newError("invalid size parameter '" + p + "' (negative value)");
-				throw newInvalidSizeParmError("negative value");
-			}
-		} catch (NumberFormatException e) {
-//			throw newError("invalid size parameter '" + p + "' (not a number)");
-			throw newInvalidSizeParmError("not a number");
-		}
-	}
-	
 	public FkElement getAsForeignKeyElement() throws ParamError {
 		checkParameterExistence();
 		FkElementBuilder builder = new FkElementBuilder(entityName);
@@ -190,21 +134,8 @@ public class ParamValue {
 	}
 	
 	public List<String> getAsList() throws ParamError {
-		checkParameterExistence();
-		return buildList(parameterValue);
-	}
-	
-	private List<String> buildList(String paramString) throws ParamError {
-		String[] elements = StrUtil.split(paramString, ',');
-		if (elements.length == 0 ) {
-			throw newError("invalid list parameter (at list 1 element expected)");
-		}
-		
-		List<String> list = new LinkedList<>();
-		for ( String s : elements ) {
-			list.add(s.trim());
-		}
-		return list;
+		check(ParamValueDecoder.checkList(parameterValue, 0, length()));
+		return ParamValueDecoder.toList(parameterValue, 0, length());
 	}
 
 }
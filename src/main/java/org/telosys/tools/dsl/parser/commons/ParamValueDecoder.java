@@ -0,0 +1,417 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.parser.commons;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Annotation or Tag parameter decoding from a range of characters [start, end[ <br>
+ * Same rules as 'ParamValue' but without exception : <br>
+ *  - each 'checkXxx' method validates the parameter and returns a result code <br>
+ *  - each 'toXxx' method converts a parameter previously validated <br>
+ *  - no intermediate string (only the final value if any) <br>
+ *
+ * @author Laurent GUERIN
+ * @since 4.1.1
+ */
+public final class ParamValueDecoder {
+
+	private static final int RADIX = 10 ;
+
+	private ParamValueDecoder() {
+	}
+
+	private static boolean isEmpty(CharSequence s, int start, int end) {
+		return s == null || end <= start ;
+	}
+
+	//------------------------------------------------------------------------------------------
+	// INTEGER
+	//------------------------------------------------------------------------------------------
+	/**
+	 * Checks the parameter is a valid integer (same rules as 'Integer.parseInt')
+	 * @param s
+	 * @param start
+	 * @param end
+	 * @return
+	 */
+	public static ParamDecodingStatus checkInteger(CharSequence s, int start, int end) {
+		if ( isEmpty(s, start, end) ) {
+			return ParamDecodingStatus.MISSING;
+		}
+		return isInteger(s, start, end) ? ParamDecodingStatus.OK : ParamDecodingStatus.INVALID_INTEGER ;
+	}
+
+	/**
+	 * Returns the integer value of a parameter checked with 'checkInteger'
+	 * @param s
+	 * @param start
+	 * @param end
+	 * @return
+	 */
+	public static int toInt(CharSequence s, int start, int end) {
+		int i = start ;
+		boolean negative = false ;
+		char first = s.charAt(i);
+		if ( first == '-' || first == '+' ) {
+			negative = first == '-' ;
+			i++;
+		}
+		// accumulated negatively (as 'Integer.parseInt') to reach Integer.MIN_VALUE
+		int result = 0 ;
+		for ( ; i < end ; i++ ) {
+			result = result * RADIX - Character.digit(s.charAt(i), RADIX);
+		}
+		return negative ? result : -result ;
+	}
+
+	private static boolean isInteger(CharSequence s, int start, int end) {
+		int i = start ;
+		int limit = -Integer.MAX_VALUE ;
+		char first = s.charAt(i);
+		if ( first == '-' || first == '+' ) {
+			if ( first == '-' ) {
+				limit = Integer.MIN_VALUE ;
+			}
+			i++;
+			if ( i == end ) {
+				return false; // sign alone
+			}
+		}
+		int multmin = limit / RADIX ;
+		int result = 0 ;
+		for ( ; i < end ; i++ ) {
+			int digit = Character.digit(s.charAt(i), RADIX);
+			if ( digit < 0 || result < multmin ) {
+				return false;
+			}
+			result *= RADIX ;
+			if ( result < limit + digit ) {
+				return false; // overflow
+			}
+			result -= digit ;
+		}
+		return true;
+	}
+
+	//------------------------------------------------------------------------------------------
+	// DECIMAL
+	//------------------------------------------------------------------------------------------
+	/**
+	 * Checks the parameter is a valid decimal (same rules as 'new BigDecimal(String)')
+	 * @param s
+	 * @param start
+	 * @param end
+	 * @return
+	 */
+	public static ParamDecodingStatus checkDecimal(CharSequence s, int start, int end) {
+		if ( isEmpty(s, start, end) ) {
+			return ParamDecodingStatus.MISSING;
+		}
+		return isDecimal(s, start, end) ? ParamDecodingStatus.OK : ParamDecodingStatus.INVALID_DECIMAL ;
+	}
+
+	/**
+	 * Returns the decimal value of a parameter checked with 'checkDecimal'
+	 * @param s
+	 * @param start
+	 * @param end
+	 * @return
+	 */
+	public static BigDecimal toBigDecimal(CharSequence s, int start, int end) {
+		return new BigDecimal(s.subSequence(start, end).toString());
+	}
+
+	private static boolean isDecimal(CharSequence s, int start, int end) {
+		int i = start ;
+		char c = s.charAt(i);
+		if ( c == '-' || c == '+' ) {
+			i++;
+		}
+		// significand : digits with an optional dot
+		int digits = 0 ;
+		int fractionDigits = 0 ;
+		boolean dot = false ;
+		for ( ; i < end ; i++ ) {
+			c = s.charAt(i);
+			if ( Character.isDigit(c) ) {
+				digits++;
+				if ( dot ) {
+					fractionDigits++;
+				}
+			}
+			else if ( c == '.' && ! dot ) {
+				dot = true ;
+			}
+			else {
+				break;
+			}
+		}
+		if ( digits == 0 ) {
+			return false;
+		}
+		if ( i == end ) {
+			return true;
+		}
+		// exponent
+		if ( c != 'e' && c != 'E' ) {
+			return false;
+		}
+		i++;
+		boolean negativeExponent = false ;
+		if ( i < end && ( s.charAt(i) == '-' || s.charAt(i) == '+' ) ) {
+			negativeExponent = s.charAt(i) == '-' ;
+			i++;
+		}
+		if ( i == end ) {
+			return false;
+		}
+		long exponent = 0 ;
+		for ( ; i < end ; i++ ) {
+			int digit = Character.digit(s.charAt(i), RADIX);
+			if ( digit < 0 ) {
+				return false;
+			}
+			exponent = exponent * RADIX + digit ;
+			if ( exponent > Integer.MAX_VALUE ) {
+				return false;
+			}
+		}
+		// the resulting scale must be an int (as required by 'BigDecimal')
+		long scale = fractionDigits - ( negativeExponent ? -exponent : exponent ) ;
+		return scale >= Integer.MIN_VALUE && scale <= Integer.MAX_VALUE ;
+	}
+
+	//------------------------------------------------------------------------------------------
+	// BOOLEAN
+	//------------------------------------------------------------------------------------------
+	/**
+	 * Checks the parameter is a valid boolean ( 'true' or 'false', case insensitive, blanks ignored )
+	 * @param s
+	 * @param start
+	 * @param end
+	 * @return
+	 */
+	public static ParamDecodingStatus checkBoolean(CharSequence s, int start, int end) {
+		if ( isEmpty(s, start, end) ) {
+			return ParamDecodingStatus.MISSING;
+		}
+		int b = trimStart(s, start, end);
+		int e = trimEnd(s, b, end);
+		if ( matches(s, b, e, "TRUE") || matches(s, b, e, "FALSE") ) {
+			return ParamDecodingStatus.OK;
+		}
+		return ParamDecodingStatus.INVALID_BOOLEAN;
+	}
+
+	/**
+	 * Returns the boolean value of a parameter checked with 'checkBoolean'
+	 * @param s
+	 * @param start
+	 * @param end
+	 * @return
+	 */
+	public static boolean toBoolean(CharSequence s, int start, int end) {
+		int b = trimStart(s, start, end);
+		return matches(s, b, trimEnd(s, b, end), "TRUE");
+	}
+
+	private static boolean matches(CharSequence s, int start, int end, String upperCaseValue) {
+		if ( end - start != upperCaseValue.length() ) {
+			return false;
+		}
+		for ( int i = 0 ; i < upperCaseValue.length() ; i++ ) {
+			if ( Character.toUpperCase(s.charAt(start + i)) != upperCaseValue.charAt(i) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	//------------------------------------------------------------------------------------------
+	// SIZE
+	//------------------------------------------------------------------------------------------
+	/**
+	 * Checks the parameter conforms to the 'SIZE' format ( 'n' or 'n,n' with positive integers ) <br>
+	 * NB : the size value is the parameter itself (no conversion)
+	 * @param s
+	 * @param start
+	 * @param end
+	 * @return
+	 */
+	public static ParamDecodingStatus checkSize(CharSequence s, int start, int end) {
+		if ( isEmpty(s, start, end) ) {
+			return ParamDecodingStatus.MISSING;
+		}
+		int comma = indexOf(s, start, end, ',');
+		if ( comma < 0 ) {
+			return checkSizeInteger(s, start, end);
+		}
+		// trailing empty parts are ignored (as with 'String.split' before v 4.1.1)
+		int e = end ;
+		while ( e > start && s.charAt(e - 1) == ',' ) {
+			e--;
+		}
+		if ( e <= comma || indexOf(s, comma + 1, e, ',') >= 0 ) {
+			return ParamDecodingStatus.INVALID_SIZE_FORMAT;
+		}
+		ParamDecodingStatus status = checkSizeInteger(s, start, comma);
+		return status.isOk() ? checkSizeInteger(s, comma + 1, e) : status ;
+	}
+
+	private static ParamDecodingStatus checkSizeInteger(CharSequence s, int start, int end) {
+		if ( end <= start || ! isInteger(s, start, end) ) {
+			return ParamDecodingStatus.INVALID_SIZE_NOT_A_NUMBER;
+		}
+		if ( toInt(s, start, end) < 0 ) {
+			return ParamDecodingStatus.INVALID_SIZE_NEGATIVE;
+		}
+		return ParamDecodingStatus.OK;
+	}
+
+	//------------------------------------------------------------------------------------------
+	// LIST
+	//------------------------------------------------------------------------------------------
+	/**
+	 * Checks the parameter can be used as a list ( comma separated values )
+	 * @param s
+	 * @param start
+	 * @param end
+	 * @return
+	 */
+	public static ParamDecodingStatus checkList(CharSequence s, int start, int end) {
+		return isEmpty(s, start, end) ? ParamDecodingStatus.MISSING : ParamDecodingStatus.OK ;
+	}
+
+	/**
+	 * Returns the list of values (trimmed, empty values kept) of a parameter checked with 'checkList'
+	 * @param s
+	 * @param start
+	 * @param end
+	 * @return
+	 */
+	public static List<String> toList(CharSequence s, int start, int end) {
+		List<String> list = new ArrayList<>(count(s, start, end, ',') + 1);
+		int partStart = start ;
+		for ( int i = start ; i <= end ; i++ ) {
+			if ( i == end || s.charAt(i) == ',' ) {
+				int b = trimStart(s, partStart, i);
+				list.add(s.subSequence(b, trimEnd(s, b, i)).toString());
+				partStart = i + 1 ;
+			}
+		}
+		return list;
+	}
+
+	//------------------------------------------------------------------------------------------
+	// STRING
+	//------------------------------------------------------------------------------------------
+	/**
+	 * Checks the parameter can be used as a string
+	 * @param s
+	 * @param start
+	 * @param end
+	 * @return
+	 */
+	public static ParamDecodingStatus checkString(CharSequence s, int start, int end) {
+		return isEmpty(s, start, end) ? ParamDecodingStatus.MISSING : ParamDecodingStatus.OK ;
+	}
+
+	/**
+	 * Returns the string value (trimmed and unquoted) of a parameter checked with 'checkString'
+	 * @param s
+	 * @param start
+	 * @param end
+	 * @return
+	 */
+	public static String toStringValue(CharSequence s, int start, int end) {
+		int b = trimStart(s, start, end);
+		int e = trimEnd(s, b, end);
+		if ( e > b && s.charAt(b) == '\"' && s.charAt(e - 1) == '\"' ) {
+			return unquote(s, b, e);
+		}
+		return s.subSequence(b, e).toString();
+	}
+
+	/**
+	 * Removes the enclosing double quotes and the escape char before each double quote inside
+	 * (same result as 'StringUtil.unquote')
+	 */
+	private static String unquote(CharSequence s, int start, int end) {
+		int b = start + 1 ;
+		int e = end - 1 ;
+		if ( e <= b ) {
+			return ""; // single double quote or empty quoted string
+		}
+		if ( indexOf(s, b, e, '\\') < 0 ) {
+			return s.subSequence(b, e).toString();
+		}
+		StringBuilder sb = new StringBuilder(e - b);
+		for ( int i = b ; i < e ; i++ ) {
+			char c = s.charAt(i);
+			if ( c != '\\' || i + 1 >= e || s.charAt(i + 1) != '\"' ) {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	//------------------------------------------------------------------------------------------
+	// Range utilities
+	//------------------------------------------------------------------------------------------
+	/**
+	 * Returns the start of the range without the leading blank chars (same chars as 'String.trim')
+	 */
+	private static int trimStart(CharSequence s, int start, int end) {
+		int i = start ;
+		while ( i < end && s.charAt(i) <= ' ' ) {
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * Returns the end of the range without the trailing blank chars (same chars as 'String.trim')
+	 */
+	private static int trimEnd(CharSequence s, int start, int end) {
+		int i = end ;
+		while ( i > start && s.charAt(i - 1) <= ' ' ) {
+			i--;
+		}
+		return i;
+	}
+
+	private static int indexOf(CharSequence s, int start, int end, char c) {
+		for ( int i = start ; i < end ; i++ ) {
+			if ( s.charAt(i) == c ) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static int count(CharSequence s, int start, int end, char c) {
+		int n = 0 ;
+		for ( int i = start ; i < end ; i++ ) {
+			if ( s.charAt(i) == c ) {
+				n++;
+			}
+		}
+		return n;
+	}
+}
@@ -0,0 +1,84 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.parser.commons;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of the first distinct parameter values (String and Integer) <br>
+ * Each cached value is kept only once (the same instance is shared by all the annotations using it) <br>
+ * The cache keeps the first MAX_VALUES distinct values seen by the JVM (all models) and never evicts them : 
+ * when it's full the new values are returned as is (not shared) <br>
+ * Thread-safe (can be used by parallel parsing)
+ *
+ * @author Laurent Guerin
+ * @since 4.1.1
+ */
+public class ParamValuesCache {
+
+	/**
+	 * Max number of distinct values in each cache (String and Integer)
+	 */
+	public static final int MAX_VALUES = 4096 ;
+
+	// only short strings are cached (names, types, sizes, etc)
+	private static final int MAX_STRING_LENGTH = 64 ;
+
+	private static final Map<String, String> STRINGS = new ConcurrentHashMap<>();
+
+	private static final Map<Integer, Integer> INTEGERS = new ConcurrentHashMap<>();
+
+	private ParamValuesCache() {
+	}
+
+	/**
+	 * Returns the shared instance for the given string value
+	 * @param value
+	 * @return
+	 */
+	public static String intern(String value) {
+		if ( value == null || value.length() > MAX_STRING_LENGTH ) {
+			return value;
+		}
+		return intern(STRINGS, value);
+	}
+
+	/**
+	 * Returns the shared instance for the given integer value
+	 * @param value
+	 * @return
+	 */
+	public static Integer intern(Integer value) {
+		if ( value == null ) {
+			return value;
+		}
+		return intern(INTEGERS, value);
+	}
+
+	private static <T> T intern(Map<T, T> cache, T value) {
+		T cachedValue = cache.get(value);
+		if ( cachedValue != null ) {
+			return cachedValue;
+		}
+		if ( cache.size() >= MAX_VALUES ) {
+			// cache is full : no more values (approximative size with concurrent accesses)
+			return value;
+		}
+		cachedValue = cache.putIfAbsent(value, value);
+		return cachedValue != null ? cachedValue : value ;
+	}
+}
@@ -22,6 +22,7 @@ import org.telosys.tools.dsl.model.DslModel;
 import org.telosys.tools.dsl.model.DslModelAttribute;
 import org.telosys.tools.dsl.model.DslModelEntity;
 import org.telosys.tools.dsl.model.DslModelLink;
+import org.telosys.tools.dsl.parser.annotation.AnnotationApplier;
 import org.telosys.tools.dsl.parser.annotation.AnnotationDefinition;
 import org.telosys.tools.dsl.parser.annotation.AnnotationDefinitions;
 import org.telosys.tools.dsl.parser.commons.FkElement;
@@ -29,8 +30,12 @@ import org.telosys.tools.dsl.parser.commons.ParamError;
 
 public class DomainAnnotation {
 	
+
+	static final DomainAnnotation[] NO_ANNOTATION = new DomainAnnotation[0]; // v 4.1.1
+
 	private final String name;
 	private final Object parameter;
+	private final AnnotationApplier applier; // v 4.1.1 (definition resolved and bound once at creation, null if unknown)
 
 	//-------------------------------------------------------------------------
 	// Constructors
@@ -44,6 +49,20 @@ public class DomainAnnotation {
     	super();
 		this.name = name;
 		this.parameter = null;
+		this.applier = bind(AnnotationDefinitions.get(name), null);
+    }
+
+    /**
+     * Constructor for annotation without parameter with its definition <br>
+     * (used by the definition to create the shared instance)
+     * @param definition
+     * @since 4.1.1
+     */
+    public DomainAnnotation(AnnotationDefinition definition) {
+    	super();
+		this.name = definition.getName();
+		this.parameter = null;
+		this.applier = definition.bind(null);
     }
 
     /**
@@ -55,6 +74,7 @@ public class DomainAnnotation {
     	super();
 		this.name = name;
 		this.parameter = param;
+		this.applier = bind(AnnotationDefinitions.get(name), param);
     }
     
     /**
@@ -66,6 +86,7 @@ public class DomainAnnotation {
     	super();
 		this.name = name;
 		this.parameter = param;
+		this.applier = bind(AnnotationDefinitions.get(name), param);
     }
     
     /**
@@ -77,6 +98,7 @@ public class DomainAnnotation {
     	super();
 		this.name = name;
 		this.parameter = param;
+		this.applier = bind(AnnotationDefinitions.get(name), param);
     }
 
     /**
@@ -88,6 +110,7 @@ public class DomainAnnotation {
     	super();
 		this.name = name;
 		this.parameter = param;
+		this.applier = bind(AnnotationDefinitions.get(name), param);
     }
     
     /**
@@ -99,6 +122,7 @@ public class DomainAnnotation {
     	super();
 		this.name = name;
 		this.parameter = param;
+		this.applier = bind(AnnotationDefinitions.get(name), param);
     }
     
     /**
@@ -110,8 +134,13 @@ public class DomainAnnotation {
     	super();
 		this.name = name;
 		this.parameter = param;
+		this.applier = bind(AnnotationDefinitions.get(name), param);
     }
 
+	private static AnnotationApplier bind(AnnotationDefinition definition, Object param) {
+		return definition != null ? definition.bind(param) : null ;
+	}
+
 	//-------------------------------------------------------------------------
 	// Getters
 	//-------------------------------------------------------------------------
@@ -125,6 +154,48 @@ public class DomainAnnotation {
 		return name;
 	}
 
+	/**
+	 * Returns the ordinal of the annotation definition <br>
+	 * (or Integer.MAX_VALUE if unknown or not registered definition)
+	 * @return
+	 * @since 4.1.1
+	 */
+	public int getDefinitionOrdinal() {
+		if ( applier != null && applier.getDefinition().getOrdinal() >= 0 ) {
+			return applier.getDefinition().getOrdinal();
+		}
+		return Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Returns a new array with the given annotation added in the given array ordered by definition ordinal <br>
+	 * (an annotation with the same name is replaced, annotations with the same ordinal are kept in the adding order)
+	 * @param annotations the current annotations ordered by definition ordinal
+	 * @param annotation the annotation to add 
+	 * @return
+	 * @since 4.1.1
+	 */
+	public static DomainAnnotation[] addByOrdinal(DomainAnnotation[] annotations, DomainAnnotation annotation) {
+		for ( int i = 0 ; i < annotations.length ; i++ ) {
+			if ( annotations[i].getName().equals(annotation.getName()) ) {
+				// same name => same definition and same ordinal
+				DomainAnnotation[] array = annotations.clone();
+				array[i] = annotation;
+				return array;
+			}
+		}
+		int ordinal = annotation.getDefinitionOrdinal();
+		int position = annotations.length ;
+		while ( position > 0 && annotations[position - 1].getDefinitionOrdinal() > ordinal ) {
+			position--;
+		}
+		DomainAnnotation[] array = new DomainAnnotation[annotations.length + 1];
+		System.arraycopy(annotations, 0, array, 0, position);
+		array[position] = annotation;
+		System.arraycopy(annotations, position, array, position + 1, annotations.length - position);
+		return array;
+	}
+
 	/**
 	 * Returns true if the annotation can be used multiple times in the same field
 	 * @return
@@ -253,59 +324,52 @@ public class DomainAnnotation {
 		return sb.toString();
     }
 
+	/**
+	 * Apply annotation on the given entity <br>
+	 * (scope and parameter checked once when the annotation has been created)
+	 * @param model
+	 * @param entity
+	 */
 	public void applyToEntity(DslModel model, DslModelEntity entity ) throws ParamError {
-    	AnnotationDefinition annotationDefinition = getAnnotationDefinition();
-       	if ( annotationDefinition.hasEntityScope() ) {
-        	annotationDefinition.applyToEntity(model, entity, this.getParameter());
-    	}
-    	else {
-    		throw new IllegalStateException("annotation '" + this.name + "' not applicable on an entity" );
-    	}
+		getApplier().applyToEntity(model, entity);
 	}
 
 	/**
-	 * Apply annotation on the given attribute
+	 * Apply annotation on the given attribute <br>
+	 * (scope and parameter checked once when the annotation has been created)
 	 * @param model
 	 * @param entity
 	 * @param attribute
 	 */
 	public void applyToAttribute(DslModel model, DslModelEntity entity, DslModelAttribute attribute ) throws ParamError {
-    	AnnotationDefinition annotationDefinition = getAnnotationDefinition();
-       	if ( annotationDefinition.hasAttributeScope() ) {
-        	annotationDefinition.apply(model, entity, attribute, this.getParameter());
-    	}
-    	else {
-    		throw new IllegalStateException("annotation '" + this.name + "' not applicable on an attribute" );
-    	}
+		getApplier().applyToAttribute(model, entity, attribute);
 	}
 
 	/**
-	 * Apply annotation on the given link
+	 * Apply annotation on the given link <br>
+	 * (scope and parameter checked once when the annotation has been created)
 	 * @param model
 	 * @param entity
 	 * @param link
 	 */
 	public void applyToLink(DslModel model, DslModelEntity entity, DslModelLink link ) throws ParamError {
-    	AnnotationDefinition annotationDefinition = getAnnotationDefinition();
-       	if ( annotationDefinition.hasLinkScope() ) {
-    		annotationDefinition.apply(model, entity, link, this.getParameter());
-    	}
-    	else {
-    		throw new IllegalStateException("annotation '" + this.name + "' not applicable on a link" );
-    	}
-    }
+		getApplier().applyToLink(model, entity, link);
+	}
+
+	private AnnotationApplier getApplier() {
+		if ( applier != null ) {
+			return applier ;
+		}
+		else {
+			throw new IllegalStateException("Unknown annotation '" + this.name + "'" );
+		}
+	}
 	
 	/**
-	 * Get annotation definition 
+	 * Get annotation definition (resolved when the annotation is created)
 	 * @return
 	 */
 	public AnnotationDefinition getAnnotationDefinition() {
-    	AnnotationDefinition annotationDefinition = AnnotationDefinitions.get(this.name);
-    	if ( annotationDefinition != null ) {
-    		return annotationDefinition ;
-    	}
-    	else {
-    		throw new IllegalStateException("Unknown annotation '" + this.name + "'" );
-    	}
+		return getApplier().getDefinition();
 	}
 }
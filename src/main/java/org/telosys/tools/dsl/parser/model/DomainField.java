@@ -15,6 +15,7 @@
  */
 package org.telosys.tools.dsl.parser.model;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -30,6 +31,9 @@ public class DomainField {
     private final DomainType type;
 
     private final Map<String, DomainAnnotation> annotations = new HashMap<>();
+    private final Map<String, DomainAnnotation> annotationsView = Collections.unmodifiableMap(annotations); // v 4.1.1
+    private DomainAnnotation[] annotationsByOrdinal = DomainAnnotation.NO_ANNOTATION ; // v 4.1.1 : updated when an annotation is added
+    private List<DomainAnnotation> annotationsByOrdinalView = Collections.emptyList(); // v 4.1.1
     private final Map<String, DomainTag> tags = new HashMap<>();
 //    private final List<DomainFK> fkDeclarations = new LinkedList<>() ; // v 3.3.0
     private final List<FkElement> fkElements = new LinkedList<>() ; // v 3.4.0
@@ -68,6 +72,9 @@ public class DomainField {
      */
     public void addAnnotation(DomainAnnotation annotation) {
     	annotations.put(annotation.getName(), annotation);
+    	// v 4.1.1 : kept ordered by definition ordinal (no sort when applied)
+    	annotationsByOrdinal = DomainAnnotation.addByOrdinal(annotationsByOrdinal, annotation);
+    	annotationsByOrdinalView = Collections.unmodifiableList(Arrays.asList(annotationsByOrdinal));
     }
         
     /**
@@ -156,11 +163,23 @@ public class DomainField {
     }
 
     /**
-     * Return all annotations map
+     * Return all annotations map <br>
+     * (unmodifiable since v 4.1.1 : an annotation must be added with 'addAnnotation' 
+     * in order to be added also in the annotations applied by the converter)
      * @return annotations
      */
     public Map<String, DomainAnnotation> getAnnotations() {
-        return this.annotations;
+        return this.annotationsView; // v 4.1.1 : unmodifiable (use addAnnotation)
+    }
+
+    /**
+     * Returns all the annotations in an unmodifiable list ordered by definition ordinal <br>
+     * (the order used to apply the annotations)
+     * @return
+     * @since 4.1.1
+     */
+    public List<DomainAnnotation> getAnnotationsByOrdinal() {
+        return annotationsByOrdinalView;
     }
 
     /**
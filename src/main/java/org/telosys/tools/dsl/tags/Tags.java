@@ -16,6 +16,7 @@
 package org.telosys.tools.dsl.tags;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,10 +27,12 @@ public class Tags implements TagContainer {
 	
     private static final String VOID_STRING  = "" ;
 
-	private final Map<String, Tag> tagsMap ;
+    private static final Map<String, Tag> VOID_MAP = Collections.emptyMap() ;
+
+	private Map<String, Tag> tagsMap ; // v 4.1.1 : no map allocated until the first tag
 	
 	public Tags() {
-		this.tagsMap = new HashMap<>();
+		this.tagsMap = VOID_MAP;
 	}
 	
 	/**
@@ -37,6 +40,9 @@ public class Tags implements TagContainer {
 	 * @param tag
 	 */
 	public void addTag(Tag tag) throws TagError {
+		if ( this.tagsMap == VOID_MAP ) {
+			this.tagsMap = new HashMap<>();
+		}
 		if ( this.tagsMap.containsKey(tag.getName()) ) {
 			// ERROR : tag already defined
 			throw new TagError("Duplicate tag");
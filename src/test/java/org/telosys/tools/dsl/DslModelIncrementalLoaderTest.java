@@ -0,0 +1,185 @@
+package org.telosys.tools.dsl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.telosys.tools.generic.model.Entity;
+import org.telosys.tools.generic.model.Model;
+import org.telosys.tools.junit.utils.TestFileProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class DslModelIncrementalLoaderTest {
+
+	private File modelFolder;
+
+	@Before
+	public void copyModel() throws IOException {
+		File srcFolder = new File("src/test/resources/model_test/valid/PeopleModel");
+		modelFolder = TestFileProvider.getTargetTmpFile("incremental/PeopleModel");
+		modelFolder.mkdirs();
+		for ( File file : modelFolder.listFiles() ) {
+			file.delete();
+		}
+		for ( File file : srcFolder.listFiles() ) {
+			Files.copy(file.toPath(), new File(modelFolder, file.getName()).toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private void appendToFile(String fileName, String text) throws IOException {
+		File file = new File(modelFolder, fileName);
+		long lastModified = file.lastModified();
+		Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+		file.setLastModified(lastModified + 2000); // change detection must not depend on the file system precision
+	}
+
+	private void checkSameAsFullLoading(Model model) {
+		Model expectedModel = new DslModelManager().loadModel(modelFolder);
+		assertNotNull(expectedModel);
+		assertEquals(expectedModel.getEntities().size(), model.getEntities().size());
+		for ( int i = 0 ; i < expectedModel.getEntities().size() ; i++ ) {
+			Entity expected = expectedModel.getEntities().get(i);
+			Entity entity = model.getEntities().get(i);
+			assertEquals(expected.getClassName(), entity.getClassName());
+			assertEquals(expected.getAttributes().size(), entity.getAttributes().size());
+			assertEquals(expected.getLinks().size(), entity.getLinks().size());
+			assertEquals(expected.getForeignKeys().size(), entity.getForeignKeys().size());
+		}
+	}
+
+	@Test
+	public void testLoadWithoutChange() {
+		DslModelIncrementalLoader loader = new DslModelIncrementalLoader(modelFolder);
+		Model model1 = loader.loadModel();
+		assertNotNull(model1);
+		assertEquals(6, loader.getNumberOfParsedFiles());
+		assertEquals(6, loader.getNumberOfConvertedEntities());
+		checkSameAsFullLoading(model1);
+
+		Model model2 = loader.loadModel();
+		assertNotNull(model2);
+		assertEquals(0, loader.getNumberOfParsedFiles());
+		assertEquals(0, loader.getNumberOfConvertedEntities());
+		assertSame(model1.getEntityByClassName("Person"), model2.getEntityByClassName("Person"));
+		checkSameAsFullLoading(model2);
+	}
+
+	@Test
+	public void testTouchedFile() {
+		DslModelIncrementalLoader loader = new DslModelIncrementalLoader(modelFolder);
+		assertNotNull(loader.loadModel());
+		File file = new File(modelFolder, "Gender.entity");
+		file.setLastModified(file.lastModified() + 2000);
+		assertNotNull(loader.loadModel());
+		assertEquals(0, loader.getNumberOfParsedFiles());
+		assertEquals(0, loader.getNumberOfConvertedEntities());
+	}
+
+	@Test
+	public void testReferencedEntityChanged() throws IOException {
+		DslModelIncrementalLoader loader = new DslModelIncrementalLoader(modelFolder);
+		Model model1 = loader.loadModel();
+		assertNotNull(model1);
+
+		// Gender is referenced only by Person
+		appendToFile("Gender.entity", "\n// comment \n");
+		Model model2 = loader.loadModel();
+		assertNotNull(model2);
+		assertEquals(1, loader.getNumberOfParsedFiles());
+		assertEquals(2, loader.getNumberOfConvertedEntities());
+		assertNotSame(model1.getEntityByClassName("Gender"), model2.getEntityByClassName("Gender"));
+		assertNotSame(model1.getEntityByClassName("Person"), model2.getEntityByClassName("Person"));
+		assertSame(model1.getEntityByClassName("Country"), model2.getEntityByClassName("Country"));
+		checkSameAsFullLoading(model2);
+
+		// Country is referenced by Area, Person and Town
+		appendToFile("Country.entity", "\n// comment \n");
+		assertNotNull(loader.loadModel());
+		assertEquals(1, loader.getNumberOfParsedFiles());
+		assertEquals(4, loader.getNumberOfConvertedEntities());
+	}
+
+	@Test
+	public void testEntityAdded() throws IOException {
+		DslModelIncrementalLoader loader = new DslModelIncrementalLoader(modelFolder);
+		assertNotNull(loader.loadModel());
+		Files.write(new File(modelFolder, "Car.entity").toPath(),
+				"Car {\n id : int { @Id } ;\n }\n".getBytes(StandardCharsets.UTF_8));
+		Model model = loader.loadModel();
+		assertNotNull(model);
+		assertEquals(1, loader.getNumberOfParsedFiles());
+		assertEquals(7, loader.getNumberOfConvertedEntities());
+		assertNotNull(model.getEntityByClassName("Car"));
+		checkSameAsFullLoading(model);
+	}
+
+	@Test
+	public void testErrorThenFix() throws IOException {
+		DslModelIncrementalLoader loader = new DslModelIncrementalLoader(modelFolder);
+		assertNotNull(loader.loadModel());
+
+		File file = new File(modelFolder, "Gender.entity");
+		byte[] originalContent = Files.readAllBytes(file.toPath());
+		appendToFile("Gender.entity", "\n foo \n");
+		assertNull(loader.loadModel());
+		assertTrue(loader.getErrors().getNumberOfErrors() > 0);
+
+		Files.write(file.toPath(), originalContent);
+		file.setLastModified(file.lastModified() + 4000);
+		Model model = loader.loadModel();
+		assertNotNull(model);
+		assertEquals(0, loader.getErrors().getNumberOfErrors());
+		assertEquals(1, loader.getNumberOfParsedFiles());
+		assertEquals(6, loader.getNumberOfConvertedEntities());
+		checkSameAsFullLoading(model);
+	}
+
+	@Test
+	public void testSameSizeAndLastModified() throws IOException {
+		DslModelIncrementalLoader loader = new DslModelIncrementalLoader(modelFolder);
+		assertNotNull(loader.loadModel());
+
+		// same size and same last modified time, but new content
+		File file = new File(modelFolder, "Gender.entity");
+		long lastModified = file.lastModified();
+		String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+		Files.write(file.toPath(), content.replace("name : string", "code : string").getBytes(StandardCharsets.UTF_8));
+		file.setLastModified(lastModified);
+		Model model = loader.loadModel();
+		assertNotNull(model);
+		assertEquals(1, loader.getNumberOfParsedFiles());
+		assertNotNull(model.getEntityByClassName("Gender").getAttributeByName("code"));
+	}
+
+	@Test
+	public void testManagerIncrementalLoading() throws IOException {
+		DslModelManager manager = new DslModelManager();
+		manager.setIncrementalLoading(true);
+		assertTrue(manager.isIncrementalLoading());
+		Model model1 = manager.loadModel(modelFolder);
+		assertNotNull(model1);
+		checkSameAsFullLoading(model1);
+
+		appendToFile("Gender.entity", "\n// comment \n");
+		Model model2 = manager.loadModel(modelFolder);
+		assertNotNull(model2);
+		assertNotSame(model1.getEntityByClassName("Gender"), model2.getEntityByClassName("Gender"));
+		assertSame(model1.getEntityByClassName("Country"), model2.getEntityByClassName("Country"));
+		checkSameAsFullLoading(model2);
+
+		appendToFile("Gender.entity", "\n foo \n");
+		assertNull(manager.loadModel(modelFolder));
+		assertTrue(manager.getErrors().getNumberOfErrors() > 0);
+	}
+}
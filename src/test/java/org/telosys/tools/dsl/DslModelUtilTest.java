@@ -1,7 +1,9 @@
 package org.telosys.tools.dsl;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Test;
 import org.telosys.tools.junit.utils.TestFileProvider;
@@ -24,6 +26,15 @@ public class DslModelUtilTest {
     	assertEquals("Toto", modelName);
     }
     
+    @Test
+    public void testGetEntitiesNames() {
+    	Set<String> names = DslModelUtil.getEntitiesNames(Arrays.asList("/foo/bar/Toto.entity", "/foo/bar/Titi.entity"));
+    	assertEquals(2, names.size());
+    	assertTrue(names.contains("Toto"));
+    	assertTrue(names.contains("Titi"));
+    	assertFalse(names.contains("Tutu"));
+    }
+    
     @Test(expected=RuntimeException.class)
     public void testGetEntityNameInvalid() {
     	DslModelUtil.getEntityName(new File("C:/foo/bar/Toto.txt"));
@@ -0,0 +1,150 @@
+package org.telosys.tools.dsl.converter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+import org.telosys.tools.dsl.DslModelManager;
+import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.dsl.monitoring.LoadPhase;
+import org.telosys.tools.dsl.monitoring.LoadStatistics;
+import org.telosys.tools.generic.model.Model;
+import org.telosys.tools.junit.utils.ErrorsUtil;
+import org.telosys.tools.junit.utils.ModelDumper;
+import org.telosys.tools.junit.utils.ParallelTestSupport;
+import org.telosys.tools.junit.utils.TestModels;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ModelConversionSchedulerTest extends ParallelTestSupport {
+
+	/**
+	 * Loads the given model with and without pipeline, then compares the models and the errors
+	 * @return the model loaded with the pipeline
+	 */
+	private Model checkSameResult(File modelFolder) {
+		DslModelManager manager = new DslModelManager();
+		Model expectedModel = manager.loadModel(modelFolder);
+		ModelConversionScheduler scheduler = new ModelConversionScheduler(executor);
+		Model model = scheduler.loadModel(modelFolder);
+
+		assertEquals(manager.getErrorMessage(), scheduler.getErrorMessage());
+		assertEquals(ErrorsUtil.errorMessages(manager.getErrors()), ErrorsUtil.errorMessages(scheduler.getErrors()));
+		if ( expectedModel != null ) {
+			assertNotNull(model);
+			assertEquals(ModelDumper.dump(expectedModel), ModelDumper.dump(model));
+			assertFalse(((DslModel) model).isInReadOnlyPhase());
+		}
+		else {
+			assertNull(model);
+		}
+		return model;
+	}
+
+	/**
+	 * Generates a model where each entity references the next one and the first one 
+	 * (forward references, cycles and self references) 
+	 * @param modelName
+	 * @param numberOfEntities
+	 * @param invalidLinks entities with an invalid link (conversion error)
+	 * @param noIdEntity entity without ID referenced by a FK (conversion exception) or 0
+	 */
+	private File generateModel(String modelName, int numberOfEntities, int invalidLinks, int noIdEntity) throws IOException {
+		return TestModels.generateModel("pipeline/" + modelName, numberOfEntities, (i, writer) -> {
+			int next = i < numberOfEntities ? i + 1 : 1 ;
+			writer.println("@DbTable(TABLE_" + i + ")");
+			writer.println("Entity" + i + " {");
+			writer.println("  id : int " + ( i == noIdEntity ? "" : "{ @Id }" ) + " ;");
+			writer.println("  name : string { @SizeMax(20) #Tag(" + i + ") } ;");
+			writer.println("  nextId : int { @FK(Entity" + next + ") } ;");
+			writer.println("  firstId : int { @FK(FK_FIRST_" + i + ", Entity1) } ;");
+			writer.println("  next : Entity" + next + " ;");
+			writer.println("  first : Entity1 { @LinkByFK(FK_FIRST_" + i + ") } ;");
+			writer.println("  all : Entity" + next + "[] ;");
+			if ( i % invalidLinks == 0 ) {
+				writer.println("  badRef : Entity" + next + " { @LinkByAttr(unknown) } ;");
+			}
+			writer.println("}");
+		});
+	}
+
+	@Test
+	public void testValidModels() {
+		for ( String model : TestModels.VALID_MODELS ) {
+			assertNotNull(checkSameResult(TestModels.validModel(model)));
+		}
+	}
+	@Test
+	public void testInvalidModels() {
+		checkSameResult(new File("src/test/resources/model_test/invalid/FourEntitiesModel"));
+		checkSameResult(new File("src/test/resources/model_test/invalid/TwoEntitiesModel"));
+		checkSameResult(new File("src/test/resources/model_test/valid/FourEntitiesDirty_model"));
+		checkSameResult(new File("src/test/resources/model_test/unknown"));
+	}
+
+	@Test
+	public void testGeneratedModel() throws IOException {
+		Model model = checkSameResult(generateModel("Valid", 60, 1000, 0));
+		assertEquals(60, model.getEntities().size());
+		DslModelEntity entity = (DslModelEntity) model.getEntityByClassName("Entity60");
+		assertEquals("TABLE_60", entity.getDatabaseTable());
+		assertEquals(2, entity.getForeignKeys().size());
+		assertEquals(3, entity.getLinks().size());
+		assertEquals("Entity1", entity.getLinks().get(0).getReferencedEntityName());
+	}
+
+	@Test
+	public void testConversionErrors() throws IOException {
+		// errors in several entities : same errors in the same order
+		assertNull(checkSameResult(generateModel("ConversionErrors", 60, 7, 0)));
+	}
+
+	@Test
+	public void testConversionException() throws IOException {
+		// FK referencing an entity without ID => exception (same message)
+		File modelFolder = generateModel("ConversionException", 60, 7, 30);
+		assertNull(checkSameResult(modelFolder));
+		ModelConversionScheduler scheduler = new ModelConversionScheduler(executor);
+		scheduler.loadModel(modelFolder);
+		assertTrue(scheduler.getErrorMessage().startsWith("Converter error : Entity Entity29 : "));
+	}
+
+	@Test
+	public void testSingleThreadExecutor() throws IOException {
+		ExecutorService singleThreadExecutor = Executors.newSingleThreadExecutor();
+		try {
+			Model model = new ModelConversionScheduler(singleThreadExecutor).loadModel(generateModel("SingleThread", 30, 1000, 0));
+			assertNotNull(model);
+			assertEquals(30, model.getEntities().size());
+		} finally {
+			singleThreadExecutor.shutdown();
+		}
+	}
+
+	@Test
+	public void testManager() {
+		DslModelManager manager = new DslModelManager(executor);
+		manager.setPipelinedLoading(true);
+		assertTrue(manager.isPipelinedLoading());
+		assertNotNull(manager.loadModel("src/test/resources/model_test/valid/PeopleModel"));
+		LoadStatistics statistics = manager.getLoadStatistics();
+		assertEquals(6, statistics.getNumberOfFiles());
+		assertTrue(statistics.getPhaseNanos(LoadPhase.PARSING) > 0);
+		assertTrue(statistics.getPhaseNanos(LoadPhase.CONVERSION) > 0);
+
+		assertNull(manager.loadModel("src/test/resources/model_test/invalid/TwoEntitiesModel"));
+		assertFalse(manager.getErrors().isEmpty());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testManagerWithoutExecutor() {
+		new DslModelManager().setPipelinedLoading(true);
+	}
+}
@@ -0,0 +1,118 @@
+package org.telosys.tools.dsl.converter;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Test;
+import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.DslModelManager;
+import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.dsl.parser.ParserV2;
+import org.telosys.tools.dsl.parser.ParsingResult;
+import org.telosys.tools.dsl.parser.model.DomainModel;
+import org.telosys.tools.junit.utils.ErrorsUtil;
+import org.telosys.tools.junit.utils.ModelDumper;
+import org.telosys.tools.junit.utils.ParallelTestSupport;
+import org.telosys.tools.junit.utils.TestModels;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ModelConverterParallelTest extends ParallelTestSupport {
+
+	private DomainModel parse(File modelFolder) {
+		ParsingResult result = new ParserV2().parseModel(modelFolder);
+		assertFalse(result.hasErrors());
+		return result.getModel();
+	}
+
+	/**
+	 * Converts the given model sequentially and in parallel, then compares the models and the errors
+	 * @return the errors
+	 */
+	private DslModelErrors checkSameResult(DomainModel domainModel) {
+		DslModelErrors sequentialErrors = new DslModelErrors();
+		DslModel sequentialModel = (DslModel) new ModelConverter(sequentialErrors).convertModel(domainModel);
+		DslModelErrors parallelErrors = new DslModelErrors();
+		DslModel parallelModel = (DslModel) new ModelConverter(parallelErrors, null, executor).convertModel(domainModel);
+
+		assertEquals(ErrorsUtil.errorMessages(sequentialErrors), ErrorsUtil.errorMessages(parallelErrors));
+		assertEquals(ModelDumper.dump(sequentialModel), ModelDumper.dump(parallelModel));
+		assertFalse(parallelModel.isInReadOnlyPhase());
+		return parallelErrors;
+	}
+
+	/**
+	 * Generates a model with enough entities to be converted by several tasks <br>
+	 * Each entity references the previous one, some links are invalid (unknown FK)
+	 */
+	private File generateModel(String modelName, int numberOfEntities) throws IOException {
+		return TestModels.generateModel("parallel-conversion/" + modelName, numberOfEntities, (i, writer) -> {
+			writer.println("@DbTable(TABLE_" + i + ")");
+			writer.println("Entity" + i + " {");
+			writer.println("  id : int { @Id } ;");
+			writer.println("  name : string { @SizeMax(20) #Tag(" + i + ") } ;");
+			if ( i > 1 ) {
+				int ref = i - 1 ;
+				writer.println("  refId : int { @FK(FK_" + i + ", Entity" + ref + ") } ;");
+				writer.println("  ref : Entity" + ref + " ;");
+				if ( i % 7 == 0 ) {
+					writer.println("  badRef : Entity" + ref + " { @LinkByFK(NO_FK_" + i + ") } ;");
+				}
+			}
+			writer.println("}");
+		});
+	}
+
+	@Test
+	public void testValidModels() {
+		for ( String model : TestModels.VALID_MODELS ) {
+			DslModelErrors errors = checkSameResult(parse(TestModels.validModel(model)));
+			assertTrue(errors.isEmpty());
+		}
+	}
+
+	@Test
+	public void testSeveralTasks() throws IOException {
+		DomainModel domainModel = parse(generateModel("ManyEntities", 100));
+		DslModelErrors errors = checkSameResult(domainModel);
+		// errors merged in the entities order
+		assertEquals(14, errors.getNumberOfErrors());
+		DslModel model = (DslModel) new ModelConverter(new DslModelErrors(), null, executor).convertModel(domainModel);
+		assertEquals(100, model.getEntities().size());
+		DslModelEntity entity = (DslModelEntity) model.getEntityByClassName("Entity50");
+		assertNotNull(entity);
+		assertEquals("TABLE_50", entity.getDatabaseTable());
+		assertEquals(1, entity.getForeignKeys().size());
+		assertEquals(1, entity.getLinks().size());
+	}
+
+	@Test
+	public void testManagerWithExecutor() {
+		DslModelManager manager = new DslModelManager(executor);
+		assertNotNull(manager.loadModel("src/test/resources/model_test/valid/PeopleModel"));
+		assertTrue(manager.getErrors().isEmpty());
+	}
+
+	@Test
+	public void testReadOnlyPhase() {
+		DslModel model = new DslModel("test");
+		model.addEntity(new DslModelEntity("Foo"));
+		model.beginReadOnlyPhase();
+		assertTrue(model.isInReadOnlyPhase());
+		assertNotNull(model.getEntityByClassName("Foo"));
+		try {
+			model.addEntity(new DslModelEntity("Bar"));
+			fail("Exception expected");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		model.endReadOnlyPhase();
+		model.addEntity(new DslModelEntity("Bar"));
+		assertEquals(2, model.getEntities().size());
+	}
+}
@@ -0,0 +1,106 @@
+package org.telosys.tools.dsl.converter;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+import org.junit.Test;
+import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.commons.ModelInfo;
+import org.telosys.tools.dsl.converter.ModelSymbolTable.EntityReferences;
+import org.telosys.tools.dsl.converter.ModelSymbolTable.ForeignKeyReference;
+import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.dsl.parser.ParserV2;
+import org.telosys.tools.dsl.parser.ParsingResult;
+import org.telosys.tools.dsl.parser.model.DomainModel;
+import org.telosys.tools.junit.utils.TestFileProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ModelSymbolTableTest {
+
+	private DomainModel parseModel(File modelFolder) {
+		ParsingResult result = new ParserV2().parseModel(modelFolder);
+		assertTrue(result.getErrors().isEmpty());
+		return result.getModel() ;
+	}
+
+	private DslModel convertEntitiesAndAttributes(DomainModel domainModel) {
+		DslModel dslModel = new DslModel("test-model", new ModelInfo());
+		ModelConverter converter = new ModelConverter(new DslModelErrors());
+		converter.step1CreateAllVoidEntities(domainModel, dslModel);
+		converter.step2CreateAllAttributes(domainModel, dslModel);
+		return dslModel;
+	}
+
+	@Test
+	public void testResolvedReferences() {
+		DomainModel domainModel = parseModel(new File("src/test/resources/model_test/valid/PeopleModel"));
+		DslModel dslModel = convertEntitiesAndAttributes(domainModel);
+		ModelSymbolTable symbolTable = new ModelSymbolTable(dslModel);
+		symbolTable.resolveAllReferences(domainModel.getEntities());
+
+		assertSame(dslModel.getEntityByClassName("Country"), symbolTable.getEntity("Country"));
+		assertNull(symbolTable.getEntity("Unknown"));
+		assertNull(symbolTable.getEntity(null));
+
+		EntityReferences references = symbolTable.getReferences(domainModel.getEntity("Person"));
+		assertEquals("Person", references.getEntityName());
+		assertSame(dslModel.getEntityByClassName("Person"), references.getEntity());
+		// @FK(Country), @FK(Gender), @FK(FK_PERSON_TOWN, Town) 
+		List<ForeignKeyReference> fkReferences = references.getForeignKeyReferences();
+		assertEquals(3, fkReferences.size());
+		ForeignKeyReference townReference = fkReferences.get(2);
+		townReference.checkResolved();
+		assertEquals("FK_PERSON_TOWN", townReference.getFkName());
+		assertSame(references.getEntity().getAttributeByName("townId"), townReference.getOriginAttribute());
+		assertSame(dslModel.getEntityByClassName("Town"), townReference.getReferencedEntity());
+		assertSame(townReference.getReferencedEntity().getAttributeByName("id"), townReference.getReferencedAttribute());
+		// links 
+		assertSame(dslModel.getEntityByClassName("Country"), references.getLinkTarget("country"));
+		assertSame(dslModel.getEntityByClassName("Department"), references.getLinkTarget("department"));
+		assertNull(references.getLinkTarget("countryCode"));
+	}
+
+	@Test
+	public void testUnresolvedReference() throws IOException {
+		File modelFolder = TestFileProvider.getTargetTmpFile("symbols/BadFkModel");
+		modelFolder.mkdirs();
+		try ( PrintWriter writer = new PrintWriter(new FileWriter(new File(modelFolder, "Author.entity"))) ) {
+			writer.println("Author {");
+			writer.println("  id : int { @Id } ;");
+			writer.println("}");
+		}
+		try ( PrintWriter writer = new PrintWriter(new FileWriter(new File(modelFolder, "Book.entity"))) ) {
+			writer.println("Book {");
+			writer.println("  id : int { @Id } ;");
+			writer.println("  authorId : int { @FK(Author.code) } ;");
+			writer.println("}");
+		}
+		DomainModel domainModel = parseModel(modelFolder);
+		DslModel dslModel = convertEntitiesAndAttributes(domainModel);
+		// resolution never throws an exception 
+		EntityReferences references = new ModelSymbolTable(dslModel).resolveReferences(domainModel.getEntity("Book"));
+		ForeignKeyReference reference = references.getForeignKeyReferences().get(0);
+		assertNull(reference.getReferencedEntity());
+		try {
+			reference.checkResolved();
+			fail("Exception expected");
+		} catch (IllegalStateException e) {
+			assertEquals("authorId : FK error : 'code' not found in entity 'Author'", e.getMessage());
+		}
+		// same error when building the Foreign Keys
+		try {
+			new ForeignKeysBuilderV2(dslModel).buildForeignKeys(domainModel.getEntity("Book"));
+			fail("Exception expected");
+		} catch (IllegalStateException e) {
+			assertEquals("authorId : FK error : 'code' not found in entity 'Author'", e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package org.telosys.tools.dsl.model;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+import org.telosys.tools.dsl.tags.Tag;
+import org.telosys.tools.dsl.tags.TagError;
+import org.telosys.tools.dsl.tags.Tags;
+import org.telosys.tools.generic.model.TagContainer;
+import org.telosys.tools.generic.model.enums.BooleanValue;
+import org.telosys.tools.generic.model.enums.DateType;
+import org.telosys.tools.generic.model.enums.GeneratedValueStrategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DslModelAttributeTest {
+
+	@Test
+	public void testDefaultValues() {
+		DslModelAttribute attribute = new DslModelAttribute("foo", "string");
+		assertEquals("foo", attribute.getName());
+		assertEquals("string", attribute.getNeutralType());
+		assertEquals("", attribute.getDatabaseName());
+		assertEquals("", attribute.getDatabaseComment());
+		assertEquals("", attribute.getDefaultValue());
+		assertEquals("", attribute.getPattern());
+		assertNull(attribute.getSize());
+		assertNull(attribute.getMaxLength());
+		assertNull(attribute.getMinValue());
+		assertNull(attribute.getGeneratedValueSequenceName());
+		assertNull(attribute.getReferencedEntityClassName());
+		assertEquals(DateType.UNDEFINED, attribute.getDateType());
+		assertEquals(GeneratedValueStrategy.UNDEFINED, attribute.getGeneratedValueStrategy());
+		assertEquals(BooleanValue.UNDEFINED, attribute.getInsertable());
+		assertEquals(BooleanValue.UNDEFINED, attribute.getUpdatable());
+		assertFalse(attribute.isNotNull());
+		assertFalse(attribute.isKeyElement());
+		assertFalse(attribute.isFK());
+		assertFalse(attribute.isGeneratedValue());
+		assertFalse(attribute.hasFKParts());
+		assertEquals(0, attribute.getFKParts().size());
+		assertTrue(attribute.getTagContainer() instanceof Tags);
+		assertTrue(attribute.getTagContainer().isEmpty());
+		assertSame(attribute.getTagContainer(), attribute.getTagContainer());
+	}
+
+	@Test
+	public void testFlags() {
+		DslModelAttribute attribute = new DslModelAttribute("foo", "int");
+		attribute.setNotNull(true);
+		attribute.setUnique(true);
+		attribute.setFKComposite(true);
+		assertTrue(attribute.isNotNull());
+		assertTrue(attribute.isUnique());
+		assertTrue(attribute.isFK());
+		assertFalse(attribute.isFKSimple());
+		assertTrue(attribute.isFKComposite());
+		assertFalse(attribute.isNotEmpty());
+		assertFalse(attribute.isTransient());
+
+		attribute.setNotNull(false);
+		attribute.setFKComposite(false);
+		assertFalse(attribute.isNotNull());
+		assertTrue(attribute.isUnique());
+		assertFalse(attribute.isFK());
+	}
+
+	@Test
+	public void testEnums() {
+		DslModelAttribute attribute = new DslModelAttribute("foo", "date");
+		attribute.setDateType(DateType.DATE_ONLY);
+		attribute.setInsertable(BooleanValue.FALSE);
+		attribute.setUpdatable(BooleanValue.TRUE);
+		attribute.setGeneratedValueStrategy(GeneratedValueStrategy.SEQUENCE);
+		assertEquals(DateType.DATE_ONLY, attribute.getDateType());
+		assertEquals(BooleanValue.FALSE, attribute.getInsertable());
+		assertEquals(BooleanValue.TRUE, attribute.getUpdatable());
+		assertEquals(GeneratedValueStrategy.SEQUENCE, attribute.getGeneratedValueStrategy());
+		assertTrue(attribute.isGeneratedValue());
+
+		attribute.setDateType(null);
+		assertNull(attribute.getDateType());
+		assertEquals(BooleanValue.FALSE, attribute.getInsertable());
+		assertEquals(GeneratedValueStrategy.SEQUENCE, attribute.getGeneratedValueStrategy());
+	}
+
+	@Test
+	public void testAllEnumValues() {
+		DslModelAttribute attribute = new DslModelAttribute("foo", "date");
+		for ( DateType v : DateType.values() ) {
+			attribute.setDateType(v);
+			assertEquals(v, attribute.getDateType());
+		}
+		for ( GeneratedValueStrategy v : GeneratedValueStrategy.values() ) {
+			attribute.setGeneratedValueStrategy(v);
+			assertEquals(v, attribute.getGeneratedValueStrategy());
+		}
+		for ( BooleanValue v : BooleanValue.values() ) {
+			attribute.setInsertable(v);
+			attribute.setUpdatable(v);
+			assertEquals(v, attribute.getInsertable());
+			assertEquals(v, attribute.getUpdatable());
+		}
+	}
+
+	@Test
+	public void testSparseValues() {
+		DslModelAttribute attribute = new DslModelAttribute("foo", "decimal");
+		attribute.setDatabaseComment("my comment");
+		attribute.setMinValue(new BigDecimal("1.5"));
+		attribute.setMaxLength(20);
+		attribute.setSize("8,2");
+		assertEquals("my comment", attribute.getDatabaseComment());
+		assertEquals(new BigDecimal("1.5"), attribute.getMinValue());
+		assertEquals(Integer.valueOf(20), attribute.getMaxLength());
+		assertEquals("8,2", attribute.getSize());
+
+		attribute.setDatabaseComment("other comment");
+		assertEquals("other comment", attribute.getDatabaseComment());
+
+		// back to the default values
+		attribute.setDatabaseComment("");
+		attribute.setMinValue(null);
+		assertEquals("", attribute.getDatabaseComment());
+		assertNull(attribute.getMinValue());
+		assertEquals(Integer.valueOf(20), attribute.getMaxLength());
+		assertEquals("8,2", attribute.getSize());
+	}
+
+	@Test
+	public void testFKParts() {
+		DslModelAttribute attribute1 = new DslModelAttribute("foo", "int");
+		DslModelAttribute attribute2 = new DslModelAttribute("bar", "int");
+		attribute1.addFKPart(new DslModelForeignKeyPart("FK1", "Car", "id"));
+		attribute1.addFKPart(new DslModelForeignKeyPart("FK2", "Driver", "id"));
+		assertTrue(attribute1.hasFKParts());
+		assertEquals(2, attribute1.getFKParts().size());
+		assertEquals("FK2", attribute1.getFKParts().get(1).getFkName());
+		// void list not impacted
+		assertFalse(attribute2.hasFKParts());
+	}
+
+	@Test
+	public void testFKPartsModifiable() {
+		DslModelAttribute attribute = new DslModelAttribute("foo", "int");
+		attribute.getFKParts().add(new DslModelForeignKeyPart("FK1", "Car", "id"));
+		assertTrue(attribute.hasFKParts());
+		assertEquals(1, attribute.getFKParts().size());
+	}
+
+	@Test
+	public void testTags() throws TagError {
+		DslModelAttribute attribute1 = new DslModelAttribute("foo", "int");
+		DslModelAttribute attribute2 = new DslModelAttribute("bar", "int");
+		TagContainer defaultTags = attribute1.getTagContainer();
+		assertTrue(defaultTags.isEmpty());
+		assertFalse(defaultTags.containsTag("Foo"));
+		assertEquals("", defaultTags.getTagValue("Foo"));
+		assertEquals(12, defaultTags.getTagValueAsInt("Foo", 12));
+		// default container is still a mutable Tags instance
+		((Tags) attribute2.getTagContainer()).addTag(new Tag("Bar", "xyz"));
+		assertEquals("xyz", attribute2.getTagContainer().getTagValue("Bar"));
+
+		Tags tags = new Tags();
+		tags.addTag(new Tag("Foo", "abc"));
+		attribute1.setTagContainer(tags);
+		assertEquals("abc", attribute1.getTagContainer().getTagValue("Foo"));
+		assertFalse(attribute2.getTagContainer().containsTag("Foo"));
+	}
+}
@@ -0,0 +1,172 @@
+package org.telosys.tools.dsl.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.telosys.tools.generic.model.Attribute;
+import org.telosys.tools.generic.model.ForeignKey;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DslModelEntityTest {
+
+	@Test
+	public void testGetAttributeByName() {
+		DslModelEntity entity = new DslModelEntity("Car");
+		DslModelAttribute id = new DslModelAttribute("id", "int");
+		DslModelAttribute name = new DslModelAttribute("name", "string");
+		entity.addAttribute(id);
+		assertSame(id, entity.getAttributeByName("id"));
+		assertNull(entity.getAttributeByName("name"));
+		entity.addAttribute(name);
+		assertSame(id, entity.getAttributeByName("id"));
+		assertSame(name, entity.getAttributeByName("name"));
+		assertNull(entity.getAttributeByName("foo"));
+	}
+
+	@Test
+	public void testReplaceAttribute() {
+		DslModelEntity entity = new DslModelEntity("Car");
+		DslModelAttribute id = new DslModelAttribute("id", "int");
+		DslModelAttribute name = new DslModelAttribute("name", "string");
+		entity.addAttribute(id);
+		entity.addAttribute(name);
+
+		DslModelAttribute name2 = new DslModelAttribute("name", "string");
+		assertSame(name, entity.replaceAttribute("name", name2));
+		assertSame(name2, entity.getAttributeByName("name"));
+
+		DslModelAttribute code = new DslModelAttribute("code", "string");
+		assertSame(id, entity.replaceAttribute("id", code));
+		assertNull(entity.getAttributeByName("id"));
+		assertSame(code, entity.getAttributeByName("code"));
+		assertEquals(0, entity.getAttributes().indexOf(code));
+
+		assertNull(entity.replaceAttribute("foo", code));
+	}
+
+	@Test
+	public void testSetAttributes() {
+		DslModelEntity entity = new DslModelEntity("Car");
+		entity.addAttribute(new DslModelAttribute("id", "int"));
+		assertEquals("id", entity.getAttributeByName("id").getName());
+
+		List<Attribute> attributes = new ArrayList<>();
+		DslModelAttribute code = new DslModelAttribute("code", "string");
+		attributes.add(code);
+		entity.setAttributes(attributes);
+		assertNull(entity.getAttributeByName("id"));
+		assertSame(code, entity.getAttributeByName("code"));
+
+		// list modified directly
+		DslModelAttribute name = new DslModelAttribute("name", "string");
+		attributes.add(0, name);
+		assertSame(name, entity.getAttributeByName("name"));
+		assertSame(code, entity.getAttributeByName("code"));
+	}
+
+	@Test
+	public void testDuplicatedAttributeName() {
+		DslModelEntity entity = new DslModelEntity("Car");
+		DslModelAttribute name1 = new DslModelAttribute("name", "string");
+		DslModelAttribute name2 = new DslModelAttribute("name", "string");
+		entity.addAttribute(name1);
+		entity.addAttribute(name2);
+		assertSame(name1, entity.getAttributeByName("name")); // first one
+	}
+
+	@Test
+	public void testGetLinkByFieldName() {
+		DslModelEntity entity = new DslModelEntity("Car");
+		DslModelLink driver = new DslModelLink("driver");
+		DslModelLink agency = new DslModelLink("agency");
+		entity.addLink(driver);
+		assertSame(driver, entity.getLinkByFieldName("driver"));
+		assertNull(entity.getLinkByFieldName("agency"));
+		entity.addLink(agency);
+		assertSame(agency, entity.getLinkByFieldName("agency"));
+		assertSame(driver, entity.getLinkByFieldName("driver"));
+	}
+
+	@Test
+	public void testGetForeignKeyByName() {
+		DslModelEntity entity = new DslModelEntity("Car");
+		DslModelForeignKey fk1 = new DslModelForeignKey("FK_CAR_DRIVER", "Car", "Driver");
+		DslModelForeignKey fk2 = new DslModelForeignKey("FK_CAR_AGENCY", "Car", "Agency");
+		entity.addForeignKey(fk1);
+		entity.addForeignKey(fk2);
+		assertSame(fk1, entity.getForeignKeyByName("FK_CAR_DRIVER"));
+		assertSame(fk2, entity.getForeignKeyByName("FK_CAR_AGENCY"));
+		assertNull(entity.getForeignKeyByName("FK_FOO"));
+	}
+
+	@Test
+	public void testGetForeignKeysByReferencedEntity() {
+		DslModelEntity entity = new DslModelEntity("Car");
+		DslModelForeignKey fk1 = new DslModelForeignKey("FK_CAR_DRIVER1", "Car", "Driver");
+		DslModelForeignKey fk2 = new DslModelForeignKey("FK_CAR_AGENCY", "Car", "Agency");
+		DslModelForeignKey fk3 = new DslModelForeignKey("FK_CAR_DRIVER2", "Car", "Driver");
+		entity.addForeignKey(fk1);
+		assertEquals(1, entity.getForeignKeysByReferencedEntity("Driver").size());
+		entity.addForeignKey(fk2);
+		entity.addForeignKey(fk3);
+		List<ForeignKey> driverForeignKeys = entity.getForeignKeysByReferencedEntity("Driver");
+		assertEquals(2, driverForeignKeys.size());
+		assertSame(fk1, driverForeignKeys.get(0));
+		assertSame(fk3, driverForeignKeys.get(1));
+		assertSame(fk2, entity.getForeignKeysByReferencedEntity("Agency").get(0));
+		assertTrue(entity.getForeignKeysByReferencedEntity("Foo").isEmpty());
+
+		// list modified directly => index rebuilt
+		entity.getForeignKeys().remove(fk1);
+		assertEquals(1, entity.getForeignKeysByReferencedEntity("Driver").size());
+		assertSame(fk3, entity.getForeignKeysByReferencedEntity("Driver").get(0));
+	}
+
+	@Test
+	public void testKeyAttributes() {
+		DslModelEntity entity = new DslModelEntity("Car");
+		assertFalse(entity.hasId());
+		assertEquals(0, entity.getIdCount());
+
+		DslModelAttribute id1 = new DslModelAttribute("id1", "int");
+		id1.setKeyElement(true);
+		entity.addAttribute(id1);
+		entity.addAttribute(new DslModelAttribute("name", "string"));
+		assertTrue(entity.hasId());
+		assertEquals(1, entity.getIdCount());
+		assertSame(entity.getKeyAttributes(), entity.getKeyAttributes()); // cached
+
+		// key element set after 'addAttribute'
+		DslModelAttribute id2 = new DslModelAttribute("id2", "int");
+		entity.addAttribute(id2);
+		assertEquals(1, entity.getIdCount());
+		id2.setKeyElement(true);
+		assertEquals(2, entity.getIdCount());
+		assertTrue(entity.hasCompositeId());
+		assertSame(id1, entity.getKeyAttributes().get(0));
+		assertSame(id2, entity.getKeyAttributes().get(1));
+
+		// replaced attribute
+		entity.replaceAttribute("id1", new DslModelAttribute("id1", "int"));
+		assertEquals(1, entity.getIdCount());
+		assertSame(id2, entity.getKeyAttributes().get(0));
+
+		// list modified directly
+		DslModelAttribute id3 = new DslModelAttribute("id3", "int");
+		id3.setKeyElement(true);
+		entity.getAttributes().add(id3);
+		assertEquals(2, entity.getIdCount());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testKeyAttributesUnmodifiable() {
+		DslModelEntity entity = new DslModelEntity("Car");
+		entity.getKeyAttributes().add(new DslModelAttribute("id", "int"));
+	}
+}
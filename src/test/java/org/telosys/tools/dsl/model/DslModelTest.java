@@ -0,0 +1,91 @@
+package org.telosys.tools.dsl.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class DslModelTest {
+
+	private DslModelEntity buildEntity(String className, String tableName) {
+		DslModelEntity entity = new DslModelEntity(className);
+		entity.setDatabaseTable(tableName);
+		return entity;
+	}
+
+	@Test
+	public void testGetEntityByClassName() {
+		DslModel model = new DslModel("mymodel");
+		DslModelEntity car = buildEntity("Car", "CAR");
+		DslModelEntity driver = buildEntity("Driver", "DRIVER");
+		DslModelEntity agency = buildEntity("Agency", "AGENCY");
+		model.addEntity(car);
+		model.addEntity(driver);
+		assertSame(car, model.getEntityByClassName("Car"));
+		assertSame(driver, model.getEntityByClassName("Driver"));
+		assertNull(model.getEntityByClassName("Agency"));
+
+		model.addEntity(agency);
+		assertSame(agency, model.getEntityByClassName("Agency"));
+
+		model.sortEntitiesByClassName();
+		assertSame(agency, model.getEntities().get(0));
+		assertSame(agency, model.getEntityByClassName("Agency"));
+		assertSame(car, model.getEntityByClassName("Car"));
+		assertSame(driver, model.getEntityByClassName("Driver"));
+		assertNull(model.getEntityByClassName("Foo"));
+	}
+
+	@Test
+	public void testGetEntityByTableName() {
+		DslModel model = new DslModel("mymodel");
+		DslModelEntity car = buildEntity("Car", "CAR");
+		DslModelEntity driver = buildEntity("Driver", "DRIVER");
+		model.addEntity(car);
+		model.addEntity(driver);
+		assertSame(car, model.getEntityByTableName("CAR"));
+		assertSame(driver, model.getEntityByTableName("DRIVER"));
+		assertNull(model.getEntityByTableName("Car"));
+
+		// table name changed after 'addEntity'
+		car.setDatabaseTable("TCAR");
+		assertNull(model.getEntityByTableName("CAR"));
+		assertSame(car, model.getEntityByTableName("TCAR"));
+
+		// new table name looked up before the old one
+		driver.setDatabaseTable("TDRIVER");
+		assertSame(driver, model.getEntityByTableName("TDRIVER"));
+		assertNull(model.getEntityByTableName("DRIVER"));
+		assertNull(model.getEntityByTableName("FOO"));
+	}
+
+	@Test
+	public void testEntitiesListModifiedDirectly() {
+		DslModel model = new DslModel("mymodel");
+		DslModelEntity car = buildEntity("Car", "CAR");
+		model.addEntity(car);
+		assertSame(car, model.getEntityByClassName("Car"));
+
+		DslModelEntity driver = buildEntity("Driver", "DRIVER");
+		model.getEntities().add(driver);
+		assertSame(driver, model.getEntityByClassName("Driver"));
+		assertSame(driver, model.getEntityByTableName("DRIVER"));
+
+		model.getEntities().remove(car);
+		assertNull(model.getEntityByClassName("Car"));
+		assertEquals(1, model.getEntities().size());
+	}
+
+	@Test
+	public void testDuplicatedTableName() {
+		DslModel model = new DslModel("mymodel");
+		DslModelEntity car1 = buildEntity("Car1", "CAR");
+		DslModelEntity car2 = buildEntity("Car2", "CAR");
+		model.addEntity(car2);
+		model.addEntity(car1);
+		assertSame(car2, model.getEntityByTableName("CAR")); // first in list
+		model.sortEntitiesByClassName();
+		assertSame(car1, model.getEntityByTableName("CAR")); // first in list
+	}
+}
@@ -0,0 +1,172 @@
+package org.telosys.tools.dsl.model.snapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.telosys.tools.dsl.DslModelManager;
+import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.generic.model.Model;
+import org.telosys.tools.junit.utils.ModelDumper;
+import org.telosys.tools.junit.utils.TestFileProvider;
+import org.telosys.tools.junit.utils.TestModels;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DslModelSnapshotTest {
+
+	private File modelFolder;
+	private File cacheDirectory;
+
+	@Before
+	public void copyModel() throws IOException {
+		File srcFolder = TestModels.validModel("PeopleModel");
+		modelFolder = TestFileProvider.getTargetTmpFile("snapshot/models/PeopleModel");
+		cacheDirectory = TestFileProvider.getTargetTmpFile("snapshot/cache");
+		modelFolder.mkdirs();
+		for ( File file : modelFolder.listFiles() ) {
+			file.delete();
+		}
+		for ( File file : srcFolder.listFiles() ) {
+			Files.copy(file.toPath(), new File(modelFolder, file.getName()).toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		new DslModelSnapshotCache(cacheDirectory).delete(modelFolder);
+		new DslModelSnapshotCache().delete(modelFolder);
+	}
+
+	private DslModel writeAndRead(DslModel model) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new DslModelSnapshotWriter().write(model, "abc", out);
+		return new DslModelSnapshotReader().read(new ByteArrayInputStream(out.toByteArray()), "abc");
+	}
+
+	@Test
+	public void testRoundTripAllValidModels() throws Exception {
+		for ( String modelName : TestModels.VALID_MODELS ) {
+			DslModel model = (DslModel) new DslModelManager().loadModel(TestModels.validModel(modelName));
+			assertNotNull("Cannot load " + modelName, model);
+			DslModel snapshotModel = writeAndRead(model);
+			assertEquals("Model " + modelName, ModelDumper.dump(model), ModelDumper.dump(snapshotModel));
+		}
+	}
+
+	@Test
+	public void testFingerprintMismatch() throws IOException {
+		DslModel model = (DslModel) new DslModelManager().loadModel(modelFolder);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new DslModelSnapshotWriter().write(model, "abc", out);
+		assertEquals("abc", new DslModelSnapshotReader().readFingerprint(new ByteArrayInputStream(out.toByteArray())));
+		assertNull(new DslModelSnapshotReader().read(new ByteArrayInputStream(out.toByteArray()), "xyz"));
+		assertNotNull(new DslModelSnapshotReader().read(new ByteArrayInputStream(out.toByteArray()), null));
+	}
+
+	@Test
+	public void testInvalidSnapshot() throws IOException {
+		DslModel model = (DslModel) new DslModelManager().loadModel(modelFolder);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new DslModelSnapshotWriter().write(model, "abc", out);
+		byte[] truncated = Arrays.copyOf(out.toByteArray(), out.size() / 2);
+		try {
+			new DslModelSnapshotReader().read(new ByteArrayInputStream(truncated), "abc");
+			fail("IOException expected");
+		} catch (IOException e) {
+			// expected
+		}
+		try {
+			new DslModelSnapshotReader().read(new ByteArrayInputStream("not a snapshot".getBytes()), "abc");
+			fail("IOException expected");
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testFingerprint() throws IOException {
+		String fingerprint = ModelFingerprint.compute(modelFolder);
+		assertEquals(64, fingerprint.length());
+		assertEquals(fingerprint, ModelFingerprint.compute(modelFolder));
+		assertNotEquals(fingerprint, ModelFingerprint.compute(TestModels.validModel("FourEntitiesModel")));
+		// touched file => same fingerprint
+		File file = new File(modelFolder, "Country.entity");
+		file.setLastModified(file.lastModified() + 2000);
+		assertEquals(fingerprint, ModelFingerprint.compute(modelFolder));
+		// changed model.yaml => new fingerprint
+		Files.write(new File(modelFolder, "model.yaml").toPath(), "\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+		assertNotEquals(fingerprint, ModelFingerprint.compute(modelFolder));
+	}
+
+	@Test
+	public void testModelManagerWithCacheDirectory() throws Exception {
+		DslModelSnapshotCache cache = new DslModelSnapshotCache(cacheDirectory);
+		assertEquals(new File(cacheDirectory, "PeopleModel.snapshot"), cache.getSnapshotFile(modelFolder));
+
+		DslModelManager dslModelManager = new DslModelManager();
+		dslModelManager.setSnapshotCache(cache);
+		Model model1 = dslModelManager.loadModel(modelFolder);
+		assertNotNull(model1);
+		assertFalse(dslModelManager.isLoadedFromSnapshot());
+		assertTrue(cache.getSnapshotFile(modelFolder).isFile());
+
+		Model model2 = dslModelManager.loadModel(modelFolder);
+		assertNotNull(model2);
+		assertTrue(dslModelManager.isLoadedFromSnapshot());
+		assertEquals(ModelDumper.dump(model1), ModelDumper.dump(model2));
+
+		// changed entity => parsed again and new snapshot
+		Files.write(new File(modelFolder, "Country.entity").toPath(), "\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+		assertNotNull(dslModelManager.loadModel(modelFolder));
+		assertFalse(dslModelManager.isLoadedFromSnapshot());
+		assertNotNull(dslModelManager.loadModel(modelFolder));
+		assertTrue(dslModelManager.isLoadedFromSnapshot());
+	}
+
+	@Test
+	public void testModelManagerNextToModel() throws Exception {
+		DslModelSnapshotCache cache = new DslModelSnapshotCache();
+		File snapshotFile = cache.getSnapshotFile(modelFolder);
+		assertEquals(new File(modelFolder.getAbsoluteFile().getParentFile(), "PeopleModel.snapshot"), snapshotFile);
+
+		DslModelManager dslModelManager = new DslModelManager();
+		dslModelManager.setSnapshotCache(cache);
+		assertNotNull(dslModelManager.loadModel(modelFolder));
+		assertTrue(snapshotFile.isFile());
+
+		// corrupted snapshot => model parsed and snapshot replaced
+		Files.write(snapshotFile.toPath(), "corrupted".getBytes(StandardCharsets.UTF_8));
+		assertNotNull(dslModelManager.loadModel(modelFolder));
+		assertFalse(dslModelManager.isLoadedFromSnapshot());
+		assertNotNull(dslModelManager.loadModel(modelFolder));
+		assertTrue(dslModelManager.isLoadedFromSnapshot());
+	}
+
+	@Test
+	public void testModelManagerNoErrorAfterSnapshotHit() throws Exception {
+		DslModelManager dslModelManager = new DslModelManager();
+		dslModelManager.setSnapshotCache(new DslModelSnapshotCache(cacheDirectory));
+		assertNotNull(dslModelManager.loadModel(modelFolder));
+
+		// errors in another model
+		assertNull(dslModelManager.loadModel(new File("src/test/resources/model_test/invalid/TwoEntitiesModel")));
+		assertTrue(dslModelManager.getErrors().getNumberOfErrors() > 0);
+
+		// loaded from the snapshot => previous errors cleared
+		assertNotNull(dslModelManager.loadModel(modelFolder));
+		assertTrue(dslModelManager.isLoadedFromSnapshot());
+		assertEquals(0, dslModelManager.getErrors().getNumberOfErrors());
+		assertEquals("", dslModelManager.getErrorMessage());
+	}
+}
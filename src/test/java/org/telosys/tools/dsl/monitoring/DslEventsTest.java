@@ -0,0 +1,89 @@
+package org.telosys.tools.dsl.monitoring;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.Test;
+import org.telosys.tools.dsl.DslModelManager;
+import org.telosys.tools.junit.utils.TestFileProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DslEventsTest {
+
+	private static final String PEOPLE_MODEL = "src/test/resources/model_test/valid/PeopleModel" ;
+
+	private List<RecordedEvent> recordEvents(Recording recording, String fileName) throws IOException {
+		File file = TestFileProvider.getTargetTmpFile(fileName);
+		file.getParentFile().mkdirs();
+		recording.start();
+		assertNotNull(new DslModelManager().loadModel(PEOPLE_MODEL));
+		recording.stop();
+		recording.dump(file.toPath());
+		return RecordingFile.readAllEvents(file.toPath());
+	}
+
+	private List<RecordedEvent> select(List<RecordedEvent> events, String eventName) {
+		List<RecordedEvent> list = new ArrayList<>();
+		for ( RecordedEvent event : events ) {
+			if ( event.getEventType().getName().equals(eventName) ) {
+				list.add(event);
+			}
+		}
+		return list;
+	}
+
+	@Test
+	public void testNoEventWithoutRecording() {
+		assertTrue(DslEvents.isJfrAvailable());
+		assertSame(DslEvent.NONE, DslEvents.begin(DslEventType.PARSE_ENTITY));
+	}
+
+	@Test
+	public void testEventsRecorded() throws IOException {
+		List<RecordedEvent> events ;
+		try ( Recording recording = new Recording() ) {
+			recording.enable("org.telosys.dsl.ParseEntity");
+			recording.enable("org.telosys.dsl.LoadPhase");
+			recording.enable("org.telosys.dsl.ConvertEntity");
+			recording.enable("org.telosys.dsl.BuildForeignKeys");
+			events = recordEvents(recording, "jfr/events.jfr");
+		}
+		List<RecordedEvent> parseEvents = select(events, "org.telosys.dsl.ParseEntity");
+		assertEquals(6, parseEvents.size());
+		for ( RecordedEvent event : parseEvents ) {
+			String entityName = event.getString("entityName");
+			assertEquals(new File(PEOPLE_MODEL, entityName + ".entity").length(), event.getLong("fileSize"));
+			assertTrue(event.getInt("elements") > 0);
+		}
+		// 11 phases : parsing (3) + conversion (8)
+		assertEquals(11, select(events, "org.telosys.dsl.LoadPhase").size());
+		assertEquals(6, select(events, "org.telosys.dsl.ConvertEntity").size());
+		int foreignKeys = 0 ;
+		for ( RecordedEvent event : select(events, "org.telosys.dsl.BuildForeignKeys") ) {
+			foreignKeys += event.getInt("foreignKeys");
+		}
+		assertEquals(4, foreignKeys);
+	}
+
+	@Test
+	public void testDisabledEvent() throws IOException {
+		List<RecordedEvent> events ;
+		try ( Recording recording = new Recording() ) {
+			recording.enable("org.telosys.dsl.LoadPhase");
+			recording.disable("org.telosys.dsl.ParseEntity");
+			events = recordEvents(recording, "jfr/disabled.jfr");
+		}
+		assertEquals(0, select(events, "org.telosys.dsl.ParseEntity").size());
+		assertEquals(11, select(events, "org.telosys.dsl.LoadPhase").size());
+	}
+}
@@ -0,0 +1,137 @@
+package org.telosys.tools.dsl.monitoring;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.DslModelManager;
+import org.telosys.tools.dsl.parser.ParserV2;
+import org.telosys.tools.dsl.parser.ParsingResult;
+import org.telosys.tools.generic.model.Model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LoadStatisticsTest {
+
+	private static final String PEOPLE_MODEL = "src/test/resources/model_test/valid/PeopleModel" ;
+	private static final String INVALID_MODEL = "src/test/resources/model_test/invalid/TwoEntitiesModel" ;
+
+	private static final LoadPhase[] MODEL_PHASES = {
+			LoadPhase.PARSING, LoadPhase.MODEL_INFO, LoadPhase.FOLDER_WALK,
+			LoadPhase.CONVERSION, LoadPhase.ENTITIES_CREATION, LoadPhase.ATTRIBUTES_CREATION,
+			LoadPhase.REFERENCES_RESOLUTION, LoadPhase.EXPLICIT_FOREIGN_KEYS, LoadPhase.LINKS_CREATION, 
+			LoadPhase.IMPLICIT_FOREIGN_KEYS, LoadPhase.MODEL_CHECKING };
+
+	/**
+	 * Listener keeping the phases events in the order of notification
+	 */
+	private static class PhasesRecorder implements DslModelLoadListener {
+		private final List<String> events = new ArrayList<>();
+
+		@Override
+		public void phaseStarted(LoadPhase phase) {
+			events.add("start " + phase);
+		}
+
+		@Override
+		public void phaseEnded(LoadPhase phase, long elapsedNanos, int numberOfErrors) {
+			assertTrue(elapsedNanos >= 0);
+			events.add("end " + phase);
+		}
+	}
+
+	private void checkPeopleModelStatistics(LoadStatistics statistics) {
+		assertEquals(6, statistics.getNumberOfFiles());
+		assertEquals(6, statistics.getPhaseCount(LoadPhase.LEXING));
+		assertEquals(6, statistics.getPhaseCount(LoadPhase.ELEMENTS_PROCESSING));
+		for ( LoadPhase phase : MODEL_PHASES ) {
+			assertEquals(phase.toString(), 1, statistics.getPhaseCount(phase));
+			assertEquals(phase.toString(), 0, statistics.getPhaseErrors(phase));
+		}
+		assertEquals(0, statistics.getTotalErrors());
+		assertEquals(new File(PEOPLE_MODEL, "Area.entity").length(), statistics.getEntity("Area").getFileSize());
+		assertEquals(4, statistics.getTotalForeignKeys());
+		assertEquals(1, statistics.getEntity("Area").getNumberOfForeignKeys());
+		assertEquals(3, statistics.getEntity("Person").getNumberOfForeignKeys());
+		assertTrue(statistics.getTotalFields() > 6);
+		assertTrue(statistics.getTotalAnnotations() > statistics.getTotalForeignKeys());
+		assertTrue(statistics.getTotalElements() > statistics.getTotalFields());
+		assertTrue(statistics.getPhaseNanos(LoadPhase.PARSING) >= statistics.getPhaseNanos(LoadPhase.FOLDER_WALK));
+	}
+
+	@Test
+	public void testValidModel() {
+		PhasesRecorder recorder = new PhasesRecorder();
+		DslModelManager dslModelManager = new DslModelManager(null, recorder);
+		Model model = dslModelManager.loadModel(PEOPLE_MODEL);
+		assertNotNull(model);
+		checkPeopleModelStatistics(dslModelManager.getLoadStatistics());
+		System.out.println(dslModelManager.getLoadStatistics());
+
+		assertEquals(2 * MODEL_PHASES.length, recorder.events.size());
+		assertEquals("start PARSING", recorder.events.get(0));
+		assertEquals("end PARSING", recorder.events.get(5));
+		assertEquals("start CONVERSION", recorder.events.get(6));
+		assertEquals("start ENTITIES_CREATION", recorder.events.get(7));
+		assertEquals("end CONVERSION", recorder.events.get(recorder.events.size() - 1));
+
+		// new statistics for each loading
+		LoadStatistics first = dslModelManager.getLoadStatistics();
+		dslModelManager.loadModel(PEOPLE_MODEL);
+		checkPeopleModelStatistics(dslModelManager.getLoadStatistics());
+		assertEquals(6, first.getNumberOfFiles());
+	}
+
+	@Test
+	public void testParallelParsing() {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			DslModelManager dslModelManager = new DslModelManager(executor);
+			assertNotNull(dslModelManager.loadModel(PEOPLE_MODEL));
+			checkPeopleModelStatistics(dslModelManager.getLoadStatistics());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testInvalidModel() {
+		LoadStatistics statistics = new LoadStatistics();
+		ParsingResult result = new ParserV2(null, statistics).parseModel(INVALID_MODEL);
+		int numberOfErrors = result.getErrors().getNumberOfErrors();
+		assertTrue(numberOfErrors > 0);
+		assertEquals(numberOfErrors, statistics.getPhaseErrors(LoadPhase.PARSING));
+		assertEquals(numberOfErrors, statistics.getTotalErrors());
+		int entitiesErrors = 0 ;
+		for ( EntityLoadStatistics entityStatistics : statistics.getEntities() ) {
+			entitiesErrors += entityStatistics.getNumberOfErrors();
+		}
+		assertEquals(numberOfErrors, entitiesErrors);
+		assertEquals(0, statistics.getPhaseCount(LoadPhase.CONVERSION));
+
+		// manager : no conversion after parsing errors
+		DslModelManager dslModelManager = new DslModelManager();
+		assertNull(dslModelManager.loadModel(INVALID_MODEL));
+		assertEquals(numberOfErrors, dslModelManager.getLoadStatistics().getTotalErrors());
+	}
+
+	@Test
+	public void testMissingFile() {
+		LoadStatistics statistics = new LoadStatistics();
+		new ParserV2(null, statistics).parseEntity("src/test/resources/model_test/valid/PeopleModel/Foo.entity",
+				new ArrayList<String>(), new DslModelErrors());
+		EntityLoadStatistics entityStatistics = statistics.getEntity("Foo");
+		assertNotNull(entityStatistics);
+		assertEquals(1, entityStatistics.getLexingErrors());
+		assertEquals(0, entityStatistics.getFileSize());
+		assertEquals(1, statistics.getPhaseErrors(LoadPhase.LEXING));
+		assertEquals(0, statistics.getPhaseCount(LoadPhase.ELEMENTS_PROCESSING));
+	}
+}
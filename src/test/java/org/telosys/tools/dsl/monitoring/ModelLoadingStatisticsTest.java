@@ -0,0 +1,101 @@
+package org.telosys.tools.dsl.monitoring;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+import org.telosys.tools.dsl.DslModelManager;
+import org.telosys.tools.generic.model.Model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ModelLoadingStatisticsTest {
+
+	private static final String PEOPLE_MODEL = "src/test/resources/model_test/valid/PeopleModel" ;
+	private static final String INVALID_MODEL = "src/test/resources/model_test/invalid/TwoEntitiesModel" ;
+
+	@Test
+	public void testCounters() {
+		ModelLoadingStatistics statistics = new ModelLoadingStatistics();
+		DslModelManager dslModelManager = new DslModelManager(null, statistics);
+		assertNotNull(dslModelManager.loadModel(PEOPLE_MODEL));
+		assertEquals(1, statistics.getTotalLoads());
+		assertEquals(0, statistics.getFailedLoads());
+		assertEquals(0, statistics.getLastErrorCount());
+		assertEquals(6, statistics.getEntitiesProcessed());
+		assertEquals(dslModelManager.getLoadStatistics().getTotalFields(), statistics.getFieldsProcessed());
+		assertTrue(statistics.getCumulativeParsingNanos() > 0);
+		assertTrue(statistics.getCumulativeConversionNanos() > 0);
+
+		DslModelManager dslModelManager2 = new DslModelManager(null, statistics);
+		assertNull(dslModelManager2.loadModel(INVALID_MODEL));
+		assertEquals(2, statistics.getTotalLoads());
+		assertEquals(1, statistics.getFailedLoads());
+		assertEquals(dslModelManager2.getErrors().getNumberOfErrors(), statistics.getLastErrorCount());
+		assertTrue(statistics.getLastErrorCount() > 0);
+		assertEquals(0, statistics.getCacheHits());
+
+		statistics.reset();
+		assertEquals(0, statistics.getTotalLoads());
+		assertEquals(0, statistics.getEntitiesProcessed());
+		assertEquals(0, statistics.getMaxParsingTimeMillis());
+	}
+
+	@Test
+	public void testConcurrentLoadings() throws Exception {
+		final ModelLoadingStatistics statistics = new ModelLoadingStatistics();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Model>> futures = new ArrayList<>();
+			for ( int i = 0 ; i < 20 ; i++ ) {
+				futures.add(executor.submit(new Callable<Model>() {
+					@Override
+					public Model call() {
+						return new DslModelManager(null, statistics).loadModel(PEOPLE_MODEL);
+					}
+				}));
+			}
+			for ( Future<Model> future : futures ) {
+				assertNotNull(future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(20, statistics.getTotalLoads());
+		assertEquals(0, statistics.getFailedLoads());
+		assertEquals(20 * 6, statistics.getEntitiesProcessed());
+	}
+
+	@Test
+	public void testMBean() throws Exception {
+		ModelLoadingStatistics statistics = new ModelLoadingStatistics();
+		ObjectName objectName = ModelLoadingMBeans.register(statistics, "test");
+		MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+		try {
+			assertTrue(mbeanServer.isRegistered(objectName));
+			assertNotNull(new DslModelManager(null, statistics).loadModel(PEOPLE_MODEL));
+			assertEquals(1L, mbeanServer.getAttribute(objectName, "TotalLoads"));
+			assertEquals(6L, mbeanServer.getAttribute(objectName, "EntitiesProcessed"));
+			assertEquals(0, mbeanServer.getAttribute(objectName, "LastErrorCount"));
+			mbeanServer.invoke(objectName, "reset", null, null);
+			assertEquals(0L, mbeanServer.getAttribute(objectName, "TotalLoads"));
+			// same name => replaced
+			assertEquals(objectName, ModelLoadingMBeans.register(new ModelLoadingStatistics(), "test"));
+		} finally {
+			ModelLoadingMBeans.unregister("test");
+		}
+		assertFalse(mbeanServer.isRegistered(objectName));
+	}
+}
@@ -0,0 +1,64 @@
+package org.telosys.tools.dsl.parser;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AnnotationOrTagHeaderTest {
+
+	private AnnotationOrTagHeader scan(String s) {
+		return AnnotationOrTagHeader.scan(s);
+	}
+
+	@Test
+	public void testWithoutParameter() {
+		AnnotationOrTagHeader header = scan("@NotBlank");
+		assertTrue(header.isOk());
+		assertEquals("NotBlank", header.getName());
+		assertFalse(header.hasParameter());
+		assertEquals(-1, header.getParameterStart());
+		assertNull(header.getParameter());
+
+		assertEquals("MyTag", scan("#MyTag  ").getName());
+		assertEquals("", scan("@").getName());
+	}
+
+	@Test
+	public void testParameterRange() {
+		String s = "@Foo ( 123.45 ) ";
+		AnnotationOrTagHeader header = scan(s);
+		assertTrue(header.isOk());
+		assertEquals("Foo", header.getName());
+		assertTrue(header.hasParameter());
+		assertEquals(7, header.getParameterStart());
+		assertEquals(13, header.getParameterEnd());
+		assertEquals("123.45", header.getParameter());
+
+		assertEquals("", scan("@Foo(   )").getParameter());
+		assertEquals("(123)", scan("@Foo( (123)  )").getParameter());
+	}
+
+	@Test
+	public void testQuotedParameter() {
+		// parenthesis in quotes
+		assertEquals("\"a(z)er\"", scan("@Foo(\"a(z)er\")").getParameter());
+		assertEquals("\"a)\"", scan("@Foo(\"a)\")").getParameter());
+		// escaped quote in quotes
+		assertEquals("\"a\\\")b\"", scan("#Foo(\"a\\\")b\")").getParameter());
+		// closing parenthesis only in quotes (unterminated quote) : last one
+		assertEquals("\"a)b", scan("@Foo(\"a)b)").getParameter());
+	}
+
+	@Test
+	public void testErrors() {
+		assertEquals(AnnotationOrTagHeader.Status.INVALID_NAME, scan("@Fo o ( 1 )").getStatus());
+		assertEquals(AnnotationOrTagHeader.Status.INVALID_NAME, scan("@ Foo").getStatus());
+		assertEquals(AnnotationOrTagHeader.Status.INVALID_NAME, scan("@Foo)").getStatus());
+		assertEquals(AnnotationOrTagHeader.Status.INVALID_NAME, scan("@Foo1").getStatus());
+		assertEquals(AnnotationOrTagHeader.Status.CLOSING_PARENTHESIS_MISSING, scan("@Foo(12").getStatus());
+		assertEquals("')' missing", scan("@Foo(12").getStatus().getMessage());
+	}
+}
@@ -13,6 +13,7 @@ import org.telosys.tools.dsl.parser.model.DomainNeutralType;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class AnnotationParserTest {
@@ -246,4 +247,26 @@ public class AnnotationParserTest {
 	public void testParseDbSizeError8() throws DslModelError {
 		parseAnnotationInAttribute("@DbSize(aa,2)"); 
 	}
+
+	@Test
+	public void testSharedInstances() throws DslModelError {
+		// annotations without parameter : same instance 
+		DomainAnnotation annotation = parseAnnotationInAttribute("@NotNull");
+		assertSame(annotation, parseAnnotationInAttribute("@NotNull"));
+		assertSame(parseAnnotationInLink("@Optional"), parseAnnotationInLink("@Optional"));
+		assertEquals("NotNull", annotation.getName());
+		assertFalse(annotation.hasParameter());
+		// frequent parameter values : same value instance
+		DomainAnnotation sizeMax1 = parseAnnotationInAttribute("@SizeMax(20)");
+		DomainAnnotation sizeMax2 = parseAnnotationInAttribute("@SizeMax( 20 )");
+		assertTrue(sizeMax1 != sizeMax2);
+		assertSame(sizeMax1.getParameter(), sizeMax2.getParameter());
+		assertSame(parseAnnotationInAttribute("@DbName(CODE)").getParameter(), 
+				parseAnnotationInAttribute("@DbName( CODE )").getParameter());
+	}
+
+	@Test(expected = DslModelError.class)
+	public void testSharedInstanceWithParameter() throws DslModelError {
+		parseAnnotationInAttribute("@NotNull(2)"); 
+	}
 }
@@ -0,0 +1,154 @@
+package org.telosys.tools.dsl.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import org.telosys.tools.dsl.DslModelError;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EntityElementsLexerTest {
+
+	private List<String> toStrings(List<Element> elements) {
+		List<String> list = new LinkedList<>();
+		for ( Element e : elements ) {
+			list.add(e.toString());
+		}
+		return list;
+	}
+
+	private String parseWithParser(File file) {
+		try {
+			return toStrings(new EntityElementsParser().parseEntityFile(file)).toString();
+		} catch (DslModelError e) {
+			return "ERROR : " + e.getReportMessage();
+		}
+	}
+
+	private String parseWithLexer(File file) {
+		try {
+			return toStrings(new EntityElementsLexer().parseEntityFile(file)).toString();
+		} catch (DslModelError e) {
+			return "ERROR : " + e.getReportMessage();
+		}
+	}
+
+	private String parseWithSharedReader(EntityElementsLexer lexer, File file) {
+		try {
+			return toStrings(lexer.parseEntityFile(file)).toString();
+		} catch (DslModelError e) {
+			return "ERROR : " + e.getReportMessage();
+		}
+	}
+
+	private List<Element> parseText(String text) throws DslModelError {
+		return new EntityElementsLexer().parseEntityContent("MyEntity", text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testSameElementsForAllTestFiles() throws IOException {
+		List<Path> files;
+		try (Stream<Path> stream = Files.walk(Paths.get("src/test/resources"))) {
+			files = stream.filter(p -> p.toString().endsWith(".entity")).collect(Collectors.toList());
+		}
+		assertTrue(files.size() > 50);
+		for ( Path path : files ) {
+			assertEquals(path.toString(), parseWithParser(path.toFile()), parseWithLexer(path.toFile()));
+		}
+	}
+
+	@Test
+	public void testSameElementsWithSharedMemoryMappingReader() throws IOException {
+		// threshold 0 : all the files are memory-mapped and decoded in the same buffer
+		EntityElementsLexer lexer = new EntityElementsLexer(new EntityFileReader(0));
+		try (Stream<Path> stream = Files.walk(Paths.get("src/test/resources/entity_test_v_3_2"))) {
+			for ( Path path : stream.filter(p -> p.toString().endsWith(".entity")).collect(Collectors.toList()) ) {
+				assertEquals(path.toString(), parseWithParser(path.toFile()), parseWithSharedReader(lexer, path.toFile()));
+			}
+		}
+		assertEquals("ERROR : " + new DslModelError("NotFound.entity", "File not found").getReportMessage(), 
+				parseWithSharedReader(lexer, new File("src/test/resources/NotFound.entity")));
+	}
+
+	@Test
+	public void testLineNumbers() throws DslModelError {
+		List<Element> elements = parseText("Foo {\r\n id : int ; // comment \r\n\r\n name:string;\r}\n");
+		assertEquals(11, elements.size());
+		assertEquals("Foo", elements.get(0).getContent());
+		assertEquals(1, elements.get(0).getLineNumber());
+		assertEquals("id", elements.get(2).getContent());
+		assertEquals(2, elements.get(2).getLineNumber());
+		assertEquals("name", elements.get(6).getContent());
+		assertEquals(4, elements.get(6).getLineNumber());
+		assertEquals("}", elements.get(10).getContent());
+		assertEquals(5, elements.get(10).getLineNumber());
+	}
+
+	@Test
+	public void testAnnotationsAndTags() throws DslModelError {
+		List<Element> elements = parseText("  @DefaultValue( \"a \\\"xx\\\"a\" )    #MyTag  #Foo(1\\\"2)  @OneToOne ");
+		assertEquals(3, elements.size());
+		assertEquals("@DefaultValue( \"a \\\"xx\\\"a\" )", elements.get(0).getContent());
+		assertTrue(elements.get(1).startsWithTagPrefix());
+		assertTrue(elements.get(1).contentEquals("#MyTag"));
+		assertEquals("#Foo(1\\\"2)  @OneToOne ", elements.get(2).getContent());
+	}
+
+	@Test
+	public void testElementKinds() throws DslModelError {
+		List<Element> elements = parseText("Foo { id : int { @Id #Tag } ; }");
+		ElementKind[] expected = { ElementKind.WORD, ElementKind.SEPARATOR_OPEN, ElementKind.WORD, 
+				ElementKind.TYPE_SEPARATOR, ElementKind.WORD, ElementKind.SEPARATOR_OPEN, ElementKind.ANNOTATION, 
+				ElementKind.TAG, ElementKind.SEPARATOR_CLOSE, ElementKind.FIELD_END, ElementKind.SEPARATOR_CLOSE };
+		assertEquals(expected.length, elements.size());
+		for ( int i = 0 ; i < expected.length ; i++ ) {
+			assertEquals(expected[i], elements.get(i).getKind());
+			assertEquals(expected[i], new Element(1, elements.get(i).getContent()).getKind());
+		}
+		// separators content : shared constants
+		assertSame(elements.get(1).getContent(), elements.get(5).getContent());
+		assertSame(ElementKind.SEPARATOR_OPEN.getSeparator(), new Element(2, '{').getContent());
+	}
+
+	@Test
+	public void testCommentDropsCurrentElement() throws DslModelError {
+		List<Element> elements = parseText("aa bb// comment\ncc");
+		assertEquals(2, elements.size());
+		assertEquals("aa", elements.get(0).getContent());
+		assertEquals("cc", elements.get(1).getContent());
+	}
+
+	@Test
+	public void testUnexpectedCharacter() {
+		try {
+			parseText("Foo {\n id : int { @Id (12) } ;");
+		} catch (DslModelError e) {
+			assertEquals(2, e.getLineNumber());
+			assertEquals("Unexpected character [(] after element [@Id]", e.getErrorMessage());
+			return;
+		}
+		throw new AssertionError("DslModelError expected");
+	}
+
+	@Test
+	public void testLexerPool() {
+		EntityElementsLexerPool pool = new EntityElementsLexerPool();
+		EntityElementsLexer lexer1 = pool.lendLexer();
+		EntityElementsLexer lexer2 = pool.lendLexer();
+		assertTrue(lexer1 != lexer2);
+		pool.giveBackLexer(lexer1);
+		assertSame(lexer1, pool.lendLexer()); // reused
+		assertTrue(pool.lendLexer() != lexer2); // still lent => new lexer
+	}
+}
@@ -0,0 +1,66 @@
+package org.telosys.tools.dsl.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+
+import org.junit.Test;
+import org.telosys.tools.junit.utils.TestFileProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class EntityFileReaderTest {
+
+	private File writeFile(String fileName, String content) throws IOException {
+		File file = TestFileProvider.getTargetTmpFile("reader/" + fileName);
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	private String read(EntityFileReader reader, File file) throws IOException {
+		int length = reader.read(file);
+		assertEquals(length, reader.getLength());
+		return new String(reader.getChars(), 0, length);
+	}
+
+	@Test
+	public void testReadSmallFile() throws IOException {
+		File file = writeFile("Foo.entity", "Foo {\n  name : string ; // Employé \n}\n");
+		assertEquals("Foo {\n  name : string ; // Employé \n}\n", read(new EntityFileReader(), file));
+	}
+
+	@Test
+	public void testReadMemoryMappedFile() throws IOException {
+		File file = writeFile("Bar.entity", "Bar {\n  name : string ; // Employé \n}\n");
+		// threshold 0 : all the files are memory-mapped
+		assertEquals("Bar {\n  name : string ; // Employé \n}\n", read(new EntityFileReader(0), file));
+	}
+
+	@Test
+	public void testReusableBuffer() throws IOException {
+		EntityFileReader reader = new EntityFileReader();
+		File file1 = writeFile("Big.entity", "Big {\n  name : string ;\n  code : int ;\n}\n");
+		File file2 = writeFile("Small.entity", "Small { }");
+		assertEquals("Big {\n  name : string ;\n  code : int ;\n}\n", read(reader, file1));
+		char[] buffer = reader.getChars();
+		assertEquals("Small { }", read(reader, file2));
+		assertSame(buffer, reader.getChars());
+		assertEquals("", read(reader, writeFile("Empty.entity", "")));
+	}
+
+	@Test(expected=NoSuchFileException.class)
+	public void testFileNotFound() throws IOException {
+		new EntityFileReader().read(new File("src/test/resources/foo/NotFound.entity"));
+	}
+
+	@Test(expected=CharacterCodingException.class)
+	public void testInvalidUtf8() throws IOException {
+		new EntityFileReader().decode(ByteBuffer.wrap(new byte[] { 'a', (byte) 0xC3, 'b' }));
+	}
+}
@@ -0,0 +1,165 @@
+package org.telosys.tools.dsl.parser;
+
+import java.io.File;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Test;
+import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.parser.annotation.AnnotationName;
+import org.telosys.tools.dsl.parser.model.DomainAnnotation;
+import org.telosys.tools.dsl.parser.model.DomainEntity;
+import org.telosys.tools.dsl.parser.model.DomainField;
+import org.telosys.tools.dsl.parser.model.DomainModel;
+import org.telosys.tools.dsl.parser.model.DomainTag;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EntityScannerTest {
+
+	/**
+	 * Visitor counting all the notified elements
+	 */
+	private static class CountingVisitor implements EntityVisitor {
+		int entities = 0 ;
+		int entitiesEnd = 0 ;
+		int entityAnnotations = 0 ;
+		int fields = 0 ;
+		int fieldAnnotations = 0 ;
+		int foreignKeys = 0 ;
+		int tags = 0 ;
+		List<String> errors = new LinkedList<>();
+
+		@Override
+		public EntityVisitResult onEntity(String entityName, File entityFile) {
+			entities++;
+			return EntityVisitResult.CONTINUE;
+		}
+		@Override
+		public EntityVisitResult onEntityAnnotation(String entityName, DomainAnnotation annotation) {
+			entityAnnotations++;
+			return EntityVisitResult.CONTINUE;
+		}
+		@Override
+		public EntityVisitResult onField(String entityName, DomainField field) {
+			fields++;
+			return EntityVisitResult.CONTINUE;
+		}
+		@Override
+		public EntityVisitResult onFieldAnnotation(String entityName, DomainField field, DomainAnnotation annotation) {
+			if ( AnnotationName.FK.equals(annotation.getName()) ) {
+				foreignKeys++;
+			}
+			else {
+				fieldAnnotations++;
+			}
+			return EntityVisitResult.CONTINUE;
+		}
+		@Override
+		public EntityVisitResult onTag(String entityName, String fieldName, DomainTag tag) {
+			tags++;
+			return EntityVisitResult.CONTINUE;
+		}
+		@Override
+		public EntityVisitResult onError(DslModelError error) {
+			errors.add(error.getReportMessage());
+			return EntityVisitResult.CONTINUE;
+		}
+		@Override
+		public EntityVisitResult onEntityEnd(String entityName) {
+			entitiesEnd++;
+			return EntityVisitResult.CONTINUE;
+		}
+	}
+
+	private void checkSameAsParser(String modelFolder) {
+		CountingVisitor visitor = new CountingVisitor();
+		assertTrue(new EntityScanner().scanModel(new File(modelFolder), visitor));
+
+		ParsingResult result = new ParserV2().parseModel(modelFolder);
+		List<String> expectedErrors = new LinkedList<>();
+		for ( DslModelError e : result.getErrors().getErrors() ) {
+			expectedErrors.add(e.getReportMessage());
+		}
+		assertEquals(expectedErrors, visitor.errors);
+		if ( ! result.hasErrors() ) {
+			DomainModel model = result.getModel();
+			int fields = 0 ;
+			int entityAnnotations = 0 ;
+			int fieldAnnotations = 0 ;
+			int foreignKeys = 0 ;
+			int tags = 0 ;
+			for ( DomainEntity entity : model.getEntities() ) {
+				entityAnnotations += entity.getAnnotations().size();
+				tags += entity.getTags().size();
+				for ( DomainField field : entity.getFields() ) {
+					fields++;
+					fieldAnnotations += field.getAnnotations().size();
+					foreignKeys += field.getFkElements().size();
+					tags += field.getTags().size();
+				}
+			}
+			assertEquals(model.getNumberOfEntities(), visitor.entities);
+			assertEquals(visitor.entities, visitor.entitiesEnd);
+			assertEquals(fields, visitor.fields);
+			assertEquals(entityAnnotations, visitor.entityAnnotations);
+			assertEquals(fieldAnnotations, visitor.fieldAnnotations);
+			assertEquals(foreignKeys, visitor.foreignKeys);
+			assertEquals(tags, visitor.tags);
+		}
+	}
+
+	@Test
+	public void testValidModels() {
+		checkSameAsParser("src/test/resources/model_test/valid/PeopleModel");
+		checkSameAsParser("src/test/resources/model_test/valid/FourEntitiesModel");
+		checkSameAsParser("src/test/resources/model_test/valid/SubGroupModel");
+		checkSameAsParser("src/test/resources/model_test/valid/typesModel");
+	}
+
+	@Test
+	public void testInvalidModels() {
+		checkSameAsParser("src/test/resources/model_test/invalid/FourEntitiesModel");
+		checkSameAsParser("src/test/resources/model_test/invalid/TwoEntitiesModel");
+	}
+
+	@Test
+	public void testTerminate() {
+		final List<String> fields = new LinkedList<>();
+		EntityVisitor visitor = new EntityVisitor() {
+			@Override
+			public EntityVisitResult onField(String entityName, DomainField field) {
+				fields.add(field.getName());
+				return fields.size() == 2 ? EntityVisitResult.TERMINATE : EntityVisitResult.CONTINUE;
+			}
+		};
+		assertFalse(new EntityScanner().scanModel(new File("src/test/resources/model_test/valid/PeopleModel"), visitor));
+		assertEquals(2, fields.size());
+	}
+
+	@Test
+	public void testSkipEntity() {
+		CountingVisitor visitor = new CountingVisitor() {
+			@Override
+			public EntityVisitResult onEntity(String entityName, File entityFile) {
+				super.onEntity(entityName, entityFile);
+				return EntityVisitResult.SKIP_ENTITY;
+			}
+		};
+		assertTrue(new EntityScanner().scanModel(new File("src/test/resources/model_test/valid/PeopleModel"), visitor));
+		assertEquals(6, visitor.entities);
+		assertEquals(6, visitor.entitiesEnd);
+		assertEquals(0, visitor.fields);
+		assertEquals(0, visitor.tags);
+	}
+
+	@Test
+	public void testModelFolderNotFound() {
+		CountingVisitor visitor = new CountingVisitor();
+		assertTrue(new EntityScanner().scanModel(new File("src/test/resources/model_test/valid/NotFound"), visitor));
+		assertEquals(1, visitor.errors.size());
+		assertEquals(0, visitor.entities);
+	}
+}
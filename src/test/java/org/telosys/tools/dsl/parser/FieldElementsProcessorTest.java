@@ -1,9 +1,11 @@
 package org.telosys.tools.dsl.parser;
 
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -19,6 +21,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class FieldElementsProcessorTest {
@@ -262,4 +265,27 @@ public class FieldElementsProcessorTest {
 				buildElements("foo",":","int",  "{", "aaa",  "}", "}") ); // multiple }
 	}
 	
+	//--------------------------------------------------------------------------
+	// entities names
+	//--------------------------------------------------------------------------
+	@Test
+	public void testEntitiesNamesAsSet() {
+		Set<String> entitiesNames = new HashSet<>(Arrays.asList("Country", "Employee"));
+		assertSame(entitiesNames, FieldElementsProcessor.toSet(entitiesNames)); // no copy
+		Set<String> set = FieldElementsProcessor.toSet(Arrays.asList("Country", "Employee"));
+		assertEquals(2, set.size());
+		assertTrue(set.contains("Employee"));
+
+		FieldElementsProcessor processor = new FieldElementsProcessor("Country", entitiesNames);
+		DomainField field = processor.processFieldElements( buildElements("employees", ":", "Employee[]"), errors );
+		assertNotNull(field);
+		assertTrue(field.getType().isEntity());
+		assertEquals("Employee", field.getType().getName());
+		assertTrue(errors.isEmpty());
+
+		field = processor.processFieldElements( buildElements("foo", ":", "Employees"), errors );
+		assertNull(field);
+		assertEquals(1, errors.getNumberOfErrors());
+	}
+
 }
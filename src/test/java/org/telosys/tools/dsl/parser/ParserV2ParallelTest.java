@@ -0,0 +1,62 @@
+package org.telosys.tools.dsl.parser;
+
+import java.io.File;
+
+import org.junit.Test;
+import org.telosys.tools.dsl.DslModelManager;
+import org.telosys.tools.dsl.parser.model.DomainModel;
+import org.telosys.tools.junit.utils.ErrorsUtil;
+import org.telosys.tools.junit.utils.ParallelTestSupport;
+import org.telosys.tools.junit.utils.TestModels;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class ParserV2ParallelTest extends ParallelTestSupport {
+
+	private void checkSameResult(File modelFolder) {
+		ParsingResult sequentialResult = new ParserV2().parseModel(modelFolder);
+		ParsingResult parallelResult = new ParserV2(executor).parseModel(modelFolder);
+
+		assertEquals(sequentialResult.hasErrors(), parallelResult.hasErrors());
+		assertEquals(ErrorsUtil.errorMessages(sequentialResult.getErrors()), ErrorsUtil.errorMessages(parallelResult.getErrors()));
+
+		DomainModel sequentialModel = sequentialResult.getModel();
+		DomainModel parallelModel = parallelResult.getModel();
+		assertEquals(sequentialModel.getEntityNames(), parallelModel.getEntityNames());
+		for ( String entityName : sequentialModel.getEntityNames() ) {
+			assertEquals(sequentialModel.getEntity(entityName).toString(),
+					parallelModel.getEntity(entityName).toString());
+		}
+	}
+
+	@Test
+	public void testValidModels() {
+		for ( String model : TestModels.VALID_MODELS ) {
+			checkSameResult(TestModels.validModel(model));
+		}
+	}
+
+	@Test
+	public void testInvalidModels() {
+		checkSameResult(new File("src/test/resources/model_test/invalid/FourEntitiesModel"));
+		checkSameResult(new File("src/test/resources/model_test/invalid/TwoEntitiesModel"));
+	}
+
+	@Test
+	public void testParallelParsingErrors() {
+		ParsingResult result = new ParserV2(executor).parseModel("src/test/resources/model_test/invalid/FourEntitiesModel");
+		assertTrue(result.hasErrors());
+		assertFalse(result.getErrors().getErrors().isEmpty());
+	}
+
+	@Test
+	public void testNullExecutor() {
+		// no executor => sequential parsing
+		ParsingResult result = new ParserV2(null).parseModel("src/test/resources/model_test/invalid/FourEntitiesModel");
+		assertTrue(result.hasErrors());
+		assertNotNull(new DslModelManager(null).loadModel("src/test/resources/model_test/valid/PeopleModel"));
+	}
+}
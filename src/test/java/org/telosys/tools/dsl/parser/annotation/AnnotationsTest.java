@@ -3,10 +3,15 @@ package org.telosys.tools.dsl.parser.annotation;
 import java.util.List;
 
 import org.junit.Test;
+import org.telosys.tools.dsl.model.DslModelAttribute;
+import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.dsl.parser.commons.ParamError;
+import org.telosys.tools.dsl.parser.model.DomainAnnotation;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 
@@ -58,6 +63,61 @@ public class AnnotationsTest {
 		
 	}
 
+	@Test
+	public void testGetAllDefinitionsByName() {
+		for ( AnnotationDefinition ad : AnnotationDefinitions.getAll() ) {
+			assertSame(ad, AnnotationDefinitions.get(ad.getName()));
+		}
+		assertNull(AnnotationDefinitions.get(null));
+		assertNull(AnnotationDefinitions.get("id")); // case sensitive
+	}
+
+	@Test
+	public void testDefinitionBoundToDomainAnnotation() {
+		assertSame(AnnotationDefinitions.get("Id"), new DomainAnnotation("Id").getAnnotationDefinition());
+		assertSame(AnnotationDefinitions.get("SizeMax"), new DomainAnnotation("SizeMax", 12).getAnnotationDefinition());
+	}
+
+	@Test
+	public void testDefinitionsOrdinals() {
+		assertEquals(AnnotationDefinitions.getAll().size(), AnnotationDefinitions.count());
+		int ordinal = 0 ;
+		for ( AnnotationDefinition ad : AnnotationDefinitions.getAll() ) {
+			assertEquals(ordinal, ad.getOrdinal());
+			assertSame(ad, AnnotationDefinitions.get(ordinal));
+			ordinal++;
+		}
+		assertEquals(AnnotationDefinitions.get("Id").getOrdinal(), new DomainAnnotation("Id").getDefinitionOrdinal());
+		assertEquals(Integer.MAX_VALUE, new DomainAnnotation("Abcdef").getDefinitionOrdinal());
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void testUnknownDefinitionForDomainAnnotation() {
+		new DomainAnnotation("Abcdef").getAnnotationDefinition();
+	}
+
+	@Test
+	public void testApplierChecksOnce() throws ParamError {
+		DslModelEntity entity = new DslModelEntity("Car");
+		DslModelAttribute attribute = new DslModelAttribute("foo", "int");
+		AnnotationApplier applier = AnnotationDefinitions.get("MaxLen").bind(12);
+		assertSame(AnnotationDefinitions.get("MaxLen"), applier.getDefinition());
+		applier.applyToAttribute(null, entity, attribute);
+		assertEquals(Integer.valueOf(12), attribute.getMaxLength());
+	}
+
+	@Test(expected=ParamError.class)
+	public void testApplierInvalidParameter() throws ParamError {
+		AnnotationApplier applier = AnnotationDefinitions.get("MaxLen").bind("12");
+		applier.applyToAttribute(null, new DslModelEntity("Car"), new DslModelAttribute("foo", "int"));
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void testApplierNotInScope() throws ParamError {
+		AnnotationApplier applier = AnnotationDefinitions.get("MaxLen").bind(12);
+		applier.applyToEntity(null, new DslModelEntity("Car"));
+	}
+
 	@Test
 	public void testGetAnnotations1() {
 		List<String> list = AnnotationDefinitions.getAllAnnotationsWithPrefix();
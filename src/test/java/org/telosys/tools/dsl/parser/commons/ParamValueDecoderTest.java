@@ -0,0 +1,130 @@
+package org.telosys.tools.dsl.parser.commons;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParamValueDecoderTest {
+
+	private ParamDecodingStatus checkInteger(String s) {
+		return ParamValueDecoder.checkInteger(s, 0, s.length());
+	}
+
+	private ParamDecodingStatus checkDecimal(String s) {
+		return ParamValueDecoder.checkDecimal(s, 0, s.length());
+	}
+
+	private ParamDecodingStatus checkSize(String s) {
+		return ParamValueDecoder.checkSize(s, 0, s.length());
+	}
+
+	@Test
+	public void testIntegerSameAsParseInt() {
+		String[] values = { "0", "123", "-123", "+45", "007", "-0", "2147483647", "-2147483648",
+				"2147483648", "-2147483649", "99999999999", "", "-", "+", "12AB34", "12.34", " 12", "12 ", "1-2", "++1" };
+		for ( String v : values ) {
+			Integer expected ;
+			try {
+				expected = Integer.parseInt(v);
+			} catch (NumberFormatException e) {
+				expected = null ;
+			}
+			ParamDecodingStatus status = checkInteger(v);
+			if ( expected != null ) {
+				assertEquals(v, ParamDecodingStatus.OK, status);
+				assertEquals(v, expected.intValue(), ParamValueDecoder.toInt(v, 0, v.length()));
+			}
+			else {
+				assertFalse(v, status.isOk());
+			}
+		}
+		assertEquals(ParamDecodingStatus.MISSING, checkInteger(""));
+		assertEquals(ParamDecodingStatus.MISSING, ParamValueDecoder.checkInteger(null, 0, 0));
+		assertEquals(ParamDecodingStatus.INVALID_INTEGER, checkInteger("abc"));
+	}
+
+	@Test
+	public void testDecimalSameAsBigDecimal() {
+		String[] values = { "0", "12", "-12.5", "+.5", "1.", "1.2e3", "1.2E-3", "-1e+10", "1e2147483647",
+				"1e99999999999", ".", "", "-", "1e", "1e+", "1.2.3", "1,2", "abc", " 1", "1 ", "e5", "1e5.5" };
+		for ( String v : values ) {
+			BigDecimal expected ;
+			try {
+				expected = new BigDecimal(v);
+			} catch (NumberFormatException e) {
+				expected = null ;
+			}
+			ParamDecodingStatus status = checkDecimal(v);
+			if ( expected != null ) {
+				assertEquals(v, ParamDecodingStatus.OK, status);
+				assertEquals(v, expected, ParamValueDecoder.toBigDecimal(v, 0, v.length()));
+			}
+			else {
+				assertFalse(v, status.isOk());
+			}
+		}
+	}
+
+	@Test
+	public void testBoolean() {
+		String s = "@X(  True  )";
+		assertEquals(ParamDecodingStatus.OK, ParamValueDecoder.checkBoolean(s, 3, 11));
+		assertTrue(ParamValueDecoder.toBoolean(s, 3, 11));
+		s = "FALSE";
+		assertEquals(ParamDecodingStatus.OK, ParamValueDecoder.checkBoolean(s, 0, s.length()));
+		assertFalse(ParamValueDecoder.toBoolean(s, 0, s.length()));
+		s = "truee";
+		assertEquals(ParamDecodingStatus.INVALID_BOOLEAN, ParamValueDecoder.checkBoolean(s, 0, s.length()));
+		s = "   ";
+		assertEquals(ParamDecodingStatus.INVALID_BOOLEAN, ParamValueDecoder.checkBoolean(s, 0, s.length()));
+	}
+
+	@Test
+	public void testSize() {
+		assertEquals(ParamDecodingStatus.OK, checkSize("12"));
+		assertEquals(ParamDecodingStatus.OK, checkSize("8,2"));
+		assertEquals(ParamDecodingStatus.OK, checkSize("8,2,")); // trailing empty parts ignored
+		assertEquals(ParamDecodingStatus.INVALID_SIZE_FORMAT, checkSize("8,"));
+		assertEquals(ParamDecodingStatus.INVALID_SIZE_FORMAT, checkSize(",,"));
+		assertEquals(ParamDecodingStatus.INVALID_SIZE_FORMAT, checkSize("1,2,3"));
+		assertEquals(ParamDecodingStatus.INVALID_SIZE_NOT_A_NUMBER, checkSize(",2"));
+		assertEquals(ParamDecodingStatus.INVALID_SIZE_NOT_A_NUMBER, checkSize("8, 2"));
+		assertEquals(ParamDecodingStatus.INVALID_SIZE_NOT_A_NUMBER, checkSize("abc"));
+		assertEquals(ParamDecodingStatus.INVALID_SIZE_NEGATIVE, checkSize("-8"));
+		assertEquals(ParamDecodingStatus.INVALID_SIZE_NEGATIVE, checkSize("8,-2"));
+		assertEquals(ParamDecodingStatus.MISSING, checkSize(""));
+	}
+
+	@Test
+	public void testList() {
+		String s = "@X( a, b ,,c )";
+		assertEquals(ParamDecodingStatus.OK, ParamValueDecoder.checkList(s, 3, 13));
+		assertEquals(Arrays.asList("a", "b", "", "c"), ParamValueDecoder.toList(s, 3, 13));
+		assertEquals(Collections.singletonList("x"), ParamValueDecoder.toList("x", 0, 1));
+		assertEquals(ParamDecodingStatus.MISSING, ParamValueDecoder.checkList(s, 3, 3));
+	}
+
+	@Test
+	public void testString() {
+		String s = "#Tag( \" a\\\"b \" )";
+		assertEquals(ParamDecodingStatus.OK, ParamValueDecoder.checkString(s, 5, s.length() - 1));
+		assertEquals(" a\"b ", ParamValueDecoder.toStringValue(s, 5, s.length() - 1));
+		assertEquals("abc", ParamValueDecoder.toStringValue(" abc ", 0, 5));
+		assertEquals("a\\b", ParamValueDecoder.toStringValue("\"a\\b\"", 0, 5));
+		assertEquals("", ParamValueDecoder.toStringValue("\"", 0, 1));
+		assertEquals("", ParamValueDecoder.toStringValue("\"\"", 0, 2));
+	}
+
+	@Test
+	public void testMessages() {
+		assertEquals("parameter required", ParamDecodingStatus.MISSING.getMessage(""));
+		assertEquals("invalid integer parameter 'x'", ParamDecodingStatus.INVALID_INTEGER.getMessage("x"));
+		assertEquals("invalid size parameter '8,' (xx,xx expected)", ParamDecodingStatus.INVALID_SIZE_FORMAT.getMessage("8,"));
+	}
+}
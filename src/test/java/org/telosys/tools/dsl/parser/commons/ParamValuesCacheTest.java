@@ -0,0 +1,39 @@
+package org.telosys.tools.dsl.parser.commons;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ParamValuesCacheTest {
+	
+	@Test
+	public void testStrings() {
+		String s1 = new String("VARCHAR");
+		String s2 = new String("VARCHAR");
+		assertSame(ParamValuesCache.intern(s1), ParamValuesCache.intern(s2));
+		assertEquals("VARCHAR", ParamValuesCache.intern(s2));
+		assertNull(ParamValuesCache.intern((String) null));
+	}
+
+	@Test
+	public void testLongStringsNotCached() {
+		StringBuilder sb = new StringBuilder();
+		for ( int i = 0 ; i < 100 ; i++ ) {
+			sb.append("x");
+		}
+		String s = sb.toString();
+		assertSame(s, ParamValuesCache.intern(s));
+		assertSame(s, ParamValuesCache.intern(s));
+	}
+
+	@Test
+	public void testIntegers() {
+		Integer i1 = new Integer(1000);
+		Integer i2 = new Integer(1000);
+		assertSame(ParamValuesCache.intern(i1), ParamValuesCache.intern(i2));
+		assertEquals(1000, ParamValuesCache.intern(i2).intValue());
+		assertNull(ParamValuesCache.intern((Integer) null));
+	}
+}
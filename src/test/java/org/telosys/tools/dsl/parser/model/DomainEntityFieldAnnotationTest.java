@@ -5,10 +5,13 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import org.junit.Test;
+import org.telosys.tools.dsl.parser.annotation.AnnotationDefinitions;
 
 public class DomainEntityFieldAnnotationTest {
 
@@ -63,4 +66,42 @@ public class DomainEntityFieldAnnotationTest {
 		assertEquals("12,4", annotation.getParameterAsString() );
 	}
 
+
+	@Test
+	public void testAnnotationsByOrdinal() {
+		DomainField field = new DomainField(1, "foo", new DomainNeutralType("string"));
+		assertEquals(0, field.getAnnotationsByOrdinal().size());
+		field.addAnnotation(new DomainAnnotation("Unique"));
+		field.addAnnotation(new DomainAnnotation("Label", "Foo"));
+		field.addAnnotation(new DomainAnnotation("Id"));
+		List<DomainAnnotation> annotations = field.getAnnotationsByOrdinal();
+		assertEquals(3, annotations.size());
+		assertSame(annotations, field.getAnnotationsByOrdinal()); // built once
+		for ( int i = 1 ; i < annotations.size() ; i++ ) {
+			assertTrue(annotations.get(i-1).getDefinitionOrdinal() < annotations.get(i).getDefinitionOrdinal());
+		}
+		assertSame(AnnotationDefinitions.get("Id"), annotations.get(0).getAnnotationDefinition());
+		// updated after a new annotation
+		field.addAnnotation(new DomainAnnotation("NotNull"));
+		assertEquals(4, field.getAnnotationsByOrdinal().size());
+		// same name => replaced
+		DomainAnnotation label = new DomainAnnotation("Label", "Bar");
+		field.addAnnotation(label);
+		assertEquals(4, field.getAnnotationsByOrdinal().size());
+		assertTrue(field.getAnnotationsByOrdinal().contains(label));
+		assertSame(label, field.getAnnotation("Label"));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testAnnotationsByOrdinalNotModifiable() {
+		DomainField field = new DomainField(1, "foo", new DomainNeutralType("string"));
+		field.addAnnotation(new DomainAnnotation("Id"));
+		field.getAnnotationsByOrdinal().set(0, new DomainAnnotation("Unique"));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testAnnotationsMapNotModifiable() {
+		DomainField field = new DomainField(1, "foo", new DomainNeutralType("string"));
+		field.getAnnotations().put("Id", new DomainAnnotation("Id"));
+	}
 }
@@ -0,0 +1,25 @@
+package org.telosys.tools.junit.utils;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrors;
+
+public class ErrorsUtil {
+
+	private ErrorsUtil() {}
+
+	/**
+	 * Returns the report messages of all the errors (in the errors order)
+	 * @param errors
+	 * @return
+	 */
+	public static List<String> errorMessages(DslModelErrors errors) {
+		List<String> list = new LinkedList<>();
+		for ( DslModelError e : errors.getErrors() ) {
+			list.add(e.getReportMessage());
+		}
+		return list;
+	}
+}
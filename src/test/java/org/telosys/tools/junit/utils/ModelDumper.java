@@ -0,0 +1,64 @@
+package org.telosys.tools.junit.utils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.telosys.tools.dsl.tags.Tag;
+import org.telosys.tools.dsl.tags.Tags;
+import org.telosys.tools.generic.model.Model;
+
+/**
+ * Dumps all the model properties (getters without parameter) recursively <br>
+ * The implicit FK names contain a global counter => number removed 
+ * (to compare models loaded separately)
+ */
+public class ModelDumper {
+
+	private ModelDumper() {}
+
+	public static List<String> dump(Model model) {
+		List<String> lines = new ArrayList<>();
+		try {
+			dump(model, "model", lines);
+		} catch (Exception e) {
+			throw new RuntimeException("Cannot dump model", e);
+		}
+		return lines;
+	}
+
+	private static void dump(Object object, String path, List<String> lines) throws Exception {
+		if ( object instanceof Tags ) {
+			List<String> tags = new ArrayList<>();
+			for ( Tag tag : ((Tags) object).getAllTags() ) {
+				tags.add(tag.getName() + "=" + tag.getParameter());
+			}
+			Collections.sort(tags);
+			lines.add(path + " : " + tags);
+		}
+		else if ( object instanceof List ) {
+			List<?> list = (List<?>) object;
+			lines.add(path + ".size : " + list.size());
+			for ( int i = 0 ; i < list.size() ; i++ ) {
+				dump(list.get(i), path + "[" + i + "]", lines);
+			}
+		}
+		else if ( object != null && object.getClass().getName().startsWith("org.telosys.tools.dsl.") ) {
+			Method[] methods = object.getClass().getMethods();
+			Arrays.sort(methods, Comparator.comparing(Method::getName));
+			for ( Method method : methods ) {
+				String name = method.getName();
+				if ( method.getParameterCount() == 0 && ! name.equals("getClass") && ! name.equals("hashCode")
+						&& ( name.startsWith("get") || name.startsWith("is") || name.startsWith("has") ) ) {
+					dump(method.invoke(object), path + "." + name, lines);
+				}
+			}
+		}
+		else {
+			lines.add(path + " : " + String.valueOf(object).replaceAll("FK_IMPLICIT[0-9]+_", "FK_IMPLICIT_"));
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package org.telosys.tools.junit.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+
+/**
+ * Base class for the tests using an executor (parallel parsing or conversion) <br>
+ * The executor is shared by all the tests of the class
+ */
+public abstract class ParallelTestSupport {
+
+	protected static ExecutorService executor;
+
+	@BeforeClass
+	public static void createExecutor() {
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterClass
+	public static void shutdownExecutor() {
+		executor.shutdown();
+	}
+}
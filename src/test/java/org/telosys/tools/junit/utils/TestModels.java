@@ -0,0 +1,61 @@
+package org.telosys.tools.junit.utils;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Models used by the tests comparing several loading strategies 
+ * (valid models in the test resources and generated models)
+ */
+public class TestModels {
+
+	private static final String VALID_MODELS_FOLDER = "src/test/resources/model_test/valid/" ;
+
+	/**
+	 * All the valid models in the test resources
+	 */
+	public static final String[] VALID_MODELS = { "FourEntitiesModel", "OneEntityModel", "PeopleModel", "PointsModel", 
+			"SubGroupModel", "TwoEntitiesModel", "TwoEntitiesWithSpaces", "typesModel" } ;
+
+	/**
+	 * Writes the content of an entity file 
+	 */
+	public interface EntityWriter {
+		/**
+		 * @param i the entity number (from 1 to the number of entities)
+		 * @param writer the writer for the file 'Entity<i>.entity'
+		 */
+		void write(int i, PrintWriter writer);
+	}
+
+	private TestModels() {}
+
+	public static File validModel(String modelName) {
+		return new File(VALID_MODELS_FOLDER + modelName);
+	}
+
+	/**
+	 * Generates a model with the given number of entities ( files 'Entity1.entity' to 'Entity<n>.entity' ) <br>
+	 * The model folder is created in the target tmp directory (previous files removed)
+	 * @param modelPath the model folder path in the target tmp directory
+	 * @param numberOfEntities
+	 * @param entityWriter
+	 * @return the model folder
+	 * @throws IOException
+	 */
+	public static File generateModel(String modelPath, int numberOfEntities, EntityWriter entityWriter) throws IOException {
+		File modelFolder = TestFileProvider.getTargetTmpFile(modelPath);
+		modelFolder.mkdirs();
+		for ( File file : modelFolder.listFiles() ) {
+			file.delete();
+		}
+		for ( int i = 1 ; i <= numberOfEntities ; i++ ) {
+			try ( PrintWriter writer = new PrintWriter(new FileWriter(new File(modelFolder, "Entity" + i + ".entity"))) ) {
+				entityWriter.write(i, writer);
+			}
+		}
+		return modelFolder;
+	}
+}